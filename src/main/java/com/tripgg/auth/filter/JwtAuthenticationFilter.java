@@ -1,6 +1,7 @@
 package com.tripgg.auth.filter;
 
 import com.tripgg.auth.service.JwtService;
+import com.tripgg.auth.util.SecurityUtil;
 import com.tripgg.user.entity.User;
 import com.tripgg.user.repository.UserRepository;
 import jakarta.servlet.FilterChain;
@@ -9,14 +10,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -26,6 +31,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserRepository userRepository;
 
+    // 관리자 권한(ROLE_ADMIN)을 줄 카카오 ID 목록 (쉼표 구분)
+    @Value("${admin.kakao-ids:}")
+    private Set<String> adminKakaoIds;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -56,9 +65,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // 사용자가 존재하고 토큰이 유효하다면
                 if (user != null && jwtService.validateToken(jwt, userId)) {
                     
-                    // Spring Security 인증 객체 생성
+                    // Spring Security 인증 객체 생성 (관리자로 등록된 카카오 ID면 ROLE_ADMIN 부여)
+                    List<GrantedAuthority> authorities = adminKakaoIds.contains(user.getKakaoId())
+                        ? List.of(new SimpleGrantedAuthority(SecurityUtil.ROLE_ADMIN))
+                        : List.of();
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        user, null, new ArrayList<>()
+                        user, null, authorities
                     );
                     
                     // 요청 세부 정보 설정
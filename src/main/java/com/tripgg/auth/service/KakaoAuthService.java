@@ -4,6 +4,7 @@ import com.tripgg.user.entity.User;
 import com.tripgg.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -21,7 +22,8 @@ public class KakaoAuthService {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Qualifier("kakaoOAuthRestTemplate")
+    private final RestTemplate restTemplate;
 
     @Value("${kakao.client-id}")
     private String clientId;
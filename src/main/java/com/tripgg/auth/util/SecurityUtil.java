@@ -8,6 +8,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @Slf4j
 public class SecurityUtil {
 
+    public static final String ROLE_ADMIN = "ROLE_ADMIN";
+
     /**
      * 현재 인증된 사용자 정보를 가져옵니다.
      * @return 현재 인증된 사용자, 인증되지 않은 경우 null
@@ -61,4 +63,14 @@ public class SecurityUtil {
     public static boolean isAuthenticated() {
         return getCurrentUser() != null;
     }
+
+    /**
+     * 현재 사용자가 관리자(ROLE_ADMIN)인지 확인합니다.
+     * @return 관리자인 경우 true, 그렇지 않은 경우 false
+     */
+    public static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ROLE_ADMIN.equals(authority.getAuthority()));
+    }
 }
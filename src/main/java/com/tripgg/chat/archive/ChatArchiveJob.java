@@ -0,0 +1,256 @@
+package com.tripgg.chat.archive;
+
+import com.tripgg.chat.bus.ChatMessageBus;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.repository.ChatJdbcRepository;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 보관 기간이 지난 채팅 메시지를 월 단위로 디스크 세그먼트로 옮기는 작업
+ * 1) 앞으로 쓸 월 파티션을 미리 만들고
+ * 2) retention-months보다 오래된 달을 세그먼트로 기록한 뒤 (이미 기록된 달은 건너뜀)
+ * 3) 월 파티션이면 DROP PARTITION, 아니면 배치 DELETE로 테이블에서 제거한다.
+ * 세그먼트 기록이 끝난(인덱스까지 fsync된) 뒤에만 삭제하므로 중간에 멈춰도 다음 실행에서 이어서 처리된다.
+ * 여러 노드에서 켜져 있어도 MySQL GET_LOCK을 얻은 노드 하나만 실행하고, 기록한 달은 버스 이벤트로 알려
+ * 다른 노드가 공유 디렉터리(chat.archive.dir)에서 인덱스를 읽게 한다.
+ * 여러 노드 구성(chat.bus.type=redis)에서는 chat.archive.shared-dir=true(모든 노드가 같은 디렉터리를 마운트)일 때만 켤 수 있다.
+ */
+@Slf4j
+@Component
+public class ChatArchiveJob implements StatsProvider {
+
+    private static final String SELECT_MONTH = "SELECT c.id, c.chat_room_id, c.user_id, u.nickname, c.message, c.created_at "
+            + "FROM chats c LEFT JOIN users u ON u.id = c.user_id "
+            + "WHERE c.created_at >= ? AND c.created_at < ? ORDER BY c.chat_room_id, c.id";
+    private static final String LOCK_NAME = "tripgg.chat.archive";
+    public static final String SEGMENT_ARCHIVED_EVENT = "archive-segment-written";
+    private static final String DELETE_MONTH_BATCH = "DELETE FROM chats "
+            + "WHERE created_at >= ? AND created_at < ? AND id <= ? LIMIT ?";
+
+    private final ChatArchiveStore chatArchiveStore;
+    private final ChatPartitionManager chatPartitionManager;
+    private final ChatJdbcRepository chatJdbcRepository;
+    private final ChatMessageBus chatMessageBus;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final int retentionMonths;
+    private final int partitionMonthsAhead;
+    private final int deleteBatchSize;
+    private final boolean sharedDir;
+    private final boolean multiNode;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder archivedMonths = new LongAdder();
+    private final LongAdder archivedMessages = new LongAdder();
+    private final LongAdder droppedPartitions = new LongAdder();
+    private final LongAdder deletedRows = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder missingSharedSegments = new LongAdder();
+    private volatile LocalDateTime lastRunAt;
+
+    public ChatArchiveJob(ChatArchiveStore chatArchiveStore,
+                          ChatPartitionManager chatPartitionManager,
+                          ChatJdbcRepository chatJdbcRepository,
+                          ChatMessageBus chatMessageBus,
+                          JdbcTemplate jdbcTemplate,
+                          DataSource dataSource,
+                          @Value("${chat.archive.enabled:false}") boolean enabled,
+                          @Value("${chat.archive.retention-months:3}") int retentionMonths,
+                          @Value("${chat.archive.partition-months-ahead:2}") int partitionMonthsAhead,
+                          @Value("${chat.archive.delete-batch-size:5000}") int deleteBatchSize,
+                          @Value("${chat.archive.shared-dir:false}") boolean sharedDir,
+                          @Value("${chat.bus.type:local}") String busType) {
+        this.chatArchiveStore = chatArchiveStore;
+        this.chatPartitionManager = chatPartitionManager;
+        this.chatJdbcRepository = chatJdbcRepository;
+        this.chatMessageBus = chatMessageBus;
+        this.jdbcTemplate = jdbcTemplate;
+        // 한 달치를 메모리에 올리지 않도록 MySQL 스트리밍 결과셋 사용
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.enabled = enabled;
+        this.retentionMonths = retentionMonths;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+        this.deleteBatchSize = deleteBatchSize;
+        this.sharedDir = sharedDir;
+        this.multiNode = !"local".equals(busType);
+    }
+
+    @PostConstruct
+    public void checkSharedDir() {
+        if (enabled && multiNode && !sharedDir) {
+            // 보관 후 DB에서 지운 메시지를 세그먼트가 없는 다른 노드에서는 조회할 수 없게 된다
+            throw new IllegalStateException("여러 노드 구성(chat.bus.type=redis)에서 채팅 보관을 켜려면 chat.archive.dir를 "
+                    + "모든 노드가 공유하는 디렉터리로 두고 chat.archive.shared-dir=true로 설정해야 합니다.");
+        }
+        chatMessageBus.onEvent(SEGMENT_ARCHIVED_EVENT, this::onSegmentArchived);
+    }
+
+    /**
+     * 다른 노드가 기록한 세그먼트 인덱스 읽기
+     */
+    private void onSegmentArchived(String month) {
+        YearMonth yearMonth = YearMonth.parse(month);
+        try {
+            if (!chatArchiveStore.loadSegment(yearMonth)) {
+                missingSharedSegments.increment();
+                log.error("보관 세그먼트 {} 인덱스가 이 노드의 chat.archive.dir에 없습니다. 디렉터리가 공유되지 않았는지 확인하세요.", month);
+            }
+        } catch (IOException e) {
+            log.error("보관 세그먼트 {} 인덱스 읽기 실패: {}", month, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${chat.archive.cron:0 30 4 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * 파티션 준비 + 보관 기간이 지난 달 보관 (모든 노드를 통틀어 동시에 한 번만 실행)
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("채팅 보관 작업이 이미 실행 중입니다.");
+            return;
+        }
+        if (!acquireLock()) {
+            running.set(false);
+            return;
+        }
+        try {
+            YearMonth now = YearMonth.now();
+            int created = chatPartitionManager.ensureMonthlyPartitions(now.plusMonths(partitionMonthsAhead));
+            if (created > 0) {
+                log.info("chats 월 파티션 {}개 추가", created);
+            }
+
+            YearMonth cutoff = now.minusMonths(retentionMonths);
+            Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM chats", Timestamp.class);
+            if (oldest == null) {
+                return;
+            }
+            for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(cutoff); month = month.plusMonths(1)) {
+                if (!chatJdbcRepository.holdsWriterLock(LOCK_NAME)) {
+                    // 잠금 커넥션이 끊기면 다른 노드가 시작할 수 있으므로 여기서 멈춘다
+                    log.warn("채팅 보관 작업 잠금을 잃어 중단합니다: {}", month);
+                    return;
+                }
+                archiveMonth(month);
+            }
+        } catch (IOException e) {
+            log.error("채팅 보관 세그먼트 기록 실패: {}", e.getMessage(), e);
+        } catch (RuntimeException e) {
+            log.error("채팅 보관 작업 실패: {}", e.getMessage(), e);
+        } finally {
+            chatJdbcRepository.releaseWriterLock(LOCK_NAME);
+            lastRunAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    private boolean acquireLock() {
+        try {
+            if (chatJdbcRepository.acquireWriterLock(LOCK_NAME)) {
+                return true;
+            }
+            skippedLocked.increment();
+            log.info("다른 노드에서 채팅 보관 작업이 실행 중입니다.");
+        } catch (RuntimeException e) {
+            log.error("채팅 보관 작업 잠금 실패: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void archiveMonth(YearMonth month) throws IOException {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        ChatArchiveStore.SegmentIndex segment = chatArchiveStore.getSegment(month);
+        if (segment == null) {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM chats WHERE created_at >= ? AND created_at < ?", Long.class, start, end);
+            if (count == null || count == 0) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            segment = chatArchiveStore.writeSegment(month, consumer ->
+                    streamingJdbcTemplate.query(SELECT_MONTH, (ResultSet resultSet) -> {
+                        consumer.accept(ChatMessageResponse.builder()
+                                .id(resultSet.getInt(1))
+                                .roomId(resultSet.getInt(2))
+                                .userId(resultSet.getInt(3))
+                                .userNickname(resultSet.getString(4))
+                                .message(resultSet.getString(5))
+                                .createdAt(resultSet.getTimestamp(6).toLocalDateTime())
+                                .build());
+                    }, start, end));
+            archivedMonths.increment();
+            archivedMessages.add(segment.getCount());
+            log.info("채팅 {} 보관 완료: {}건, {}개 채팅방, {}ms",
+                    month, segment.getCount(), segment.getBlocks().size(), System.currentTimeMillis() - startTime);
+        }
+        // DB에서 지우기 전에 다른 노드도 세그먼트를 읽게 한다 (이미 기록된 달이면 다시 읽어도 같다)
+        chatMessageBus.broadcast(SEGMENT_ARCHIVED_EVENT, month.toString());
+
+        if (chatPartitionManager.hasMonthPartition(month)
+                && chatPartitionManager.countInMonthPartition(month) == segment.getCount()) {
+            chatPartitionManager.dropMonthPartition(month);
+            droppedPartitions.increment();
+            return;
+        }
+
+        // 파티셔닝 전 데이터이거나 세그먼트 이후 행이 더 들어온 경우: 보관된 id까지만 지운다
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_MONTH_BATCH, start, end, segment.getMaxId(), deleteBatchSize);
+            deleted += batch;
+        } while (batch == deleteBatchSize);
+        deletedRows.add(deleted);
+        if (deleted > 0) {
+            log.info("채팅 {} 보관분 {}건 삭제", month, deleted);
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-archive-job";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("retentionMonths", retentionMonths);
+        stats.put("running", running.get());
+        stats.put("lastRunAt", lastRunAt != null ? lastRunAt.toString() : null);
+        stats.put("archivedMonths", archivedMonths.sum());
+        stats.put("archivedMessages", archivedMessages.sum());
+        stats.put("droppedPartitions", droppedPartitions.sum());
+        stats.put("deletedRows", deletedRows.sum());
+        stats.put("skippedLocked", skippedLocked.sum());
+        stats.put("missingSharedSegments", missingSharedSegments.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,439 @@
+package com.tripgg.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.common.cache.LruTtlCache;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 보관 기간이 지난 채팅 메시지의 로컬 디스크 저장소 (월별 세그먼트, 한 번 쓰면 수정하지 않음)
+ * 세그먼트 파일(chats-YYYY-MM.ndjson.gz)은 채팅방마다 gzip 멤버 하나씩을 이어 붙인 NDJSON이고,
+ * 인덱스 파일(chats-YYYY-MM.index.json)에 채팅방별 바이트 위치와 id 범위, 사용자별 메시지가 있는 채팅방을 기록한다.
+ * 조회 시에는 해당 채팅방 블록만 읽어 풀며, 인덱스는 기동 시 메모리에 올려 둔다.
+ */
+@Slf4j
+@Component
+public class ChatArchiveStore implements StatsProvider {
+
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".index.json";
+    private static final String FILE_PREFIX = "chats-";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final NavigableMap<YearMonth, SegmentIndex> segments = new ConcurrentSkipListMap<>();
+    private final Set<Integer> archivedRooms = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> archivedUsers = ConcurrentHashMap.newKeySet();
+    // 사용자 목록이 없는 이전 형식 인덱스가 있으면 사용자 조회 시 모든 블록을 확인한다
+    private volatile boolean hasSegmentsWithoutUsers;
+    private final LruTtlCache<String, List<ChatMessageResponse>> blockCache;
+
+    private final LongAdder blockReads = new LongAdder();
+    private final LongAdder archivedReads = new LongAdder();
+
+    public ChatArchiveStore(ObjectMapper objectMapper,
+                            @Value("${chat.archive.dir:./data/chat-archive}") String directory,
+                            @Value("${chat.archive.block-cache-size:64}") int blockCacheSize) {
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.blockCache = new LruTtlCache<>(blockCacheSize, Duration.ofHours(1));
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + INDEX_SUFFIX)) {
+            for (Path indexFile : files) {
+                SegmentIndex index = objectMapper.readValue(indexFile.toFile(), SegmentIndex.class);
+                register(index);
+            }
+        }
+        log.info("채팅 보관 세그먼트 {}개 로드: {}", segments.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * 다른 노드가 기록한 세그먼트 인덱스 읽기 (공유 디렉터리에 인덱스가 없으면 false)
+     */
+    public boolean loadSegment(YearMonth month) throws IOException {
+        Path indexFile = directory.resolve(indexFileName(month));
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        register(objectMapper.readValue(indexFile.toFile(), SegmentIndex.class));
+        return true;
+    }
+
+    public boolean hasSegment(YearMonth month) {
+        return segments.containsKey(month);
+    }
+
+    public SegmentIndex getSegment(YearMonth month) {
+        return segments.get(month);
+    }
+
+    /**
+     * 채팅방에 보관된 메시지가 있는지 (없으면 조회 시 디스크를 읽지 않음)
+     */
+    public boolean hasRoom(Integer roomId) {
+        return archivedRooms.contains(roomId);
+    }
+
+    /**
+     * 보관된 메시지 중 before 이전(id 미만) 메시지를 최신순으로 최대 count개
+     */
+    public List<ChatMessageResponse> findBefore(Integer roomId, Integer before, int count) {
+        if (count <= 0 || !hasRoom(roomId)) {
+            return List.of();
+        }
+        List<ChatMessageResponse> page = new ArrayList<>(count);
+        for (SegmentIndex segment : segments.descendingMap().values()) {
+            Block block = segment.getBlocks().get(roomId);
+            if (block == null || (before != null && block.getMinId() >= before)) {
+                continue;
+            }
+            List<ChatMessageResponse> messages = readBlock(segment.toYearMonth(), block);
+            for (int i = messages.size() - 1; i >= 0 && page.size() < count; i--) {
+                ChatMessageResponse message = messages.get(i);
+                if (before == null || message.getId() < before) {
+                    page.add(message);
+                }
+            }
+            if (page.size() >= count) {
+                break;
+            }
+        }
+        archivedReads.increment();
+        return page;
+    }
+
+    /**
+     * 사용자의 보관된 메시지가 있을 수 있는지
+     */
+    public boolean hasUser(Integer userId) {
+        return hasSegmentsWithoutUsers || archivedUsers.contains(userId);
+    }
+
+    /**
+     * 사용자의 보관된 메시지 중 before 이전(id 미만) 메시지를 최신순으로 최대 count개
+     * 세그먼트마다 사용자가 쓴 채팅방 블록만 읽는다.
+     */
+    public List<ChatMessageResponse> findByUserBefore(Integer userId, Integer before, int count) {
+        if (count <= 0 || !hasUser(userId)) {
+            return List.of();
+        }
+        List<ChatMessageResponse> page = new ArrayList<>(count);
+        for (SegmentIndex segment : segments.descendingMap().values()) {
+            Collection<Integer> roomIds = segment.getUserRooms() != null
+                    ? segment.getUserRooms().getOrDefault(userId, List.of())
+                    : segment.getBlocks().keySet();
+            List<ChatMessageResponse> matched = new ArrayList<>();
+            for (Integer roomId : roomIds) {
+                Block block = segment.getBlocks().get(roomId);
+                if (block == null || (before != null && block.getMinId() >= before)) {
+                    continue;
+                }
+                for (ChatMessageResponse message : readBlock(segment.toYearMonth(), block)) {
+                    if (userId.equals(message.getUserId()) && (before == null || message.getId() < before)) {
+                        matched.add(message);
+                    }
+                }
+            }
+            // 월 세그먼트는 id 범위가 겹치지 않으므로 세그먼트 안에서만 정렬하면 된다
+            matched.sort(Comparator.comparing(ChatMessageResponse::getId).reversed());
+            for (int i = 0; i < matched.size() && page.size() < count; i++) {
+                page.add(matched.get(i));
+            }
+            if (page.size() >= count) {
+                break;
+            }
+        }
+        archivedReads.increment();
+        return page;
+    }
+
+    /**
+     * 한 달치 세그먼트 기록 (rows는 chat_room_id, id 순으로 정렬되어 있어야 함)
+     * 세그먼트를 임시 파일에 쓰고 fsync 후 이름을 바꾼 다음 인덱스를 같은 방식으로 기록한다.
+     * 인덱스가 있는 세그먼트만 완성된 것으로 본다.
+     */
+    public SegmentIndex writeSegment(YearMonth month, RowSource rows) throws IOException {
+        Files.createDirectories(directory);
+        Path segmentFile = directory.resolve(segmentFileName(month));
+        Path tempFile = directory.resolve(segmentFileName(month) + ".tmp");
+
+        Map<Integer, Block> blocks = new LinkedHashMap<>();
+        Map<Integer, Set<Integer>> userRooms = new HashMap<>();
+        long[] totals = {0, 0}; // 메시지 수, 최대 id
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CountingOutputStream out = new CountingOutputStream(Channels.newOutputStream(channel));
+            BlockWriter writer = new BlockWriter(out, blocks);
+            rows.forEach(message -> {
+                writer.write(message);
+                if (message.getUserId() != null) {
+                    userRooms.computeIfAbsent(message.getUserId(), key -> new TreeSet<>()).add(message.getRoomId());
+                }
+                totals[0]++;
+                totals[1] = Math.max(totals[1], message.getId());
+            });
+            writer.finish();
+            out.flush();
+            channel.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(tempFile, segmentFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        Map<Integer, List<Integer>> userRoomLists = new HashMap<>();
+        userRooms.forEach((userId, roomIds) -> userRoomLists.put(userId, List.copyOf(roomIds)));
+        SegmentIndex index = new SegmentIndex(month.toString(), totals[0], (int) totals[1], blocks, userRoomLists);
+        Path indexFile = directory.resolve(indexFileName(month));
+        Path tempIndex = directory.resolve(indexFileName(month) + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempIndex, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(objectMapper.writeValueAsBytes(index)));
+            channel.force(true);
+        }
+        Files.move(tempIndex, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        register(index);
+        return index;
+    }
+
+    private void register(SegmentIndex index) {
+        segments.put(index.toYearMonth(), index);
+        archivedRooms.addAll(index.getBlocks().keySet());
+        if (index.getUserRooms() != null) {
+            archivedUsers.addAll(index.getUserRooms().keySet());
+        } else {
+            hasSegmentsWithoutUsers = true;
+        }
+    }
+
+    private List<ChatMessageResponse> readBlock(YearMonth month, Block block) {
+        String key = month + ":" + block.getOffset();
+        List<ChatMessageResponse> cached = blockCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        blockReads.increment();
+        byte[] compressed = new byte[(int) block.getLength()];
+        try (FileChannel channel = FileChannel.open(directory.resolve(segmentFileName(month)), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(compressed);
+            long position = block.getOffset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("세그먼트가 인덱스보다 짧습니다: " + month);
+                }
+                position += read;
+            }
+            List<ChatMessageResponse> messages = new ArrayList<>(block.getCount());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(compressed)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    messages.add(objectMapper.readValue(line, ChatMessageResponse.class));
+                }
+            }
+            List<ChatMessageResponse> result = Collections.unmodifiableList(messages);
+            blockCache.put(key, result);
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 세그먼트 읽기 실패: " + month, e);
+        }
+    }
+
+    private static String segmentFileName(YearMonth month) {
+        return FILE_PREFIX + month + SEGMENT_SUFFIX;
+    }
+
+    private static String indexFileName(YearMonth month) {
+        return FILE_PREFIX + month + INDEX_SUFFIX;
+    }
+
+    /**
+     * 세그먼트에 쓸 메시지 공급자 (스트리밍 결과셋을 그대로 흘려보내기 위한 콜백)
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        void forEach(Consumer<ChatMessageResponse> consumer) throws IOException;
+    }
+
+    /**
+     * 채팅방이 바뀔 때마다 gzip 멤버를 새로 시작하며 블록 위치를 기록한다
+     */
+    private final class BlockWriter {
+        private final CountingOutputStream out;
+        private final Map<Integer, Block> blocks;
+        private Integer roomId;
+        private Block block;
+        private Writer writer;
+
+        BlockWriter(CountingOutputStream out, Map<Integer, Block> blocks) {
+            this.out = out;
+            this.blocks = blocks;
+        }
+
+        void write(ChatMessageResponse message) {
+            try {
+                if (!message.getRoomId().equals(roomId)) {
+                    finish();
+                    roomId = message.getRoomId();
+                    block = new Block(out.getCount(), 0, message.getId(), message.getId(), 0);
+                    GZIPOutputStream gzip = new GZIPOutputStream(new FilterOutputStream(out) {
+                        @Override
+                        public void write(byte[] bytes, int offset, int length) throws IOException {
+                            out.write(bytes, offset, length);
+                        }
+
+                        @Override
+                        public void close() {
+                            // 멤버만 끝내고 파일은 열어 둔다
+                        }
+                    }, 64 * 1024);
+                    writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+                }
+                writer.write(objectMapper.writeValueAsString(message));
+                writer.write('\n');
+                block.setMinId(Math.min(block.getMinId(), message.getId()));
+                block.setMaxId(Math.max(block.getMaxId(), message.getId()));
+                block.setCount(block.getCount() + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer == null) {
+                return;
+            }
+            // gzip 멤버를 끝내고 Deflater를 해제한다 (파일 스트림은 닫히지 않음)
+            writer.close();
+            block.setLength(out.getCount() - block.getOffset());
+            blocks.put(roomId, block);
+            writer = null;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * 월별 세그먼트 인덱스 (채팅방 ID → 블록)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SegmentIndex {
+        private String month;
+        private long count;
+        private int maxId;
+        private Map<Integer, Block> blocks = new HashMap<>();
+        // 사용자 ID → 메시지가 있는 채팅방 ID 목록 (이전 형식 인덱스에는 없음)
+        private Map<Integer, List<Integer>> userRooms;
+
+        YearMonth toYearMonth() {
+            return YearMonth.parse(month);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Block {
+        private long offset;
+        private long length;
+        private int minId;
+        private int maxId;
+        private int count;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-archive";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("directory", directory.toAbsolutePath().toString());
+        stats.put("segments", segments.size());
+        stats.put("archivedMessages", segments.values().stream().mapToLong(SegmentIndex::getCount).sum());
+        stats.put("archivedRooms", archivedRooms.size());
+        stats.put("archivedUsers", archivedUsers.size());
+        stats.put("archivedReads", archivedReads.sum());
+        stats.put("blockReads", blockReads.sum());
+        stats.put("blockCacheHits", blockCache.getHits());
+        stats.put("blockCacheMisses", blockCache.getMisses());
+        return stats;
+    }
+}
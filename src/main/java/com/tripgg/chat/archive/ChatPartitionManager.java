@@ -0,0 +1,120 @@
+package com.tripgg.chat.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * chats 테이블 월별 파티션 관리 (MySQL RANGE COLUMNS(created_at))
+ * 파티셔닝 자체는 db/chats-monthly-partitioning.sql 로 한 번 적용하며, 적용되지 않은 테이블에서는 아무 일도 하지 않는다.
+ * 월 파티션 이름은 pYYYYMM, 마지막 파티션은 p_future(MAXVALUE)이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatPartitionManager {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean isPartitioned() {
+        return !listPartitions().isEmpty();
+    }
+
+    /**
+     * until 월까지 월 파티션이 있도록 p_future를 나눈다
+     *
+     * @return 새로 만든 파티션 수
+     */
+    public int ensureMonthlyPartitions(YearMonth until) {
+        List<Partition> partitions = listPartitions();
+        if (partitions.stream().noneMatch(partition -> FUTURE_PARTITION.equals(partition.name()))) {
+            return 0;
+        }
+        LocalDate bound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        if (bound == null) {
+            return 0;
+        }
+
+        int created = 0;
+        while (!YearMonth.from(bound).isAfter(until)) {
+            YearMonth month = YearMonth.from(bound);
+            LocalDate next = bound.plusMonths(1);
+            jdbcTemplate.execute("ALTER TABLE chats REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + next + "'), "
+                    + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            log.info("chats 월 파티션 추가: {} (< {})", partitionName(month), next);
+            bound = next;
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * 정확히 한 달치(month 1일 이상 다음 달 1일 미만)만 담는 파티션이 있는지
+     */
+    public boolean hasMonthPartition(YearMonth month) {
+        List<Partition> partitions = listPartitions();
+        for (int i = 1; i < partitions.size(); i++) {
+            Partition partition = partitions.get(i);
+            if (partitionName(month).equals(partition.name())
+                    && month.plusMonths(1).atDay(1).equals(partition.upperBound())
+                    && month.atDay(1).equals(partitions.get(i - 1).upperBound())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long countInMonthPartition(YearMonth month) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chats PARTITION (" + partitionName(month) + ")", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 월 파티션 삭제 (행 단위 DELETE 없이 파일 단위로 제거)
+     */
+    public void dropMonthPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE chats DROP PARTITION " + partitionName(month));
+        log.info("chats 월 파티션 삭제: {}", partitionName(month));
+    }
+
+    private List<Partition> listPartitions() {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'chats' AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (resultSet, rowNum) -> new Partition(resultSet.getString(1), parseBound(resultSet.getString(2))));
+    }
+
+    /**
+     * RANGE COLUMNS 경계값 ('2025-02-01 00:00:00' 형식, MAXVALUE면 null)
+     */
+    private static LocalDate parseBound(String description) {
+        if (description == null || description.startsWith("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
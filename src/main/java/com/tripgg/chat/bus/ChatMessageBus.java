@@ -0,0 +1,34 @@
+package com.tripgg.chat.bus;
+
+import com.tripgg.chat.dto.ChatMessageResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * 채팅 메시지 노드 간 전달 버스
+ * 어느 노드에서 저장된 메시지든 모든 노드의 구독 핸들러로 전달한다.
+ * 같은 채팅방의 메시지는 발행 순서대로 전달되어야 한다.
+ * 채팅방 변경처럼 모든 노드가 알아야 하는 제어 이벤트도 같은 버스로 보낸다.
+ */
+public interface ChatMessageBus {
+
+    /**
+     * 저장이 끝난 메시지 발행 (자기 노드의 핸들러도 버스를 거쳐 한 번만 받는다)
+     */
+    void publish(ChatMessageResponse message);
+
+    /**
+     * 이 노드에서 메시지를 받을 핸들러 등록
+     */
+    void subscribe(Consumer<ChatMessageResponse> handler);
+
+    /**
+     * 제어 이벤트 발행 (자기 노드를 포함한 모든 노드의 이벤트 핸들러로 전달, 전달 보장 없음)
+     */
+    void broadcast(String event, String payload);
+
+    /**
+     * 이 노드에서 제어 이벤트를 받을 핸들러 등록 (메시지 전달 스레드를 막지 않는 별도 스레드에서 호출)
+     */
+    void onEvent(String event, Consumer<String> handler);
+}
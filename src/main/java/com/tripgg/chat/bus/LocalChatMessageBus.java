@@ -0,0 +1,76 @@
+package com.tripgg.chat.bus;
+
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.common.metrics.StatsProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 단일 노드용 JVM 내부 버스 (기본값)
+ * 발행 스레드에서 바로 핸들러를 호출하므로 같은 방의 메시지는 발행 순서대로 전달된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "local", matchIfMissing = true)
+public class LocalChatMessageBus implements ChatMessageBus, StatsProvider {
+
+    private final List<Consumer<ChatMessageResponse>> handlers = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Consumer<String>>> eventHandlers = new ConcurrentHashMap<>();
+    private final LongAdder published = new LongAdder();
+
+    @Override
+    public void publish(ChatMessageResponse message) {
+        published.increment();
+        for (Consumer<ChatMessageResponse> handler : handlers) {
+            try {
+                handler.accept(message);
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 전달 실패: roomId={}, id={}, {}", message.getRoomId(), message.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ChatMessageResponse> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void broadcast(String event, String payload) {
+        for (Consumer<String> handler : eventHandlers.getOrDefault(event, List.of())) {
+            try {
+                handler.accept(payload);
+            } catch (RuntimeException e) {
+                log.error("버스 이벤트 처리 실패: event={}, {}", event, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(String event, Consumer<String> handler) {
+        eventHandlers.computeIfAbsent(event, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-message-bus";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", "local");
+        stats.put("published", published.sum());
+        stats.put("handlers", handlers.size());
+        return stats;
+    }
+}
@@ -0,0 +1,305 @@
+package com.tripgg.chat.bus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.ConsistentHashRing;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 기반 노드 간 버스 (chat.bus.type=redis)
+ * 채팅방은 roomId의 일관된 해싱으로 Redis 노드 하나에 고정되고, 모든 애플리케이션 노드는 모든 Redis 노드를 구독한다.
+ * 한 방의 메시지는 항상 같은 Redis 노드의 같은 채널을 거치고, 노드당 발행/구독 연결이 하나씩이므로
+ * 발행 순서대로 모든 애플리케이션 노드에 전달된다. Redis 노드를 늘려도 일부 방만 다른 노드로 옮겨진다.
+ * pub/sub은 연결이 끊긴 동안의 메시지를 보관하지 않으므로, 놓친 메시지는 클라이언트가 이력 조회로 채운다.
+ * 끊긴 Redis 노드로의 PUBLISH는 재연결까지 쌓아 두지 않고 바로 실패시켜 현재 노드의 구독자에게 직접 전달한다.
+ * 제어 이벤트는 {channel}:events 채널로 보내고, 모든 애플리케이션 노드가 모든 Redis 노드를 구독하므로
+ * Redis 노드 하나에만 발행해도 모든 노드에 전달된다. 이벤트 핸들러는 I/O 스레드가 아닌 전용 스레드에서 순서대로 실행한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.bus.type", havingValue = "redis")
+public class RedisChatMessageBus implements ChatMessageBus, StatsProvider {
+
+    private final ObjectMapper objectMapper;
+    private final List<String> nodeUris;
+    private final String channel;
+    private final String eventChannel;
+    private final int virtualNodes;
+    private final Duration connectTimeout;
+
+    private final List<Consumer<ChatMessageResponse>> handlers = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Consumer<String>>> eventHandlers = new ConcurrentHashMap<>();
+    private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chat-bus-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<BrokerNode> brokerNodes = new ArrayList<>();
+    private ClientResources clientResources;
+    private ConsistentHashRing<BrokerNode> ring;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder publishFailures = new LongAdder();
+    private final LongAdder decodeFailures = new LongAdder();
+    private final LongAdder eventsPublished = new LongAdder();
+    private final LongAdder eventsReceived = new LongAdder();
+
+    public RedisChatMessageBus(ObjectMapper objectMapper,
+                               @Value("${chat.bus.redis.nodes:redis://localhost:6379}") String nodes,
+                               @Value("${chat.bus.redis.channel:tripgg:chat}") String channel,
+                               @Value("${chat.bus.redis.virtual-nodes:160}") int virtualNodes,
+                               @Value("${chat.bus.redis.connect-timeout-seconds:5}") long connectTimeoutSeconds) {
+        this.objectMapper = objectMapper;
+        this.nodeUris = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(uri -> !uri.isEmpty())
+                .distinct()
+                .toList();
+        this.channel = channel;
+        this.eventChannel = channel + ":events";
+        this.virtualNodes = virtualNodes;
+        this.connectTimeout = Duration.ofSeconds(connectTimeoutSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (nodeUris.isEmpty()) {
+            throw new IllegalStateException("chat.bus.redis.nodes 설정이 필요합니다.");
+        }
+        clientResources = DefaultClientResources.create();
+        for (String uri : nodeUris) {
+            brokerNodes.add(new BrokerNode(uri));
+        }
+        ring = new ConsistentHashRing<>(brokerNodes, virtualNodes);
+        log.info("채팅 메시지 버스 시작: Redis {}개 노드, 채널 {}", brokerNodes.size(), channel);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        eventExecutor.shutdownNow();
+        brokerNodes.forEach(BrokerNode::close);
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+    }
+
+    @Override
+    public void publish(ChatMessageResponse message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("채팅 메시지 직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        BrokerNode node = ring.nodeFor(String.valueOf(message.getRoomId()));
+        published.increment();
+        // 노드별 단일 연결로 보내므로 같은 방의 PUBLISH는 호출 순서대로 Redis에 도착한다
+        node.publishConnection.async().publish(channel, payload).whenComplete((receivers, error) -> {
+            if (error != null) {
+                // 다른 노드에는 전달되지 않지만 이 노드의 구독자는 받을 수 있도록 직접 전달
+                publishFailures.increment();
+                log.warn("채팅 메시지 발행 실패, 현재 노드에만 전달: node={}, roomId={}, {}",
+                        node.name, message.getRoomId(), error.getMessage());
+                deliver(message);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<ChatMessageResponse> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void broadcast(String event, String payload) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(new BusEvent(event, payload));
+        } catch (JsonProcessingException e) {
+            log.error("버스 이벤트 직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        BrokerNode node = ring.nodeFor(eventChannel + ":" + event);
+        eventsPublished.increment();
+        node.publishConnection.async().publish(eventChannel, message).whenComplete((receivers, error) -> {
+            if (error != null) {
+                // 다른 노드에는 전달되지 않지만 이 노드는 바로 반영한다
+                publishFailures.increment();
+                log.warn("버스 이벤트 발행 실패, 현재 노드에만 전달: node={}, event={}, {}", node.name, event, error.getMessage());
+                dispatchEvent(new BusEvent(event, payload));
+            }
+        });
+    }
+
+    @Override
+    public void onEvent(String event, Consumer<String> handler) {
+        eventHandlers.computeIfAbsent(event, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    private void onEventMessage(String message) {
+        BusEvent event;
+        try {
+            event = objectMapper.readValue(message, BusEvent.class);
+        } catch (JsonProcessingException e) {
+            decodeFailures.increment();
+            log.warn("버스 이벤트 역직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        eventsReceived.increment();
+        dispatchEvent(event);
+    }
+
+    private void dispatchEvent(BusEvent event) {
+        List<Consumer<String>> handlersForEvent = eventHandlers.getOrDefault(event.event(), List.of());
+        if (handlersForEvent.isEmpty()) {
+            return;
+        }
+        try {
+            // 핸들러가 DB를 읽어도 메시지 구독 I/O 스레드가 막히지 않도록 전용 스레드에서 실행
+            eventExecutor.execute(() -> {
+                for (Consumer<String> handler : handlersForEvent) {
+                    try {
+                        handler.accept(event.payload());
+                    } catch (RuntimeException e) {
+                        log.error("버스 이벤트 처리 실패: event={}, {}", event.event(), e.getMessage());
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    /**
+     * 제어 이벤트 (이름과 문자열 본문)
+     */
+    record BusEvent(String event, String payload) {
+    }
+
+    private void onMessage(String payload) {
+        ChatMessageResponse message;
+        try {
+            message = objectMapper.readValue(payload, ChatMessageResponse.class);
+        } catch (JsonProcessingException e) {
+            decodeFailures.increment();
+            log.warn("채팅 메시지 역직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        received.increment();
+        deliver(message);
+    }
+
+    private void deliver(ChatMessageResponse message) {
+        for (Consumer<ChatMessageResponse> handler : handlers) {
+            try {
+                handler.accept(message);
+            } catch (RuntimeException e) {
+                log.error("채팅 메시지 전달 실패: roomId={}, id={}, {}", message.getRoomId(), message.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Redis 노드 하나에 대한 발행 연결과 구독 연결
+     * 구독 메시지는 연결마다 하나의 I/O 스레드에서 도착 순서대로 처리된다.
+     */
+    private final class BrokerNode {
+        private final String name; // host:port (비밀번호가 로그/통계에 남지 않도록 URI 대신 사용)
+        private final RedisClient client;
+        private final StatefulRedisConnection<String, String> publishConnection;
+        private final StatefulRedisPubSubConnection<String, String> subscribeConnection;
+
+        BrokerNode(String uri) {
+            RedisURI redisUri = RedisURI.create(uri);
+            this.name = redisUri.getHost() + ":" + redisUri.getPort();
+            redisUri.setTimeout(connectTimeout);
+            this.client = RedisClient.create(clientResources, redisUri);
+            // 기본값은 끊긴 동안 명령을 쌓아 두므로 발행 실패가 드러나지 않아 로컬 전달로 대체되지 않는다
+            client.setOptions(ClientOptions.builder()
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .timeoutOptions(TimeoutOptions.enabled(connectTimeout))
+                    .build());
+            this.publishConnection = client.connect();
+            this.subscribeConnection = client.connectPubSub();
+            subscribeConnection.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String channel, String message) {
+                    if (eventChannel.equals(channel)) {
+                        onEventMessage(message);
+                    } else {
+                        onMessage(message);
+                    }
+                }
+            });
+            // 재연결 시 Lettuce가 구독을 자동으로 복구한다
+            subscribeConnection.sync().subscribe(channel, eventChannel);
+        }
+
+        void close() {
+            try {
+                subscribeConnection.close();
+                publishConnection.close();
+            } finally {
+                client.shutdown();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-message-bus";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("type", "redis");
+        stats.put("nodes", brokerNodes.stream().map(BrokerNode::toString).toList());
+        stats.put("connectedNodes", brokerNodes.stream().filter(node -> node.publishConnection.isOpen()).count());
+        stats.put("published", published.sum());
+        stats.put("received", received.sum());
+        stats.put("publishFailures", publishFailures.sum());
+        stats.put("decodeFailures", decodeFailures.sum());
+        stats.put("eventsPublished", eventsPublished.sum());
+        stats.put("eventsReceived", eventsReceived.sum());
+        stats.put("handlers", handlers.size());
+        return stats;
+    }
+}
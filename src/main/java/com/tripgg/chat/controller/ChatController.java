@@ -1,14 +1,25 @@
 package com.tripgg.chat.controller;
 
 import com.tripgg.auth.util.SecurityUtil;
-import com.tripgg.chat.entity.Chat;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.dto.ChatRoomResponse;
 import com.tripgg.chat.entity.ChatRoom;
+import com.tripgg.chat.service.ChatMessagePublisher;
+import com.tripgg.chat.service.ChatPresenceService;
 import com.tripgg.chat.service.ChatService;
+import com.tripgg.chat.service.GyeonggiRegions;
 import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.exception.RateLimitExceededException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +32,12 @@ import java.util.HashMap;
 public class ChatController {
     
     private final ChatService chatService;
+    private final ChatMessagePublisher chatMessagePublisher;
+    private final ChatPresenceService chatPresenceService;
+    
+    // chats.message는 TEXT(65,535바이트)이므로 4바이트 문자만으로도 넘지 않는 범위로 제한한다
+    @Value("${chat.message.max-length:1000}")
+    private int maxMessageLength;
     
     /**
      * 채팅방 자동 선택 및 리다이렉트 (사용자 위치 기반으로 적절한 roomId 반환 후 리다이렉트)
@@ -72,7 +89,7 @@ public class ChatController {
         
         try {
             // 경기도 지역명으로 채팅방 이름 생성
-            String regionName = getGyeonggiRegionName(roomId);
+            String regionName = GyeonggiRegions.regionNameOf(roomId);
             if (regionName != null) {
                 Map<String, Object> responseData = new HashMap<>();
                 responseData.put("roomId", roomId);
@@ -91,56 +108,22 @@ public class ChatController {
     }
     
     /**
-     * roomId로 경기도 지역명 반환
-     */
-    private String getGyeonggiRegionName(Integer roomId) {
-        switch (roomId) {
-            case 1: return "수원시";
-            case 2: return "성남시";
-            case 3: return "고양시";
-            case 4: return "용인시";
-            case 5: return "부천시";
-            case 6: return "안산시";
-            case 7: return "안양시";
-            case 8: return "평택시";
-            case 9: return "화성시";
-            case 10: return "남양주시";
-            case 11: return "파주시";
-            case 12: return "김포시";
-            case 13: return "이천시";
-            case 14: return "안성시";
-            case 15: return "의정부시";
-            case 16: return "포천시";
-            case 17: return "동두천시";
-            case 18: return "광명시";
-            case 19: return "군포시";
-            case 20: return "양평군";
-            case 21: return "양주시";
-            case 22: return "구리시";
-            case 23: return "오산시";
-            case 24: return "하남시";
-            case 25: return "광주시";
-            case 26: return "연천군";
-            case 27: return "여주시";
-            case 28: return "가평군";
-            default: return null;
-        }
-    }
-    
-    /**
-     * 메시지 조회 (사용자 위치 좌표값으로 채팅방 확인)
+     * 메시지 조회 (사용자 위치 좌표값으로 채팅방 확인, 최신순 id 커서 기반, before=이전 페이지 nextCursor)
      * GET /api/chat/{roomId}/messages
      */
     @GetMapping("/{roomId}/messages")
     public ResponseEntity<ApiResponse<Object>> getChatRoomMessages(
             @PathVariable Integer roomId,
             @RequestParam Double latitude,
-            @RequestParam Double longitude) {
+            @RequestParam Double longitude,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(required = false) Integer limit) {
         
-        log.info("채팅방 메시지 조회: roomId={}, 위도={}, 경도={}", roomId, latitude, longitude);
+        log.info("채팅방 메시지 조회: roomId={}, 위도={}, 경도={}, before={}", roomId, latitude, longitude, before);
         
         try {
-            List<Chat> chats = chatService.getChatRoomMessagesWithLocationCheck(roomId, latitude, longitude);
+            CursorPage<ChatMessageResponse> chats = chatService.getChatRoomMessagesWithLocationCheck(
+                    roomId, latitude, longitude, before, CursorPage.clampLimit(limit, 50, 200));
             if (chats == null) {
                 return ResponseEntity.ok(ApiResponse.success("해당 위치에서 접근할 수 없는 채팅방입니다.", null));
             }
@@ -175,7 +158,9 @@ public class ChatController {
             // 응답 데이터에 지역 메시지와 채팅 내용을 포함
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("locationMessage", locationMessage);
-            responseData.put("messages", chats);
+            responseData.put("messages", chats.getItems());
+            responseData.put("nextCursor", chats.getNextCursor());
+            responseData.put("hasNext", chats.isHasNext());
             responseData.put("roomId", roomId);
             
             return ResponseEntity.ok(ApiResponse.success("채팅방 메시지를 성공적으로 조회했습니다.", responseData));
@@ -185,12 +170,93 @@ public class ChatController {
         }
     }
     
+    /**
+     * 새 메시지 실시간 구독 (SSE, WebSocket을 쓸 수 없는 클라이언트용)
+     * 위치 확인은 구독 시점에 한 번만 수행한다.
+     * GET /api/chat/{roomId}/stream
+     */
+    @GetMapping(value = "/{roomId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChatRoomMessages(
+            @PathVariable Integer roomId,
+            @RequestParam Double latitude,
+            @RequestParam Double longitude) {
+        
+        log.info("채팅방 실시간 구독: roomId={}, 위도={}, 경도={}", roomId, latitude, longitude);
+        
+        ChatRoom chatRoom = chatService.getChatRoomWithLocationCheck(roomId, latitude, longitude);
+        if (chatRoom == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.ok(chatMessagePublisher.subscribeSse(roomId));
+        }
+        // 연결이 열려 있는 동안 접속자로 세고, 닫히면 바로 퇴장
+        Integer userId = currentUserId.intValue();
+        chatPresenceService.acquire(roomId, userId);
+        return ResponseEntity.ok(chatMessagePublisher.subscribeSse(roomId, () -> chatPresenceService.release(roomId, userId)));
+    }
+    
+    /**
+     * 채팅방 접속 유지 신호 (채팅방을 보는 동안 ttl보다 짧은 주기로 호출)
+     * POST /api/chat/{roomId}/presence
+     */
+    @PostMapping("/{roomId}/presence")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> heartbeatPresence(@PathVariable Integer roomId) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("인증이 필요합니다."));
+        }
+        
+        try {
+            long occupancy = chatService.heartbeatPresence(roomId, currentUserId.intValue());
+            return ResponseEntity.ok(ApiResponse.success("접속 상태를 갱신했습니다.", presenceOf(roomId, occupancy)));
+        } catch (Exception e) {
+            log.error("접속 상태 갱신 실패: roomId={}, {}", roomId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("접속 상태 갱신에 실패했습니다."));
+        }
+    }
+    
+    /**
+     * 채팅방 퇴장 (보내지 않아도 ttl이 지나면 자동 퇴장)
+     * DELETE /api/chat/{roomId}/presence
+     */
+    @DeleteMapping("/{roomId}/presence")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> leavePresence(@PathVariable Integer roomId) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("인증이 필요합니다."));
+        }
+        
+        long occupancy = chatPresenceService.leave(roomId, currentUserId.intValue());
+        return ResponseEntity.ok(ApiResponse.success("채팅방에서 퇴장했습니다.", presenceOf(roomId, occupancy)));
+    }
+    
+    /**
+     * 채팅방 현재 접속자 수
+     * GET /api/chat/{roomId}/presence
+     */
+    @GetMapping("/{roomId}/presence")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPresence(@PathVariable Integer roomId) {
+        long occupancy = chatPresenceService.getOccupancy(roomId);
+        return ResponseEntity.ok(ApiResponse.success("채팅방 접속자 수를 조회했습니다.", presenceOf(roomId, occupancy)));
+    }
+    
+    private static Map<String, Object> presenceOf(Integer roomId, long occupancy) {
+        Map<String, Object> presence = new HashMap<>();
+        presence.put("roomId", roomId);
+        presence.put("occupancy", occupancy);
+        return presence;
+    }
+    
     /**
      * 메시지 전송 (사용자 위치 조회 후 위치 벗어나면 안 보내지도록)
      * POST /api/chat/{roomId}/messages/send
      */
     @PostMapping("/{roomId}/messages/send")
-    public ResponseEntity<ApiResponse<Chat>> sendMessage(
+    public ResponseEntity<ApiResponse<ChatMessageResponse>> sendMessage(
             @PathVariable Integer roomId,
             @RequestParam String message,
             @RequestParam Double latitude,
@@ -205,10 +271,23 @@ public class ChatController {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("인증이 필요합니다."));
         }
+        if (message.isBlank()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("메시지를 입력해주세요."));
+        }
+        if (message.length() > maxMessageLength) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("메시지는 " + maxMessageLength + "자 이하로 입력해주세요."));
+        }
         
         try {
-            Chat chat = chatService.sendMessageWithLocationCheck(roomId, message, latitude, longitude);
+            ChatMessageResponse chat = chatService.sendMessageWithLocationCheck(roomId, message, latitude, longitude,
+                    SecurityUtil.getCurrentUser());
             return ResponseEntity.ok(ApiResponse.success("메시지를 성공적으로 전송했습니다.", chat));
+        } catch (RateLimitExceededException e) {
+            log.warn("메시지 전송 제한: roomId={}, userId={}, scope={}", roomId, currentUserId, e.getScope());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("메시지 전송 실패: {}", e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("메시지 전송에 실패했습니다."));
@@ -220,15 +299,40 @@ public class ChatController {
      * GET /api/chat/rooms
      */
     @GetMapping("/rooms")
-    public ResponseEntity<ApiResponse<List<ChatRoom>>> getAllChatRooms() {
+    public ResponseEntity<ApiResponse<List<ChatRoomResponse>>> getAllChatRooms() {
         log.info("모든 채팅방 조회");
         
         try {
-            List<ChatRoom> chatRooms = chatService.getAllActiveChatRooms();
+            List<ChatRoomResponse> chatRooms = chatService.getAllActiveChatRooms();
             return ResponseEntity.ok(ApiResponse.success("모든 채팅방을 성공적으로 조회했습니다.", chatRooms));
         } catch (Exception e) {
             log.error("채팅방 목록 조회 실패: {}", e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error("채팅방 목록 조회에 실패했습니다."));
         }
     }
+    
+    /**
+     * 채팅방 정보 수정 (관리자 전용, 전달된 항목만 변경)
+     * PUT /api/chat/rooms/{roomId}
+     */
+    @PutMapping("/rooms/{roomId}")
+    public ResponseEntity<ApiResponse<ChatRoom>> updateChatRoom(
+            @PathVariable Integer roomId,
+            @RequestParam(required = false) String roomName,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) String locationName,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Boolean isActive) {
+        
+        log.info("채팅방 수정: roomId={}", roomId);
+        
+        try {
+            ChatRoom chatRoom = chatService.updateChatRoom(roomId, roomName, latitude, longitude, locationName, radiusKm, isActive);
+            return ResponseEntity.ok(ApiResponse.success("채팅방을 성공적으로 수정했습니다.", chatRoom));
+        } catch (Exception e) {
+            log.error("채팅방 수정 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error("채팅방 수정에 실패했습니다."));
+        }
+    }
 }
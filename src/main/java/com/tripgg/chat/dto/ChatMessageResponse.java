@@ -0,0 +1,34 @@
+package com.tripgg.chat.dto;
+
+import com.tripgg.chat.entity.Chat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageResponse {
+    
+    private Integer id;
+    private Integer roomId;
+    private Integer userId;
+    private String userNickname;
+    private String message;
+    private LocalDateTime createdAt;
+    
+    public static ChatMessageResponse from(Chat chat) {
+        return ChatMessageResponse.builder()
+                .id(chat.getId())
+                .roomId(chat.getChatRoom().getId())
+                .userId(chat.getUser().getId())
+                .userNickname(chat.getUser().getNickname())
+                .message(chat.getMessage())
+                .createdAt(chat.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.tripgg.chat.dto;
+
+import com.tripgg.chat.entity.ChatRoom;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatRoomResponse {
+    
+    private Integer id;
+    private String roomName;
+    private Double latitude;
+    private Double longitude;
+    private String locationName;
+    private Double radiusKm;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private Long occupancy; // 현재 접속자 수
+    
+    public static ChatRoomResponse of(ChatRoom chatRoom, long occupancy) {
+        return ChatRoomResponse.builder()
+                .id(chatRoom.getId())
+                .roomName(chatRoom.getRoomName())
+                .latitude(chatRoom.getLatitude())
+                .longitude(chatRoom.getLongitude())
+                .locationName(chatRoom.getLocationName())
+                .radiusKm(chatRoom.getRadiusKm())
+                .isActive(chatRoom.getIsActive())
+                .createdAt(chatRoom.getCreatedAt())
+                .occupancy(occupancy)
+                .build();
+    }
+}
@@ -12,7 +12,14 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "chats")
+@Table(name = "chats", indexes = {
+        // 채팅방별 id 역순 커서 페이지 조회용
+        @Index(name = "idx_chats_chat_room_id_id", columnList = "chat_room_id, id"),
+        // 사용자별 id 역순 커서 페이지 조회용 (외래 키를 만들지 않으므로 user_id 인덱스가 자동으로 생기지 않는다)
+        @Index(name = "idx_chats_user_id_id", columnList = "user_id, id"),
+        // 월 단위 보관/삭제 범위 조회용
+        @Index(name = "idx_chats_created_at", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,11 +32,12 @@ public class Chat {
     private Integer id;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    // 월별 파티션 테이블은 외래 키를 지원하지 않으므로 제약 조건을 만들지 않는다 (db/chats-monthly-partitioning.sql)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "chat_room_id", nullable = false)
+    @JoinColumn(name = "chat_room_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private ChatRoom chatRoom;
     
     @Column(name = "message", columnDefinition = "TEXT")
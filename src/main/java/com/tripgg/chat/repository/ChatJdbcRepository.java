@@ -0,0 +1,187 @@
+package com.tripgg.chat.repository;
+
+import com.tripgg.chat.dto.ChatMessageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 메시지 다중 행 insert용 JDBC 저장소 (write-behind 모드)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ChatJdbcRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO chats (id, user_id, chat_room_id, message, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?)";
+    // 저널 재생으로 이미 들어간 행이 다시 들어오면 무시한다 (재생 전용)
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 잠금 이름별로 MySQL 이름 잠금을 쥐고 있는 전용 커넥션 (쓰기 노드, 보관 작업 등)
+    // 잠금은 세션에 묶이므로 쥐고 있는 동안 커넥션을 계속 열어 둔다
+    private final Map<String, Connection> lockConnections = new HashMap<>();
+
+    /**
+     * 애플리케이션에서 id를 부여한 메시지를 다중 행 INSERT 한 번으로 저장
+     * 같은 id가 이미 있으면 DuplicateKeyException, 추가된 행 수가 메시지 수와 다르면 예외를 던진다.
+     */
+    public void insertAll(List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        int inserted = jdbcTemplate.update(insertSql(messages.size(), false), insertArgs(messages));
+        if (inserted != messages.size()) {
+            throw new IncorrectUpdateSemanticsDataAccessException(
+                    "채팅 메시지 INSERT 행 수 불일치: 요청 " + messages.size() + "건, 반영 " + inserted + "건");
+        }
+    }
+
+    /**
+     * 저널 재생용 INSERT (이미 반영된 id는 건너뜀)
+     */
+    public void insertAllIgnoringExisting(List<ChatMessageResponse> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(insertSql(messages.size(), true), insertArgs(messages));
+    }
+
+    /**
+     * 같은 id의 행이 이 메시지와 같은 내용인지 (앞선 반영이 커밋된 뒤 응답만 유실된 경우 판별)
+     */
+    public boolean existsSame(ChatMessageResponse message) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM chats WHERE id = ? AND user_id = ? AND chat_room_id = ? AND message = ?",
+                Integer.class, message.getId(), message.getUserId(), message.getRoomId(), message.getMessage());
+        return count != null && count > 0;
+    }
+
+    public int findMaxId() {
+        Integer maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM chats", Integer.class);
+        return maxId != null ? maxId : 0;
+    }
+
+    /**
+     * 노드 잠금 획득 (MySQL GET_LOCK, 기다리지 않음)
+     * 잠금 이름마다 전용 커넥션을 열어 잠금을 쥐고, 이미 쥐고 있으면 그대로 true를 돌려준다.
+     *
+     * @return 획득 여부 (다른 세션이 쥐고 있으면 false)
+     */
+    public synchronized boolean acquireWriterLock(String name) {
+        if (holdsWriterLock(name)) {
+            return true;
+        }
+        releaseWriterLock(name);
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        if (dataSource == null) {
+            throw new IllegalStateException("DataSource가 없어 노드 잠금을 걸 수 없습니다: " + name);
+        }
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                statement.setString(1, name);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getInt(1) == 1) {
+                        lockConnections.put(name, connection);
+                        return true;
+                    }
+                }
+            }
+            connection.close();
+            return false;
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new IllegalStateException("노드 잠금 획득 실패(" + name + "): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 이 노드가 아직 잠금을 쥐고 있는지 (잠금 커넥션이 끊기면 MySQL이 잠금을 풀어 false)
+     * 주기적으로 호출되어 잠금 커넥션이 유휴 시간 초과로 끊기지 않게 하는 역할도 한다.
+     */
+    public synchronized boolean holdsWriterLock(String name) {
+        Connection connection = lockConnections.get(name);
+        if (connection == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT IS_USED_LOCK(?) = CONNECTION_ID()")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        } catch (SQLException e) {
+            log.warn("노드 잠금 확인 실패({}): {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void releaseWriterLock(String name) {
+        Connection connection = lockConnections.remove(name);
+        if (connection == null) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.executeQuery().close();
+        } catch (SQLException e) {
+            log.warn("노드 잠금 해제 실패({}): {}", name, e.getMessage());
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private static String insertSql(int rows, boolean ignoreExisting) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+        }
+        if (ignoreExisting) {
+            sql.append(ON_DUPLICATE);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] insertArgs(List<ChatMessageResponse> messages) {
+        List<Object> args = new ArrayList<>(messages.size() * 5);
+        for (ChatMessageResponse message : messages) {
+            args.add(message.getId());
+            args.add(message.getUserId());
+            args.add(message.getRoomId());
+            args.add(message.getMessage());
+            args.add(Timestamp.valueOf(message.getCreatedAt()));
+        }
+        return args.toArray();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 이미 끊긴 커넥션
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.tripgg.chat.repository;
 
 import com.tripgg.chat.entity.Chat;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,18 +12,26 @@ import java.util.List;
 public interface ChatRepository extends JpaRepository<Chat, Integer> {
     
     /**
-     * 특정 채팅방의 메시지 조회
+     * 특정 채팅방의 최신 메시지 조회 (작성자 함께 조회)
      */
-    List<Chat> findByChatRoomIdOrderByCreatedAtDesc(Integer chatRoomId);
+    @EntityGraph(attributePaths = "user")
+    List<Chat> findByChatRoomIdOrderByIdDesc(Integer chatRoomId, Limit limit);
     
     /**
-     * 특정 지역의 채팅방 메시지 조회
+     * 특정 채팅방에서 id 이전 메시지를 최신순으로 조회 (커서 페이지네이션, 작성자 함께 조회)
      */
-    @Query("SELECT c FROM Chat c WHERE c.chatRoom.locationName = :locationName ORDER BY c.createdAt DESC")
-    List<Chat> findChatsByLocationName(@Param("locationName") String locationName);
+    @EntityGraph(attributePaths = "user")
+    List<Chat> findByChatRoomIdAndIdLessThanOrderByIdDesc(Integer chatRoomId, Integer id, Limit limit);
     
     /**
-     * 사용자가 참여한 채팅방 조회
+     * 사용자의 최신 메시지 조회 (idx_chats_user_id_id, 작성자 함께 조회)
      */
-    List<Chat> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @EntityGraph(attributePaths = "user")
+    List<Chat> findByUserIdOrderByIdDesc(Integer userId, Limit limit);
+    
+    /**
+     * 사용자의 id 이전 메시지를 최신순으로 조회 (커서 페이지네이션, 작성자 함께 조회)
+     */
+    @EntityGraph(attributePaths = "user")
+    List<Chat> findByUserIdAndIdLessThanOrderByIdDesc(Integer userId, Integer id, Limit limit);
 }
@@ -12,25 +12,6 @@ import java.util.Optional;
 @Repository
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Integer> {
     
-    /**
-     * 사용자 위치에서 가장 가까운 채팅방 찾기
-     * 위도, 경도 범위 내의 활성화된 채팅방을 조회
-     */
-    @Query("SELECT cr FROM ChatRoom cr WHERE " +
-           "cr.isActive = true AND " +
-           "cr.latitude BETWEEN :minLat AND :maxLat AND " +
-           "cr.longitude BETWEEN :minLng AND :maxLng " +
-           "ORDER BY " +
-           "SQRT(POWER(cr.latitude - :userLat, 2) + POWER(cr.longitude - :userLng, 2)) ASC")
-    List<ChatRoom> findNearestChatRooms(
-        @Param("userLat") Double userLat,
-        @Param("userLng") Double userLng,
-        @Param("minLat") Double minLat,
-        @Param("maxLat") Double maxLat,
-        @Param("minLng") Double minLng,
-        @Param("maxLng") Double maxLng
-    );
-    
     /**
      * 특정 지역의 채팅방 찾기
      */
@@ -0,0 +1,343 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지 실시간 전달 (WebSocket/STOMP + SSE 대체 경로)
+ * 메시지 저장 트랜잭션이 커밋된 뒤 /topic/chat/{roomId} 구독자와 SSE 구독자에게 한 번씩 푸시한다.
+ * SSE 구독자마다 크기 제한이 있는 전송 대기열을 두고 공용 전송 스레드가 구독자 단위로 비운다.
+ * - 한 구독자의 이벤트는 한 번에 한 스레드만 보내므로 방 안의 메시지 순서가 유지된다.
+ * - 느린 클라이언트는 자기 대기열만 채우고 다른 구독자/방의 전송을 막지 않으며, 대기열이 가득 차면 연결을 끊는다.
+ * - 쓰기에서 멈춘 전송이 스레드를 붙잡고 있는 동안에는 그만큼 전송 스레드를 늘리고(sse-max-threads까지),
+ *   한 번의 전송이 sse-send-timeout을 넘기면 연결을 닫아 스레드를 돌려받는다.
+ * - 하트비트도 같은 대기열로 보내므로 하트비트 스레드가 느린 클라이언트에 묶이지 않는다.
+ */
+@Slf4j
+@Service
+public class ChatMessagePublisher implements StatsProvider {
+
+    public static final String TOPIC_PREFIX = "/topic/chat/";
+
+    // 전송 상태 점검 주기, 이보다 오래 걸린 전송은 쓰기에서 멈춘 것으로 본다
+    private static final long SEND_CHECK_MILLIS = 100;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long sseTimeoutMillis;
+    private final int sseMaxPending;
+    private final long sseSendTimeoutNanos;
+    private final int sseThreads;
+    private final int sseMaxThreads;
+
+    private final Map<Integer, Set<Subscriber>> sseSubscribers = new ConcurrentHashMap<>();
+    // 지금 전송 중인 구독자 (최대 전송 스레드 수만큼)
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sseSender;
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder sseDeliveries = new LongAdder();
+    private final LongAdder sseFailures = new LongAdder();
+    private final LongAdder sseDropped = new LongAdder();
+
+    public ChatMessagePublisher(SimpMessagingTemplate messagingTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${chat.stream.sse-timeout-minutes:30}") long sseTimeoutMinutes,
+                                @Value("${chat.stream.sse-heartbeat-seconds:25}") long sseHeartbeatSeconds,
+                                @Value("${chat.stream.sse-threads:8}") int sseThreads,
+                                @Value("${chat.stream.sse-max-threads:64}") int sseMaxThreads,
+                                @Value("${chat.stream.sse-max-pending:256}") int sseMaxPending,
+                                @Value("${chat.stream.sse-send-timeout-millis:10000}") long sseSendTimeoutMillis) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.sseTimeoutMillis = TimeUnit.MINUTES.toMillis(sseTimeoutMinutes);
+        this.sseMaxPending = sseMaxPending;
+        this.sseSendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sseSendTimeoutMillis);
+        this.sseThreads = sseThreads;
+        this.sseMaxThreads = Math.max(sseMaxThreads, sseThreads);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // 작업은 구독자당 최대 하나만 대기하므로 작업 대기열 크기는 구독자 수를 넘지 않는다
+        // 기본 스레드 수는 checkSends가 멈춘 전송 수만큼 조정한다
+        this.sseSender = new ThreadPoolExecutor(
+                sseThreads, this.sseMaxThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "chat-sse-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 프록시/로드밸런서의 유휴 연결 종료를 막고 끊긴 연결을 정리하기 위한 주석 이벤트
+        heartbeatScheduler.scheduleAtFixedRate(this::sendHeartbeats,
+                sseHeartbeatSeconds, sseHeartbeatSeconds, TimeUnit.SECONDS);
+        heartbeatScheduler.scheduleWithFixedDelay(this::checkSends,
+                SEND_CHECK_MILLIS, SEND_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        sseSender.shutdownNow();
+        sseSubscribers.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**
+     * 채팅방 구독자에게 메시지 전달 (메시지 버스에서 방별 발행 순서대로 호출)
+     */
+    public void publish(ChatMessageResponse response) {
+        published.increment();
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + response.getRoomId(), response);
+
+        Set<Subscriber> subscribers = sseSubscribers.get(response.getRoomId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        String payload;
+        try {
+            // 구독자마다 직렬화하지 않도록 한 번만 JSON으로 만든다
+            payload = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.error("채팅 메시지 직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        String id = String.valueOf(response.getId());
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().id(id).name("message").data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * 채팅방 SSE 구독 등록 (위치 확인은 호출 측에서 구독 시점에 한 번 수행)
+     */
+    public SseEmitter subscribeSse(Integer roomId) {
+        return subscribeSse(roomId, () -> {
+        });
+    }
+
+    /**
+     * 채팅방 SSE 구독 등록, 연결이 어떤 이유로든 닫히면 onClose를 한 번 호출한다 (접속자 퇴장 처리 등)
+     */
+    public SseEmitter subscribeSse(Integer roomId, Runnable onClose) {
+        Subscriber subscriber = new Subscriber(roomId, newEmitter(sseTimeoutMillis), onClose);
+        sseSubscribers.computeIfAbsent(roomId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable remove = () -> remove(subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(error -> remove.run());
+
+        enqueue(subscriber, SseEmitter.event().name("subscribed").data(String.valueOf(roomId)));
+        return subscriber.emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int getSseSubscriberCount(Integer roomId) {
+        Set<Subscriber> subscribers = sseSubscribers.get(roomId);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    private void sendHeartbeats() {
+        sseSubscribers.values().forEach(subscribers -> {
+            for (Subscriber subscriber : subscribers) {
+                // 보낼 이벤트가 쌓여 있으면 연결이 유휴 상태가 아니므로 하트비트는 생략
+                if (subscriber.pending.get() == 0) {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 전송 점검
+     * - 제한 시간을 넘긴 전송은 연결을 닫는다 (연결이 닫히면 막혀 있던 쓰기가 실패하며 스레드가 풀려난다)
+     * - 쓰기에서 멈춘 전송이 붙잡은 스레드만큼 기본 스레드 수를 늘려 다른 구독자 전송이 밀리지 않게 한다
+     */
+    private void checkSends() {
+        long now = System.nanoTime();
+        long stuckNanos = TimeUnit.MILLISECONDS.toNanos(SEND_CHECK_MILLIS);
+        int stuck = 0;
+        for (Subscriber subscriber : sending) {
+            long since = subscriber.sendingSince;
+            if (since == 0 || now - since < stuckNanos) {
+                continue;
+            }
+            stuck++;
+            if (now - since > sseSendTimeoutNanos && !subscriber.closed) {
+                sseDropped.increment();
+                log.warn("SSE 전송이 {}ms 넘게 멈춰 연결 종료: roomId={}",
+                        TimeUnit.NANOSECONDS.toMillis(sseSendTimeoutNanos), subscriber.roomId);
+                close(subscriber, null);
+            }
+        }
+        int threads = Math.min(sseThreads + stuck, sseMaxThreads);
+        if (threads != sseSender.getCorePoolSize()) {
+            sseSender.setCorePoolSize(threads);
+        }
+    }
+
+    /**
+     * 구독자 대기열에 이벤트 추가, 가득 차면 따라오지 못하는 구독자로 보고 연결을 끊는다
+     */
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.pending.incrementAndGet() > sseMaxPending) {
+            subscriber.pending.decrementAndGet();
+            sseDropped.increment();
+            log.warn("SSE 구독자 전송 지연으로 연결 종료: roomId={}, 대기 {}건", subscriber.roomId, sseMaxPending);
+            close(subscriber, null);
+            return;
+        }
+        subscriber.events.add(event);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sseSender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false); // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 구독자 대기열 비우기 (구독자당 한 스레드만 실행)
+     */
+    private void drain(Subscriber subscriber) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = subscriber.events.poll()) != null) {
+            subscriber.pending.decrementAndGet();
+            if (subscriber.closed) {
+                continue;
+            }
+            subscriber.sendingSince = System.nanoTime();
+            sending.add(subscriber);
+            try {
+                subscriber.emitter.send(event);
+                sseDeliveries.increment();
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결은 구독 목록에서 제거
+                sseFailures.increment();
+                close(subscriber, e);
+            } finally {
+                subscriber.sendingSince = 0;
+                sending.remove(subscriber);
+            }
+        }
+        subscriber.draining.set(false);
+        // 비우는 중에 들어온 이벤트를 놓치지 않도록 다시 확인
+        if (!subscriber.events.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber, Throwable error) {
+        synchronized (subscriber) {
+            if (subscriber.closed) {
+                return;
+            }
+            subscriber.closed = true;
+        }
+        remove(subscriber);
+        if (error != null) {
+            subscriber.emitter.completeWithError(error);
+        } else {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        sseSubscribers.computeIfPresent(subscriber.roomId, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (subscriber.removed.compareAndSet(false, true)) {
+            try {
+                subscriber.onClose.run();
+            } catch (RuntimeException e) {
+                log.warn("SSE 구독 종료 처리 실패: roomId={}, {}", subscriber.roomId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * SSE 구독자와 전송 대기열
+     */
+    private static final class Subscriber {
+        private final Integer roomId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private final Runnable onClose;
+        private volatile boolean closed;
+        // 진행 중인 전송의 시작 시각 (System.nanoTime, 0이면 전송 중 아님)
+        private volatile long sendingSince;
+
+        Subscriber(Integer roomId, SseEmitter emitter, Runnable onClose) {
+            this.roomId = roomId;
+            this.emitter = emitter;
+            this.onClose = onClose;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-message-publisher";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("published", published.sum());
+        stats.put("sseSubscribers", sseSubscribers.values().stream().mapToInt(Set::size).sum());
+        stats.put("sseRooms", sseSubscribers.size());
+        stats.put("sseDeliveries", sseDeliveries.sum());
+        stats.put("sseFailures", sseFailures.sum());
+        stats.put("sseDropped", sseDropped.sum());
+        stats.put("ssePendingEvents", sseSubscribers.values().stream()
+                .flatMap(Set::stream).mapToInt(subscriber -> subscriber.pending.get()).sum());
+        stats.put("sseSendingSubscribers", sending.size());
+        stats.put("sseSenderThreads", sseSender.getPoolSize());
+        return stats;
+    }
+}
@@ -0,0 +1,402 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.bus.ChatMessageBus;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방 접속자 수 (presence) 추적
+ * - 실시간 구독(STOMP SUBSCRIBE, SSE 연결)이 열려 있는 동안은 접속 중이고, 구독이 모두 닫히면 바로 퇴장한다.
+ * - 구독 없이 채팅방을 보는 클라이언트는 주기적으로 heartbeat를 보내고, ttl 동안 heartbeat가 없으면 퇴장으로 본다.
+ * 같은 사용자가 한 방에 여러 연결을 열어도 한 명으로 센다.
+ * 만료는 해시 타이머 휠로 처리한다. heartbeat는 마감 시각만 갱신하고(O(1)),
+ * 휠이 해당 칸에 도달했을 때 마감이 연장된 항목만 새 칸으로 옮기므로 접속자당 ttl마다 한 번 정도만 다시 배치된다.
+ *
+ * 여러 노드 구성에서는 입장/퇴장을 메시지 버스 이벤트로 다른 노드에 알리고, sync-seconds마다 노드별 전체 목록을 보내
+ * 놓친 이벤트를 바로잡는다. 방 인원은 모든 노드의 사용자 집합의 합집합이므로 두 노드에 연결된 사용자도 한 명이다.
+ * 목록이 3회 연속 오지 않은 노드는 내려간 것으로 보고 제외한다.
+ */
+@Slf4j
+@Service
+public class ChatPresenceService implements StatsProvider {
+
+    private final long ttlTicks;
+    private final long tickMillis;
+    private final int wheelMask;
+    private final Set<Presence>[] wheel;
+    private final ScheduledExecutorService ticker;
+    private volatile long currentTick;
+
+    public static final String PRESENCE_EVENT = "presence";
+    public static final String PRESENCE_SNAPSHOT_EVENT = "presence-snapshot";
+
+    private final ChatMessageBus chatMessageBus;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final long syncMillis;
+
+    private final Map<Long, Presence> sessions = new ConcurrentHashMap<>();
+    // 이 노드의 방별 접속 사용자
+    private final Map<Integer, Set<Integer>> localUsers = new ConcurrentHashMap<>();
+    // 다른 노드의 방별 접속 사용자
+    private final Map<String, RemoteNode> remoteNodes = new ConcurrentHashMap<>();
+
+    private final LongAdder heartbeats = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder leaves = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder remoteEvents = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ChatPresenceService(ChatMessageBus chatMessageBus,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.presence.ttl-seconds:60}") long ttlSeconds,
+                               @Value("${chat.presence.tick-millis:1000}") long tickMillis,
+                               @Value("${chat.presence.wheel-size:128}") int wheelSize,
+                               @Value("${chat.presence.sync-seconds:15}") long syncSeconds) {
+        this.chatMessageBus = chatMessageBus;
+        this.objectMapper = objectMapper;
+        this.syncMillis = TimeUnit.SECONDS.toMillis(syncSeconds);
+        this.tickMillis = tickMillis;
+        this.ttlTicks = Math.max(1, TimeUnit.SECONDS.toMillis(ttlSeconds) / tickMillis);
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.wheelMask = size - 1;
+        this.wheel = new Set[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-presence-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::sync, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PostConstruct
+    public void subscribeNodeEvents() {
+        chatMessageBus.onEvent(PRESENCE_EVENT, this::onPresenceEvent);
+        chatMessageBus.onEvent(PRESENCE_SNAPSHOT_EVENT, this::onSnapshot);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 접속 유지 신호 (처음이면 입장 처리)
+     *
+     * @return 현재 채팅방 인원
+     */
+    public long heartbeat(Integer roomId, Integer userId) {
+        heartbeats.increment();
+        while (true) {
+            Presence presence = join(roomId, userId);
+            synchronized (presence) {
+                if (!presence.removed.get()) {
+                    presence.deadlineTick = Math.max(presence.deadlineTick, currentTick + ttlTicks);
+                    return getOccupancy(roomId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 실시간 구독 시작 (구독이 열려 있는 동안은 heartbeat 없이도 만료되지 않음)
+     */
+    public void acquire(Integer roomId, Integer userId) {
+        while (true) {
+            Presence presence = join(roomId, userId);
+            synchronized (presence) {
+                // 만료와 겹쳐 이미 제거된 항목이면 다시 입장
+                if (!presence.removed.get()) {
+                    presence.connections.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 실시간 구독 종료 (마지막 구독이 닫히고 heartbeat 마감도 지났으면 바로 퇴장)
+     */
+    public void release(Integer roomId, Integer userId) {
+        Presence presence = sessions.get(keyOf(roomId, userId));
+        if (presence == null) {
+            return;
+        }
+        synchronized (presence) {
+            if (presence.connections.get() == 0 || presence.connections.decrementAndGet() > 0) {
+                return;
+            }
+            if (presence.deadlineTick <= currentTick) {
+                remove(presence, leaves);
+            }
+        }
+    }
+
+    /**
+     * 명시적 퇴장 (창을 닫을 때 등, 보내지 않아도 ttl 후 만료됨, 열린 구독이 있으면 유지)
+     */
+    public long leave(Integer roomId, Integer userId) {
+        Presence presence = sessions.get(keyOf(roomId, userId));
+        if (presence != null) {
+            synchronized (presence) {
+                presence.deadlineTick = currentTick;
+                if (presence.connections.get() == 0) {
+                    remove(presence, leaves);
+                }
+            }
+        }
+        return getOccupancy(roomId);
+    }
+
+    /**
+     * 방 인원 (모든 노드의 접속 사용자 합집합)
+     */
+    public long getOccupancy(Integer roomId) {
+        Set<Integer> local = localUsers.get(roomId);
+        if (remoteNodes.isEmpty()) {
+            return local != null ? local.size() : 0;
+        }
+        Set<Integer> users = local != null ? new HashSet<>(local) : new HashSet<>();
+        for (RemoteNode node : remoteNodes.values()) {
+            Set<Integer> remote = node.rooms.get(roomId);
+            if (remote != null) {
+                users.addAll(remote);
+            }
+        }
+        return users.size();
+    }
+
+    private Presence join(Integer roomId, Integer userId) {
+        long key = keyOf(roomId, userId);
+        while (true) {
+            Presence presence = sessions.get(key);
+            if (presence != null && !presence.removed.get()) {
+                return presence;
+            }
+            // 구독으로만 입장하면 heartbeat 마감은 이미 지난 것으로 둔다
+            long deadline = currentTick;
+            Presence joined = new Presence(key, roomId, userId, deadline);
+            if (presence == null ? sessions.putIfAbsent(key, joined) == null : sessions.replace(key, presence, joined)) {
+                localUsers.computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+                joins.increment();
+                wheel[slotOf(deadline + ttlTicks)].add(joined);
+                publish("join", roomId, userId);
+                return joined;
+            }
+        }
+    }
+
+    private void remove(Presence presence, LongAdder counter) {
+        if (presence.removed.compareAndSet(false, true)) {
+            sessions.remove(presence.key, presence);
+            Set<Integer> users = localUsers.get(presence.roomId);
+            if (users != null) {
+                users.remove(presence.userId);
+            }
+            counter.increment();
+            publish("leave", presence.roomId, presence.userId);
+        }
+    }
+
+    /**
+     * 휠 한 칸 진행 (단일 스레드)
+     * 마감이 지난 항목은 퇴장 처리하고, heartbeat로 마감이 연장된 항목은 마감 시각의 칸으로 옮긴다.
+     */
+    private void tick() {
+        try {
+            long tick = currentTick + 1;
+            int slot = slotOf(tick);
+            for (Iterator<Presence> iterator = wheel[slot].iterator(); iterator.hasNext(); ) {
+                Presence presence = iterator.next();
+                if (presence.removed.get()) {
+                    iterator.remove();
+                    continue;
+                }
+                long deadline = presence.deadlineTick;
+                if (presence.connections.get() > 0) {
+                    // 구독이 열려 있으면 ttl 뒤에 다시 확인
+                    iterator.remove();
+                    wheel[slotOf(Math.max(deadline, tick + ttlTicks))].add(presence);
+                } else if (deadline <= tick) {
+                    iterator.remove();
+                    expireIfIdle(presence, tick);
+                } else if (slotOf(deadline) != slot) {
+                    iterator.remove();
+                    wheel[slotOf(deadline)].add(presence);
+                }
+            }
+            currentTick = tick;
+        } catch (RuntimeException e) {
+            log.error("채팅방 접속자 만료 처리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expireIfIdle(Presence presence, long tick) {
+        synchronized (presence) {
+            if (presence.connections.get() > 0) {
+                // 확인 직후 구독이 열렸으면 유지
+                wheel[slotOf(tick + ttlTicks)].add(presence);
+            } else {
+                remove(presence, expirations);
+            }
+        }
+    }
+
+    /**
+     * 입장/퇴장을 다른 노드에 알림 ("join|nodeId|roomId|userId")
+     */
+    private void publish(String type, Integer roomId, Integer userId) {
+        try {
+            chatMessageBus.broadcast(PRESENCE_EVENT, type + "|" + nodeId + "|" + roomId + "|" + userId);
+        } catch (RuntimeException e) {
+            // 다음 전체 목록 전송에서 바로잡힌다
+            log.warn("접속자 이벤트 발행 실패: {}", e.getMessage());
+        }
+    }
+
+    private void onPresenceEvent(String payload) {
+        String[] parts = payload.split("\\|");
+        if (parts.length != 4 || nodeId.equals(parts[1])) {
+            return;
+        }
+        remoteEvents.increment();
+        Integer roomId = Integer.valueOf(parts[2]);
+        Integer userId = Integer.valueOf(parts[3]);
+        RemoteNode node = remoteNodes.computeIfAbsent(parts[1], id -> new RemoteNode());
+        node.lastSeenMillis = System.currentTimeMillis();
+        if ("join".equals(parts[0])) {
+            node.rooms.computeIfAbsent(roomId, id -> ConcurrentHashMap.newKeySet()).add(userId);
+        } else {
+            Set<Integer> users = node.rooms.get(roomId);
+            if (users != null) {
+                users.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * 이 노드의 전체 목록 전송 + 목록이 끊긴 노드 제외 (ticker 스레드)
+     */
+    void sync() {
+        try {
+            Map<Integer, List<Integer>> rooms = new HashMap<>();
+            localUsers.forEach((roomId, users) -> {
+                if (!users.isEmpty()) {
+                    rooms.put(roomId, List.copyOf(users));
+                }
+            });
+            chatMessageBus.broadcast(PRESENCE_SNAPSHOT_EVENT, objectMapper.writeValueAsString(new Snapshot(nodeId, rooms)));
+            long staleBefore = System.currentTimeMillis() - syncMillis * 3;
+            remoteNodes.values().removeIf(node -> node.lastSeenMillis < staleBefore);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("접속자 목록 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void onSnapshot(String payload) {
+        Snapshot snapshot;
+        try {
+            snapshot = objectMapper.readValue(payload, Snapshot.class);
+        } catch (JsonProcessingException e) {
+            log.warn("접속자 목록 역직렬화 실패: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(snapshot.node())) {
+            return;
+        }
+        remoteEvents.increment();
+        RemoteNode node = new RemoteNode();
+        snapshot.rooms().forEach((roomId, users) -> {
+            Set<Integer> set = ConcurrentHashMap.newKeySet();
+            set.addAll(users);
+            node.rooms.put(roomId, set);
+        });
+        node.lastSeenMillis = System.currentTimeMillis();
+        remoteNodes.put(snapshot.node(), node);
+    }
+
+    /**
+     * 노드별 전체 접속자 목록 (방 ID → 사용자 ID)
+     */
+    record Snapshot(String node, Map<Integer, List<Integer>> rooms) {
+    }
+
+    private static final class RemoteNode {
+        private final Map<Integer, Set<Integer>> rooms = new ConcurrentHashMap<>();
+        private volatile long lastSeenMillis;
+    }
+
+    private int slotOf(long tick) {
+        return (int) (tick & wheelMask);
+    }
+
+    private static long keyOf(Integer roomId, Integer userId) {
+        return ((long) roomId << 32) | (userId & 0xffffffffL);
+    }
+
+    private static final class Presence {
+        private final long key;
+        private final Integer roomId;
+        private final Integer userId;
+        private final AtomicBoolean removed = new AtomicBoolean();
+        // 열려 있는 실시간 구독 수 (STOMP 구독 + SSE 연결)
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile long deadlineTick;
+
+        Presence(long key, Integer roomId, Integer userId, long deadlineTick) {
+            this.key = key;
+            this.roomId = roomId;
+            this.userId = userId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-presence";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", sessions.size());
+        stats.put("rooms", localUsers.values().stream().filter(users -> !users.isEmpty()).count());
+        stats.put("connectedSessions", sessions.values().stream().filter(presence -> presence.connections.get() > 0).count());
+        stats.put("remoteNodes", remoteNodes.size());
+        stats.put("remoteEvents", remoteEvents.sum());
+        stats.put("ttlSeconds", TimeUnit.MILLISECONDS.toSeconds(ttlTicks * tickMillis));
+        stats.put("wheelSize", wheel.length);
+        stats.put("heartbeats", heartbeats.sum());
+        stats.put("joins", joins.sum());
+        stats.put("leaves", leaves.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+}
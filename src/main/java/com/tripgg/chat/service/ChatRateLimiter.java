@@ -0,0 +1,175 @@
+package com.tripgg.chat.service;
+
+import com.tripgg.common.exception.RateLimitExceededException;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지 전송 빈도 제한 (사용자별 + 채팅방별 토큰 버킷)
+ * 버킷은 GCRA(generic cell rate algorithm)로 구현하여 키마다 "이론상 다음 도착 시각" 하나만
+ * AtomicLong에 두고 CAS로 갱신한다. 락이 없고 요청당 비용은 맵 조회와 CAS 한 번 정도이다.
+ * 버킷이 다시 가득 찬(이론상 도착 시각이 지난) 키는 주기적으로 제거하여 상태 크기를 활성 키 수로 제한한다.
+ */
+@Slf4j
+@Component
+public class ChatRateLimiter implements StatsProvider {
+
+    private final boolean enabled;
+    private final Bucket userLimit;
+    private final Bucket roomLimit;
+    private final Map<Integer, AtomicLong> userStates = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> roomStates = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionScheduler;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder userRejected = new LongAdder();
+    private final LongAdder roomRejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public ChatRateLimiter(@Value("${chat.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${chat.rate-limit.user-per-second:1}") double userPerSecond,
+                           @Value("${chat.rate-limit.user-burst:5}") int userBurst,
+                           @Value("${chat.rate-limit.room-per-second:20}") double roomPerSecond,
+                           @Value("${chat.rate-limit.room-burst:50}") int roomBurst,
+                           @Value("${chat.rate-limit.eviction-interval-seconds:60}") long evictionIntervalSeconds) {
+        this.enabled = enabled;
+        this.userLimit = new Bucket(userPerSecond, userBurst);
+        this.roomLimit = new Bucket(roomPerSecond, roomBurst);
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-rate-limit-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictionScheduler.scheduleWithFixedDelay(this::evictIdle,
+                evictionIntervalSeconds, evictionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+    }
+
+    /**
+     * 메시지 한 건 전송 허용 여부 확인 (초과 시 RateLimitExceededException)
+     * 사용자 한도를 먼저 확인하고, 채팅방 한도에 걸리면 사용자 토큰은 되돌린다.
+     */
+    public void acquire(Integer userId, Integer roomId) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong userState = userStates.computeIfAbsent(userId, key -> new AtomicLong(System.nanoTime()));
+        long userWait = userLimit.tryAcquire(userState);
+        if (userWait > 0) {
+            userRejected.increment();
+            throw new RateLimitExceededException("메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요.",
+                    "user", toRetryAfterSeconds(userWait));
+        }
+
+        AtomicLong roomState = roomStates.computeIfAbsent(roomId, key -> new AtomicLong(System.nanoTime()));
+        long roomWait = roomLimit.tryAcquire(roomState);
+        if (roomWait > 0) {
+            userLimit.release(userState);
+            roomRejected.increment();
+            throw new RateLimitExceededException("채팅방에 메시지가 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                    "room", toRetryAfterSeconds(roomWait));
+        }
+        allowed.increment();
+    }
+
+    /**
+     * 버킷이 가득 찬 키 제거 (제거 직후 같은 키의 요청이 들어오면 새 버킷으로 시작하므로 최대 한 번의 버스트가 더 허용될 수 있음)
+     */
+    private void evictIdle() {
+        long now = System.nanoTime();
+        int removed = evictIdle(userStates, now) + evictIdle(roomStates, now);
+        if (removed > 0) {
+            evicted.add(removed);
+            log.debug("유휴 채팅 전송 제한 버킷 {}개 제거", removed);
+        }
+    }
+
+    private static int evictIdle(Map<Integer, AtomicLong> states, long now) {
+        int removed = 0;
+        for (Map.Entry<Integer, AtomicLong> entry : states.entrySet()) {
+            if (entry.getValue().get() - now <= 0 && states.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * GCRA 한도 (상태는 이론상 다음 도착 시각, System.nanoTime 기준)
+     */
+    private static final class Bucket {
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        Bucket(double perSecond, int burst) {
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+        }
+
+        /**
+         * @return 허용되면 0, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+         */
+        long tryAcquire(AtomicLong state) {
+            while (true) {
+                long now = System.nanoTime();
+                long arrival = state.get();
+                long next = Math.max(arrival - now, 0) + now + emissionIntervalNanos;
+                long wait = next - now - burstToleranceNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (state.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void release(AtomicLong state) {
+            state.addAndGet(-emissionIntervalNanos);
+        }
+
+        long perMinute() {
+            return TimeUnit.MINUTES.toNanos(1) / emissionIntervalNanos;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-rate-limiter";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("userLimitPerMinute", userLimit.perMinute());
+        stats.put("roomLimitPerMinute", roomLimit.perMinute());
+        stats.put("trackedUsers", userStates.size());
+        stats.put("trackedRooms", roomStates.size());
+        stats.put("allowed", allowed.sum());
+        stats.put("userRejected", userRejected.sum());
+        stats.put("roomRejected", roomRejected.sum());
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+}
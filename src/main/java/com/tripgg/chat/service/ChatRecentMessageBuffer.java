@@ -0,0 +1,190 @@
+package com.tripgg.chat.service;
+
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.common.metrics.StatsProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼
+ * 방마다 최근 recent-size개의 메시지(작성자 닉네임 포함)를 id 순으로 보관하여
+ * 첫 페이지 조회를 DB 없이 처리한다. 버퍼는 방별로 처음 조회될 때 DB에서 채우고,
+ * 이후에는 커밋된 새 메시지가 추가된다. 메모리는 max-rooms × recent-size 개 메시지로 제한된다.
+ */
+@Component
+public class ChatRecentMessageBuffer implements StatsProvider {
+
+    private final int capacity;
+    private final int maxRooms;
+    private final Map<Integer, RoomBuffer> rooms = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder warmUps = new LongAdder();
+
+    public ChatRecentMessageBuffer(@Value("${chat.history.recent-size:100}") int capacity,
+                                   @Value("${chat.history.max-rooms:500}") int maxRooms) {
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 버퍼에서 before 이전(id 미만) 메시지를 최신순으로 최대 count개 조회
+     * 버퍼만으로 답할 수 없으면(미초기화, 또는 버퍼 밖의 오래된 구간) null
+     *
+     * @param before 커서 (null이면 최신부터)
+     * @param loader 버퍼가 비어 있을 때 최근 메시지를 최신순으로 읽어 오는 함수 (인자: 읽을 개수)
+     */
+    public List<ChatMessageResponse> findBefore(Integer roomId, Integer before, int count,
+                                                Function<Integer, List<ChatMessageResponse>> loader) {
+        RoomBuffer buffer = bufferOf(roomId, loader);
+        List<ChatMessageResponse> page = buffer != null ? buffer.findBefore(before, count) : null;
+        if (page == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return page;
+    }
+
+    /**
+     * 커밋된 새 메시지 추가 (아직 조회된 적 없는 방은 첫 조회 때 DB에서 채우므로 무시)
+     */
+    public void append(ChatMessageResponse message) {
+        RoomBuffer buffer = rooms.get(message.getRoomId());
+        if (buffer != null) {
+            buffer.add(message);
+        }
+    }
+
+    private RoomBuffer bufferOf(Integer roomId, Function<Integer, List<ChatMessageResponse>> loader) {
+        RoomBuffer buffer = rooms.get(roomId);
+        if (buffer == null) {
+            if (rooms.size() >= maxRooms) {
+                return null;
+            }
+            buffer = rooms.computeIfAbsent(roomId, key -> new RoomBuffer(capacity));
+        }
+        // 이전 적재가 실패했으면 다시 시도 (이미 채워졌으면 바로 반환)
+        buffer.warmUp(loader);
+        return buffer;
+    }
+
+    /**
+     * id 오름차순 원형 배열. 커밋 순서가 id 순서와 다를 수 있으므로 끝에서부터 위치를 찾아 삽입한다.
+     */
+    private final class RoomBuffer {
+        private final ChatMessageResponse[] slots;
+        private int head; // 가장 오래된 메시지 위치
+        private int size;
+        private boolean initialized;
+        private boolean complete; // 방의 전체 이력이 버퍼 안에 있는지 (한 번도 밀려난 적 없음)
+
+        RoomBuffer(int capacity) {
+            this.slots = new ChatMessageResponse[capacity];
+        }
+
+        synchronized void warmUp(Function<Integer, List<ChatMessageResponse>> loader) {
+            if (initialized) {
+                return;
+            }
+            List<ChatMessageResponse> latest = loader.apply(slots.length);
+            // 적재 중에 먼저 추가된 메시지가 있을 수 있으므로 id로 중복을 건너뛰며 합친다
+            for (int i = latest.size() - 1; i >= 0; i--) {
+                insert(latest.get(i));
+            }
+            complete = latest.size() < slots.length;
+            initialized = true;
+            warmUps.increment();
+        }
+
+        synchronized void add(ChatMessageResponse message) {
+            insert(message);
+        }
+
+        synchronized List<ChatMessageResponse> findBefore(Integer before, int count) {
+            if (!initialized) {
+                return null;
+            }
+            List<ChatMessageResponse> page = new ArrayList<>(Math.min(count, size));
+            for (int i = size - 1; i >= 0 && page.size() < count; i--) {
+                ChatMessageResponse message = at(i);
+                if (before == null || message.getId() < before) {
+                    page.add(message);
+                }
+            }
+            if (page.size() < count && !complete) {
+                return null; // 더 오래된 메시지는 DB에만 있음
+            }
+            return page;
+        }
+
+        private void insert(ChatMessageResponse message) {
+            int position = size;
+            while (position > 0 && at(position - 1).getId() > message.getId()) {
+                position--;
+            }
+            if (position > 0 && at(position - 1).getId().equals(message.getId())) {
+                return;
+            }
+            if (size == slots.length) {
+                if (position == 0) {
+                    complete = false;
+                    return; // 버퍼의 가장 오래된 메시지보다 오래됨
+                }
+                // 가장 오래된 메시지를 밀어낸다
+                slots[head] = null;
+                head = (head + 1) % slots.length;
+                size--;
+                position--;
+                complete = false;
+            }
+            for (int i = size; i > position; i--) {
+                slots[(head + i) % slots.length] = at(i - 1);
+            }
+            slots[(head + position) % slots.length] = message;
+            size++;
+        }
+
+        private ChatMessageResponse at(int index) {
+            return slots[(head + index) % slots.length];
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-recent-buffer";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rooms", rooms.size());
+        stats.put("maxRooms", maxRooms);
+        stats.put("capacityPerRoom", capacity);
+        stats.put("bufferedMessages", rooms.values().stream().mapToInt(RoomBuffer::size).sum());
+        stats.put("hits", hit);
+        stats.put("misses", miss);
+        stats.put("hitRatio", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss));
+        stats.put("warmUps", warmUps.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,233 @@
+package com.tripgg.chat.service;
+
+import com.tripgg.chat.bus.ChatMessageBus;
+import com.tripgg.chat.entity.ChatRoom;
+import com.tripgg.chat.repository.ChatRoomRepository;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.GeoUtils;
+import com.tripgg.common.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방 인메모리 레지스트리
+ * 채팅방은 개수가 적고 거의 바뀌지 않으므로 전체를 불변 스냅샷으로 들고 있다가
+ * 생성/수정이 커밋되면 새 스냅샷으로 통째로 교체한다. 메시지 조회/전송 경로에서는 채팅방 쿼리를 하지 않는다.
+ * 변경은 메시지 버스의 rooms-changed 이벤트로 모든 노드에 알리고, 이벤트를 놓친 노드를 위해
+ * chat.rooms.reload-interval-millis 주기로도 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatRoomRegistry implements StatsProvider {
+
+    public static final String ROOMS_CHANGED_EVENT = "rooms-changed";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatMessageBus chatMessageBus;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder nearestLookups = new LongAdder();
+    private final LongAdder idLookups = new LongAdder();
+
+    @PostConstruct
+    public void subscribeRoomChanges() {
+        chatMessageBus.onEvent(ROOMS_CHANGED_EVENT, payload -> reload());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * 버스 이벤트를 놓친 경우(Redis 연결 끊김 등)를 위한 주기적 갱신
+     */
+    @Scheduled(fixedDelayString = "${chat.rooms.reload-interval-millis:300000}",
+            initialDelayString = "${chat.rooms.reload-interval-millis:300000}")
+    public void reloadPeriodically() {
+        reload();
+    }
+
+    /**
+     * DB에서 전체 채팅방을 읽어 스냅샷 교체
+     */
+    public synchronized void reload() {
+        long startTime = System.currentTimeMillis();
+        snapshot = new Snapshot(chatRoomRepository.findAll());
+        reloads.increment();
+        log.info("채팅방 레지스트리 갱신: 전체 {}개, 활성 {}개, {}ms",
+                snapshot.byId.size(), snapshot.active.length, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 트랜잭션 커밋 이후 모든 노드의 스냅샷 교체 (이 노드도 버스 이벤트를 받아 갱신한다)
+     */
+    public void reloadAfterCommit() {
+        TransactionUtils.afterCommit(() -> chatMessageBus.broadcast(ROOMS_CHANGED_EVENT, ""));
+    }
+
+    /**
+     * ID로 채팅방 조회 (비활성 채팅방 포함)
+     */
+    public ChatRoom findById(Integer roomId) {
+        idLookups.increment();
+        return roomId != null ? current().byId.get(roomId) : null;
+    }
+
+    /**
+     * 지역명으로 활성 채팅방 조회
+     */
+    public ChatRoom findActiveByLocationName(String locationName) {
+        return locationName != null ? current().activeByLocationName.get(locationName) : null;
+    }
+
+    public List<ChatRoom> getActiveRooms() {
+        return List.of(current().active);
+    }
+
+    /**
+     * 좌표에서 searchRadiusKm 이내의 가장 가까운 활성 채팅방 (없으면 null)
+     * 위도순 정렬 배열에서 위도 범위만 이분 탐색으로 잘라낸 뒤 haversine 거리로 비교한다.
+     */
+    public ChatRoom findNearest(double latitude, double longitude, double searchRadiusKm) {
+        nearestLookups.increment();
+        Snapshot current = current();
+        double latDelta = GeoUtils.latDeltaDegrees(searchRadiusKm);
+
+        ChatRoom nearest = null;
+        double nearestDistance = searchRadiusKm;
+        for (int i = current.lowerBound(latitude - latDelta); i < current.latitudes.length; i++) {
+            if (current.latitudes[i] > latitude + latDelta) {
+                break;
+            }
+            double distance = GeoUtils.haversineKm(latitude, longitude, current.latitudes[i], current.longitudes[i]);
+            if (distance <= nearestDistance) {
+                nearestDistance = distance;
+                nearest = current.active[i];
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 좌표가 채팅방 반경(radiusKm) 안에 있는지 확인
+     */
+    public static boolean isWithinRadius(ChatRoom chatRoom, double latitude, double longitude) {
+        return distanceKm(chatRoom, latitude, longitude) <= chatRoom.getRadiusKm();
+    }
+
+    public static double distanceKm(ChatRoom chatRoom, double latitude, double longitude) {
+        return GeoUtils.haversineKm(latitude, longitude, chatRoom.getLatitude(), chatRoom.getLongitude());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 기동 직후 ApplicationReadyEvent 이전 요청
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 불변 스냅샷 (엔티티는 복사본을 보관하여 호출 측 변경이 공유되지 않게 한다)
+     */
+    private static final class Snapshot {
+        private final Map<Integer, ChatRoom> byId;
+        private final Map<String, ChatRoom> activeByLocationName;
+        private final ChatRoom[] active;
+        private final double[] latitudes;
+        private final double[] longitudes;
+
+        Snapshot(List<ChatRoom> rooms) {
+            Map<Integer, ChatRoom> idMap = new HashMap<>();
+            Map<String, ChatRoom> locationMap = new HashMap<>();
+            List<ChatRoom> activeRooms = new ArrayList<>();
+            for (ChatRoom room : rooms) {
+                ChatRoom copy = copyOf(room);
+                idMap.put(copy.getId(), copy);
+                if (Boolean.TRUE.equals(copy.getIsActive()) && copy.getLatitude() != null && copy.getLongitude() != null) {
+                    activeRooms.add(copy);
+                    locationMap.putIfAbsent(copy.getLocationName(), copy);
+                }
+            }
+            activeRooms.sort(Comparator.comparingDouble(ChatRoom::getLatitude).thenComparing(ChatRoom::getId));
+
+            this.byId = Map.copyOf(idMap);
+            this.activeByLocationName = Map.copyOf(locationMap);
+            this.active = activeRooms.toArray(new ChatRoom[0]);
+            this.latitudes = new double[active.length];
+            this.longitudes = new double[active.length];
+            for (int i = 0; i < active.length; i++) {
+                latitudes[i] = active[i].getLatitude();
+                longitudes[i] = active[i].getLongitude();
+            }
+        }
+
+        int lowerBound(double latitude) {
+            int low = 0;
+            int high = latitudes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (latitudes[mid] < latitude) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static ChatRoom copyOf(ChatRoom room) {
+            return ChatRoom.builder()
+                    .id(room.getId())
+                    .roomName(room.getRoomName())
+                    .latitude(room.getLatitude())
+                    .longitude(room.getLongitude())
+                    .locationName(room.getLocationName())
+                    .radiusKm(room.getRadiusKm())
+                    .isActive(room.getIsActive())
+                    .createdAt(room.getCreatedAt())
+                    .build();
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-room-registry";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", current != null);
+        stats.put("rooms", current != null ? current.byId.size() : 0);
+        stats.put("activeRooms", current != null ? current.active.length : 0);
+        stats.put("reloads", reloads.sum());
+        stats.put("idLookups", idLookups.sum());
+        stats.put("nearestLookups", nearestLookups.sum());
+        return stats;
+    }
+}
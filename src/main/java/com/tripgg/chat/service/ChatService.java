@@ -1,17 +1,31 @@
 package com.tripgg.chat.service;
 
+import com.tripgg.chat.archive.ChatArchiveStore;
+import com.tripgg.chat.bus.ChatMessageBus;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.dto.ChatRoomResponse;
 import com.tripgg.chat.entity.Chat;
 import com.tripgg.chat.entity.ChatRoom;
 import com.tripgg.chat.repository.ChatRepository;
 import com.tripgg.chat.repository.ChatRoomRepository;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.util.TransactionUtils;
 import com.tripgg.user.entity.User;
 import com.tripgg.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.Optional;
 
 @Slf4j
@@ -24,48 +38,58 @@ public class ChatService {
     private final ChatRoomRepository chatRoomRepository;
     private final UserRepository userRepository;
     private final KakaoAddressService kakaoAddressService;
+    private final RegionBoundaryIndex regionBoundaryIndex;
+    private final ChatRoomRegistry chatRoomRegistry;
+    private final ChatMessagePublisher chatMessagePublisher;
+    private final ChatRecentMessageBuffer chatRecentMessageBuffer;
+    private final ChatWriteBehindWriter chatWriteBehindWriter;
+    private final ChatMessageBus chatMessageBus;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatPresenceService chatPresenceService;
+    private final ChatArchiveStore chatArchiveStore;
+    private final TransactionTemplate transactionTemplate;
+    
+    private static final double NEAREST_ROOM_SEARCH_RADIUS_KM = 15.0;
+    
+    @PostConstruct
+    public void subscribeMessageBus() {
+        // 어느 노드에서 저장된 메시지든 버스를 거쳐 이 노드의 버퍼와 구독자에게 전달
+        chatMessageBus.subscribe(this::deliverLocally);
+    }
     
     /**
-     * 사용자 위치에서 가장 가까운 채팅방 찾기
+     * 사용자 위치에서 가장 가까운 채팅방 찾기 (15km 반경)
      */
     public ChatRoom findNearestChatRoom(Double userLat, Double userLng) {
-        // 위도 1도 = 약 111km, 경도 1도 = 약 111km * cos(위도)
-        double searchRadius = 15.0; // 15km 반경에서 검색
-        double latDelta = searchRadius / 111.0;
-        double lngDelta = searchRadius / (111.0 * Math.cos(Math.toRadians(userLat)));
-        
-        double minLat = userLat - latDelta;
-        double maxLat = userLat + latDelta;
-        double minLng = userLng - lngDelta;
-        double maxLng = userLng + lngDelta;
-        
-        log.info("가장 가까운 채팅방 검색: 위도({}~{}), 경도({}~{})", minLat, maxLat, minLng, maxLng);
+        ChatRoom nearestRoom = chatRoomRegistry.findNearest(userLat, userLng, NEAREST_ROOM_SEARCH_RADIUS_KM);
         
-        List<ChatRoom> nearbyRooms = chatRoomRepository.findNearestChatRooms(
-            userLat, userLng, minLat, maxLat, minLng, maxLng
-        );
-        
-        if (nearbyRooms.isEmpty()) {
+        if (nearestRoom == null) {
             log.warn("사용자 위치 근처에 채팅방이 없습니다: 위도={}, 경도={}", userLat, userLng);
             return null;
         }
         
-        ChatRoom nearestRoom = nearbyRooms.get(0);
         log.info("가장 가까운 채팅방: {} (위도={}, 경도={})", nearestRoom.getRoomName(), nearestRoom.getLatitude(), nearestRoom.getLongitude());
         
         return nearestRoom;
     }
     
     /**
-     * 사용자 위치 기반으로 적절한 채팅방 자동 선택 (경기도 31개 지역 매핑)
+     * 사용자 위치 기반으로 적절한 채팅방 자동 선택 (경기도 시/군 지역 매핑)
+     * 행정경계 인덱스로 먼저 판별하고, 어느 경계에도 속하지 않을 때만 카카오 API로 변환한다.
      * @param userLat 사용자 위도
      * @param userLng 사용자 경도
-     * @return 선택된 채팅방 ID (1~31)
+     * @return 선택된 채팅방 ID, 경기도 지역이 아니면 null
      */
     public Integer selectChatRoomByRegion(Double userLat, Double userLng) {
         log.info("지역 기반 채팅방 선택: 위도={}, 경도={}", userLat, userLng);
         
         try {
+            Integer boundaryRoomId = regionBoundaryIndex.findRoomId(userLat, userLng);
+            if (boundaryRoomId != null) {
+                log.info("행정경계 매핑 완료: {} → roomId={}", GyeonggiRegions.regionNameOf(boundaryRoomId), boundaryRoomId);
+                return boundaryRoomId;
+            }
+            
             // 카카오 API로 좌표를 주소로 변환
             String region2Depth = kakaoAddressService.getRegionFromCoordinates(userLng, userLat);
             
@@ -76,8 +100,7 @@ public class ChatService {
             
             log.info("사용자 지역: {}", region2Depth);
             
-            // 경기도 31개 지역 매핑
-            Integer roomId = getGyeonggiRegionRoomId(region2Depth);
+            Integer roomId = GyeonggiRegions.roomIdOf(region2Depth);
             if (roomId != null) {
                 log.info("경기도 지역 매핑 완료: {} → roomId={}", region2Depth, roomId);
                 return roomId;
@@ -92,83 +115,13 @@ public class ChatService {
         }
     }
     
-    /**
-     * 경기도 31개 지역을 roomId로 매핑
-     * @param regionName 지역명 (region_2depth_name)
-     * @return 채팅방 ID (1~31), 경기도 지역이 아니면 null
-     */
-    private Integer getGyeonggiRegionRoomId(String regionName) {
-        if (regionName == null) return null;
-        
-        // "수원시 팔달구" → "수원시" 추출
-        String extractedRegion = extractMainRegion(regionName);
-        if (extractedRegion == null) return null;
-        
-        log.info("지역명 추출: '{}' → '{}'", regionName, extractedRegion);
-        
-        // 경기도 31개 지역 매핑
-        switch (extractedRegion) {
-            case "수원시": return 1;
-            case "성남시": return 2;
-            case "고양시": return 3;
-            case "용인시": return 4;
-            case "부천시": return 5;
-            case "안산시": return 6;
-            case "안양시": return 7;
-            case "평택시": return 8;
-            case "화성시": return 9;
-            case "남양주시": return 10;
-            case "파주시": return 11;
-            case "김포시": return 12;
-            case "이천시": return 13;
-            case "안성시": return 14;
-            case "의정부시": return 15;
-            case "포천시": return 16;
-            case "동두천시": return 17;
-            case "광명시": return 18;
-            case "군포시": return 19;
-            case "양평군": return 20;
-            case "양주시": return 21;
-            case "구리시": return 22;
-            case "오산시": return 23;
-            case "하남시": return 24;
-            case "광주시": return 25;
-            case "연천군": return 26;
-            case "여주시": return 27;
-            case "가평군": return 28;
-            default: return null;
-        }
-    }
-    
-    /**
-     * 지역명에서 시/군/구 추출 (예: "수원시 팔달구" → "수원시")
-     * @param fullRegionName 전체 지역명
-     * @return 추출된 시/군/구명
-     */
-    private String extractMainRegion(String fullRegionName) {
-        if (fullRegionName == null) return null;
-        
-        // "시", "군"으로 끝나는 부분 추출
-        if (fullRegionName.contains("시")) {
-            int endIndex = fullRegionName.indexOf("시") + 1;
-            return fullRegionName.substring(0, endIndex);
-        } else if (fullRegionName.contains("군")) {
-            int endIndex = fullRegionName.indexOf("군") + 1;
-            return fullRegionName.substring(0, endIndex);
-        }
-        
-        return fullRegionName; // 원본 반환
-    }
-    
-
-    
     /**
      * ID로 채팅방 조회
      * @param roomId 채팅방 ID
      * @return 채팅방 정보
      */
     public ChatRoom getChatRoomById(Integer roomId) {
-        return chatRoomRepository.findById(roomId).orElse(null);
+        return chatRoomRegistry.findById(roomId);
     }
     
 
@@ -178,39 +131,98 @@ public class ChatService {
      */
     public ChatRoom getChatRoomByLocation(String locationName) {
         log.info("지역 채팅방 조회: {}", locationName);
-        return chatRoomRepository.findByLocationNameAndIsActiveTrue(locationName)
-                .orElse(null);
+        return chatRoomRegistry.findActiveByLocationName(locationName);
     }
     
     /**
-     * 특정 채팅방의 메시지 조회
+     * 특정 채팅방의 메시지를 최신순으로 조회 (id 커서 기반, before=이전 페이지 nextCursor)
+     * 최근 메시지 버퍼로 답할 수 있는 구간은 DB를 조회하지 않고,
+     * 커서가 DB(보관 기간 이내) 구간을 지나면 나머지를 디스크 보관 세그먼트에서 채운다.
      */
-    public List<Chat> getChatRoomMessages(Integer chatRoomId) {
-        log.info("채팅방 메시지 조회: chatRoomId={}", chatRoomId);
-        return chatRepository.findByChatRoomIdOrderByCreatedAtDesc(chatRoomId);
+    public CursorPage<ChatMessageResponse> getChatRoomMessages(Integer chatRoomId, Integer before, int limit) {
+        List<ChatMessageResponse> fetched = chatRecentMessageBuffer.findBefore(chatRoomId, before, limit + 1,
+                count -> findLatestMessages(chatRoomId, count));
+        if (fetched == null) {
+            log.info("채팅방 메시지 DB 조회: chatRoomId={}, before={}", chatRoomId, before);
+            fetched = before == null
+                    ? findLatestMessages(chatRoomId, limit + 1)
+                    : toResponses(chatRepository.findByChatRoomIdAndIdLessThanOrderByIdDesc(chatRoomId, before, Limit.of(limit + 1)));
+        }
+        if (fetched.size() <= limit && chatArchiveStore.hasRoom(chatRoomId)) {
+            Integer archiveBefore = fetched.isEmpty() ? before : fetched.get(fetched.size() - 1).getId();
+            List<ChatMessageResponse> archived = chatArchiveStore.findBefore(chatRoomId, archiveBefore, limit + 1 - fetched.size());
+            if (!archived.isEmpty()) {
+                log.info("채팅방 보관 메시지 조회: chatRoomId={}, before={}, {}건", chatRoomId, archiveBefore, archived.size());
+                List<ChatMessageResponse> combined = new ArrayList<>(fetched.size() + archived.size());
+                combined.addAll(fetched);
+                combined.addAll(archived);
+                fetched = combined;
+            }
+        }
+        return CursorPage.of(fetched, limit, ChatMessageResponse::getId);
     }
     
     /**
-     * 특정 지역의 채팅방 메시지 조회
+     * 최신 메시지 count개 (write-behind 모드에서 아직 DB에 반영되지 않은 메시지 포함)
      */
-    public List<Chat> getChatsByLocationName(String locationName) {
-        log.info("지역 채팅방 메시지 조회: {}", locationName);
-        return chatRepository.findChatsByLocationName(locationName);
+    private List<ChatMessageResponse> findLatestMessages(Integer chatRoomId, int count) {
+        // 미반영 목록을 먼저 읽어야 DB 조회 사이에 반영된 메시지를 놓치지 않는다
+        List<ChatMessageResponse> unflushed = chatWriteBehindWriter.getUnflushed(chatRoomId);
+        List<ChatMessageResponse> latest = toResponses(chatRepository.findByChatRoomIdOrderByIdDesc(chatRoomId, Limit.of(count)));
+        if (unflushed.isEmpty()) {
+            return latest;
+        }
+        Map<Integer, ChatMessageResponse> merged = new TreeMap<>(Comparator.reverseOrder());
+        latest.forEach(response -> merged.put(response.getId(), response));
+        unflushed.forEach(response -> merged.put(response.getId(), response));
+        return merged.values().stream().limit(count).toList();
+    }
+    
+    private static List<ChatMessageResponse> toResponses(List<Chat> chats) {
+        return chats.stream().map(ChatMessageResponse::from).toList();
     }
     
     /**
-     * 사용자가 참여한 채팅방 조회
+     * 특정 지역 채팅방의 메시지를 최신순으로 조회 (채팅방 메시지 조회와 같은 id 커서, 보관 세그먼트 포함)
      */
-    public List<Chat> getUserChats(Long userId) {
-        log.info("사용자 채팅방 조회: userId={}", userId);
-        return chatRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public CursorPage<ChatMessageResponse> getChatsByLocationName(String locationName, Integer before, int limit) {
+        log.info("지역 채팅방 메시지 조회: {}, before={}", locationName, before);
+        ChatRoom chatRoom = chatRoomRegistry.findActiveByLocationName(locationName);
+        if (chatRoom == null) {
+            return CursorPage.of(List.of(), limit, ChatMessageResponse::getId);
+        }
+        return getChatRoomMessages(chatRoom.getId(), before, limit);
+    }
+    
+    /**
+     * 사용자가 보낸 메시지를 최신순으로 조회 (id 커서 기반, before=이전 페이지 nextCursor)
+     * DB(보관 기간 이내) 구간을 지나면 나머지를 디스크 보관 세그먼트에서 채운다.
+     */
+    public CursorPage<ChatMessageResponse> getUserChats(Long userId, Integer before, int limit) {
+        log.info("사용자 채팅 메시지 조회: userId={}, before={}", userId, before);
+        Integer id = Math.toIntExact(userId);
+        List<ChatMessageResponse> fetched = toResponses(before == null
+                ? chatRepository.findByUserIdOrderByIdDesc(id, Limit.of(limit + 1))
+                : chatRepository.findByUserIdAndIdLessThanOrderByIdDesc(id, before, Limit.of(limit + 1)));
+        if (fetched.size() <= limit && chatArchiveStore.hasUser(id)) {
+            Integer archiveBefore = fetched.isEmpty() ? before : fetched.get(fetched.size() - 1).getId();
+            List<ChatMessageResponse> archived = chatArchiveStore.findByUserBefore(id, archiveBefore, limit + 1 - fetched.size());
+            if (!archived.isEmpty()) {
+                log.info("사용자 보관 메시지 조회: userId={}, before={}, {}건", userId, archiveBefore, archived.size());
+                List<ChatMessageResponse> combined = new ArrayList<>(fetched.size() + archived.size());
+                combined.addAll(fetched);
+                combined.addAll(archived);
+                fetched = combined;
+            }
+        }
+        return CursorPage.of(fetched, limit, ChatMessageResponse::getId);
     }
     
     /**
      * 새 메시지 전송
      */
-    @Transactional
-    public Chat sendMessage(Long userId, String message, Double latitude, Double longitude) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChatMessageResponse sendMessage(Long userId, String message, Double latitude, Double longitude) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         
@@ -220,15 +232,9 @@ public class ChatService {
             throw new RuntimeException("사용자 위치 근처에 채팅방이 없습니다.");
         }
         
-        Chat chat = Chat.builder()
-                .user(user)
-                .chatRoom(chatRoom)
-                .message(message)
-                .build();
-        
         log.info("새 메시지 전송: userId={}, chatRoom={}, message={}", userId, chatRoom.getRoomName(), message);
         
-        return chatRepository.save(chat);
+        return saveMessage(chatRoom, user, message);
     }
     
     /**
@@ -247,20 +253,45 @@ public class ChatService {
         
         log.info("새 채팅방 생성: {} (위도={}, 경도={})", roomName, latitude, longitude);
         
-        return chatRoomRepository.save(chatRoom);
+        ChatRoom savedRoom = chatRoomRepository.save(chatRoom);
+        chatRoomRegistry.reloadAfterCommit();
+        return savedRoom;
+    }
+    
+    /**
+     * 채팅방 정보 수정 (관리자용, null인 항목은 유지)
+     */
+    @Transactional
+    public ChatRoom updateChatRoom(Integer roomId, String roomName, Double latitude, Double longitude,
+                                   String locationName, Double radiusKm, Boolean isActive) {
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
+        
+        if (roomName != null) chatRoom.setRoomName(roomName);
+        if (latitude != null) chatRoom.setLatitude(latitude);
+        if (longitude != null) chatRoom.setLongitude(longitude);
+        if (locationName != null) chatRoom.setLocationName(locationName);
+        if (radiusKm != null) chatRoom.setRadiusKm(radiusKm);
+        if (isActive != null) chatRoom.setIsActive(isActive);
+        
+        log.info("채팅방 수정: roomId={}, {}", roomId, chatRoom.getRoomName());
+        
+        ChatRoom savedRoom = chatRoomRepository.save(chatRoom);
+        chatRoomRegistry.reloadAfterCommit();
+        return savedRoom;
     }
     
     /**
      * 위치 기반 채팅방 접근 권한 확인
      */
     public ChatRoom getChatRoomWithLocationCheck(Integer roomId, Double userLat, Double userLng) {
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElse(null);
+        ChatRoom chatRoom = chatRoomRegistry.findById(roomId);
         if (chatRoom == null || !chatRoom.getIsActive()) {
             return null;
         }
         
         // 사용자 위치가 채팅방 반경 내에 있는지 확인
-        double distance = calculateDistance(userLat, userLng, chatRoom.getLatitude(), chatRoom.getLongitude());
+        double distance = ChatRoomRegistry.distanceKm(chatRoom, userLat, userLng);
         if (distance > chatRoom.getRadiusKm()) {
             log.warn("사용자 위치가 채팅방 반경을 벗어남: 거리={}km, 반경={}km", distance, chatRoom.getRadiusKm());
             return null;
@@ -273,64 +304,85 @@ public class ChatService {
     /**
      * 위치 기반 채팅방 메시지 조회 권한 확인
      */
-    public List<Chat> getChatRoomMessagesWithLocationCheck(Integer roomId, Double userLat, Double userLng) {
+    public CursorPage<ChatMessageResponse> getChatRoomMessagesWithLocationCheck(Integer roomId, Double userLat, Double userLng,
+                                                                             Integer before, int limit) {
         ChatRoom chatRoom = getChatRoomWithLocationCheck(roomId, userLat, userLng);
         if (chatRoom == null) {
             return null;
         }
         
-        return getChatRoomMessages(roomId);
+        return getChatRoomMessages(roomId, before, limit);
     }
     
     /**
      * 위치 기반 메시지 전송 권한 확인
+     * @param sender 인증 필터가 조회해 둔 현재 사용자 (다시 조회하지 않음)
      */
-    @Transactional
-    public Chat sendMessageWithLocationCheck(Integer roomId, String message, Double latitude, Double longitude) {
-        // 임시로 userId=1 사용 (테스트용)
-        Long userId = 1L;
-        
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ChatMessageResponse sendMessageWithLocationCheck(Integer roomId, String message, Double latitude, Double longitude,
+                                                            User sender) {
         ChatRoom chatRoom = getChatRoomWithLocationCheck(roomId, latitude, longitude);
         if (chatRoom == null) {
             throw new RuntimeException("해당 위치에서 접근할 수 없는 채팅방입니다.");
         }
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-        
-        Chat chat = Chat.builder()
-                .user(user)
-                .chatRoom(chatRoom)
-                .message(message)
-                .build();
-        
-        log.info("메시지 전송 성공: roomId={}, userId={}, message={}", roomId, userId, message);
-        
-        return chatRepository.save(chat);
+        ChatMessageResponse response = saveMessage(chatRoom, sender, message);
+        log.info("메시지 전송 성공: roomId={}, userId={}, message={}", roomId, sender.getId(), message);
+        return response;
     }
     
     /**
-     * 활성화된 모든 채팅방 조회
+     * 활성화된 모든 채팅방 조회 (현재 접속자 수 포함)
      */
-    public List<ChatRoom> getAllActiveChatRooms() {
-        return chatRoomRepository.findByIsActiveTrue();
+    public List<ChatRoomResponse> getAllActiveChatRooms() {
+        return chatRoomRegistry.getActiveRooms().stream()
+                .map(chatRoom -> ChatRoomResponse.of(chatRoom, chatPresenceService.getOccupancy(chatRoom.getId())))
+                .toList();
     }
     
     /**
-     * 두 지점 간의 거리 계산 (km)
+     * 채팅방 접속 유지 신호 (활성 채팅방만, 현재 접속자 수 반환)
      */
-    private double calculateDistance(double lat1, double lng1, double lat2, double lng2) {
-        final double R = 6371; // 지구 반지름 (km)
-        
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lngDistance = Math.toRadians(lng2 - lng1);
-        
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lngDistance / 2) * Math.sin(lngDistance / 2);
+    public long heartbeatPresence(Integer roomId, Integer userId) {
+        ChatRoom chatRoom = chatRoomRegistry.findById(roomId);
+        if (chatRoom == null || !chatRoom.getIsActive()) {
+            throw new RuntimeException("채팅방을 찾을 수 없습니다.");
+        }
+        return chatPresenceService.heartbeat(roomId, userId);
+    }
+    
+    /**
+     * 메시지 저장 후 메시지 버스로 발행 (모든 노드의 최근 메시지 버퍼와 구독자에게 전달)
+     * write-behind 모드면 저널 기록이 끝난 즉시, 아니면 INSERT 트랜잭션이 커밋된 뒤 전달한다.
+     * 전송 빈도 제한을 넘으면 저장 전에 RateLimitExceededException을 던진다.
+     */
+    private ChatMessageResponse saveMessage(ChatRoom chatRoom, User user, String message) {
+        chatRateLimiter.acquire(user.getId(), chatRoom.getId());
         
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        if (chatWriteBehindWriter.isEnabled()) {
+            ChatMessageResponse response = chatWriteBehindWriter.append(chatRoom.getId(), user.getId(), user.getNickname(), message);
+            dispatch(response);
+            return response;
+        }
         
-        return R * c;
+        return transactionTemplate.execute(status -> {
+            Chat savedChat = chatRepository.save(Chat.builder()
+                    .user(user)
+                    .chatRoom(chatRoom)
+                    .message(message)
+                    .build());
+            ChatMessageResponse response = ChatMessageResponse.from(savedChat);
+            TransactionUtils.afterCommit(() -> dispatch(response));
+            return response;
+        });
+    }
+    
+    private void dispatch(ChatMessageResponse response) {
+        chatMessageBus.publish(response);
+    }
+    
+    private void deliverLocally(ChatMessageResponse response) {
+        chatRecentMessageBuffer.append(response);
+        chatMessagePublisher.publish(response);
     }
 }
@@ -0,0 +1,604 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.repository.ChatJdbcRepository;
+import com.tripgg.common.metrics.StatsProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 write-behind 저장 (chat.write-behind.enabled=true 일 때만 동작)
+ * 메시지를 로컬 추가 전용 저널 파일에 기록하고 fsync가 끝나면 바로 응답한 뒤,
+ * 별도 스레드가 chats 테이블에 다중 행 INSERT로 모아서 반영한다.
+ * - 저널 기록은 한 스레드가 그룹 단위로 처리하며(group commit) 이 순서대로 id를 부여하므로 방별 순서가 보장된다.
+ * - DB 반영이 끝난 저널 세그먼트는 삭제하고, 남아 있는 세그먼트는 기동 시 다시 반영(재생)한다.
+ * - DB가 거부한 배치는 반씩 나눠 다시 넣어 보고, 한 행만 남아도 거부되면 격리 파일(chat-quarantine.ndjson)로 옮긴다.
+ *   연결 끊김 같은 일시적 오류는 나누지 않고 남은 행을 같은 순서로 다시 시도한다.
+ * - id를 애플리케이션에서 부여하므로 chats에 쓰는 노드는 하나여야 한다.
+ *   기동 시 MySQL 이름 잠금(GET_LOCK)을 쥐지 못하면 기동을 중단하고, 동작 중 잠금을 잃고 되찾지 못하면 새 메시지를 받지 않는다.
+ */
+@Slf4j
+@Service
+public class ChatWriteBehindWriter implements StatsProvider {
+
+    private static final String SEGMENT_PREFIX = "chat-journal-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+    private static final int SHUTDOWN_FLUSH_RETRIES = 3;
+    private static final String QUARANTINE_FILE = "chat-quarantine.ndjson";
+    private static final String WRITER_LOCK_NAME = "tripgg.chat.write-behind";
+    private static final long WRITER_LOCK_CHECK_MILLIS = 5000;
+
+    private final ChatJdbcRepository chatJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path journalDir;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long segmentBytes;
+    private final long ackTimeoutMillis;
+    private final int maxUnflushed;
+    private final long shutdownTimeoutMillis;
+
+    private final BlockingQueue<PendingAppend> appendQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ChatMessageResponse> flushQueue = new LinkedBlockingQueue<>();
+    // 저널에는 있지만 아직 DB에 없는 메시지 (최근 메시지 버퍼 적재 시 합치기 위함)
+    private final ConcurrentSkipListMap<Integer, ChatMessageResponse> unflushed = new ConcurrentSkipListMap<>();
+    private final Deque<Segment> closedSegments = new ConcurrentLinkedDeque<>();
+
+    // 저널 스레드 전용 상태
+    private FileChannel currentChannel;
+    private Path currentPath;
+    private int currentMaxId;
+    private int nextId;
+
+    private volatile boolean running = false;
+    private volatile boolean journalClosed = false;
+    // 쓰기 노드 잠금을 잃고 되찾지 못한 상태 (새 메시지 거부)
+    private volatile boolean fenced = false;
+    // 잠금을 다시 얻은 뒤 다른 노드가 쓴 id와 겹치지 않도록 저널 스레드가 올려 쓸 다음 id 하한
+    private volatile int idFloor = 0;
+    private long lastLockCheckMillis;
+    private Thread journalThread;
+    private Thread flushThread;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder fsyncs = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder flushBatches = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder journalFailures = new LongAdder();
+    private final LongAdder quarantined = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private volatile long replayed = 0;
+
+    public ChatWriteBehindWriter(
+            ChatJdbcRepository chatJdbcRepository,
+            ObjectMapper objectMapper,
+            @Value("${chat.write-behind.enabled:false}") boolean enabled,
+            @Value("${chat.write-behind.journal-dir:./data/chat-journal}") String journalDir,
+            @Value("${chat.write-behind.batch-size:500}") int batchSize,
+            @Value("${chat.write-behind.flush-interval-millis:50}") long flushIntervalMillis,
+            @Value("${chat.write-behind.segment-bytes:67108864}") long segmentBytes,
+            @Value("${chat.write-behind.ack-timeout-millis:2000}") long ackTimeoutMillis,
+            @Value("${chat.write-behind.max-unflushed:100000}") int maxUnflushed,
+            @Value("${chat.write-behind.shutdown-timeout-seconds:30}") long shutdownTimeoutSeconds) {
+        this.chatJdbcRepository = chatJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.journalDir = Paths.get(journalDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.segmentBytes = segmentBytes;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.maxUnflushed = maxUnflushed;
+        this.shutdownTimeoutMillis = TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 쓰기 노드 잠금을 얻고 남은 저널 재생 후 저널/반영 스레드 시작
+     * 잠금을 얻지 못하거나 재생에 실패하면 id가 겹칠 수 있으므로 기동을 중단한다.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (!chatJdbcRepository.acquireWriterLock(WRITER_LOCK_NAME)) {
+            throw new IllegalStateException("다른 노드가 chats에 write-behind로 쓰고 있습니다. "
+                    + "chat.write-behind.enabled는 한 노드에서만 켜야 합니다.");
+        }
+        lastLockCheckMillis = System.currentTimeMillis();
+        Files.createDirectories(journalDir);
+        int replayedMaxId = replay();
+        nextId = Math.max(chatJdbcRepository.findMaxId(), replayedMaxId) + 1;
+        openSegment();
+
+        running = true;
+        journalThread = new Thread(this::runJournal, "chat-journal");
+        flushThread = new Thread(this::runFlush, "chat-flush");
+        journalThread.start();
+        flushThread.start();
+        log.info("채팅 write-behind 시작: 저널={}, 다음 id={}", journalDir, nextId);
+    }
+
+    /**
+     * 정상 종료 시 대기 중인 메시지를 모두 저널에 쓰고 DB에 반영한 뒤 저널 삭제
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        journalThread.join(shutdownTimeoutMillis);
+        flushThread.join(shutdownTimeoutMillis);
+
+        try {
+            currentChannel.close();
+        } catch (IOException e) {
+            log.warn("채팅 저널 닫기 실패: {}", e.getMessage());
+        }
+        if (unflushed.isEmpty() && appendQueue.isEmpty()) {
+            deleteSegments(Integer.MAX_VALUE);
+            deleteQuietly(currentPath);
+            log.info("채팅 write-behind 종료: 모든 메시지 반영 완료");
+        } else {
+            log.warn("채팅 write-behind 종료: 미반영 메시지 {}건은 다음 기동 시 저널에서 재생됩니다", unflushed.size());
+        }
+        chatJdbcRepository.releaseWriterLock(WRITER_LOCK_NAME);
+    }
+
+    /**
+     * 메시지를 저널에 기록 (fsync 완료 후 id와 작성 시각이 채워진 메시지 반환)
+     * 응답 대기 시간이 지나도록 저널 스레드가 집어 가지 않은 메시지는 기록하지 않고 실패로 돌려준다.
+     * 이미 기록 중인 메시지는 저장될 것이므로 fsync가 끝날 때까지 기다려 그대로 돌려준다 (실패 응답 후 저장되어 재시도로 중복되지 않게).
+     */
+    public ChatMessageResponse append(Integer roomId, Integer userId, String userNickname, String message) {
+        if (!running) {
+            throw new RuntimeException("채팅 저장소가 동작 중이 아닙니다.");
+        }
+        if (fenced) {
+            throw new RuntimeException("채팅 저장 노드 잠금을 잃어 메시지를 저장할 수 없습니다.");
+        }
+        if (unflushed.size() >= maxUnflushed) {
+            throw new RuntimeException("채팅 저장 대기 메시지가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        PendingAppend pending = new PendingAppend(ChatMessageResponse.builder()
+                .roomId(roomId)
+                .userId(userId)
+                .userNickname(userNickname)
+                .message(message)
+                .build(), new CompletableFuture<>(), new AtomicBoolean());
+        appendQueue.add(pending);
+        try {
+            try {
+                return pending.future().get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claimed().compareAndSet(false, true)) {
+                    abandoned.increment();
+                    throw new RuntimeException("채팅 저널 기록 시간이 초과되었습니다.");
+                }
+                return pending.future().get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("채팅 저널 기록 실패: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("채팅 저널 기록이 중단되었습니다.");
+        }
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 방의 메시지 (id 오름차순)
+     */
+    public List<ChatMessageResponse> getUnflushed(Integer roomId) {
+        if (!enabled || unflushed.isEmpty()) {
+            return List.of();
+        }
+        return unflushed.values().stream()
+                .filter(message -> roomId.equals(message.getRoomId()))
+                .toList();
+    }
+
+    private void runJournal() {
+        try {
+            while (running || !appendQueue.isEmpty()) {
+                PendingAppend first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingAppend> group = new ArrayList<>();
+                group.add(first);
+                appendQueue.drainTo(group, batchSize - 1);
+                writeGroup(group);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            journalClosed = true;
+        }
+    }
+
+    /**
+     * 그룹 단위 기록 후 fsync 한 번 (group commit)
+     */
+    private void writeGroup(List<PendingAppend> group) {
+        // 응답 대기 시간이 지나 요청 측이 포기한 메시지는 기록하지 않는다
+        group.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+        if (group.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        nextId = Math.max(nextId, idFloor);
+        long position = -1;
+        try {
+            position = currentChannel.position();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(group.size() * 256);
+            for (PendingAppend pending : group) {
+                ChatMessageResponse message = pending.message();
+                message.setId(nextId++);
+                message.setCreatedAt(now);
+                out.write(objectMapper.writeValueAsBytes(message));
+                out.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining()) {
+                currentChannel.write(buffer);
+            }
+            currentChannel.force(false);
+            fsyncs.increment();
+        } catch (IOException e) {
+            journalFailures.increment();
+            log.error("채팅 저널 기록 실패: {}", e.getMessage(), e);
+            truncateQuietly(position);
+            group.forEach(pending -> pending.future().completeExceptionally(e));
+            return;
+        }
+
+        for (PendingAppend pending : group) {
+            ChatMessageResponse message = pending.message();
+            unflushed.put(message.getId(), message);
+            flushQueue.add(message);
+            pending.future().complete(message);
+        }
+        appended.add(group.size());
+        currentMaxId = group.get(group.size() - 1).message().getId();
+
+        try {
+            if (currentChannel.size() >= segmentBytes) {
+                rotateSegment();
+            }
+        } catch (IOException e) {
+            log.error("채팅 저널 세그먼트 교체 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private void runFlush() {
+        List<ChatMessageResponse> batch = new ArrayList<>(batchSize);
+        int shutdownRetries = 0;
+        while (true) {
+            checkWriterLock();
+            if (batch.isEmpty()) {
+                ChatMessageResponse first;
+                try {
+                    first = flushQueue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    if (journalClosed && flushQueue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                flushQueue.drainTo(batch, batchSize - 1);
+            }
+
+            try {
+                flushIsolating(batch, false);
+                int lastId = batch.get(batch.size() - 1).getId();
+                flushBatches.increment();
+                batch.clear();
+                deleteSegments(lastId);
+            } catch (Exception e) {
+                // 일시적 오류: 이미 반영/격리된 행은 빼고 남은 행을 순서대로 다시 시도 (저널에 남아 있으므로 유실되지 않음)
+                batch.removeIf(message -> !unflushed.containsKey(message.getId()));
+                flushFailures.increment();
+                log.error("채팅 메시지 DB 반영 실패 ({}건): {}", batch.size(), e.getMessage());
+                if (!running && ++shutdownRetries >= SHUTDOWN_FLUSH_RETRIES) {
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 반영, DB가 거부하면 반씩 나눠 다시 넣어 거부된 행만 골라낸다
+     * 일시적 오류는 나누지 않고 그대로 던진다.
+     *
+     * @param replaying 기동 시 저널 재생 (이미 반영된 id는 건너뛰는 INSERT 사용)
+     */
+    private void flushIsolating(List<ChatMessageResponse> messages, boolean replaying) {
+        try {
+            if (replaying) {
+                chatJdbcRepository.insertAllIgnoringExisting(messages);
+            } else {
+                chatJdbcRepository.insertAll(messages);
+                markFlushed(messages);
+            }
+            return;
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            if (messages.size() == 1) {
+                resolveRejected(messages.get(0), e);
+                return;
+            }
+        }
+        int middle = messages.size() / 2;
+        flushIsolating(messages.subList(0, middle), replaying);
+        flushIsolating(messages.subList(middle, messages.size()), replaying);
+    }
+
+    /**
+     * 단독으로도 거부된 행 처리
+     * 같은 내용의 행이 이미 있으면(앞선 반영이 커밋된 뒤 응답만 실패) 반영된 것으로 보고, 아니면 격리한다.
+     * 다른 내용의 같은 id는 다른 노드가 같은 id를 쓴 경우이므로 조용히 버리지 않고 격리 파일에 남긴다.
+     */
+    private void resolveRejected(ChatMessageResponse message, RuntimeException cause) {
+        if (cause instanceof DuplicateKeyException && chatJdbcRepository.existsSame(message)) {
+            markFlushed(List.of(message));
+            return;
+        }
+        quarantine(message, cause);
+    }
+
+    private void markFlushed(List<ChatMessageResponse> messages) {
+        messages.forEach(message -> unflushed.remove(message.getId()));
+        flushed.add(messages.size());
+    }
+
+    /**
+     * 거부된 메시지를 격리 파일에 fsync까지 기록한 뒤 미반영 목록에서 뺀다 (기록 실패 시 다음 시도로 넘김)
+     */
+    private void quarantine(ChatMessageResponse message, RuntimeException cause) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("reason", cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        entry.put("message", message);
+        try (FileChannel channel = FileChannel.open(journalDir.resolve(QUARANTINE_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            byte[] line = objectMapper.writeValueAsBytes(entry);
+            ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put((byte) '\n').flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 메시지 격리 기록 실패: " + e.getMessage(), e);
+        }
+        unflushed.remove(message.getId());
+        quarantined.increment();
+        log.error("DB가 거부한 채팅 메시지를 격리했습니다: id={}, roomId={}, userId={}, error={}",
+                message.getId(), message.getRoomId(), message.getUserId(), cause.getMessage());
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    /**
+     * 쓰기 노드 잠금 주기 확인 (반영 스레드에서 호출)
+     * 잠금 커넥션이 끊겼으면 다시 얻고, 그 사이 다른 노드가 쓴 id 다음부터 부여한다. 되찾지 못하면 새 메시지를 거부한다.
+     */
+    private void checkWriterLock() {
+        long now = System.currentTimeMillis();
+        if (now - lastLockCheckMillis < WRITER_LOCK_CHECK_MILLIS) {
+            return;
+        }
+        lastLockCheckMillis = now;
+        if (chatJdbcRepository.holdsWriterLock(WRITER_LOCK_NAME)) {
+            return;
+        }
+        try {
+            if (chatJdbcRepository.acquireWriterLock(WRITER_LOCK_NAME)) {
+                idFloor = chatJdbcRepository.findMaxId() + 1;
+                if (fenced) {
+                    log.warn("채팅 쓰기 노드 잠금을 되찾았습니다. 메시지 저장을 재개합니다 (다음 id >= {})", idFloor);
+                }
+                fenced = false;
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("채팅 쓰기 노드 잠금 재획득 실패: {}", e.getMessage());
+        }
+        if (!fenced) {
+            log.error("채팅 쓰기 노드 잠금을 잃었습니다. 다른 노드가 chats에 쓰는 중이면 이 노드는 새 메시지를 받지 않습니다.");
+        }
+        fenced = true;
+    }
+
+    /**
+     * 기동 시 남은 저널 세그먼트를 순서대로 DB에 반영 후 삭제
+     *
+     * @return 재생한 메시지 중 가장 큰 id
+     */
+    private int replay() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(journalDir)) {
+            segments = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        int maxId = 0;
+        long count = 0;
+        for (Path segment : segments) {
+            List<ChatMessageResponse> batch = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    ChatMessageResponse message;
+                    try {
+                        message = objectMapper.readValue(line, ChatMessageResponse.class);
+                    } catch (IOException e) {
+                        // fsync 전에 중단된 마지막 줄 (응답하지 않은 메시지)
+                        log.warn("채팅 저널의 손상된 줄을 건너뜁니다: {}", segment.getFileName());
+                        continue;
+                    }
+                    batch.add(message);
+                    maxId = Math.max(maxId, message.getId());
+                    if (batch.size() >= batchSize) {
+                        flushIsolating(batch, true);
+                        count += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            flushIsolating(batch, true);
+            count += batch.size();
+            Files.delete(segment);
+        }
+        replayed = count;
+        if (count > 0) {
+            log.info("채팅 저널 재생 완료: 세그먼트 {}개, 메시지 {}건", segments.size(), count);
+        }
+        return maxId;
+    }
+
+    private void openSegment() throws IOException {
+        currentPath = journalDir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, nextId, SEGMENT_SUFFIX));
+        currentChannel = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentMaxId = 0;
+    }
+
+    private void rotateSegment() throws IOException {
+        currentChannel.close();
+        closedSegments.addLast(new Segment(currentPath, currentMaxId));
+        openSegment();
+    }
+
+    /**
+     * maxId 이하 메시지만 담긴 닫힌 세그먼트 삭제
+     */
+    private void deleteSegments(int flushedId) {
+        Segment oldest;
+        while ((oldest = closedSegments.peekFirst()) != null && oldest.maxId() <= flushedId) {
+            closedSegments.pollFirst();
+            deleteQuietly(oldest.path());
+        }
+    }
+
+    private void truncateQuietly(long position) {
+        if (position < 0) {
+            return;
+        }
+        try {
+            currentChannel.truncate(position);
+        } catch (IOException e) {
+            log.error("채팅 저널 복구 실패: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("채팅 저널 삭제 실패: {}", path);
+        }
+    }
+
+    /**
+     * @param claimed 저널 스레드가 기록하려고 집었거나 요청 측이 포기했는지 (먼저 바꾼 쪽이 이긴다)
+     */
+    private record PendingAppend(ChatMessageResponse message, CompletableFuture<ChatMessageResponse> future,
+                                 AtomicBoolean claimed) {
+    }
+
+    private record Segment(Path path, int maxId) {
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-write-behind";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long groups = fsyncs.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("fenced", fenced);
+        stats.put("appended", appended.sum());
+        stats.put("fsyncs", groups);
+        stats.put("avgGroupSize", groups == 0 ? 0.0 : (double) appended.sum() / groups);
+        stats.put("journalFailures", journalFailures.sum());
+        stats.put("pendingJournal", appendQueue.size());
+        stats.put("unflushed", unflushed.size());
+        stats.put("flushed", flushed.sum());
+        stats.put("flushBatches", flushBatches.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("quarantined", quarantined.sum());
+        stats.put("abandoned", abandoned.sum());
+        stats.put("closedSegments", closedSegments.size());
+        stats.put("replayed", replayed);
+        return stats;
+    }
+}
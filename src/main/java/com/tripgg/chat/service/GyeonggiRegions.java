@@ -0,0 +1,64 @@
+package com.tripgg.chat.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 경기도 시/군 지역명과 채팅방 ID 매핑
+ */
+public final class GyeonggiRegions {
+
+    private static final Map<String, Integer> ROOM_ID_BY_REGION;
+    private static final Map<Integer, String> REGION_BY_ROOM_ID;
+
+    static {
+        String[] regions = {
+                "수원시", "성남시", "고양시", "용인시", "부천시", "안산시", "안양시", "평택시", "화성시", "남양주시",
+                "파주시", "김포시", "이천시", "안성시", "의정부시", "포천시", "동두천시", "광명시", "군포시", "양평군",
+                "양주시", "구리시", "오산시", "하남시", "광주시", "연천군", "여주시", "가평군"
+        };
+        Map<String, Integer> roomIdByRegion = new LinkedHashMap<>();
+        Map<Integer, String> regionByRoomId = new LinkedHashMap<>();
+        for (int i = 0; i < regions.length; i++) {
+            roomIdByRegion.put(regions[i], i + 1);
+            regionByRoomId.put(i + 1, regions[i]);
+        }
+        ROOM_ID_BY_REGION = Collections.unmodifiableMap(roomIdByRegion);
+        REGION_BY_ROOM_ID = Collections.unmodifiableMap(regionByRoomId);
+    }
+
+    private GyeonggiRegions() {
+    }
+
+    /**
+     * 지역명으로 채팅방 ID 조회 (예: "수원시 팔달구" → 1), 경기도 지역이 아니면 null
+     */
+    public static Integer roomIdOf(String regionName) {
+        String mainRegion = extractMainRegion(regionName);
+        return mainRegion != null ? ROOM_ID_BY_REGION.get(mainRegion) : null;
+    }
+
+    /**
+     * 채팅방 ID로 지역명 조회, 없으면 null
+     */
+    public static String regionNameOf(Integer roomId) {
+        return roomId != null ? REGION_BY_ROOM_ID.get(roomId) : null;
+    }
+
+    /**
+     * 지역명에서 시/군 추출 (예: "수원시 팔달구" → "수원시", "수원시장안구" → "수원시")
+     */
+    public static String extractMainRegion(String fullRegionName) {
+        if (fullRegionName == null) {
+            return null;
+        }
+        String trimmed = fullRegionName.trim();
+        if (trimmed.contains("시")) {
+            return trimmed.substring(0, trimmed.indexOf("시") + 1);
+        } else if (trimmed.contains("군")) {
+            return trimmed.substring(0, trimmed.indexOf("군") + 1);
+        }
+        return trimmed;
+    }
+}
@@ -1,7 +1,10 @@
 package com.tripgg.chat.service;
 
-import lombok.RequiredArgsConstructor;
+import com.tripgg.common.cache.LruTtlCache;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -10,66 +13,188 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 카카오 좌표→주소 변환 서비스
+ * 결과는 약 100m 격자 셀 단위로 오래 캐시하고, 지역을 찾지 못한 응답과 호출 실패도 짧게 캐시하여
+ * 같은 지점의 반복 요청이 카카오를 다시 호출하지 않도록 한다.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class KakaoAddressService {
+public class KakaoAddressService implements StatsProvider {
     
     private final RestTemplate restTemplate;
     
     @Value("${kakao.rest-api-key}")
     private String kakaoRestApiKey;
     
-    private static final String KAKAO_COORD2ADDRESS_URL = "https://dapi.kakao.com/v2/local/geo/coord2address.json";
+    @Value("${kakao.map.api.base-url:https://dapi.kakao.com}")
+    private String baseUrl;
+    
+    private static final String COORD2ADDRESS_PATH = "/v2/local/geo/coord2address.json";
+    
+    // 지역 없음(부정 캐시) 표시용 값
+    private static final String NO_REGION = "";
+    
+    // 동일 셀의 동시 변환 요청은 하나의 카카오 API 요청으로 합친다
+    private final SingleFlight<String, String> regionFlight = new SingleFlight<>();
+    
+    private final LruTtlCache<String, String> regionCache;
+    private final Duration negativeTtl;
+    private final Duration failureTtl;
+    private final double gridDegrees;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final long startedAt = System.currentTimeMillis();
+    
+    public KakaoAddressService(
+            @Qualifier("kakaoLocalRestTemplate") RestTemplate restTemplate,
+            @Value("${kakao.address.cache.max-entries:50000}") int maxEntries,
+            @Value("${kakao.address.cache.ttl-hours:24}") long ttlHours,
+            @Value("${kakao.address.cache.negative-ttl-minutes:60}") long negativeTtlMinutes,
+            @Value("${kakao.address.cache.failure-ttl-seconds:30}") long failureTtlSeconds,
+            @Value("${kakao.address.cache.grid-degrees:0.001}") double gridDegrees) {
+        this.restTemplate = restTemplate;
+        this.regionCache = new LruTtlCache<>(maxEntries, Duration.ofHours(ttlHours));
+        this.negativeTtl = Duration.ofMinutes(negativeTtlMinutes);
+        this.failureTtl = Duration.ofSeconds(failureTtlSeconds);
+        this.gridDegrees = gridDegrees;
+    }
     
     /**
      * 좌표를 주소로 변환
      * @param longitude 경도 (x)
      * @param latitude 위도 (y)
-     * @return region_2depth_name (구 단위)
+     * @return region_2depth_name (구 단위), 찾지 못하거나 호출 실패 시 null
      */
     public String getRegionFromCoordinates(Double longitude, Double latitude) {
+        if (longitude == null || latitude == null) {
+            return null;
+        }
+        String key = cellKeyOf(longitude, latitude);
+        
+        String cached = regionCache.get(key);
+        if (cached != null) {
+            if (NO_REGION.equals(cached)) {
+                negativeHits.increment();
+                return null;
+            }
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        
         try {
-            String url = String.format("%s?x=%s&y=%s&input_coord=WGS84", 
-                KAKAO_COORD2ADDRESS_URL, longitude, latitude);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + kakaoRestApiKey);
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            log.info("카카오 주소 API 호출: 위도={}, 경도={}", latitude, longitude);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+            String region = regionFlight.execute(key, () -> loadRegion(key, longitude, latitude));
+            return NO_REGION.equals(region) ? null : region;
+        } catch (Exception e) {
+            log.error("카카오 주소 API 호출 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 카카오 호출 후 캐시에 반영 (지역 없음은 부정 캐시, 실패는 짧게 부정 캐시)
+     */
+    private String loadRegion(String key, Double longitude, Double latitude) {
+        upstreamCalls.increment();
+        String region;
+        try {
+            region = requestRegion(longitude, latitude);
+        } catch (RuntimeException e) {
+            upstreamFailures.increment();
+            regionCache.put(key, NO_REGION, failureTtl);
+            throw e;
+        }
+        if (region == null || region.isBlank()) {
+            regionCache.put(key, NO_REGION, negativeTtl);
+            return NO_REGION;
+        }
+        regionCache.put(key, region);
+        return region;
+    }
+    
+    /**
+     * 격자 셀 키 (기본 0.001도 ≈ 위도 방향 110m)
+     */
+    private String cellKeyOf(double longitude, double latitude) {
+        return (long) Math.floor(latitude / gridDegrees) + ":" + (long) Math.floor(longitude / gridDegrees);
+    }
+    
+    /**
+     * 좌표→주소 변환 API 호출 (실패 시 예외 전파)
+     */
+    private String requestRegion(Double longitude, Double latitude) {
+        String url = String.format("%s?x=%s&y=%s&input_coord=WGS84", 
+            baseUrl + COORD2ADDRESS_PATH, longitude, latitude);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "KakaoAK " + kakaoRestApiKey);
+        
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+        
+        log.info("카카오 주소 API 호출: 위도={}, 경도={}", latitude, longitude);
+        
+        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, entity, Map.class);
+        
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            Map<String, Object> body = response.getBody();
+            Map<String, Object> meta = (Map<String, Object>) body.get("meta");
             
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                Map<String, Object> meta = (Map<String, Object>) body.get("meta");
-                
-                if (meta != null && (Integer) meta.get("total_count") > 0) {
-                    @SuppressWarnings("unchecked")
-                    java.util.List<Map<String, Object>> documents = (java.util.List<Map<String, Object>>) body.get("documents");
-                    if (documents != null && !documents.isEmpty()) {
-                        Map<String, Object> document = documents.get(0);
-                        Map<String, Object> address = (Map<String, Object>) document.get("address");
-                        
-                        if (address != null) {
-                            String region2Depth = (String) address.get("region_2depth_name");
-                            log.info("좌표 변환 결과: region_2depth_name={}", region2Depth);
-                            return region2Depth;
-                        }
+            if (meta != null && (Integer) meta.get("total_count") > 0) {
+                @SuppressWarnings("unchecked")
+                java.util.List<Map<String, Object>> documents = (java.util.List<Map<String, Object>>) body.get("documents");
+                if (documents != null && !documents.isEmpty()) {
+                    Map<String, Object> document = documents.get(0);
+                    Map<String, Object> address = (Map<String, Object>) document.get("address");
+                    
+                    if (address != null) {
+                        String region2Depth = (String) address.get("region_2depth_name");
+                        log.info("좌표 변환 결과: region_2depth_name={}", region2Depth);
+                        return region2Depth;
                     }
                 }
             }
-            
-            log.warn("카카오 주소 API 응답에서 region_2depth_name을 찾을 수 없음");
-            return null;
-            
-        } catch (Exception e) {
-            log.error("카카오 주소 API 호출 실패: {}", e.getMessage());
-            return null;
         }
+        
+        log.warn("카카오 주소 API 응답에서 region_2depth_name을 찾을 수 없음");
+        return null;
+    }
+    
+    @Override
+    public String getStatsName() {
+        return "kakao-address-requests";
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        long hit = hits.sum();
+        long negativeHit = negativeHits.sum();
+        long miss = misses.sum();
+        long total = hit + negativeHit + miss;
+        long calls = upstreamCalls.sum();
+        double uptimeMinutes = Math.max(System.currentTimeMillis() - startedAt, 1) / 60000.0;
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cacheSize", regionCache.size());
+        stats.put("maxEntries", regionCache.getMaxEntries());
+        stats.put("hits", hit);
+        stats.put("negativeHits", negativeHit);
+        stats.put("misses", miss);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) (hit + negativeHit) / total);
+        stats.put("evictions", regionCache.getEvictions());
+        stats.put("upstreamCalls", calls);
+        stats.put("upstreamFailures", upstreamFailures.sum());
+        stats.put("upstreamCallsPerMinute", calls / uptimeMinutes);
+        stats.putAll(regionFlight.getStats());
+        return stats;
     }
 }
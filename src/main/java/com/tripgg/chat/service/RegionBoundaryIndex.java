@@ -0,0 +1,382 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.KoreaCrs;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경기도 시/군 행정경계 인메모리 역지오코딩 인덱스
+ * 경계 파일을 기동 시 한 번 읽어 Douglas-Peucker로 단순화한 뒤
+ * 바운딩 박스 선필터 + 반직선 교차(ray casting)로 좌표가 속한 채팅방을 찾는다.
+ * 경계 파일이 없거나 좌표가 어느 폴리곤에도 속하지 않으면 null을 돌려주고, 호출 측이 카카오 API로 대체한다.
+ *
+ * 경계 데이터는 라이선스 문제로 저장소에 포함하지 않는다. 다음 중 하나를 chat.region.boundary-file로 지정한다.
+ * - 도로명주소 전자지도 "구역의 도형" 시군구 경계(TL_SCCO_SIG.shp, 행정안전부, 공공누리 제1유형) 또는
+ *   국가공간정보포털 "행정구역시군구 경계" Shapefile: .shp 경로를 그대로 지정 (같은 폴더에 .dbf 필요, UTM-K)
+ * - 위 데이터를 경위도(EPSG:4326) GeoJSON FeatureCollection(Polygon/MultiPolygon)으로 변환한 파일
+ */
+@Slf4j
+@Component
+public class RegionBoundaryIndex implements StatsProvider {
+
+    private static final String PROVINCE_PREFIX = "경기도";
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String boundaryFile;
+    private final String nameProperty;
+    private final double simplifyTolerance;
+    private final KoreaCrs shapefileCrs;
+    private final Charset shapefileCharset;
+
+    private volatile RegionPolygon[] polygons = new RegionPolygon[0];
+    private volatile boolean loaded = false;
+    private volatile int originalVertices = 0;
+    private volatile int simplifiedVertices = 0;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    public RegionBoundaryIndex(ResourceLoader resourceLoader,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.region.boundary-file:classpath:geo/gyeonggi-sigungu.geojson}") String boundaryFile,
+                               @Value("${chat.region.name-property:SIG_KOR_NM}") String nameProperty,
+                               @Value("${chat.region.simplify-tolerance:0.0003}") double simplifyTolerance,
+                               @Value("${chat.region.shapefile-crs:EPSG:5179}") String shapefileCrs,
+                               @Value("${chat.region.shapefile-charset:MS949}") String shapefileCharset) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.boundaryFile = boundaryFile;
+        this.nameProperty = nameProperty;
+        this.simplifyTolerance = simplifyTolerance;
+        this.shapefileCrs = KoreaCrs.of(shapefileCrs);
+        this.shapefileCharset = Charset.forName(shapefileCharset);
+    }
+
+    /**
+     * 기동 시 경계 파일 로드 (실패해도 카카오 API로 대체되므로 기동은 계속한다)
+     */
+    @PostConstruct
+    public void load() {
+        Resource resource = resourceLoader.getResource(boundaryFile);
+        if (!resource.exists()) {
+            log.warn("행정경계 파일이 없어 카카오 주소 API로 지역을 판별합니다: {} "
+                    + "(도로명주소 전자지도 시군구 경계 TL_SCCO_SIG.shp 등을 chat.region.boundary-file로 지정)", boundaryFile);
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            List<SigunguShapefileReader.Feature> features = isShapefile(resource)
+                    ? SigunguShapefileReader.read(resource, nameProperty, shapefileCharset, shapefileCrs)
+                    : readGeoJson(resource);
+            List<RegionPolygon> result = new ArrayList<>();
+            int[] vertexCounts = new int[2];
+            int skipped = 0;
+            for (SigunguShapefileReader.Feature feature : features) {
+                Integer roomId = roomIdOf(feature.name());
+                if (roomId == null) {
+                    skipped++;
+                    continue;
+                }
+                for (List<double[][]> rings : feature.polygons()) {
+                    addPolygon(roomId, rings, result, vertexCounts);
+                }
+            }
+            polygons = result.toArray(new RegionPolygon[0]);
+            originalVertices = vertexCounts[0];
+            simplifiedVertices = vertexCounts[1];
+            loaded = true;
+            log.info("행정경계 인덱스 구성 완료: 폴리곤 {}개, 정점 {} → {}개, 매핑 제외 {}개, {}ms",
+                    polygons.length, originalVertices, simplifiedVertices, skipped, System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("행정경계 파일 로드 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 좌표가 속한 경기도 시/군의 채팅방 ID 조회
+     * @return 채팅방 ID, 경계 밖이거나 경계 데이터가 없으면 null
+     */
+    public Integer findRoomId(double latitude, double longitude) {
+        long startTime = System.nanoTime();
+        lookups.increment();
+        try {
+            for (RegionPolygon polygon : polygons) {
+                if (polygon.contains(longitude, latitude)) {
+                    hits.increment();
+                    return polygon.roomId;
+                }
+            }
+            return null;
+        } finally {
+            lookupNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * "경기도 수원시 장안구", "수원시장안구" 형태의 경계 이름을 채팅방 ID로 변환
+     */
+    private static Integer roomIdOf(String name) {
+        if (name == null) {
+            return null;
+        }
+        String trimmed = name.trim();
+        if (trimmed.startsWith(PROVINCE_PREFIX)) {
+            trimmed = trimmed.substring(PROVINCE_PREFIX.length()).trim();
+        }
+        return GyeonggiRegions.roomIdOf(trimmed);
+    }
+
+    private static boolean isShapefile(Resource resource) {
+        String fileName = resource.getFilename();
+        return fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".shp");
+    }
+
+    /**
+     * GeoJSON FeatureCollection을 Shapefile과 같은 형태(이름 + 폴리곤별 링 목록)로 읽는다
+     */
+    private List<SigunguShapefileReader.Feature> readGeoJson(Resource resource) throws IOException {
+        JsonNode root;
+        try (InputStream inputStream = resource.getInputStream()) {
+            root = objectMapper.readTree(inputStream);
+        }
+        List<SigunguShapefileReader.Feature> features = new ArrayList<>();
+        for (JsonNode feature : root.path("features")) {
+            JsonNode geometry = feature.path("geometry");
+            String type = geometry.path("type").asText();
+            JsonNode coordinates = geometry.path("coordinates");
+            List<List<double[][]>> polygonList = new ArrayList<>();
+            if ("Polygon".equals(type)) {
+                polygonList.add(readRings(coordinates));
+            } else if ("MultiPolygon".equals(type)) {
+                for (JsonNode polygon : coordinates) {
+                    polygonList.add(readRings(polygon));
+                }
+            }
+            features.add(new SigunguShapefileReader.Feature(feature.path("properties").path(nameProperty).asText(null), polygonList));
+        }
+        return features;
+    }
+
+    private static List<double[][]> readRings(JsonNode rings) {
+        List<double[][]> result = new ArrayList<>();
+        for (JsonNode ring : rings) {
+            int size = ring.size();
+            double[] xs = new double[size];
+            double[] ys = new double[size];
+            for (int i = 0; i < size; i++) {
+                xs[i] = ring.get(i).get(0).asDouble();
+                ys[i] = ring.get(i).get(1).asDouble();
+            }
+            result.add(new double[][]{xs, ys});
+        }
+        return result;
+    }
+
+    /**
+     * 첫 번째 링은 외곽선, 나머지는 구멍(hole)
+     */
+    private void addPolygon(int roomId, List<double[][]> rings, List<RegionPolygon> result, int[] vertexCounts) {
+        List<double[][]> simplified = new ArrayList<>();
+        for (double[][] ring : rings) {
+            int size = ring[0].length;
+            if (size < 4) {
+                continue;
+            }
+            double[][] ringPoints = simplify(ring[0], ring[1], simplifyTolerance);
+            vertexCounts[0] += size;
+            vertexCounts[1] += ringPoints[0].length;
+            simplified.add(ringPoints);
+        }
+        if (!simplified.isEmpty()) {
+            result.add(new RegionPolygon(roomId, simplified.get(0), simplified.subList(1, simplified.size())));
+        }
+    }
+
+    /**
+     * Douglas-Peucker 링 단순화 (허용 오차는 도 단위, 단순화 후 삼각형보다 작아지면 원본 유지)
+     */
+    private static double[][] simplify(double[] xs, double[] ys, double tolerance) {
+        int size = xs.length;
+        if (tolerance <= 0 || size <= 4) {
+            return new double[][]{xs, ys};
+        }
+        boolean[] keep = new boolean[size];
+        keep[0] = true;
+        keep[size - 1] = true;
+
+        // 닫힌 링은 시작점과 끝점이 같으므로 가장 먼 정점으로 두 구간을 나눠 처리한다
+        int farthest = 0;
+        double maxDistance = -1;
+        for (int i = 1; i < size - 1; i++) {
+            double dx = xs[i] - xs[0];
+            double dy = ys[i] - ys[0];
+            double distance = dx * dx + dy * dy;
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                farthest = i;
+            }
+        }
+        keep[farthest] = true;
+
+        double toleranceSquared = tolerance * tolerance;
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, farthest});
+        stack.push(new int[]{farthest, size - 1});
+        while (!stack.isEmpty()) {
+            int[] segment = stack.pop();
+            int start = segment[0];
+            int end = segment[1];
+            int index = -1;
+            double max = toleranceSquared;
+            for (int i = start + 1; i < end; i++) {
+                double distance = segmentDistanceSquared(xs[i], ys[i], xs[start], ys[start], xs[end], ys[end]);
+                if (distance > max) {
+                    max = distance;
+                    index = i;
+                }
+            }
+            if (index >= 0) {
+                keep[index] = true;
+                stack.push(new int[]{start, index});
+                stack.push(new int[]{index, end});
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) {
+                kept++;
+            }
+        }
+        if (kept < 4) {
+            return new double[][]{xs, ys};
+        }
+        double[] simplifiedXs = new double[kept];
+        double[] simplifiedYs = new double[kept];
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (keep[i]) {
+                simplifiedXs[j] = xs[i];
+                simplifiedYs[j] = ys[i];
+                j++;
+            }
+        }
+        return new double[][]{simplifiedXs, simplifiedYs};
+    }
+
+    private static double segmentDistanceSquared(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+
+    /**
+     * 반직선 교차 판정 (x=경도, y=위도)
+     */
+    static boolean ringContains(double[] xs, double[] ys, double x, double y) {
+        boolean inside = false;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if ((ys[i] > y) != (ys[j] > y)
+                    && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static final class RegionPolygon {
+        private final int roomId;
+        private final double[] xs;
+        private final double[] ys;
+        private final List<double[][]> holes;
+        private final double minX;
+        private final double maxX;
+        private final double minY;
+        private final double maxY;
+
+        RegionPolygon(int roomId, double[][] outer, List<double[][]> holes) {
+            this.roomId = roomId;
+            this.xs = outer[0];
+            this.ys = outer[1];
+            this.holes = List.copyOf(holes);
+            double x0 = Double.MAX_VALUE, x1 = -Double.MAX_VALUE, y0 = Double.MAX_VALUE, y1 = -Double.MAX_VALUE;
+            for (int i = 0; i < xs.length; i++) {
+                x0 = Math.min(x0, xs[i]);
+                x1 = Math.max(x1, xs[i]);
+                y0 = Math.min(y0, ys[i]);
+                y1 = Math.max(y1, ys[i]);
+            }
+            this.minX = x0;
+            this.maxX = x1;
+            this.minY = y0;
+            this.maxY = y1;
+        }
+
+        boolean contains(double x, double y) {
+            if (x < minX || x > maxX || y < minY || y > maxY) {
+                return false;
+            }
+            if (!ringContains(xs, ys, x, y)) {
+                return false;
+            }
+            for (double[][] hole : holes) {
+                if (ringContains(hole[0], hole[1], x, y)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "chat-region-boundary-index";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("boundaryFile", boundaryFile);
+        stats.put("polygons", polygons.length);
+        stats.put("originalVertices", originalVertices);
+        stats.put("simplifiedVertices", simplifiedVertices);
+        stats.put("lookups", lookupCount);
+        stats.put("hits", hits.sum());
+        stats.put("misses", lookupCount - hits.sum());
+        stats.put("avgLookupMicros", lookupCount == 0 ? 0.0 : lookupNanos.sum() / 1000.0 / lookupCount);
+        return stats;
+    }
+}
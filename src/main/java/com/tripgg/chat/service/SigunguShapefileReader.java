@@ -0,0 +1,218 @@
+package com.tripgg.chat.service;
+
+import com.tripgg.common.util.KoreaCrs;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ESRI Shapefile(.shp + .dbf) 행정경계 읽기
+ * 도로명주소 전자지도/국가공간정보포털이 배포하는 시군구 경계(TL_SCCO_SIG, UTM-K)를 변환 없이 바로 쓰기 위한 리더다.
+ * 폴리곤(Polygon/PolygonZ/PolygonM) 레코드만 읽고, 좌표는 경위도로 변환해 돌려준다.
+ * 속성 파일 인코딩은 같은 이름의 .cpg 파일을 따르고, 없으면 호출 측이 넘긴 기본 인코딩(배포본은 CP949)을 쓴다.
+ */
+final class SigunguShapefileReader {
+
+    private static final int FILE_CODE = 9994;
+    private static final int HEADER_LENGTH = 100;
+    private static final int SHAPE_NULL = 0;
+    private static final int SHAPE_POLYGON = 5;
+    private static final int SHAPE_POLYGON_Z = 15;
+    private static final int SHAPE_POLYGON_M = 25;
+
+    /**
+     * 경계 한 건
+     * @param name 이름 속성 값 (삭제된 레코드는 null)
+     * @param polygons 폴리곤 목록, 폴리곤마다 첫 링이 외곽선이고 나머지는 구멍. 링은 {경도 배열, 위도 배열}
+     */
+    record Feature(String name, List<List<double[][]>> polygons) {
+    }
+
+    private SigunguShapefileReader() {
+    }
+
+    static List<Feature> read(Resource shp, String nameProperty, Charset defaultCharset, KoreaCrs crs) throws IOException {
+        String fileName = shp.getFilename();
+        if (fileName == null || !fileName.toLowerCase(Locale.ROOT).endsWith(".shp")) {
+            throw new IOException("shp 파일이 아닙니다: " + shp);
+        }
+        String baseName = fileName.substring(0, fileName.length() - 4);
+        Resource dbf = shp.createRelative(baseName + ".dbf");
+        if (!dbf.exists()) {
+            throw new IOException("속성 파일(.dbf)이 없습니다: " + baseName + ".dbf");
+        }
+        Resource cpg = shp.createRelative(baseName + ".cpg");
+        Charset charset = cpg.exists() ? Charset.forName(new String(readAll(cpg), StandardCharsets.US_ASCII).trim()) : defaultCharset;
+
+        List<String> names = readNames(ByteBuffer.wrap(readAll(dbf)), nameProperty, charset);
+        List<List<List<double[][]>>> shapes = readShapes(ByteBuffer.wrap(readAll(shp)), crs);
+        if (names.size() != shapes.size()) {
+            throw new IOException("shp/dbf 레코드 수가 다릅니다: " + shapes.size() + " / " + names.size());
+        }
+        List<Feature> features = new ArrayList<>(shapes.size());
+        for (int i = 0; i < shapes.size(); i++) {
+            features.add(new Feature(names.get(i), shapes.get(i)));
+        }
+        return features;
+    }
+
+    private static byte[] readAll(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    /**
+     * dBASE III 속성 파일에서 이름 필드만 읽는다
+     */
+    private static List<String> readNames(ByteBuffer buffer, String nameProperty, Charset charset) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int recordCount = buffer.getInt(4);
+        int headerLength = Short.toUnsignedInt(buffer.getShort(8));
+        int recordLength = Short.toUnsignedInt(buffer.getShort(10));
+
+        int fieldOffset = -1;
+        int fieldLength = 0;
+        int offset = 1; // 레코드 첫 바이트는 삭제 표시
+        for (int position = 32; position + 32 <= headerLength && buffer.get(position) != 0x0D; position += 32) {
+            int length = Byte.toUnsignedInt(buffer.get(position + 16));
+            if (fieldName(buffer, position).equalsIgnoreCase(nameProperty)) {
+                fieldOffset = offset;
+                fieldLength = length;
+            }
+            offset += length;
+        }
+        if (fieldOffset < 0) {
+            throw new IOException("속성 파일에 이름 필드가 없습니다: " + nameProperty);
+        }
+
+        List<String> names = new ArrayList<>(recordCount);
+        byte[] value = new byte[fieldLength];
+        for (int i = 0; i < recordCount; i++) {
+            int recordStart = headerLength + i * recordLength;
+            if (buffer.get(recordStart) == '*') {
+                names.add(null);
+                continue;
+            }
+            buffer.get(recordStart + fieldOffset, value);
+            names.add(new String(value, charset).trim());
+        }
+        return names;
+    }
+
+    private static String fieldName(ByteBuffer buffer, int position) {
+        int length = 0;
+        while (length < 11 && buffer.get(position + length) != 0) {
+            length++;
+        }
+        byte[] name = new byte[length];
+        buffer.get(position, name);
+        return new String(name, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 레코드별 폴리곤 목록 (폴리곤이 아닌 레코드는 빈 목록)
+     */
+    private static List<List<List<double[][]>>> readShapes(ByteBuffer buffer, KoreaCrs crs) throws IOException {
+        if (buffer.order(ByteOrder.BIG_ENDIAN).getInt(0) != FILE_CODE) {
+            throw new IOException("올바른 shp 파일이 아닙니다.");
+        }
+        int fileLength = Math.min(buffer.getInt(24) * 2, buffer.limit());
+
+        List<List<List<double[][]>>> shapes = new ArrayList<>();
+        int position = HEADER_LENGTH;
+        while (position + 8 <= fileLength) {
+            int contentLength = buffer.order(ByteOrder.BIG_ENDIAN).getInt(position + 4) * 2;
+            int content = position + 8;
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            int shapeType = buffer.getInt(content);
+            if (shapeType == SHAPE_POLYGON || shapeType == SHAPE_POLYGON_Z || shapeType == SHAPE_POLYGON_M) {
+                shapes.add(readPolygon(buffer, content, crs));
+            } else if (shapeType == SHAPE_NULL) {
+                shapes.add(List.of());
+            } else {
+                throw new IOException("폴리곤이 아닌 도형 유형: " + shapeType);
+            }
+            position = content + contentLength;
+        }
+        return shapes;
+    }
+
+    /**
+     * 파트(링)를 읽어 외곽선(시계 방향)마다 폴리곤을 만들고, 구멍(반시계 방향)은 자신을 포함하는 외곽선에 붙인다
+     */
+    private static List<List<double[][]>> readPolygon(ByteBuffer buffer, int content, KoreaCrs crs) {
+        int partCount = buffer.getInt(content + 36);
+        int pointCount = buffer.getInt(content + 40);
+        int partsStart = content + 44;
+        int pointsStart = partsStart + partCount * 4;
+
+        List<double[][]> outers = new ArrayList<>();
+        List<double[][]> holes = new ArrayList<>();
+        for (int part = 0; part < partCount; part++) {
+            int from = buffer.getInt(partsStart + part * 4);
+            int to = part + 1 < partCount ? buffer.getInt(partsStart + (part + 1) * 4) : pointCount;
+            int size = to - from;
+            if (size < 4) {
+                continue;
+            }
+            double[] xs = new double[size];
+            double[] ys = new double[size];
+            double signedArea = 0;
+            for (int i = 0; i < size; i++) {
+                int point = pointsStart + (from + i) * 16;
+                double x = buffer.getDouble(point);
+                double y = buffer.getDouble(point + 8);
+                if (i > 0) {
+                    signedArea += xs[i - 1] * y - x * ys[i - 1];
+                }
+                xs[i] = x;
+                ys[i] = y;
+            }
+            (signedArea <= 0 ? outers : holes).add(new double[][]{xs, ys});
+        }
+
+        List<List<double[][]>> polygons = new ArrayList<>();
+        for (double[][] outer : outers) {
+            List<double[][]> rings = new ArrayList<>();
+            rings.add(outer);
+            polygons.add(rings);
+        }
+        for (double[][] hole : holes) {
+            List<double[][]> owner = null;
+            for (List<double[][]> polygon : polygons) {
+                if (RegionBoundaryIndex.ringContains(polygon.get(0)[0], polygon.get(0)[1], hole[0][0], hole[1][0])) {
+                    owner = polygon;
+                    break;
+                }
+            }
+            if (owner != null) {
+                owner.add(hole);
+            } else {
+                // 방향이 뒤집힌 데이터는 외곽선으로 취급한다
+                List<double[][]> rings = new ArrayList<>();
+                rings.add(hole);
+                polygons.add(rings);
+            }
+        }
+
+        for (List<double[][]> polygon : polygons) {
+            for (double[][] ring : polygon) {
+                for (int i = 0; i < ring[0].length; i++) {
+                    double[] lonLat = crs.toWgs84(ring[0][i], ring[1][i]);
+                    ring[0][i] = lonLat[0];
+                    ring[1][i] = lonLat[1];
+                }
+            }
+        }
+        return polygons;
+    }
+}
@@ -0,0 +1,100 @@
+package com.tripgg.chat.websocket;
+
+import com.tripgg.chat.service.ChatMessagePublisher;
+import com.tripgg.chat.service.ChatPresenceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 구독을 채팅방 접속자 수에 반영
+ * SUBSCRIBE가 인터셉터(위치 확인)를 통과하면 입장, UNSUBSCRIBE 또는 연결 종료(DISCONNECT, 소켓 끊김) 시 퇴장한다.
+ * 세션마다 구독 ID → (채팅방, 사용자)를 기억해 두어 연결이 끊겼을 때 열린 구독을 모두 정리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatPresenceStompListener {
+
+    private final ChatPresenceService chatPresenceService;
+
+    private final Map<String, Map<String, Subscription>> sessions = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        Integer userId = userIdOf(event);
+        if (destination == null || !destination.startsWith(ChatMessagePublisher.TOPIC_PREFIX)
+                || userId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Integer roomId;
+        try {
+            roomId = Integer.valueOf(destination.substring(ChatMessagePublisher.TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        Subscription subscription = new Subscription(roomId, userId);
+        Subscription previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), subscription);
+        chatPresenceService.acquire(roomId, userId);
+        if (previous != null) {
+            // 같은 구독 ID를 다시 쓰면 이전 구독은 닫힌 것으로 본다
+            chatPresenceService.release(previous.roomId(), previous.userId());
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Subscription> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Subscription subscription = subscriptions.remove(accessor.getSubscriptionId());
+        if (subscription != null) {
+            chatPresenceService.release(subscription.roomId(), subscription.userId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Subscription> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        subscriptions.values().forEach(subscription -> chatPresenceService.release(subscription.roomId(), subscription.userId()));
+        log.debug("STOMP 연결 종료, 채팅방 구독 {}개 퇴장 처리: sessionId={}", subscriptions.size(), event.getSessionId());
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private static Integer userIdOf(AbstractSubProtocolEvent event) {
+        // CONNECT 인증 시 사용자 ID를 Principal 이름으로 넣는다 (ChatStompChannelInterceptor)
+        Principal user = event.getUser();
+        if (user == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(user.getName());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Subscription(Integer roomId, Integer userId) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.tripgg.chat.websocket;
+
+import com.tripgg.auth.service.JwtService;
+import com.tripgg.chat.entity.ChatRoom;
+import com.tripgg.chat.service.ChatMessagePublisher;
+import com.tripgg.chat.service.ChatRoomRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * STOMP 인바운드 인터셉터
+ * CONNECT 시 Authorization 헤더의 JWT를 검증하고,
+ * SUBSCRIBE 시 latitude/longitude 헤더로 채팅방 반경 안에 있는지 한 번만 확인한다.
+ * 클라이언트가 서버로 직접 발행(SEND)하는 것은 허용하지 않는다 (메시지 전송은 REST API 사용).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatStompChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final ChatRoomRegistry chatRoomRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> checkSubscription(accessor);
+            case SEND -> throw new MessagingException("메시지 전송은 REST API를 사용해야 합니다.");
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessagingException("인증이 필요합니다.");
+        }
+        String jwt = authHeader.substring(7);
+        Long userId;
+        try {
+            userId = jwtService.extractUserId(jwt);
+        } catch (Exception e) {
+            throw new MessagingException("유효하지 않은 토큰입니다.");
+        }
+        if (userId == null || !jwtService.validateToken(jwt, userId)) {
+            throw new MessagingException("유효하지 않은 토큰입니다.");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(String.valueOf(userId), null, List.of()));
+        log.debug("STOMP 연결 인증 성공: userId={}", userId);
+    }
+
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        if (accessor.getUser() == null) {
+            throw new MessagingException("인증이 필요합니다.");
+        }
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(ChatMessagePublisher.TOPIC_PREFIX)) {
+            throw new MessagingException("구독할 수 없는 경로입니다: " + destination);
+        }
+
+        Integer roomId;
+        double latitude;
+        double longitude;
+        try {
+            roomId = Integer.valueOf(destination.substring(ChatMessagePublisher.TOPIC_PREFIX.length()));
+            latitude = Double.parseDouble(accessor.getFirstNativeHeader("latitude"));
+            longitude = Double.parseDouble(accessor.getFirstNativeHeader("longitude"));
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new MessagingException("채팅방 ID와 위치(latitude, longitude) 헤더가 필요합니다.");
+        }
+
+        ChatRoom chatRoom = chatRoomRegistry.findById(roomId);
+        if (chatRoom == null || !chatRoom.getIsActive()
+                || !ChatRoomRegistry.isWithinRadius(chatRoom, latitude, longitude)) {
+            throw new MessagingException("해당 위치에서 접근할 수 없는 채팅방입니다.");
+        }
+        log.debug("채팅방 구독: roomId={}, userId={}", roomId, accessor.getUser().getName());
+    }
+}
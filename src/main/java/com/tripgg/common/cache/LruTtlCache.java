@@ -0,0 +1,143 @@
+package com.tripgg.common.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기 제한(LRU) + TTL 기반 인메모리 캐시
+ * 만료된 항목도 LRU로 밀려나기 전까지는 보관하므로 호출 측에서 stale 응답으로 활용할 수 있다.
+ */
+public class LruTtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long defaultTtlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruTtlCache(int maxEntries, Duration defaultTtl) {
+        this.maxEntries = maxEntries;
+        this.defaultTtlMillis = defaultTtl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruTtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 만료되지 않은 값 조회 (없거나 만료되었으면 null)
+     */
+    public V get(K key) {
+        Entry<V> entry = getEntry(key);
+        if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+            hits.increment();
+            return entry.getValue();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 만료 여부와 관계없이 항목 조회 (히트/미스 집계 없음)
+     */
+    public Entry<V> getEntry(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlMillis);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, ttl.toMillis());
+    }
+
+    private void put(K key, V value, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = new Entry<>(value, now, now + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 캐시 항목 (값 + 저장/만료 시각)
+     */
+    public static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+        private final long expiresAt;
+
+        private Entry(V value, long storedAt, long expiresAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        public long ageMillis(long now) {
+            return now - storedAt;
+        }
+    }
+}
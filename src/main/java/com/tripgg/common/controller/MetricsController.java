@@ -0,0 +1,51 @@
+package com.tripgg.common.controller;
+
+import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.metrics.StatsProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final List<StatsProvider> statsProviders;
+
+    /**
+     * 전체 운영 지표 조회
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getAllStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (StatsProvider provider : statsProviders) {
+            stats.put(provider.getStatsName(), provider.getStats());
+        }
+        return ResponseEntity.ok(ApiResponse.success("운영 지표를 성공적으로 조회했습니다.", stats));
+    }
+
+    /**
+     * 지표 그룹별 조회
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStats(@PathVariable String name) {
+        for (StatsProvider provider : statsProviders) {
+            if (provider.getStatsName().equals(name)) {
+                return ResponseEntity.ok(ApiResponse.success("운영 지표를 성공적으로 조회했습니다.", provider.getStats()));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("지표를 찾을 수 없습니다: " + name));
+    }
+}
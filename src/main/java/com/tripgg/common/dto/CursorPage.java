@@ -0,0 +1,49 @@
+package com.tripgg.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋(커서) 페이지 응답
+ * 다음 페이지는 after=nextCursor 로 요청한다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Integer nextCursor; // 마지막 항목 id (다음 페이지가 없으면 null)
+    private boolean hasNext;
+    private int limit;
+
+    /**
+     * limit + 1개 조회한 결과로 페이지 생성 (초과분이 있으면 다음 페이지 존재)
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Integer> idOf) {
+        boolean hasNext = fetched.size() > limit;
+        List<T> items = hasNext ? fetched.subList(0, limit) : fetched;
+        Integer nextCursor = hasNext ? idOf.apply(items.get(items.size() - 1)) : null;
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * 요청 limit 보정 (1 ~ maxLimit)
+     */
+    public static int clampLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null || limit <= 0) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
@@ -0,0 +1,22 @@
+package com.tripgg.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 요청 빈도 제한 초과 (HTTP 429 + Retry-After로 응답)
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    /** 다시 시도할 수 있을 때까지 남은 시간 (초, 올림) */
+    private final long retryAfterSeconds;
+    /** 제한에 걸린 범위 (예: user, room) */
+    private final String scope;
+
+    public RateLimitExceededException(String message, String scope, long retryAfterSeconds) {
+        // 폭주 중에는 매 요청마다 던져지므로 스택 트레이스를 만들지 않는다
+        super(message, null, false, false);
+        this.scope = scope;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
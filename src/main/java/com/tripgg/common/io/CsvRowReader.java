@@ -0,0 +1,107 @@
+package com.tripgg.common.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV 스트리밍 리더
+ * 따옴표로 감싼 필드 안의 쉼표/줄바꿈과 "" 이스케이프를 지원하며, 한 행 분량의 버퍼만 사용한다.
+ * 첫 셀 앞의 UTF-8 BOM은 제거한다.
+ */
+public class CsvRowReader implements RowReader {
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private boolean firstRow = true;
+    private boolean eof = false;
+
+    public CsvRowReader(InputStream inputStream, Charset charset) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, charset), 64 * 1024);
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        if (eof) {
+            return null;
+        }
+
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean sawAny = false;
+
+        while (true) {
+            int read = reader.read();
+            if (read == -1) {
+                eof = true;
+                if (!sawAny) {
+                    return null;
+                }
+                row.add(field.toString());
+                return stripBom(row);
+            }
+            char c = (char) read;
+            sawAny = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int peek = reader.read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (peek != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(c);
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> quoted = true;
+                case ',' -> {
+                    row.add(field.toString());
+                    field.setLength(0);
+                }
+                case '\r' -> {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    row.add(field.toString());
+                    return stripBom(row);
+                }
+                case '\n' -> {
+                    row.add(field.toString());
+                    return stripBom(row);
+                }
+                default -> field.append(c);
+            }
+        }
+    }
+
+    private List<String> stripBom(List<String> row) {
+        if (firstRow) {
+            firstRow = false;
+            if (!row.isEmpty() && row.get(0).startsWith("\uFEFF")) {
+                row.set(0, row.get(0).substring(1));
+            }
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
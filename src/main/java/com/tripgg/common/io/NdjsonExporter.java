@@ -0,0 +1,83 @@
+package com.tripgg.common.io;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 테이블 행을 NDJSON(한 줄에 JSON 객체 하나)으로 스트리밍 내보내기
+ * MySQL 드라이버의 스트리밍 결과셋(fetchSize = Integer.MIN_VALUE)으로 한 행씩 읽어 바로 응답에 쓰므로
+ * 전체 목록을 메모리에 올리지 않는다.
+ */
+@Slf4j
+@Component
+public class NdjsonExporter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonExporter(DataSource dataSource, ObjectMapper objectMapper) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        // 행마다 스트림을 닫거나 flush 하지 않도록 설정
+        this.rowWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * SQL 결과를 컬럼 라벨을 키로 하는 NDJSON으로 내보내는 응답 본문 생성
+     */
+    public StreamingResponseBody export(String sql, Object... args) {
+        return outputStream -> write(outputStream, sql, args);
+    }
+
+    private void write(OutputStream outputStream, String sql, Object... args) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        long startTime = System.currentTimeMillis();
+        long[] rows = {0};
+        try {
+            streamingJdbcTemplate.query(sql, (ResultSet resultSet) -> {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+                for (int i = 1; i <= columnCount; i++) {
+                    row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+                }
+                try {
+                    rowWriter.writeValue(out, row);
+                    out.write('\n');
+                    if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 클라이언트 연결 종료 시 조회 중단
+                }
+            }, args);
+            out.flush();
+            log.info("NDJSON 내보내기 완료: {}행, {}ms", rows[0], System.currentTimeMillis() - startTime);
+        } catch (UncheckedIOException e) {
+            log.warn("NDJSON 내보내기 중단 ({}행): {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+}
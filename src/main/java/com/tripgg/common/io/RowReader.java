@@ -0,0 +1,16 @@
+package com.tripgg.common.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 표 형식 파일(CSV, XLSX)을 한 행씩 읽는 리더
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * 다음 행의 셀 값 목록, 파일 끝이면 null
+     */
+    List<String> next() throws IOException;
+}
@@ -0,0 +1,191 @@
+package com.tripgg.common.io;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * XLSX 첫 번째 시트 스트리밍 리더 (StAX)
+ * 시트 XML을 행 단위로 읽으므로 행 수와 무관하게 메모리가 일정하다.
+ * 공유 문자열 테이블(sharedStrings.xml)만 미리 메모리에 올린다.
+ * 숫자 셀은 원시 값 문자열 그대로 돌려준다 (날짜 셀은 엑셀 일련번호).
+ */
+public class XlsxRowReader implements RowReader {
+
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final String FIRST_SHEET = "xl/worksheets/sheet1.xml";
+
+    private final ZipFile zipFile;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private final List<String> sharedStrings;
+
+    public XlsxRowReader(Path path) throws IOException {
+        this.zipFile = new ZipFile(path.toFile());
+        try {
+            XMLInputFactory factory = newInputFactory();
+            this.sharedStrings = readSharedStrings(zipFile, factory);
+
+            ZipEntry sheetEntry = zipFile.getEntry(FIRST_SHEET);
+            if (sheetEntry == null) {
+                throw new IOException("XLSX 시트를 찾을 수 없습니다: " + FIRST_SHEET);
+            }
+            this.sheetStream = zipFile.getInputStream(sheetEntry);
+            this.sheet = factory.createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException e) {
+            zipFile.close();
+            throw new IOException("XLSX 파싱 실패: " + e.getMessage(), e);
+        } catch (IOException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> next() throws IOException {
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    return readRow();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new IOException("XLSX 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private List<String> readRow() throws XMLStreamException {
+        List<String> row = new ArrayList<>();
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return row;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+                continue;
+            }
+
+            // 빈 셀은 생략되므로 셀 참조(B2 등)로 열 위치를 맞춘다
+            int column = columnIndex(sheet.getAttributeValue(null, "r"), row.size());
+            while (row.size() < column) {
+                row.add("");
+            }
+            row.add(readCell(sheet.getAttributeValue(null, "t")));
+        }
+        return row;
+    }
+
+    private String readCell(String type) throws XMLStreamException {
+        StringBuilder value = new StringBuilder();
+        boolean inText = false;
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = sheet.getLocalName();
+                inText = "v".equals(name) || "t".equals(name);
+            } else if (event == XMLStreamConstants.CHARACTERS && inText) {
+                value.append(sheet.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = sheet.getLocalName();
+                if ("c".equals(name)) {
+                    break;
+                }
+                if ("v".equals(name) || "t".equals(name)) {
+                    inText = false;
+                }
+            }
+        }
+
+        if ("s".equals(type) && value.length() > 0) {
+            int index = Integer.parseInt(value.toString().trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        return value.toString();
+    }
+
+    private static int columnIndex(String cellRef, int fallback) {
+        if (cellRef == null) {
+            return fallback;
+        }
+        int index = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char c = cellRef.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index == 0 ? fallback : index - 1;
+    }
+
+    private static List<String> readSharedStrings(ZipFile zipFile, XMLInputFactory factory)
+            throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zipFile.getEntry(SHARED_STRINGS);
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(inputStream);
+            StringBuilder current = null;
+            boolean inText = false;
+            boolean inPhonetic = false; // 후리가나(rPh) 텍스트는 제외
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        current = new StringBuilder();
+                    } else if ("rPh".equals(name)) {
+                        inPhonetic = true;
+                    } else if ("t".equals(name)) {
+                        inText = !inPhonetic;
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS && inText && current != null) {
+                    current.append(reader.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("t".equals(name)) {
+                        inText = false;
+                    } else if ("rPh".equals(name)) {
+                        inPhonetic = false;
+                    } else if ("si".equals(name) && current != null) {
+                        strings.add(current.toString());
+                        current = null;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // 닫기 실패는 무시
+        } finally {
+            sheetStream.close();
+            zipFile.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tripgg.common.metrics;
+
+import java.util.Map;
+
+/**
+ * 내부 캐시/클라이언트 등의 운영 지표를 노출하는 컴포넌트
+ * MetricsController가 등록된 모든 StatsProvider를 모아 /api/metrics 로 제공한다.
+ */
+public interface StatsProvider {
+
+    /**
+     * 지표 그룹 이름 (예: "place-search-cache")
+     */
+    String getStatsName();
+
+    /**
+     * 현재 지표 스냅샷
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,305 @@
+package com.tripgg.common.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 한글 부분 문자열 검색용 인메모리 n-gram 역색인
+ * 텍스트를 NFC 정규화, 소문자화, 공백/구두점 제거한 뒤 글자 단위 1-gram, 2-gram 포스팅을 만든다.
+ * 한글은 음절 하나가 한 글자이므로 2-gram만으로도 선택도가 충분하다.
+ * 검색은 질의 2-gram 포스팅의 교집합을 구한 뒤 원문 포함 여부로 검증하고
+ * 완전 일치 > 접두 일치 > 앞쪽 위치 > 짧은 텍스트 순으로 정렬한다.
+ */
+public class NgramIndex {
+
+    /** 여러 필드를 하나의 문서로 색인할 때 필드 사이에 넣는 구분자 (정규화된 질의에는 나타나지 않음) */
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long UNIGRAM_FLAG = 1L << 32;
+
+    /** 완전 일치 > 접두 일치 > 앞쪽 위치 > 짧은 텍스트 > id */
+    private static final Comparator<Match> RANK_ORDER = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(Match::position)
+            .thenComparingInt(Match::length)
+            .thenComparingInt(Match::id);
+
+    private final Map<Integer, String> texts = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 문서 색인 (이미 있으면 교체). 여러 필드는 각각 정규화되어 하나의 문서로 합쳐진다.
+     */
+    public void put(int id, String... fields) {
+        String text = joinFields(fields);
+        lock.writeLock().lock();
+        try {
+            String previous = texts.remove(id);
+            if (previous != null) {
+                for (long gram : gramsOf(previous)) {
+                    Postings list = postings.get(gram);
+                    if (list != null && list.remove(id) && list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (text.isEmpty()) {
+                return;
+            }
+            texts.put(id, text);
+            for (long gram : gramsOf(text)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        put(id);
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            texts.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 질의 문자열을 포함하는 문서 id를 순위대로 조회
+     *
+     * @param offset 건너뛸 결과 수
+     * @param limit  최대 결과 수
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        // 현재 페이지까지(offset + limit)만 순위 힙에 남기고, 나머지 일치는 개수만 센다
+        int from = Math.max(offset, 0);
+        int keep = (int) Math.min((long) from + Math.max(limit, 0), Integer.MAX_VALUE);
+        PriorityQueue<Match> top = new PriorityQueue<>(RANK_ORDER.reversed());
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            Candidates candidates = candidatesOf(normalized);
+            for (int i = 0; i < candidates.size(); i++) {
+                int id = candidates.ids()[i];
+                String text = texts.get(id);
+                int position = text == null ? -1 : text.indexOf(normalized);
+                if (position < 0) {
+                    continue; // 2-gram은 모두 있지만 연속되지 않은 경우
+                }
+                total++;
+                if (keep == 0) {
+                    continue;
+                }
+                Match match = new Match(id, rankOf(text, normalized, position), position, text.length());
+                if (top.size() < keep) {
+                    top.add(match);
+                } else if (RANK_ORDER.compare(match, top.peek()) < 0) {
+                    top.poll();
+                    top.add(match);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Match[] ranked = top.toArray(new Match[0]);
+        Arrays.sort(ranked, RANK_ORDER);
+        List<Integer> ids = new ArrayList<>(Math.max(ranked.length - from, 0));
+        for (int i = from; i < ranked.length; i++) {
+            ids.add(ranked[i].id());
+        }
+        return new SearchResult(ids, total);
+    }
+
+    /**
+     * 검색용 정규화: NFC, 소문자, 글자/숫자 외 문자 제거
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(composed.length());
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 질의 n-gram을 모두 가진 문서 id (포스팅이 하나뿐이면 복사하지 않고 그대로 쓴다, 읽기 잠금 안에서만 사용)
+     */
+    private Candidates candidatesOf(String normalized) {
+        if (normalized.length() == 1) {
+            Postings list = postings.get(UNIGRAM_FLAG | normalized.charAt(0));
+            return list == null ? Candidates.NONE : new Candidates(list.ids, list.size);
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            Postings list = postings.get(bigram(normalized.charAt(i), normalized.charAt(i + 1)));
+            if (list == null) {
+                return Candidates.NONE;
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        if (lists.size() == 1) {
+            return new Candidates(lists.get(0).ids, lists.get(0).size); // 두 글자 질의 등 2-gram이 하나뿐인 경우
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        // 가장 짧은 포스팅부터 교집합
+        Postings smallest = lists.get(0);
+        int[] result = Arrays.copyOf(smallest.ids, smallest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            Postings other = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (Arrays.binarySearch(other.ids, 0, other.size, result[j]) >= 0) {
+                    result[kept++] = result[j];
+                }
+            }
+            size = kept;
+        }
+        return new Candidates(result, size);
+    }
+
+    private static int rankOf(String text, String query, int position) {
+        if (position == 0 || text.charAt(position - 1) == FIELD_SEPARATOR) {
+            int end = position + query.length();
+            if (end == text.length() || text.charAt(end) == FIELD_SEPARATOR) {
+                return 0; // 한 필드와 완전 일치
+            }
+            return 1;
+        }
+        return 2;
+    }
+
+    private static long[] gramsOf(String text) {
+        long[] grams = new long[text.length() * 2];
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams[count++] = UNIGRAM_FLAG | c;
+            if (i + 1 < text.length() && text.charAt(i + 1) != FIELD_SEPARATOR) {
+                grams[count++] = bigram(c, text.charAt(i + 1));
+            }
+        }
+        return Arrays.stream(grams, 0, count).distinct().toArray();
+    }
+
+    private static long bigram(char first, char second) {
+        return ((long) first << 16) | second;
+    }
+
+    private static String joinFields(String... fields) {
+        StringBuilder builder = new StringBuilder();
+        for (String field : fields) {
+            String normalized = normalize(field);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(FIELD_SEPARATOR);
+            }
+            builder.append(normalized);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 정렬된 문서 id 목록. id는 대부분 증가하는 순서로 들어오므로 끝에 붙이는 경우가 가장 흔하다.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int index, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+    }
+
+    private record Match(int id, int rank, int position, int length) {
+    }
+
+    private record Candidates(int[] ids, int size) {
+        private static final Candidates NONE = new Candidates(new int[0], 0);
+    }
+
+    /**
+     * 검색 결과 (현재 페이지 id 목록과 전체 일치 수)
+     */
+    public record SearchResult(List<Integer> ids, int total) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.tripgg.common.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 스레드에 묶어 쓰는 취소 범위
+ * 범위 안에서 시작된 외부 호출(HTTP 요청 등)이 취소 동작을 등록하면, 다른 스레드에서 cancel()로 한 번에 중단할 수 있다.
+ * 블로킹 소켓 읽기는 인터럽트로 깨어나지 않으므로 요청 자체를 중단하기 위해 사용한다.
+ */
+public final class CancellationScope {
+
+    private static final ThreadLocal<CancellationScope> CURRENT = new ThreadLocal<>();
+
+    private final List<Runnable> cancellers = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * 현재 스레드의 취소 범위 (없으면 null)
+     */
+    public static CancellationScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 이 범위를 현재 스레드에 묶은 채로 실행
+     */
+    public <T> T run(Supplier<T> action) {
+        CancellationScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * 취소 동작 등록 (이미 취소되었으면 바로 실행)
+     */
+    public void onCancel(Runnable canceller) {
+        cancellers.add(canceller);
+        if (cancelled && cancellers.remove(canceller)) {
+            canceller.run();
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Runnable canceller : cancellers) {
+            if (cancellers.remove(canceller)) {
+                canceller.run();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tripgg.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 일관된 해싱(consistent hashing) 링
+ * 노드마다 가상 노드를 여러 개 배치하여 키를 고르게 나누고, 노드가 추가/제거되어도 일부 키만 옮겨지게 한다.
+ * 생성 후 변경하지 않는 불변 객체이다.
+ */
+public final class ConsistentHashRing<T> {
+
+    private final TreeMap<Long, T> ring = new TreeMap<>();
+    private final List<T> nodes;
+
+    /**
+     * @param nodes        노드 목록 (toString()이 노드마다 달라야 함)
+     * @param virtualNodes 노드당 가상 노드 수
+     */
+    public ConsistentHashRing(Collection<T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("노드가 하나 이상 필요합니다.");
+        }
+        this.nodes = List.copyOf(nodes);
+        for (T node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * 키를 담당하는 노드 (링에서 키 해시 이후 첫 가상 노드)
+     */
+    public T nodeFor(String key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<T> getNodes() {
+        return new ArrayList<>(nodes);
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tripgg.common.util;
+
+/**
+ * 위경도 거리 계산 유틸리티
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double KM_PER_DEGREE_LAT = 111.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 두 지점 간의 대권 거리 (km, haversine)
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lngDistance = Math.toRadians(lng2 - lng1);
+
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lngDistance / 2) * Math.sin(lngDistance / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /**
+     * 반경(km)에 해당하는 위도 차이 (도)
+     */
+    public static double latDeltaDegrees(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    /**
+     * 주어진 위도에서 반경(km)에 해당하는 경도 차이 (도)
+     */
+    public static double lngDeltaDegrees(double radiusKm, double latitude) {
+        double cos = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        return radiusKm / (KM_PER_DEGREE_LAT * cos);
+    }
+}
@@ -0,0 +1,125 @@
+package com.tripgg.common.util;
+
+import java.util.Locale;
+
+/**
+ * 국내 공공 경계 데이터에 쓰이는 좌표계와 WGS84(경위도) 변환
+ * 투영 좌표계는 GRS80 타원체의 횡메르카토르(TM) 투영이며 Snyder(USGS Professional Paper 1395) 급수식으로 변환한다.
+ * 행정구역 경계 판별 용도로는 수 mm 이내 정확도면 충분하다.
+ */
+public enum KoreaCrs {
+
+    WGS84("EPSG:4326", 0, 0, 0, 0, 0),
+    /** UTM-K (국토지리정보원/도로명주소 전자지도/통계청 경계 데이터) */
+    UTM_K("EPSG:5179", 38.0, 127.5, 0.9996, 1_000_000.0, 2_000_000.0),
+    /** 중부원점 (GRS80) */
+    CENTRAL_BELT_2010("EPSG:5186", 38.0, 127.0, 1.0, 200_000.0, 600_000.0);
+
+    private static final double A = 6_378_137.0;
+    private static final double F = 1 / 298.257222101;
+    private static final double E2 = F * (2 - F);
+    private static final double EP2 = E2 / (1 - E2);
+
+    private final String code;
+    private final double lat0;
+    private final double lon0;
+    private final double k0;
+    private final double falseEasting;
+    private final double falseNorthing;
+
+    KoreaCrs(String code, double lat0, double lon0, double k0, double falseEasting, double falseNorthing) {
+        this.code = code;
+        this.lat0 = Math.toRadians(lat0);
+        this.lon0 = Math.toRadians(lon0);
+        this.k0 = k0;
+        this.falseEasting = falseEasting;
+        this.falseNorthing = falseNorthing;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * "EPSG:5179" 형태의 코드로 좌표계 조회
+     */
+    public static KoreaCrs of(String code) {
+        String normalized = code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+        for (KoreaCrs crs : values()) {
+            if (crs.code.equals(normalized)) {
+                return crs;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 좌표계: " + code);
+    }
+
+    /**
+     * 투영 좌표(x=동향, y=북향)를 경위도로 변환
+     * @return {경도, 위도}
+     */
+    public double[] toWgs84(double x, double y) {
+        if (this == WGS84) {
+            return new double[]{x, y};
+        }
+        double m = meridianArc(lat0) + (y - falseNorthing) / k0;
+        double mu = m / (A * (1 - E2 / 4 - 3 * E2 * E2 / 64 - 5 * E2 * E2 * E2 / 256));
+        double sqrt = Math.sqrt(1 - E2);
+        double e1 = (1 - sqrt) / (1 + sqrt);
+        double phi1 = mu
+                + (3 * e1 / 2 - 27 * Math.pow(e1, 3) / 32) * Math.sin(2 * mu)
+                + (21 * e1 * e1 / 16 - 55 * Math.pow(e1, 4) / 32) * Math.sin(4 * mu)
+                + (151 * Math.pow(e1, 3) / 96) * Math.sin(6 * mu)
+                + (1097 * Math.pow(e1, 4) / 512) * Math.sin(8 * mu);
+
+        double sin = Math.sin(phi1);
+        double cos = Math.cos(phi1);
+        double tan = Math.tan(phi1);
+        double c1 = EP2 * cos * cos;
+        double t1 = tan * tan;
+        double w = 1 - E2 * sin * sin;
+        double n1 = A / Math.sqrt(w);
+        double r1 = A * (1 - E2) / (w * Math.sqrt(w));
+        double d = (x - falseEasting) / (n1 * k0);
+
+        double latitude = phi1 - (n1 * tan / r1) * (d * d / 2
+                - (5 + 3 * t1 + 10 * c1 - 4 * c1 * c1 - 9 * EP2) * Math.pow(d, 4) / 24
+                + (61 + 90 * t1 + 298 * c1 + 45 * t1 * t1 - 252 * EP2 - 3 * c1 * c1) * Math.pow(d, 6) / 720);
+        double longitude = lon0 + (d
+                - (1 + 2 * t1 + c1) * Math.pow(d, 3) / 6
+                + (5 - 2 * c1 + 28 * t1 - 3 * c1 * c1 + 8 * EP2 + 24 * t1 * t1) * Math.pow(d, 5) / 120) / cos;
+        return new double[]{Math.toDegrees(longitude), Math.toDegrees(latitude)};
+    }
+
+    /**
+     * 경위도를 투영 좌표로 변환
+     * @return {x(동향), y(북향)}
+     */
+    public double[] fromWgs84(double longitude, double latitude) {
+        if (this == WGS84) {
+            return new double[]{longitude, latitude};
+        }
+        double phi = Math.toRadians(latitude);
+        double sin = Math.sin(phi);
+        double cos = Math.cos(phi);
+        double tan = Math.tan(phi);
+        double n = A / Math.sqrt(1 - E2 * sin * sin);
+        double t = tan * tan;
+        double c = EP2 * cos * cos;
+        double a = (Math.toRadians(longitude) - lon0) * cos;
+
+        double x = falseEasting + k0 * n * (a
+                + (1 - t + c) * Math.pow(a, 3) / 6
+                + (5 - 18 * t + t * t + 72 * c - 58 * EP2) * Math.pow(a, 5) / 120);
+        double y = falseNorthing + k0 * (meridianArc(phi) - meridianArc(lat0) + n * tan * (a * a / 2
+                + (5 - t + 9 * c + 4 * c * c) * Math.pow(a, 4) / 24
+                + (61 - 58 * t + t * t + 600 * c - 330 * EP2) * Math.pow(a, 6) / 720));
+        return new double[]{x, y};
+    }
+
+    private static double meridianArc(double phi) {
+        return A * ((1 - E2 / 4 - 3 * E2 * E2 / 64 - 5 * E2 * E2 * E2 / 256) * phi
+                - (3 * E2 / 8 + 3 * E2 * E2 / 32 + 45 * E2 * E2 * E2 / 1024) * Math.sin(2 * phi)
+                + (15 * E2 * E2 / 256 + 45 * E2 * E2 * E2 / 1024) * Math.sin(4 * phi)
+                - (35 * E2 * E2 * E2 / 3072) * Math.sin(6 * phi));
+    }
+}
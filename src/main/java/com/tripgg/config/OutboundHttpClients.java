@@ -0,0 +1,289 @@
+package com.tripgg.config;
+
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.CancellationScope;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 연동별(이름별) 커넥션 풀 HTTP 클라이언트 생성 및 관리
+ * 각 클라이언트는 독립된 커넥션 풀, keep-alive, 연결/응답/전체 제한 시간을 가진다.
+ */
+@Slf4j
+@Component
+public class OutboundHttpClients implements StatsProvider, DisposableBean {
+
+    private final OutboundHttpProperties properties;
+    private final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+    private final Map<String, CloseableHttpClient> httpClients = new ConcurrentHashMap<>();
+
+    // 전체 제한 시간(total timeout)을 넘긴 요청을 중단시키는 스케줄러
+    private final ScheduledThreadPoolExecutor deadlineScheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "http-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboundHttpClients(OutboundHttpProperties properties) {
+        this.properties = properties;
+        // 응답이 끝나 취소된 타이머는 큐에서 바로 빼서 요청 객체를 제한 시간까지 붙잡아 두지 않는다
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 이름별 설정으로 RestTemplate 생성
+     */
+    public RestTemplate createRestTemplate(String name) {
+        OutboundHttpProperties.Client config = properties.resolve(name);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxTotal())
+                .setMaxConnPerRoute(config.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(config.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(config.getReadTimeout()))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(config.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(config.getReadTimeout()))
+                .build();
+
+        TimeValue keepAlive = TimeValue.of(config.getKeepAlive());
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                .build();
+
+        connectionManagers.put(name, connectionManager);
+        httpClients.put(name, httpClient);
+
+        log.info("HTTP 클라이언트 생성: name={}, connect={}, read={}, total={}, maxTotal={}, maxPerRoute={}",
+                name, config.getConnectTimeout(), config.getReadTimeout(), config.getTotalTimeout(),
+                config.getMaxTotal(), config.getMaxPerRoute());
+
+        return new RestTemplate(new DeadlineRequestFactory(httpClient, config.getTotalTimeout().toMillis(), deadlineScheduler));
+    }
+
+    @Override
+    public void destroy() {
+        deadlineScheduler.shutdownNow();
+        httpClients.forEach((name, client) -> {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("HTTP 클라이언트 종료 실패: name={}, error={}", name, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public String getStatsName() {
+        return "http-client-pools";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        connectionManagers.forEach((name, manager) -> {
+            PoolStats total = manager.getTotalStats();
+            Map<String, Object> pool = new LinkedHashMap<>();
+            pool.put("leased", total.getLeased());
+            pool.put("available", total.getAvailable());
+            pool.put("pending", total.getPending());
+            pool.put("max", total.getMax());
+            pool.put("utilization", total.getMax() == 0 ? 0.0 : (double) total.getLeased() / total.getMax());
+
+            Map<String, Object> routes = new LinkedHashMap<>();
+            manager.getRoutes().forEach(route -> {
+                PoolStats routeStats = manager.getStats(route);
+                routes.put(route.getTargetHost().toURI(), Map.of(
+                        "leased", routeStats.getLeased(),
+                        "available", routeStats.getAvailable(),
+                        "pending", routeStats.getPending(),
+                        "max", routeStats.getMax()));
+            });
+            pool.put("routes", routes);
+            stats.put(name, pool);
+        });
+        stats.put("pendingDeadlines", deadlineScheduler.getQueue().size());
+        return stats;
+    }
+
+    /**
+     * 요청마다 전체 제한 시간 타이머를 걸어 초과 시 요청을 취소하는 팩토리
+     * 타이머는 응답을 닫거나 요청이 실패하면 바로 취소한다.
+     */
+    private static class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private final long totalTimeoutMillis;
+        private final ScheduledThreadPoolExecutor scheduler;
+
+        // postProcessHttpRequest에서 건 타이머를 같은 스레드의 createRequest로 넘긴다
+        private final ThreadLocal<ScheduledFuture<?>> pendingDeadline = new ThreadLocal<>();
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long totalTimeoutMillis, ScheduledThreadPoolExecutor scheduler) {
+            super(httpClient);
+            this.totalTimeoutMillis = totalTimeoutMillis;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            ClientHttpRequest request;
+            ScheduledFuture<?> deadline;
+            try {
+                request = super.createRequest(uri, httpMethod);
+            } catch (IOException | RuntimeException e) {
+                cancelDeadline(pendingDeadline.get());
+                throw e;
+            } finally {
+                deadline = pendingDeadline.get();
+                pendingDeadline.remove();
+            }
+            return deadline != null ? new DeadlineRequest(request, deadline) : request;
+        }
+
+        @Override
+        protected void postProcessHttpRequest(ClassicHttpRequest request) {
+            if (!(request instanceof HttpUriRequestBase cancellable)) {
+                return;
+            }
+            if (totalTimeoutMillis > 0) {
+                pendingDeadline.set(scheduler.schedule(cancellable::cancel, totalTimeoutMillis, TimeUnit.MILLISECONDS));
+            }
+            // 호출 측이 취소 범위 안에서 요청했으면 범위 취소 시 요청도 중단한다 (경쟁 요청의 패자 정리 등)
+            CancellationScope scope = CancellationScope.current();
+            if (scope != null) {
+                scope.onCancel(cancellable::cancel);
+            }
+        }
+    }
+
+    private static void cancelDeadline(ScheduledFuture<?> deadline) {
+        if (deadline != null) {
+            deadline.cancel(false);
+        }
+    }
+
+    /**
+     * 실행이 실패하면 타이머를 취소하고, 성공하면 응답을 닫을 때 취소하도록 감싼 요청
+     */
+    private static final class DeadlineRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineRequest(ClientHttpRequest delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return new DeadlineResponse(delegate.execute(), deadline);
+            } catch (IOException | RuntimeException e) {
+                cancelDeadline(deadline);
+                throw e;
+            }
+        }
+
+        @Override
+        public void setBody(Body body) {
+            ((StreamingHttpOutputMessage) delegate).setBody(body);
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+    }
+
+    private static final class DeadlineResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            cancelDeadline(deadline);
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tripgg.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 외부 연동용 HTTP 클라이언트 설정 (http.client.*)
+ * clients.{이름} 에 지정하지 않은 항목은 defaults 값을 사용한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class OutboundHttpProperties {
+
+    private Client defaults = Client.builtInDefaults();
+
+    private Map<String, Client> clients = new HashMap<>();
+
+    /**
+     * 이름별 설정에 기본값을 채운 최종 설정
+     */
+    public Client resolve(String name) {
+        Client named = clients.get(name);
+        if (named == null) {
+            return defaults;
+        }
+        Client resolved = new Client();
+        resolved.setConnectTimeout(named.getConnectTimeout() != null ? named.getConnectTimeout() : defaults.getConnectTimeout());
+        resolved.setReadTimeout(named.getReadTimeout() != null ? named.getReadTimeout() : defaults.getReadTimeout());
+        resolved.setTotalTimeout(named.getTotalTimeout() != null ? named.getTotalTimeout() : defaults.getTotalTimeout());
+        resolved.setConnectionRequestTimeout(named.getConnectionRequestTimeout() != null
+                ? named.getConnectionRequestTimeout() : defaults.getConnectionRequestTimeout());
+        resolved.setKeepAlive(named.getKeepAlive() != null ? named.getKeepAlive() : defaults.getKeepAlive());
+        resolved.setMaxTotal(named.getMaxTotal() != null ? named.getMaxTotal() : defaults.getMaxTotal());
+        resolved.setMaxPerRoute(named.getMaxPerRoute() != null ? named.getMaxPerRoute() : defaults.getMaxPerRoute());
+        return resolved;
+    }
+
+    @Data
+    public static class Client {
+        private Duration connectTimeout;           // TCP/TLS 연결 제한 시간
+        private Duration readTimeout;              // 응답 대기(소켓 읽기) 제한 시간
+        private Duration totalTimeout;             // 요청 전체 제한 시간 (초과 시 요청 중단)
+        private Duration connectionRequestTimeout; // 풀에서 커넥션을 빌리기까지의 대기 시간
+        private Duration keepAlive;                // 유휴 커넥션 유지 시간
+        private Integer maxTotal;                  // 풀 전체 최대 커넥션 수
+        private Integer maxPerRoute;               // 호스트(route)별 최대 커넥션 수
+
+        static Client builtInDefaults() {
+            Client client = new Client();
+            client.setConnectTimeout(Duration.ofSeconds(3));
+            client.setReadTimeout(Duration.ofSeconds(10));
+            client.setTotalTimeout(Duration.ofSeconds(30));
+            client.setConnectionRequestTimeout(Duration.ofSeconds(2));
+            client.setKeepAlive(Duration.ofSeconds(30));
+            client.setMaxTotal(100);
+            client.setMaxPerRoute(20);
+            return client;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.tripgg.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -10,11 +11,35 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
 public class RestTemplateConfig {
     
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate restTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.createRestTemplate("default");
+    }
+
+    // 카카오 로컬 API (장소 검색, 좌표→주소 변환)
+    @Bean
+    public RestTemplate kakaoLocalRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.createRestTemplate("kakao-local");
+    }
+
+    // 카카오 OAuth (토큰 발급, 사용자 정보)
+    @Bean
+    public RestTemplate kakaoOAuthRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.createRestTemplate("kakao-oauth");
+    }
+
+    @Bean
+    public RestTemplate gptRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.createRestTemplate("gpt");
+    }
+
+    @Bean
+    public RestTemplate geminiRestTemplate(OutboundHttpClients outboundHttpClients) {
+        return outboundHttpClients.createRestTemplate("gemini");
     }
 
     @Bean
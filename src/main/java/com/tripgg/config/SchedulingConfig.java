@@ -0,0 +1,23 @@
+package com.tripgg.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // @Scheduled 작업(채팅 보관 등)은 STOMP 브로커 하트비트 스케줄러와 분리된 전용 스레드에서 실행
+        taskRegistrar.setScheduler(Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-jobs");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+}
@@ -1,9 +1,11 @@
 package com.tripgg.config;
 
 import com.tripgg.auth.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -40,6 +42,14 @@ public class SecurityConfig {
                 .requestMatchers("/login.html").permitAll()
                 // swagger API 명세서 조회용
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**").permitAll()
+                // WebSocket 핸드셰이크 (인증은 STOMP CONNECT 프레임에서 JWT로 처리)
+                .requestMatchers("/ws/**").permitAll()
+                // SSE/스트리밍 응답의 비동기 디스패치 (최초 요청에서 이미 인증됨)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // 관리자 전용 (admin.kakao-ids 에 등록된 사용자)
+                .requestMatchers("/api/places/godata/import/**").hasRole("ADMIN")
+                .requestMatchers("/users/export", "/schedules/export").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/chat/rooms/**").hasRole("ADMIN")
                 // 나머지 모든 요청은 인증 필요
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,38 @@
+package com.tripgg.place.controller;
+
+import com.tripgg.auth.util.SecurityUtil;
+import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.place.dto.GodataImportRequest;
+import com.tripgg.place.dto.GodataImportStatus;
+import com.tripgg.place.service.GodataImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/places/godata/import")
+@RequiredArgsConstructor
+public class GodataImportController {
+    
+    private final GodataImportService godataImportService;
+    
+    /**
+     * 공공데이터 관광정보 파일 적재 시작 (백그라운드, 관리자 전용)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<GodataImportStatus>> startImport(@RequestBody GodataImportRequest request) {
+        log.info("공공데이터 적재 요청 - 사용자 ID: {}, 파일: {}", SecurityUtil.getCurrentUserId(), request.getFileName());
+        GodataImportStatus status = godataImportService.startImport(request);
+        return ResponseEntity.ok(ApiResponse.success("공공데이터 적재를 시작했습니다.", status));
+    }
+    
+    /**
+     * 적재 진행 상태 조회 (처리 행 수, 초당 처리 행 수 등)
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ApiResponse<GodataImportStatus>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success("공공데이터 적재 상태를 조회했습니다.", godataImportService.getStatus()));
+    }
+}
@@ -2,14 +2,19 @@ package com.tripgg.place.controller;
 
 import com.tripgg.auth.util.SecurityUtil;
 import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.io.NdjsonExporter;
+import com.tripgg.place.dto.CategorySearchResult;
 import com.tripgg.place.dto.PlaceSearchRequest;
 import com.tripgg.place.dto.PlaceSearchResult;
+import com.tripgg.place.entity.PlacesGodata;
 import com.tripgg.place.entity.SchedulePlaces;
 import com.tripgg.place.service.PlaceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,7 +24,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PlaceController {
     
+    private static final int KAKAO_MAX_PAGE = 45;
+    
     private final PlaceService placeService;
+    private final NdjsonExporter ndjsonExporter;
     
     // 장소 생성
     @PostMapping
@@ -44,11 +52,21 @@ public class PlaceController {
         return ResponseEntity.ok(ApiResponse.success("장소를 성공적으로 조회했습니다.", schedulePlaces));
     }
     
-    // 전체 장소 목록 조회
+    // 장소 목록 조회 (id 커서 기반, after=이전 페이지 nextCursor)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<SchedulePlaces>>> getAllPlaces() {
-        List<SchedulePlaces> schedulePlaces = placeService.getAllPlaces();
-        return ResponseEntity.ok(ApiResponse.success("전체 장소 목록을 성공적으로 조회했습니다.", schedulePlaces));
+    public ResponseEntity<ApiResponse<CursorPage<SchedulePlaces>>> getPlaces(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<SchedulePlaces> page = placeService.getPlaces(after, CursorPage.clampLimit(limit, 50, 500));
+        return ResponseEntity.ok(ApiResponse.success("장소 목록을 성공적으로 조회했습니다.", page));
+    }
+    
+    // 장소 전체 내보내기 (NDJSON 스트리밍)
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportPlaces(@RequestParam(defaultValue = "0") Integer after) {
+        return ResponseEntity.ok().body(ndjsonExporter.export(
+                "SELECT id, name, category, address, latitude, longitude, description, img_url, created_at, updated_at "
+                        + "FROM schedule_places WHERE id > ? ORDER BY id", after));
     }
     
     // 카테고리별 장소 조회
@@ -60,18 +78,44 @@ public class PlaceController {
     
     // 이름으로 장소 검색
     @GetMapping("/search/name")
-    public ResponseEntity<ApiResponse<List<SchedulePlaces>>> searchPlacesByName(@RequestParam String name) {
-        List<SchedulePlaces> schedulePlaces = placeService.searchPlacesByName(name);
+    public ResponseEntity<ApiResponse<List<SchedulePlaces>>> searchPlacesByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        List<SchedulePlaces> schedulePlaces = placeService.searchPlacesByName(name, page, Math.min(size, 100));
         return ResponseEntity.ok(ApiResponse.success("이름으로 장소 검색이 완료되었습니다.", schedulePlaces));
     }
     
     // 주소로 장소 검색
     @GetMapping("/search/address")
-    public ResponseEntity<ApiResponse<List<SchedulePlaces>>> searchPlacesByAddress(@RequestParam String address) {
-        List<SchedulePlaces> schedulePlaces = placeService.searchPlacesByAddress(address);
+    public ResponseEntity<ApiResponse<List<SchedulePlaces>>> searchPlacesByAddress(
+            @RequestParam String address,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        List<SchedulePlaces> schedulePlaces = placeService.searchPlacesByAddress(address, page, Math.min(size, 100));
         return ResponseEntity.ok(ApiResponse.success("주소로 장소 검색이 완료되었습니다.", schedulePlaces));
     }
     
+    // 관광정보명으로 공공데이터 관광정보 검색
+    @GetMapping("/godata/search/name")
+    public ResponseEntity<ApiResponse<List<PlacesGodata>>> searchGodataByName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        List<PlacesGodata> places = placeService.searchGodataByName(name, page, Math.min(size, 100));
+        return ResponseEntity.ok(ApiResponse.success("관광정보명으로 검색이 완료되었습니다.", places));
+    }
+    
+    // 도로명/지번 주소로 공공데이터 관광정보 검색
+    @GetMapping("/godata/search/address")
+    public ResponseEntity<ApiResponse<List<PlacesGodata>>> searchGodataByAddress(
+            @RequestParam String address,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "20") Integer size) {
+        List<PlacesGodata> places = placeService.searchGodataByAddress(address, page, Math.min(size, 100));
+        return ResponseEntity.ok(ApiResponse.success("주소로 관광정보 검색이 완료되었습니다.", places));
+    }
+    
     // 좌표 범위 내 장소 조회
     @GetMapping("/search/coordinates")
     public ResponseEntity<ApiResponse<List<SchedulePlaces>>> getPlacesByCoordinatesRange(
@@ -83,6 +127,26 @@ public class PlaceController {
         return ResponseEntity.ok(ApiResponse.success("좌표 범위 내 장소를 성공적으로 조회했습니다.", schedulePlaces));
     }
     
+    // 반경 내 장소 조회 (가까운 순)
+    @GetMapping("/search/radius")
+    public ResponseEntity<ApiResponse<List<PlaceSearchResult>>> getPlacesWithinRadius(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "1.0") Double radiusKm) {
+        List<PlaceSearchResult> results = placeService.getPlacesWithinRadius(latitude, longitude, radiusKm);
+        return ResponseEntity.ok(ApiResponse.success("반경 내 장소를 성공적으로 조회했습니다.", results));
+    }
+    
+    // 가장 가까운 장소 k개 조회
+    @GetMapping("/search/nearest")
+    public ResponseEntity<ApiResponse<List<PlaceSearchResult>>> getNearestPlaces(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10") Integer k) {
+        List<PlaceSearchResult> results = placeService.getNearestPlaces(latitude, longitude, Math.min(k, 100));
+        return ResponseEntity.ok(ApiResponse.success("가까운 장소를 성공적으로 조회했습니다.", results));
+    }
+    
     // 장소 수정
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<SchedulePlaces>> updatePlace(
@@ -109,6 +173,7 @@ public class PlaceController {
     /**
      * 카테고리 기반 장소 검색 API
      * 카카오맵 API를 사용하여 카테고리별 장소 검색
+     * maxResults 지정 시 필요한 페이지를 동시에 조회하여 합친 결과 반환
      */
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<List<PlaceSearchResult>>> searchPlaces(
@@ -118,7 +183,16 @@ public class PlaceController {
             @RequestParam(required = false) Integer radius,
             @RequestParam(required = false, defaultValue = "1") Integer page,
             @RequestParam(required = false, defaultValue = "15") Integer size,
-            @RequestParam(required = false, defaultValue = "accuracy") String sort) {
+            @RequestParam(required = false, defaultValue = "accuracy") String sort,
+            @RequestParam(required = false) Integer maxResults) {
+        
+        // 카카오 카테고리 검색은 1~45페이지까지만 제공한다
+        if (page < 1 || page > KAKAO_MAX_PAGE) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("page는 1부터 " + KAKAO_MAX_PAGE + "까지 지정할 수 있습니다."));
+        }
+        if (maxResults != null && maxResults < 1) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("maxResults는 1 이상이어야 합니다."));
+        }
         
         PlaceSearchRequest request = new PlaceSearchRequest();
         request.setCategory(category);
@@ -128,11 +202,37 @@ public class PlaceController {
         request.setPage(page);
         request.setSize(size);
         request.setSort(sort);
+        request.setMaxResults(maxResults);
         
         List<PlaceSearchResult> results = placeService.searchPlaces(request);
         return ResponseEntity.ok(ApiResponse.success("카테고리 기반 장소 검색이 완료되었습니다.", results));
     }
     
+    /**
+     * 다중 카테고리 장소 검색 API
+     * 예: categories=CE7,FD6,AT4,AD5 - 카테고리별 카카오 호출을 동시에 수행하고 결과를 카테고리별로 묶어 반환
+     */
+    @GetMapping("/search/categories")
+    public ResponseEntity<ApiResponse<List<CategorySearchResult>>> searchPlacesByCategories(
+            @RequestParam List<String> categories,
+            @RequestParam(required = false) String x,
+            @RequestParam(required = false) String y,
+            @RequestParam(required = false) Integer radius,
+            @RequestParam(required = false, defaultValue = "15") Integer size,
+            @RequestParam(required = false, defaultValue = "accuracy") String sort) {
+        
+        PlaceSearchRequest request = new PlaceSearchRequest();
+        request.setX(x);
+        request.setY(y);
+        request.setRadius(radius);
+        request.setPage(1);
+        request.setSize(size);
+        request.setSort(sort);
+        
+        List<CategorySearchResult> results = placeService.searchPlacesByCategories(request, categories);
+        return ResponseEntity.ok(ApiResponse.success("다중 카테고리 장소 검색이 완료되었습니다.", results));
+    }
+    
     /**
      * 장소 상세 조회 API
      * 카카오맵으로 연결하여 상세정보 반환
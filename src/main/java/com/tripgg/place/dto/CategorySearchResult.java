@@ -0,0 +1,21 @@
+package com.tripgg.place.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySearchResult {
+    private String category; // 카테고리 그룹 코드 (예: CE7)
+    private Integer totalCount; // 카카오 전체 결과 수
+    private Boolean isEnd;
+    private List<PlaceSearchResult> places;
+    private long elapsedMillis; // 카테고리별 소요 시간
+    private boolean cached; // 캐시에서 응답했는지 여부
+}
@@ -0,0 +1,10 @@
+package com.tripgg.place.dto;
+
+import lombok.Data;
+
+@Data
+public class GodataImportRequest {
+    private String fileName; // 가져오기 디렉터리 기준 파일명 (.csv / .xlsx)
+    private String charset; // CSV 인코딩 (기본값 설정 사용, 예: UTF-8, MS949)
+    private Boolean resume; // 체크포인트부터 이어서 진행 (기본값 true)
+}
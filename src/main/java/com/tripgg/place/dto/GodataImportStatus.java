@@ -0,0 +1,29 @@
+package com.tripgg.place.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GodataImportStatus {
+    private String state; // IDLE, RUNNING, COMPLETED, FAILED
+    private String fileName;
+    private long resumedFromRow; // 체크포인트로 건너뛴 행 수
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long unchanged;
+    private long rejected;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private List<String> rejectedSamples; // 거부된 행 예시 (최대 20개)
+}
@@ -12,4 +12,5 @@ public class PlaceSearchRequest {
     private Integer page;
     private Integer size;
     private String sort;
+    private Integer maxResults; // 지정 시 여러 페이지를 동시에 조회하여 최대 이 개수까지 반환
 }
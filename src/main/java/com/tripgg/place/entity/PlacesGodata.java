@@ -25,6 +25,12 @@ public class PlacesGodata {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
+    @Column(name = "source_key", unique = true, length = 64)
+    private String sourceKey; // 원천 행 식별 키 (시군명 + 관광정보명 + 주소 해시)
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // 행 내용 해시 (변경된 행만 갱신)
+
     @Column(name = "sigungu_name", nullable = false, length = 100)
     private String sigunguName; // 시군명
 
@@ -56,7 +62,7 @@ public class PlacesGodata {
     private String sourceInfo; // 원천데이터정보
 
     @Column(name = "source_url", columnDefinition = "VARCHAR(500)")
-    private Double sourceUrl; // 원천데이터URL
+    private String sourceUrl; // 원천데이터URL
 
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -9,7 +9,13 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
 
 
 @Entity
@@ -21,10 +27,23 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class SchedulePlaces {
     
+    // 시도 정식 명칭 -> 약칭
+    private static final String[][] PROVINCE_ALIASES = {
+            {"서울특별시", "서울"}, {"부산광역시", "부산"}, {"대구광역시", "대구"}, {"인천광역시", "인천"},
+            {"광주광역시", "광주"}, {"대전광역시", "대전"}, {"울산광역시", "울산"}, {"세종특별자치시", "세종"},
+            {"경기도", "경기"}, {"강원특별자치도", "강원"}, {"강원도", "강원"}, {"충청북도", "충북"},
+            {"충청남도", "충남"}, {"전북특별자치도", "전북"}, {"전라북도", "전북"}, {"전라남도", "전남"},
+            {"경상북도", "경북"}, {"경상남도", "경남"}, {"제주특별자치도", "제주"}
+    };
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     
+    // 정규화된 장소 식별 키 (중복 저장 방지용 유니크 키)
+    @Column(name = "place_key", unique = true, length = 64)
+    private String placeKey;
+    
     @Column(name = "name")
     private String name;
     
@@ -54,6 +73,61 @@ public class SchedulePlaces {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @PrePersist
+    @PreUpdate
+    protected void assignPlaceKey() {
+        placeKey = placeKeyOf(name, address, latitude, longitude);
+    }
+    
+    /**
+     * 장소 식별 키 생성
+     * 이름과 주소를 정규화(NFC, 소문자, 공백/구두점 제거, 시도명 약칭 통일)하여 해시한다.
+     * 주소가 없으면 이름만으로는 구분이 안 되므로 약 1km 좌표 셀을 함께 사용한다.
+     */
+    public static String placeKeyOf(String name, String address, Double latitude, Double longitude) {
+        String canonicalName = canonicalize(name);
+        String canonicalAddress = canonicalizeAddress(address);
+        String identity = canonicalName + "|" + canonicalAddress;
+        if (canonicalAddress.isEmpty() && latitude != null && longitude != null) {
+            identity += "|" + Math.round(latitude * 100) + ":" + Math.round(longitude * 100);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String canonicalizeAddress(String address) {
+        if (address == null) {
+            return "";
+        }
+        String normalized = address.trim();
+        for (String[] alias : PROVINCE_ALIASES) {
+            if (normalized.startsWith(alias[0])) {
+                normalized = alias[1] + normalized.substring(alias[0].length());
+                break;
+            }
+        }
+        return canonicalize(normalized);
+    }
+    
+    private static String canonicalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(value, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(composed.length());
+        for (int i = 0; i < composed.length(); i++) {
+            char c = composed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+    
     // 연관관계 - 순환 참조 방지를 위해 제거
     // @OneToMany(mappedBy = "place")
     // private List<ScheduleItem> scheduleItems;
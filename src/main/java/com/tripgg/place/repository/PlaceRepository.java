@@ -1,11 +1,15 @@
 package com.tripgg.place.repository;
 
 import com.tripgg.place.entity.SchedulePlaces;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +33,23 @@ public interface PlaceRepository extends JpaRepository<SchedulePlaces, Long> {
             @Param("minLng") Double minLng,
             @Param("maxLng") Double maxLng);
     
+    // id 이후 장소를 id 순으로 조회 (인덱스 적재용)
+    List<SchedulePlaces> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    
+    // id 목록으로 장소 조회
+    List<SchedulePlaces> findByIdIn(Collection<Integer> ids);
+    
+    // 장소 키 목록으로 장소 조회
+    List<SchedulePlaces> findByPlaceKeyIn(Collection<String> placeKeys);
+    
+    // 장소 키 목록으로 장소 조회 (공유 잠금 - 다른 트랜잭션이 방금 커밋한 행도 읽음)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT p FROM SchedulePlaces p WHERE p.placeKey IN :placeKeys")
+    List<SchedulePlaces> lockByPlaceKeyIn(@Param("placeKeys") Collection<String> placeKeys);
+    
+    // 장소 키가 비어 있는 장소를 id 순으로 조회 (키 백필용)
+    List<SchedulePlaces> findByPlaceKeyIsNullAndIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    
     // 카테고리별 장소 개수 조회
     long countByCategory(String category);
     
@@ -0,0 +1,111 @@
+package com.tripgg.place.repository;
+
+import com.tripgg.place.entity.PlacesGodata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공공데이터 관광정보 대량 적재용 JDBC 저장소
+ * IDENTITY 키 때문에 JPA 배치 insert가 동작하지 않으므로 JDBC 배치로 직접 upsert 한다.
+ * (MySQL 드라이버의 rewriteBatchedStatements=true 설정 시 다중 행 INSERT로 재작성된다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlacesGodataJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO places_godata
+                (source_key, content_hash, sigungu_name, place_name, phone_number, data_reference_date,
+                 road_address, lot_address, postal_code, latitude, longitude, source_info, source_url,
+                 created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sigungu_name = VALUES(sigungu_name),
+                place_name = VALUES(place_name),
+                phone_number = VALUES(phone_number),
+                data_reference_date = VALUES(data_reference_date),
+                road_address = VALUES(road_address),
+                lot_address = VALUES(lot_address),
+                postal_code = VALUES(postal_code),
+                latitude = VALUES(latitude),
+                longitude = VALUES(longitude),
+                source_info = VALUES(source_info),
+                source_url = VALUES(source_url),
+                updated_at = VALUES(updated_at),
+                content_hash = VALUES(content_hash)
+            """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 원천 키별 저장된 내용 해시 조회
+     */
+    public Map<String, String> findContentHashes(Collection<String> sourceKeys) {
+        Map<String, String> hashes = new HashMap<>();
+        if (sourceKeys.isEmpty()) {
+            return hashes;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT source_key, content_hash FROM places_godata WHERE source_key IN (:keys)",
+                new MapSqlParameterSource("keys", sourceKeys),
+                resultSet -> {
+                    hashes.put(resultSet.getString("source_key"), resultSet.getString("content_hash"));
+                });
+        return hashes;
+    }
+
+    /**
+     * 원천 키 기준 일괄 upsert
+     */
+    public void upsertAll(List<PlacesGodata> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        namedParameterJdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, rows, rows.size(),
+                (PreparedStatement ps, PlacesGodata row) -> bind(ps, row, now));
+    }
+
+    private static void bind(PreparedStatement ps, PlacesGodata row, Timestamp now) throws SQLException {
+        ps.setString(1, row.getSourceKey());
+        ps.setString(2, row.getContentHash());
+        ps.setString(3, row.getSigunguName());
+        ps.setString(4, row.getPlaceName());
+        ps.setString(5, row.getPhoneNumber());
+        if (row.getDataReferenceDate() != null) {
+            ps.setDate(6, Date.valueOf(row.getDataReferenceDate()));
+        } else {
+            ps.setNull(6, Types.DATE);
+        }
+        ps.setString(7, row.getRoadAddress());
+        ps.setString(8, row.getLotAddress());
+        ps.setString(9, row.getPostalCode());
+        setDouble(ps, 10, row.getLatitude());
+        setDouble(ps, 11, row.getLongitude());
+        ps.setString(12, row.getSourceInfo());
+        ps.setString(13, row.getSourceUrl());
+        ps.setTimestamp(14, now);
+        ps.setTimestamp(15, now);
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value != null) {
+            ps.setDouble(index, value);
+        } else {
+            ps.setNull(index, Types.DOUBLE);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tripgg.place.repository;
+
+import com.tripgg.place.entity.PlacesGodata;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlacesGodataRepository extends JpaRepository<PlacesGodata, Integer> {
+    
+    // id 이후 관광정보를 id 순으로 조회 (인덱스 적재용)
+    List<PlacesGodata> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    
+    // id 목록으로 관광정보 조회
+    List<PlacesGodata> findByIdIn(Collection<Integer> ids);
+}
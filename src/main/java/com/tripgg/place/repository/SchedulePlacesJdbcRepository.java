@@ -0,0 +1,60 @@
+package com.tripgg.place.repository;
+
+import com.tripgg.place.entity.SchedulePlaces;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일정 장소 다중 행 insert용 JDBC 저장소
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchedulePlacesJdbcRepository {
+
+    private static final String INSERT_PREFIX = "INSERT INTO schedule_places "
+            + "(place_key, name, category, address, latitude, longitude, description, img_url, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // 같은 place_key가 이미 있으면(동시 저장 포함) 아무것도 바꾸지 않는다
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE id = id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 다중 행 INSERT 한 번으로 장소 저장 (place_key 중복 행은 무시)
+     *
+     * @return 실제로 추가된 행 수
+     */
+    public int insertIgnoringDuplicates(List<SchedulePlaces> places) {
+        if (places.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(places.size() * 10);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < places.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            SchedulePlaces place = places.get(i);
+            args.add(place.getPlaceKey());
+            args.add(place.getName());
+            args.add(place.getCategory());
+            args.add(place.getAddress());
+            args.add(place.getLatitude());
+            args.add(place.getLongitude());
+            args.add(place.getDescription());
+            args.add(place.getImgUrl());
+            args.add(now);
+            args.add(now);
+        }
+        sql.append(ON_DUPLICATE);
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,473 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.io.CsvRowReader;
+import com.tripgg.common.io.RowReader;
+import com.tripgg.common.io.XlsxRowReader;
+import com.tripgg.place.dto.GodataImportRequest;
+import com.tripgg.place.dto.GodataImportStatus;
+import com.tripgg.place.entity.PlacesGodata;
+import com.tripgg.place.repository.PlacesGodataJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 경기도 관광정보 공공데이터(CSV/XLSX) 스트리밍 적재 서비스
+ * 파일을 한 행씩 읽어 검증/정규화한 뒤 배치 단위로 JDBC upsert 한다.
+ * - 배치마다 체크포인트(처리한 행 수)를 기록하여 실패 후 이어서 진행할 수 있다.
+ * - 원천 키별 내용 해시를 비교하여 변경된 행만 쓴다.
+ */
+@Slf4j
+@Service
+public class GodataImportService {
+
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+    private static final int MAX_REJECTED_SAMPLES = 20;
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("yyyyMMdd"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("yyyy.MM.dd"));
+
+    // 공공데이터 CSV 헤더
+    private static final String COL_SIGUNGU = "시군명";
+    private static final String COL_PLACE_NAME = "관광정보명";
+    private static final String COL_PHONE = "전화번호";
+    private static final String COL_REFERENCE_DATE = "데이터기준일자";
+    private static final String COL_ROAD_ADDRESS = "정제도로명주소";
+    private static final String COL_LOT_ADDRESS = "정제지번주소";
+    private static final String COL_POSTAL_CODE = "정제우편번호";
+    private static final String COL_LATITUDE = "정제WGS84위도";
+    private static final String COL_LONGITUDE = "정제WGS84경도";
+    private static final String COL_SOURCE_INFO = "원천데이터정보";
+    private static final String COL_SOURCE_URL = "원천데이터URL";
+
+    private final PlacesGodataJdbcRepository placesGodataJdbcRepository;
+    private final PlaceTextSearchService placeTextSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path importDir;
+    private final Path checkpointDir;
+    private final int batchSize;
+    private final Charset defaultCharset;
+
+    private final ExecutorService importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "godata-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 진행 상태
+    private volatile String state = "IDLE";
+    private volatile String fileName;
+    private volatile long resumedFromRow;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile String error;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<String> rejectedSamples = Collections.synchronizedList(new ArrayList<>());
+
+    public GodataImportService(
+            PlacesGodataJdbcRepository placesGodataJdbcRepository,
+            PlaceTextSearchService placeTextSearchService,
+            TransactionTemplate transactionTemplate,
+            @Value("${godata.import.dir:./data/import}") String importDir,
+            @Value("${godata.import.checkpoint-dir:./data/import/checkpoints}") String checkpointDir,
+            @Value("${godata.import.batch-size:1000}") int batchSize,
+            @Value("${godata.import.charset:UTF-8}") String defaultCharset) {
+        this.placesGodataJdbcRepository = placesGodataJdbcRepository;
+        this.placeTextSearchService = placeTextSearchService;
+        this.transactionTemplate = transactionTemplate;
+        this.importDir = Paths.get(importDir).toAbsolutePath().normalize();
+        this.checkpointDir = Paths.get(checkpointDir).toAbsolutePath().normalize();
+        this.batchSize = batchSize;
+        this.defaultCharset = Charset.forName(defaultCharset);
+    }
+
+    /**
+     * 적재 시작 (백그라운드 실행, 동시에 하나만 가능)
+     */
+    public GodataImportStatus startImport(GodataImportRequest request) {
+        Path file = resolveImportFile(request.getFileName());
+        Charset charset = request.getCharset() != null ? Charset.forName(request.getCharset()) : defaultCharset;
+        boolean resume = request.getResume() == null || request.getResume();
+
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("이미 공공데이터 적재가 진행 중입니다.");
+        }
+        resetStatus(file.getFileName().toString());
+        importExecutor.execute(() -> {
+            try {
+                runImport(file, charset, resume);
+            } finally {
+                running.set(false);
+            }
+        });
+        return getStatus();
+    }
+
+    /**
+     * 현재(또는 마지막) 적재 진행 상태
+     */
+    public GodataImportStatus getStatus() {
+        long endNanos = finishedNanos > 0 ? finishedNanos : System.nanoTime();
+        double elapsedSeconds = startedNanos > 0 ? (endNanos - startedNanos) / 1_000_000_000.0 : 0;
+        double rowsPerSecond = elapsedSeconds > 0 ? rowsRead.get() / elapsedSeconds : 0;
+
+        return GodataImportStatus.builder()
+                .state(state)
+                .fileName(fileName)
+                .resumedFromRow(resumedFromRow)
+                .rowsRead(rowsRead.get())
+                .inserted(inserted.get())
+                .updated(updated.get())
+                .unchanged(unchanged.get())
+                .rejected(rejected.get())
+                .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .rejectedSamples(List.copyOf(rejectedSamples))
+                .build();
+    }
+
+    private void runImport(Path file, Charset charset, boolean resume) {
+        Path checkpoint = checkpointPath(file);
+        long skipRows = resume ? readCheckpoint(checkpoint) : 0;
+        resumedFromRow = skipRows;
+        log.info("공공데이터 적재 시작: {} (체크포인트 {}행부터)", file, skipRows);
+
+        try (RowReader reader = openReader(file, charset)) {
+            Map<String, Integer> columns = readHeader(reader);
+
+            long rowNumber = 0;
+            List<String> values;
+            while (rowNumber < skipRows && reader.next() != null) {
+                rowNumber++;
+            }
+
+            Map<String, PlacesGodata> batch = new LinkedHashMap<>();
+            while ((values = reader.next()) != null) {
+                rowNumber++;
+                rowsRead.incrementAndGet();
+                PlacesGodata row = toEntity(values, columns, rowNumber);
+                if (row != null) {
+                    batch.put(row.getSourceKey(), row); // 같은 배치 안의 중복 키는 마지막 행 기준
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch);
+                    writeCheckpoint(checkpoint, rowNumber);
+                }
+            }
+            flush(batch);
+
+            Files.deleteIfExists(checkpoint);
+            finish("COMPLETED", null);
+            log.info("공공데이터 적재 완료: {}", getStatus());
+
+            placeTextSearchService.reloadGodata();
+        } catch (Exception e) {
+            log.error("공공데이터 적재 실패: {}", e.getMessage(), e);
+            finish("FAILED", e.getMessage());
+        }
+    }
+
+    /**
+     * 배치 쓰기 - 저장된 해시와 같은 행은 건너뛰고 나머지만 upsert
+     */
+    private void flush(Map<String, PlacesGodata> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, String> storedHashes = placesGodataJdbcRepository.findContentHashes(batch.keySet());
+            List<PlacesGodata> changed = new ArrayList<>(batch.size());
+            long newRows = 0;
+            for (PlacesGodata row : batch.values()) {
+                String storedHash = storedHashes.get(row.getSourceKey());
+                if (storedHash == null) {
+                    newRows++;
+                    changed.add(row);
+                } else if (!storedHash.equals(row.getContentHash())) {
+                    changed.add(row);
+                }
+            }
+            placesGodataJdbcRepository.upsertAll(changed);
+
+            inserted.addAndGet(newRows);
+            updated.addAndGet(changed.size() - newRows);
+            unchanged.addAndGet(batch.size() - changed.size());
+        });
+        batch.clear();
+    }
+
+    /**
+     * 한 행을 검증/정규화하여 엔티티로 변환 (거부 시 null)
+     */
+    private PlacesGodata toEntity(List<String> values, Map<String, Integer> columns, long rowNumber) {
+        String sigunguName = clean(cell(values, columns, COL_SIGUNGU), 100);
+        String placeName = clean(cell(values, columns, COL_PLACE_NAME), 255);
+        if (sigunguName == null || placeName == null) {
+            reject(rowNumber, "시군명/관광정보명 누락");
+            return null;
+        }
+
+        Double latitude = parseCoordinate(cell(values, columns, COL_LATITUDE), 33.0, 39.0);
+        Double longitude = parseCoordinate(cell(values, columns, COL_LONGITUDE), 124.0, 132.0);
+        if (latitude == null || longitude == null) {
+            // 좌표 한쪽만 유효한 경우는 둘 다 비운다
+            latitude = null;
+            longitude = null;
+        }
+
+        PlacesGodata row = PlacesGodata.builder()
+                .sigunguName(sigunguName)
+                .placeName(placeName)
+                .phoneNumber(clean(cell(values, columns, COL_PHONE), 50))
+                .dataReferenceDate(parseDate(cell(values, columns, COL_REFERENCE_DATE)))
+                .roadAddress(clean(cell(values, columns, COL_ROAD_ADDRESS), 255))
+                .lotAddress(clean(cell(values, columns, COL_LOT_ADDRESS), 255))
+                .postalCode(parsePostalCode(cell(values, columns, COL_POSTAL_CODE)))
+                .latitude(latitude)
+                .longitude(longitude)
+                .sourceInfo(clean(cell(values, columns, COL_SOURCE_INFO), Integer.MAX_VALUE))
+                .sourceUrl(clean(cell(values, columns, COL_SOURCE_URL), 500))
+                .build();
+
+        String address = row.getRoadAddress() != null ? row.getRoadAddress() : row.getLotAddress();
+        row.setSourceKey(sha256(keyPart(sigunguName) + "|" + keyPart(placeName) + "|" + keyPart(address)));
+        row.setContentHash(sha256(String.join("\u001f",
+                sigunguName, placeName,
+                String.valueOf(row.getPhoneNumber()),
+                String.valueOf(row.getDataReferenceDate()),
+                String.valueOf(row.getRoadAddress()),
+                String.valueOf(row.getLotAddress()),
+                String.valueOf(row.getPostalCode()),
+                String.valueOf(row.getLatitude()),
+                String.valueOf(row.getLongitude()),
+                String.valueOf(row.getSourceInfo()),
+                String.valueOf(row.getSourceUrl()))));
+        return row;
+    }
+
+    private Map<String, Integer> readHeader(RowReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new RuntimeException("빈 파일입니다.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace(" ", ""), i);
+        }
+        if (!columns.containsKey(COL_SIGUNGU) || !columns.containsKey(COL_PLACE_NAME)) {
+            throw new RuntimeException("필수 헤더(" + COL_SIGUNGU + ", " + COL_PLACE_NAME + ")가 없습니다: " + header);
+        }
+        return columns;
+    }
+
+    private RowReader openReader(Path file, Charset charset) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            return new XlsxRowReader(file);
+        }
+        return new CsvRowReader(Files.newInputStream(file), charset);
+    }
+
+    private Path resolveImportFile(String requestedName) {
+        if (requestedName == null || requestedName.isBlank()) {
+            throw new RuntimeException("파일명이 필요합니다.");
+        }
+        Path file = importDir.resolve(requestedName).normalize();
+        if (!file.startsWith(importDir)) {
+            throw new RuntimeException("가져오기 디렉터리 밖의 파일은 사용할 수 없습니다.");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new RuntimeException("파일을 찾을 수 없습니다: " + requestedName);
+        }
+        return file;
+    }
+
+    /**
+     * 파일 경로/크기/수정 시각으로 체크포인트 파일 결정 (파일이 바뀌면 처음부터)
+     */
+    private Path checkpointPath(Path file) {
+        try {
+            String identity = file + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis();
+            return checkpointDir.resolve(sha256(identity).substring(0, 16) + ".checkpoint");
+        } catch (IOException e) {
+            throw new RuntimeException("파일 정보를 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private long readCheckpoint(Path checkpoint) {
+        try {
+            if (!Files.exists(checkpoint)) {
+                return 0;
+            }
+            return Long.parseLong(Files.readString(checkpoint).trim());
+        } catch (IOException | NumberFormatException e) {
+            log.warn("체크포인트를 읽을 수 없어 처음부터 진행합니다: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpoint, long rowNumber) {
+        try {
+            Files.createDirectories(checkpointDir);
+            Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(rowNumber));
+            Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("체크포인트 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    private void resetStatus(String name) {
+        state = "RUNNING";
+        fileName = name;
+        resumedFromRow = 0;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        startedNanos = System.nanoTime();
+        finishedNanos = 0;
+        error = null;
+        rowsRead.set(0);
+        inserted.set(0);
+        updated.set(0);
+        unchanged.set(0);
+        rejected.set(0);
+        rejectedSamples.clear();
+    }
+
+    private void finish(String finalState, String errorMessage) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        error = errorMessage;
+        state = finalState;
+        log.info("공공데이터 적재 종료 - 상태: {}, 소요: {}", finalState,
+                Duration.ofNanos(finishedNanos - startedNanos));
+    }
+
+    private void reject(long rowNumber, String reason) {
+        rejected.incrementAndGet();
+        if (rejectedSamples.size() < MAX_REJECTED_SAMPLES) {
+            rejectedSamples.add(rowNumber + "행: " + reason);
+        }
+    }
+
+    private static String cell(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static String clean(String value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        String cleaned = value.trim().replaceAll("\\s+", " ");
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        return cleaned.length() > maxLength ? cleaned.substring(0, maxLength) : cleaned;
+    }
+
+    private static Double parseCoordinate(String value, double min, double max) {
+        String cleaned = clean(value, 32);
+        if (cleaned == null) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(cleaned);
+            return parsed >= min && parsed <= max ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        String cleaned = clean(value, 32);
+        if (cleaned == null) {
+            return null;
+        }
+        // XLSX 날짜 셀은 엑셀 일련번호로 들어온다
+        if (cleaned.matches("\\d{5}(\\.0+)?")) {
+            return EXCEL_EPOCH.plusDays(Long.parseLong(cleaned.replaceAll("\\..*", "")));
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(cleaned, format);
+            } catch (DateTimeParseException ignored) {
+                // 다음 형식 시도
+            }
+        }
+        return null;
+    }
+
+    private static String parsePostalCode(String value) {
+        String cleaned = clean(value, 32);
+        if (cleaned == null) {
+            return null;
+        }
+        String digits = cleaned.replaceAll("\\.0+$", "").replaceAll("[^0-9]", "");
+        if (digits.length() == 4) {
+            digits = "0" + digits; // 숫자 셀로 저장되며 앞자리 0이 빠진 경우
+        }
+        return digits.length() == 5 || digits.length() == 6 ? digits : null;
+    }
+
+    private static String keyPart(String value) {
+        return value == null ? "" : value.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+    }
+}
@@ -1,9 +1,14 @@
 package com.tripgg.place.service;
 
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.SingleFlight;
 import com.tripgg.place.dto.KakaoPlaceResponse;
 import com.tripgg.place.dto.PlaceSearchRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -14,14 +19,32 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class KakaoMapService {
+public class KakaoMapService implements StatsProvider {
     
+    private static final int KAKAO_MAX_PAGE = 45;
+    private static final int KAKAO_MAX_PAGE_SIZE = 15;
+    
+    @Qualifier("kakaoLocalRestTemplate")
     private final RestTemplate restTemplate;
+    private final PlaceSearchCache placeSearchCache;
+    
+    // 동일 검색 조건의 동시 호출은 하나의 카카오 API 요청으로 합친다
+    private final SingleFlight<String, KakaoPlaceResponse> searchFlight = new SingleFlight<>();
     
     @Value("${kakao.rest-api-key}")
     private String kakaoApiKey;
@@ -29,10 +52,198 @@ public class KakaoMapService {
     @Value("${kakao.map.api.base-url:https://dapi.kakao.com}")
     private String baseUrl;
     
+    @Value("${kakao.map.fanout.threads:16}")
+    private int fanoutThreads;
+    
+    @Value("${kakao.map.fanout.queue-capacity:256}")
+    private int fanoutQueueCapacity;
+    
+    // 여러 페이지/카테고리 동시 조회용 스레드 풀 (대기열이 차면 호출 스레드에서 실행)
+    private ThreadPoolExecutor searchExecutor;
+    
+    @PostConstruct
+    public void initExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        searchExecutor = new ThreadPoolExecutor(
+                fanoutThreads, fanoutThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fanoutQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kakao-search-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        searchExecutor.allowCoreThreadTimeOut(true);
+    }
+    
+    @PreDestroy
+    public void shutdownExecutor() {
+        searchExecutor.shutdownNow();
+    }
+    
     /**
-     * 키워드로 장소 검색
+     * 키워드로 장소 검색 (캐시 우선)
      */
     public KakaoPlaceResponse searchByKeyword(PlaceSearchRequest request) {
+        PlaceSearchRequest normalized = placeSearchCache.normalize(request);
+        String cacheKey = placeSearchCache.keyOf("keyword", normalized);
+        return placeSearchCache.getOrLoad(cacheKey,
+                () -> searchFlight.execute(cacheKey, () -> requestKeyword(normalized)),
+                () -> createDummyResponse(request.getKeyword()));
+    }
+    
+    /**
+     * 카테고리로 장소 검색 (캐시 우선)
+     */
+    public KakaoPlaceResponse searchByCategory(PlaceSearchRequest request) {
+        return searchCategory(request, () -> createDummyResponse(request.getCategory()));
+    }
+    
+    /**
+     * 카테고리 검색 여러 페이지를 동시에 조회하여 합침
+     * 필요한 페이지(최대 결과 수 / 15)를 한 번에 요청하고, 어떤 페이지가 is_end 이거나
+     * pageable_count로 마지막 페이지를 알게 되면 그 뒤 페이지는 취소한다.
+     * 결과는 페이지 순서(카카오 정렬 순서)를 유지하며 카카오 id 기준으로 중복 제거한다.
+     */
+    public List<KakaoPlaceResponse.Document> searchByCategoryPages(PlaceSearchRequest request, int maxResults) {
+        int startPage = request.getPage() != null ? Math.max(request.getPage(), 1) : 1;
+        if (startPage > KAKAO_MAX_PAGE || maxResults <= 0) {
+            return List.of();
+        }
+        int pageCount = Math.min((maxResults + KAKAO_MAX_PAGE_SIZE - 1) / KAKAO_MAX_PAGE_SIZE,
+                KAKAO_MAX_PAGE - startPage + 1);
+        AtomicInteger lastPage = new AtomicInteger(startPage + pageCount - 1);
+        
+        List<CompletableFuture<KakaoPlaceResponse>> futures = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            int page = startPage + i;
+            PlaceSearchRequest pageRequest = copyForPage(request, page);
+            // 첫 페이지만 실패 시 더미 응답을 사용하고, 나머지 페이지는 실패하면 건너뛴다
+            Supplier<KakaoPlaceResponse> fallback = page == startPage
+                    ? () -> createDummyResponse(request.getCategory())
+                    : () -> null;
+            CompletableFuture<KakaoPlaceResponse> future = CompletableFuture.supplyAsync(
+                    () -> page > lastPage.get() ? null : searchCategory(pageRequest, fallback),
+                    searchExecutor);
+            futures.add(future);
+        }
+        
+        for (int i = 0; i < pageCount; i++) {
+            int page = startPage + i;
+            futures.get(i).thenAccept(response -> {
+                int knownLast = lastPageOf(response, page);
+                if (lastPage.accumulateAndGet(knownLast, Math::min) == knownLast) {
+                    for (int j = knownLast - startPage + 1; j < futures.size(); j++) {
+                        futures.get(j).cancel(false);
+                    }
+                }
+            });
+        }
+        
+        Map<String, KakaoPlaceResponse.Document> merged = new LinkedHashMap<>();
+        for (int i = 0; i < pageCount && merged.size() < maxResults; i++) {
+            if (startPage + i > lastPage.get()) {
+                break;
+            }
+            KakaoPlaceResponse response;
+            try {
+                response = futures.get(i).join();
+            } catch (CancellationException | CompletionException e) {
+                log.debug("카카오맵 카테고리 검색 {}페이지 생략: {}", startPage + i, e.getMessage());
+                continue;
+            }
+            if (response == null || response.getDocuments() == null) {
+                continue;
+            }
+            for (KakaoPlaceResponse.Document document : response.getDocuments()) {
+                if (merged.size() >= maxResults) {
+                    break;
+                }
+                merged.putIfAbsent(document.getId(), document);
+            }
+        }
+        
+        log.info("카카오맵 카테고리 다중 페이지 검색 완료 - category: {}, 요청 페이지: {}, 마지막 페이지: {}, 결과: {}개",
+                request.getCategory(), pageCount, lastPage.get(), merged.size());
+        return new ArrayList<>(merged.values());
+    }
+    
+    /**
+     * 여러 카테고리를 같은 조건으로 동시에 검색
+     * 만료되지 않은 캐시가 있는 카테고리는 스레드 풀을 거치지 않고 바로 캐시에서 응답한다.
+     * 결과는 요청한 카테고리 순서대로 반환한다.
+     */
+    public List<CategoryResponse> searchByCategories(PlaceSearchRequest request, List<String> categories) {
+        List<CompletableFuture<CategoryResponse>> futures = new ArrayList<>(categories.size());
+        for (String category : categories) {
+            PlaceSearchRequest categoryRequest = copyForPage(request, request.getPage() != null ? request.getPage() : 1);
+            categoryRequest.setCategory(category);
+            categoryRequest.setSize(request.getSize());
+            
+            String cacheKey = placeSearchCache.keyOf("category", placeSearchCache.normalize(categoryRequest));
+            if (placeSearchCache.isFresh(cacheKey)) {
+                futures.add(CompletableFuture.completedFuture(timedCategorySearch(categoryRequest, true)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(() -> timedCategorySearch(categoryRequest, false), searchExecutor));
+            }
+        }
+        
+        List<CategoryResponse> responses = new ArrayList<>(futures.size());
+        for (CompletableFuture<CategoryResponse> future : futures) {
+            responses.add(future.join());
+        }
+        return responses;
+    }
+    
+    private CategoryResponse timedCategorySearch(PlaceSearchRequest request, boolean fromCache) {
+        long startTime = System.nanoTime();
+        KakaoPlaceResponse response = searchByCategory(request);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        return new CategoryResponse(request.getCategory(), response, elapsedMillis, fromCache);
+    }
+    
+    private KakaoPlaceResponse searchCategory(PlaceSearchRequest request, Supplier<KakaoPlaceResponse> fallback) {
+        PlaceSearchRequest normalized = placeSearchCache.normalize(request);
+        String cacheKey = placeSearchCache.keyOf("category", normalized);
+        return placeSearchCache.getOrLoad(cacheKey,
+                () -> searchFlight.execute(cacheKey, () -> requestCategory(normalized)),
+                fallback);
+    }
+    
+    /**
+     * 응답 meta로 알 수 있는 마지막 페이지 (알 수 없으면 최대 페이지)
+     */
+    private static int lastPageOf(KakaoPlaceResponse response, int page) {
+        if (response == null || response.getMeta() == null) {
+            return KAKAO_MAX_PAGE;
+        }
+        if (Boolean.TRUE.equals(response.getMeta().getIsEnd())) {
+            return page;
+        }
+        Integer pageableCount = response.getMeta().getPageableCount();
+        if (pageableCount != null) {
+            return Math.max(page, (pageableCount + KAKAO_MAX_PAGE_SIZE - 1) / KAKAO_MAX_PAGE_SIZE);
+        }
+        return KAKAO_MAX_PAGE;
+    }
+    
+    private static PlaceSearchRequest copyForPage(PlaceSearchRequest request, int page) {
+        PlaceSearchRequest pageRequest = new PlaceSearchRequest();
+        pageRequest.setKeyword(request.getKeyword());
+        pageRequest.setCategory(request.getCategory());
+        pageRequest.setX(request.getX());
+        pageRequest.setY(request.getY());
+        pageRequest.setRadius(request.getRadius());
+        pageRequest.setSort(request.getSort());
+        pageRequest.setPage(page);
+        pageRequest.setSize(KAKAO_MAX_PAGE_SIZE);
+        return pageRequest;
+    }
+    
+    /**
+     * 키워드 검색 API 호출 (실패 시 예외 전파)
+     */
+    private KakaoPlaceResponse requestKeyword(PlaceSearchRequest request) {
         log.info("카카오맵 키워드 검색 시작 - API 키: {}, baseUrl: {}", 
                 kakaoApiKey != null ? kakaoApiKey.substring(0, Math.min(10, kakaoApiKey.length())) + "..." : "null", baseUrl);
         
@@ -74,36 +285,29 @@ public class KakaoMapService {
         
         HttpEntity<String> entity = new HttpEntity<>(headers);
         
-        try {
-            log.info("카카오맵 API 호출 시작");
-            ResponseEntity<KakaoPlaceResponse> response = restTemplate.exchange(
-                    finalUrl,
-                    HttpMethod.GET,
-                    entity,
-                    KakaoPlaceResponse.class
-            );
-            
-            log.info("카카오맵 API 응답 상태: {}, 헤더: {}", response.getStatusCode(), response.getHeaders());
-            if (response.getBody() != null) {
-                log.info("카카오맵 API 응답 본문 - meta: {}, documents: {}개", 
-                        response.getBody().getMeta(), 
-                        response.getBody().getDocuments() != null ? response.getBody().getDocuments().size() : 0);
-            }
-            
-            log.info("카카오맵 API 키워드 검색 성공: {}", request.getKeyword());
-            return response.getBody();
-            
-        } catch (Exception e) {
-            log.error("카카오맵 API 키워드 검색 실패: {}", e.getMessage(), e);
-            log.warn("API 호출 실패로 더미 데이터 반환");
-            return createDummyResponse(request.getKeyword());
+        log.info("카카오맵 API 호출 시작");
+        ResponseEntity<KakaoPlaceResponse> response = restTemplate.exchange(
+                finalUrl,
+                HttpMethod.GET,
+                entity,
+                KakaoPlaceResponse.class
+        );
+        
+        log.info("카카오맵 API 응답 상태: {}, 헤더: {}", response.getStatusCode(), response.getHeaders());
+        if (response.getBody() != null) {
+            log.info("카카오맵 API 응답 본문 - meta: {}, documents: {}개", 
+                    response.getBody().getMeta(), 
+                    response.getBody().getDocuments() != null ? response.getBody().getDocuments().size() : 0);
         }
+        
+        log.info("카카오맵 API 키워드 검색 성공: {}", request.getKeyword());
+        return response.getBody();
     }
     
     /**
-     * 카테고리로 장소 검색
+     * 카테고리 검색 API 호출 (실패 시 예외 전파)
      */
-    public KakaoPlaceResponse searchByCategory(PlaceSearchRequest request) {
+    private KakaoPlaceResponse requestCategory(PlaceSearchRequest request) {
         String url = baseUrl + "/v2/local/search/category.json";
         
         UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(url)
@@ -133,22 +337,15 @@ public class KakaoMapService {
         
         HttpEntity<String> entity = new HttpEntity<>(headers);
         
-        try {
-            ResponseEntity<KakaoPlaceResponse> response = restTemplate.exchange(
-                    builder.toUriString(),
-                    HttpMethod.GET,
-                    entity,
-                    KakaoPlaceResponse.class
-            );
-            
-            log.info("카카오맵 API 카테고리 검색 성공: {}", request.getCategory());
-            return response.getBody();
-            
-        } catch (Exception e) {
-            log.error("카카오맵 API 카테고리 검색 실패: {}", e.getMessage(), e);
-            log.warn("API 호출 실패로 더미 데이터 반환");
-            return createDummyResponse(request.getCategory());
-        }
+        ResponseEntity<KakaoPlaceResponse> response = restTemplate.exchange(
+                builder.toUriString(),
+                HttpMethod.GET,
+                entity,
+                KakaoPlaceResponse.class
+        );
+        
+        log.info("카카오맵 API 카테고리 검색 성공: {}", request.getCategory());
+        return response.getBody();
     }
     
     /**
@@ -199,4 +396,24 @@ public class KakaoMapService {
         log.info("더미 응답 생성 완료: {}개 문서", documents.size());
         return response;
     }
+    
+    /**
+     * 카테고리별 검색 응답과 소요 시간
+     */
+    public record CategoryResponse(String category, KakaoPlaceResponse response, long elapsedMillis, boolean fromCache) {
+    }
+    
+    @Override
+    public String getStatsName() {
+        return "kakao-local-requests";
+    }
+    
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(searchFlight.getStats());
+        stats.put("executorActive", searchExecutor.getActiveCount());
+        stats.put("executorQueued", searchExecutor.getQueue().size());
+        stats.put("executorCompleted", searchExecutor.getCompletedTaskCount());
+        return stats;
+    }
 }
@@ -0,0 +1,99 @@
+package com.tripgg.place.service;
+
+import com.tripgg.place.entity.SchedulePlaces;
+import com.tripgg.place.repository.PlaceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * place_key 컬럼 추가 이전에 저장된 장소의 키 채우기
+ * 이미 같은 키를 가진 장소가 있으면(기존 중복 행) 일정 항목의 참조를 그 장소로 옮기고 중복 행을 삭제한다.
+ * 키가 빈 채로 남은 행은 이후 수정 시 @PreUpdate에서 같은 키를 다시 계산해 유니크 제약에 걸리기 때문이다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlaceKeyBackfill {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PlaceRepository placeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlaceSpatialIndex placeSpatialIndex;
+    private final PlaceTextSearchService placeTextSearchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer lastId = 0;
+        int updated = 0;
+        int merged = 0;
+        int failed = 0;
+        while (true) {
+            List<SchedulePlaces> batch = placeRepository.findByPlaceKeyIsNullAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (SchedulePlaces place : batch) {
+                String placeKey = SchedulePlaces.placeKeyOf(place.getName(), place.getAddress(), place.getLatitude(), place.getLongitude());
+                try {
+                    updated += jdbcTemplate.update(
+                            "UPDATE schedule_places SET place_key = ? WHERE id = ? AND place_key IS NULL", placeKey, place.getId());
+                } catch (DuplicateKeyException e) {
+                    if (mergeIntoExisting(place, placeKey)) {
+                        merged++;
+                    } else {
+                        failed++;
+                    }
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (updated > 0 || merged > 0 || failed > 0) {
+            log.info("장소 키 백필 완료 - 갱신: {}개, 중복 병합: {}개, 실패: {}개", updated, merged, failed);
+        }
+    }
+
+    /**
+     * 같은 키를 가진 기존 장소로 중복 행을 합친다
+     * 일정 항목의 place_id를 기존 장소로 옮기고, 기존 장소에 없는 설명/이미지는 중복 행 값으로 채운 뒤 중복 행을 삭제한다.
+     */
+    private boolean mergeIntoExisting(SchedulePlaces duplicate, String placeKey) {
+        try {
+            Integer survivorId = transactionTemplate.execute(status -> {
+                List<Integer> survivors = jdbcTemplate.queryForList(
+                        "SELECT id FROM schedule_places WHERE place_key = ? FOR UPDATE", Integer.class, placeKey);
+                if (survivors.isEmpty()) {
+                    return null;
+                }
+                Integer survivor = survivors.get(0);
+                jdbcTemplate.update("UPDATE schedule_items SET place_id = ? WHERE place_id = ?", survivor, duplicate.getId());
+                jdbcTemplate.update(
+                        "UPDATE schedule_places SET description = COALESCE(description, ?), img_url = COALESCE(img_url, ?) WHERE id = ?",
+                        duplicate.getDescription(), duplicate.getImgUrl(), survivor);
+                jdbcTemplate.update("DELETE FROM schedule_places WHERE id = ?", duplicate.getId());
+                return survivor;
+            });
+            if (survivorId == null) {
+                log.warn("중복 장소의 기존 행을 찾지 못해 병합하지 못함: id={}, name={}", duplicate.getId(), duplicate.getName());
+                return false;
+            }
+            placeSpatialIndex.remove(duplicate.getId());
+            placeTextSearchService.removePlaceAfterCommit(duplicate.getId());
+            log.info("중복 장소 병합: id={} -> id={}, name={}", duplicate.getId(), survivorId, duplicate.getName());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("중복 장소 병합 실패: id={}, name={}, error={}", duplicate.getId(), duplicate.getName(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.cache.LruTtlCache;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.place.dto.KakaoPlaceResponse;
+import com.tripgg.place.dto.PlaceSearchRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 카카오 장소 검색 응답 캐시
+ * 좌표(x/y)는 격자에 맞춰 스냅하고 반경은 버킷 단위로 올림하여 인접한 요청이 같은 캐시 키를 공유하도록 한다.
+ * TTL이 지난 항목은 stale 허용 구간 동안 즉시 반환하고 백그라운드에서 갱신한다(stale-while-revalidate).
+ */
+@Slf4j
+@Component
+public class PlaceSearchCache implements StatsProvider {
+
+    private static final int KAKAO_MAX_RADIUS = 20000;
+
+    private final LruTtlCache<String, KakaoPlaceResponse> cache;
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final double gridDegrees;
+    private final int radiusBucketMeters;
+
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder staleFallbacks = new LongAdder();
+    private final LongAdder dummyFallbacks = new LongAdder();
+
+    public PlaceSearchCache(
+            @Value("${kakao.map.cache.max-entries:10000}") int maxEntries,
+            @Value("${kakao.map.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${kakao.map.cache.stale-seconds:1800}") long staleSeconds,
+            @Value("${kakao.map.cache.grid-degrees:0.001}") double gridDegrees,
+            @Value("${kakao.map.cache.radius-bucket-meters:250}") int radiusBucketMeters,
+            @Value("${kakao.map.cache.refresh-threads:2}") int refreshThreads) {
+        this.cache = new LruTtlCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.staleMillis = TimeUnit.SECONDS.toMillis(staleSeconds);
+        this.gridDegrees = gridDegrees;
+        this.radiusBucketMeters = radiusBucketMeters;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(256),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "place-cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 캐시 키 정규화 - 좌표 스냅, 반경 버킷팅, 기본값 채우기
+     * 반환된 요청으로 카카오를 호출해야 캐시된 응답이 키와 정확히 일치한다.
+     */
+    public PlaceSearchRequest normalize(PlaceSearchRequest request) {
+        PlaceSearchRequest normalized = new PlaceSearchRequest();
+        normalized.setKeyword(request.getKeyword() != null ? request.getKeyword().trim().replaceAll("\\s+", " ") : null);
+        normalized.setCategory(request.getCategory() != null ? request.getCategory().trim().toUpperCase(Locale.ROOT) : null);
+        normalized.setX(snapCoordinate(request.getX()));
+        normalized.setY(snapCoordinate(request.getY()));
+        normalized.setRadius(bucketRadius(request.getRadius()));
+        normalized.setPage(request.getPage() != null ? request.getPage() : 1);
+        normalized.setSize(request.getSize() != null ? request.getSize() : 15);
+        normalized.setSort(request.getSort() != null ? request.getSort().trim().toLowerCase(Locale.ROOT) : "accuracy");
+        return normalized;
+    }
+
+    /**
+     * 정규화된 요청의 캐시 키
+     */
+    public String keyOf(String searchType, PlaceSearchRequest normalized) {
+        return searchType + '|' + normalized.getKeyword() + '|' + normalized.getCategory()
+                + '|' + normalized.getX() + '|' + normalized.getY() + '|' + normalized.getRadius()
+                + '|' + normalized.getPage() + '|' + normalized.getSize() + '|' + normalized.getSort();
+    }
+
+    /**
+     * 캐시 조회 후 없으면 loader로 카카오 호출
+     * loader 실패 시 만료된 캐시 항목이 남아 있으면 우선 반환하고, 없을 때만 fallback(더미 데이터)을 사용한다.
+     */
+    public KakaoPlaceResponse getOrLoad(String key,
+                                        Supplier<KakaoPlaceResponse> loader,
+                                        Supplier<KakaoPlaceResponse> fallback) {
+        long now = System.currentTimeMillis();
+        LruTtlCache.Entry<KakaoPlaceResponse> entry = cache.getEntry(key);
+
+        if (entry != null && entry.isFresh(now)) {
+            freshHits.increment();
+            return entry.getValue();
+        }
+
+        if (entry != null && entry.ageMillis(now) <= ttlMillis + staleMillis) {
+            staleHits.increment();
+            refreshAsync(key, loader);
+            return entry.getValue();
+        }
+
+        misses.increment();
+        try {
+            KakaoPlaceResponse response = loader.get();
+            if (response != null) {
+                cache.put(key, response);
+            }
+            return response;
+        } catch (Exception e) {
+            if (entry != null) {
+                staleFallbacks.increment();
+                log.warn("카카오맵 API 호출 실패로 만료된 캐시 응답 반환: key={}, age={}ms, error={}",
+                        key, entry.ageMillis(now), e.getMessage());
+                return entry.getValue();
+            }
+            dummyFallbacks.increment();
+            log.error("카카오맵 API 검색 실패: {}", e.getMessage(), e);
+            log.warn("API 호출 실패로 더미 데이터 반환");
+            return fallback.get();
+        }
+    }
+
+    /**
+     * 만료되지 않은 캐시 항목이 있는지 확인
+     */
+    public boolean isFresh(String key) {
+        LruTtlCache.Entry<KakaoPlaceResponse> entry = cache.getEntry(key);
+        return entry != null && entry.isFresh(System.currentTimeMillis());
+    }
+
+    private void refreshAsync(String key, Supplier<KakaoPlaceResponse> loader) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    KakaoPlaceResponse response = loader.get();
+                    if (response != null) {
+                        cache.put(key, response);
+                        refreshes.increment();
+                    }
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    log.warn("장소 검색 캐시 백그라운드 갱신 실패: key={}, error={}", key, e.getMessage());
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            log.debug("장소 검색 캐시 갱신 대기열이 가득 차 갱신을 건너뜀: key={}", key);
+        }
+    }
+
+    private String snapCoordinate(String coordinate) {
+        if (coordinate == null || coordinate.isBlank()) {
+            return null;
+        }
+        try {
+            double value = Double.parseDouble(coordinate.trim());
+            double snapped = Math.round(value / gridDegrees) * gridDegrees;
+            return String.format(Locale.ROOT, "%.6f", snapped);
+        } catch (NumberFormatException e) {
+            return coordinate.trim();
+        }
+    }
+
+    private Integer bucketRadius(Integer radius) {
+        if (radius == null) {
+            return null;
+        }
+        int bucketed = ((Math.max(radius, 1) + radiusBucketMeters - 1) / radiusBucketMeters) * radiusBucketMeters;
+        return Math.min(bucketed, KAKAO_MAX_RADIUS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "place-search-cache";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long fresh = freshHits.sum();
+        long stale = staleHits.sum();
+        long miss = misses.sum();
+        long total = fresh + stale + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", cache.size());
+        stats.put("maxEntries", cache.getMaxEntries());
+        stats.put("freshHits", fresh);
+        stats.put("staleHits", stale);
+        stats.put("misses", miss);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) (fresh + stale) / total);
+        stats.put("evictions", cache.getEvictions());
+        stats.put("backgroundRefreshes", refreshes.sum());
+        stats.put("backgroundRefreshFailures", refreshFailures.sum());
+        stats.put("staleFallbacks", staleFallbacks.sum());
+        stats.put("dummyFallbacks", dummyFallbacks.sum());
+        return stats;
+    }
+}
@@ -1,17 +1,26 @@
 package com.tripgg.place.service;
 
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.place.dto.CategorySearchResult;
 import com.tripgg.place.dto.KakaoPlaceResponse;
 import com.tripgg.place.dto.PlaceSearchRequest;
 import com.tripgg.place.dto.PlaceSearchResult;
+import com.tripgg.place.entity.PlacesGodata;
 import com.tripgg.place.entity.SchedulePlaces;
 import com.tripgg.place.repository.PlaceRepository;
+import com.tripgg.place.repository.SchedulePlacesJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,19 +30,79 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class PlaceService {
     
+    // 다중 페이지 검색 최대 결과 수 (카카오 15개 x 20페이지)
+    private static final int MAX_FANOUT_RESULTS = 300;
+    
+    // 다중 카테고리 검색 최대 카테고리 수
+    private static final int MAX_BATCH_CATEGORIES = 10;
+    
     private final PlaceRepository placeRepository;
+    private final SchedulePlacesJdbcRepository schedulePlacesJdbcRepository;
     private final KakaoMapService kakaoMapService;
+    private final PlaceSpatialIndex placeSpatialIndex;
+    private final PlaceTextSearchService placeTextSearchService;
     
     // 장소 생성
     @Transactional
     public SchedulePlaces createPlace(SchedulePlaces schedulePlaces) {
-        return placeRepository.save(schedulePlaces);
+        SchedulePlaces saved = placeRepository.save(schedulePlaces);
+        placeSpatialIndex.upsertAfterCommit(saved);
+        placeTextSearchService.indexPlaceAfterCommit(saved);
+        return saved;
     }
     
     // 장소 저장 (별칭)
     @Transactional
     public SchedulePlaces savePlace(SchedulePlaces place) {
-        return placeRepository.save(place);
+        SchedulePlaces saved = placeRepository.save(place);
+        placeSpatialIndex.upsertAfterCommit(saved);
+        placeTextSearchService.indexPlaceAfterCommit(saved);
+        return saved;
+    }
+    
+    /**
+     * 장소 일괄 저장 또는 조회 (일정 장소 일괄 처리용)
+     * 장소 키로 기존 장소를 IN 조회 한 번에 찾고, 없는 장소만 다중 행 INSERT 한 번으로 추가한다.
+     * 동시에 같은 장소를 저장해도 place_key 유니크 키로 한 행만 남고, 재조회 시 그 행을 돌려받는다.
+     *
+     * @return 입력과 같은 순서의 저장된 장소 목록 (같은 장소는 같은 엔티티)
+     */
+    @Transactional
+    public List<SchedulePlaces> upsertPlaces(List<SchedulePlaces> places) {
+        if (places.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, SchedulePlaces> candidatesByKey = new LinkedHashMap<>();
+        for (SchedulePlaces place : places) {
+            String placeKey = SchedulePlaces.placeKeyOf(place.getName(), place.getAddress(), place.getLatitude(), place.getLongitude());
+            place.setPlaceKey(placeKey);
+            candidatesByKey.putIfAbsent(placeKey, place);
+        }
+        
+        Map<String, SchedulePlaces> resolved = new HashMap<>();
+        for (SchedulePlaces existing : placeRepository.findByPlaceKeyIn(candidatesByKey.keySet())) {
+            resolved.put(existing.getPlaceKey(), existing);
+        }
+        
+        List<SchedulePlaces> missing = candidatesByKey.values().stream()
+                .filter(place -> !resolved.containsKey(place.getPlaceKey()))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            int inserted = schedulePlacesJdbcRepository.insertIgnoringDuplicates(missing);
+            List<String> missingKeys = missing.stream().map(SchedulePlaces::getPlaceKey).collect(Collectors.toList());
+            for (SchedulePlaces saved : placeRepository.lockByPlaceKeyIn(missingKeys)) {
+                resolved.put(saved.getPlaceKey(), saved);
+                placeSpatialIndex.upsertAfterCommit(saved);
+                placeTextSearchService.indexPlaceAfterCommit(saved);
+            }
+            log.info("장소 일괄 저장 - 요청: {}개, 기존: {}개, 신규: {}개",
+                    candidatesByKey.size(), candidatesByKey.size() - missing.size(), inserted);
+        }
+        
+        return places.stream()
+                .map(place -> resolved.get(place.getPlaceKey()))
+                .collect(Collectors.toList());
     }
     
     // 이름과 주소로 장소 조회
@@ -46,9 +115,10 @@ public class PlaceService {
         return placeRepository.findById(id);
     }
     
-    // 전체 장소 목록 조회
-    public List<SchedulePlaces> getAllPlaces() {
-        return placeRepository.findAll();
+    // 장소 목록 조회 (id 커서 기반)
+    public CursorPage<SchedulePlaces> getPlaces(Integer after, int limit) {
+        List<SchedulePlaces> fetched = placeRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, SchedulePlaces::getId);
     }
     
     // 카테고리별 장소 조회
@@ -56,20 +126,53 @@ public class PlaceService {
         return placeRepository.findByCategory(category);
     }
     
-    // 이름으로 장소 검색
-    public List<SchedulePlaces> searchPlacesByName(String name) {
-        return placeRepository.findByNameContaining(name);
+    // 이름으로 장소 검색 (n-gram 색인, 색인 구성 전에는 LIKE 조회)
+    public List<SchedulePlaces> searchPlacesByName(String name, int page, int size) {
+        if (!placeTextSearchService.isPlacesLoaded()) {
+            return paginate(placeRepository.findByNameContaining(name), page, size);
+        }
+        return placeTextSearchService.searchPlacesByName(name, page, size);
+    }
+    
+    // 주소로 장소 검색 (n-gram 색인, 색인 구성 전에는 LIKE 조회)
+    public List<SchedulePlaces> searchPlacesByAddress(String address, int page, int size) {
+        if (!placeTextSearchService.isPlacesLoaded()) {
+            return paginate(placeRepository.findByAddressContaining(address), page, size);
+        }
+        return placeTextSearchService.searchPlacesByAddress(address, page, size);
     }
     
-    // 주소로 장소 검색
-    public List<SchedulePlaces> searchPlacesByAddress(String address) {
-        return placeRepository.findByAddressContaining(address);
+    // 관광정보명으로 공공데이터 관광정보 검색
+    public List<PlacesGodata> searchGodataByName(String name, int page, int size) {
+        return placeTextSearchService.searchGodataByName(name, page, size);
+    }
+    
+    // 주소로 공공데이터 관광정보 검색
+    public List<PlacesGodata> searchGodataByAddress(String address, int page, int size) {
+        return placeTextSearchService.searchGodataByAddress(address, page, size);
     }
     
     // 좌표 범위 내 장소 조회
     public List<SchedulePlaces> getPlacesByCoordinatesRange(
             Double minLat, Double maxLat, Double minLng, Double maxLng) {
-        return placeRepository.findByCoordinatesRange(minLat, maxLat, minLng, maxLng);
+        if (!placeSpatialIndex.isLoaded()) {
+            return placeRepository.findByCoordinatesRange(minLat, maxLat, minLng, maxLng);
+        }
+        return placeSpatialIndex.findInRange(minLat, maxLat, minLng, maxLng);
+    }
+    
+    /**
+     * 중심 좌표 반경(km) 내 장소를 가까운 순으로 조회 (공간 인덱스 사용)
+     */
+    public List<PlaceSearchResult> getPlacesWithinRadius(Double latitude, Double longitude, Double radiusKm) {
+        return toDistanceResults(placeSpatialIndex.findWithinRadius(latitude, longitude, radiusKm));
+    }
+    
+    /**
+     * 중심 좌표에서 가장 가까운 장소 k개 조회 (공간 인덱스 사용)
+     */
+    public List<PlaceSearchResult> getNearestPlaces(Double latitude, Double longitude, int k) {
+        return toDistanceResults(placeSpatialIndex.findNearest(latitude, longitude, k));
     }
     
     // 장소 수정
@@ -97,13 +200,18 @@ public class PlaceService {
             schedulePlaces.setDescription(schedulePlacesDetails.getDescription());
         }
         
-        return placeRepository.save(schedulePlaces);
+        SchedulePlaces saved = placeRepository.save(schedulePlaces);
+        placeSpatialIndex.upsertAfterCommit(saved);
+        placeTextSearchService.indexPlaceAfterCommit(saved);
+        return saved;
     }
     
     // 장소 삭제
     @Transactional
     public void deletePlace(Long id) {
         placeRepository.deleteById(id);
+        placeSpatialIndex.removeAfterCommit(id.intValue());
+        placeTextSearchService.removePlaceAfterCommit(id.intValue());
     }
     
     // 카테고리별 장소 개수 조회
@@ -124,6 +232,16 @@ public class PlaceService {
             log.info("카카오맵 카테고리 검색 실행: {}", request.getCategory());
             
             try {
+                if (request.getMaxResults() != null && request.getMaxResults() > 0) {
+                    List<KakaoPlaceResponse.Document> documents =
+                            kakaoMapService.searchByCategoryPages(request, Math.min(request.getMaxResults(), MAX_FANOUT_RESULTS));
+                    documents.stream()
+                            .map(this::convertKakaoDocumentToSearchResult)
+                            .forEach(results::add);
+                    log.info("최종 검색 결과: {}개", results.size());
+                    return results;
+                }
+                
                 KakaoPlaceResponse kakaoResponse = kakaoMapService.searchByCategory(request);
                 
                 if (kakaoResponse != null && kakaoResponse.getDocuments() != null) {
@@ -150,6 +268,47 @@ public class PlaceService {
         return results;
     }
     
+    /**
+     * 여러 카테고리 동시 검색 (카카오맵 API 사용)
+     * 같은 좌표/반경 조건으로 카테고리마다 한 페이지씩 조회하여 카테고리별로 묶어 반환한다.
+     */
+    public List<CategorySearchResult> searchPlacesByCategories(PlaceSearchRequest request, List<String> categories) {
+        List<String> codes = categories.stream()
+                .map(code -> code.trim().toUpperCase(Locale.ROOT))
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if (codes.isEmpty()) {
+            throw new RuntimeException("카테고리를 하나 이상 지정해야 합니다.");
+        }
+        if (codes.size() > MAX_BATCH_CATEGORIES) {
+            throw new RuntimeException("카테고리는 최대 " + MAX_BATCH_CATEGORIES + "개까지 지정할 수 있습니다.");
+        }
+        
+        long startTime = System.currentTimeMillis();
+        List<CategorySearchResult> results = kakaoMapService.searchByCategories(request, codes).stream()
+                .map(categoryResponse -> {
+                    KakaoPlaceResponse response = categoryResponse.response();
+                    List<PlaceSearchResult> places = response != null && response.getDocuments() != null
+                            ? response.getDocuments().stream()
+                                    .map(this::convertKakaoDocumentToSearchResult)
+                                    .collect(Collectors.toList())
+                            : new ArrayList<>();
+                    return CategorySearchResult.builder()
+                            .category(categoryResponse.category())
+                            .totalCount(response != null && response.getMeta() != null ? response.getMeta().getTotalCount() : null)
+                            .isEnd(response != null && response.getMeta() != null ? response.getMeta().getIsEnd() : null)
+                            .places(places)
+                            .elapsedMillis(categoryResponse.elapsedMillis())
+                            .cached(categoryResponse.fromCache())
+                            .build();
+                })
+                .collect(Collectors.toList());
+        
+        log.info("다중 카테고리 검색 완료 - categories: {}, 소요: {}ms", codes, System.currentTimeMillis() - startTime);
+        return results;
+    }
+    
     /**
      * 카카오맵 Document를 PlaceSearchResult로 변환
      */
@@ -199,5 +358,25 @@ public class PlaceService {
             return result;
         }).collect(Collectors.toList());
     }
+    
+    /**
+     * 공간 인덱스 조회 결과를 거리(m) 포함 PlaceSearchResult로 변환
+     */
+    private List<PlaceSearchResult> toDistanceResults(List<PlaceSpatialIndex.PlaceDistance> placeDistances) {
+        List<SchedulePlaces> places = placeDistances.stream()
+                .map(PlaceSpatialIndex.PlaceDistance::place)
+                .collect(Collectors.toList());
+        List<PlaceSearchResult> results = convertToSearchResults(places, "database");
+        for (int i = 0; i < results.size(); i++) {
+            long meters = Math.round(placeDistances.get(i).distanceKm() * 1000);
+            results.get(i).setDistance(String.valueOf(meters));
+        }
+        return results;
+    }
+    
+    private static <T> List<T> paginate(List<T> rows, int page, int size) {
+        int from = Math.min((Math.max(page, 1) - 1) * size, rows.size());
+        int to = Math.min(from + size, rows.size());
+        return rows.subList(from, to);
+    }
 }
-
@@ -0,0 +1,344 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.GeoUtils;
+import com.tripgg.common.util.TransactionUtils;
+import com.tripgg.place.entity.SchedulePlaces;
+import com.tripgg.place.repository.PlaceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SchedulePlaces 좌표 인메모리 공간 인덱스 (균일 격자)
+ * 위경도를 cell-degrees 크기의 격자 셀로 나눠 보관하고, 범위/반경/최근접 조회를 DB 없이 처리한다.
+ * 장소 생성/수정/삭제는 트랜잭션 커밋 이후 인덱스에 반영된다.
+ */
+@Slf4j
+@Component
+public class PlaceSpatialIndex implements StatsProvider {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int MAX_CELL_SCAN = 20000;
+
+    private final PlaceRepository placeRepository;
+    private final double cellDegrees;
+
+    private final Map<Integer, SchedulePlaces> placesById = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Integer, SchedulePlaces>> cells = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+    private volatile int minCellLat = Integer.MAX_VALUE;
+    private volatile int maxCellLat = Integer.MIN_VALUE;
+    private volatile int minCellLng = Integer.MAX_VALUE;
+    private volatile int maxCellLng = Integer.MIN_VALUE;
+
+    private final LongAdder rangeQueries = new LongAdder();
+    private final LongAdder radiusQueries = new LongAdder();
+    private final LongAdder nearestQueries = new LongAdder();
+    private final LongAdder fallbackScans = new LongAdder();
+
+    public PlaceSpatialIndex(PlaceRepository placeRepository,
+                             @Value("${place.spatial-index.cell-degrees:0.01}") double cellDegrees) {
+        this.placeRepository = placeRepository;
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * 애플리케이션 시작 시 전체 장소를 id 순으로 나눠 읽어 인덱스 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startTime = System.currentTimeMillis();
+        Integer lastId = 0;
+        int count = 0;
+        while (true) {
+            List<SchedulePlaces> batch = placeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (SchedulePlaces place : batch) {
+                upsert(place);
+            }
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        loaded = true;
+        log.info("장소 공간 인덱스 구성 완료: {}개, 셀 {}개, {}ms", count, cells.size(), System.currentTimeMillis() - startTime);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 커밋 이후 인덱스에 장소 반영 (트랜잭션 밖이면 즉시 반영)
+     */
+    public void upsertAfterCommit(SchedulePlaces place) {
+        TransactionUtils.afterCommit(() -> upsert(place));
+    }
+
+    /**
+     * 커밋 이후 인덱스에서 장소 제거 (트랜잭션 밖이면 즉시 제거)
+     */
+    public void removeAfterCommit(Integer id) {
+        TransactionUtils.afterCommit(() -> remove(id));
+    }
+
+    public synchronized void upsert(SchedulePlaces place) {
+        if (place == null || place.getId() == null) {
+            return;
+        }
+        SchedulePlaces snapshot = copyOf(place);
+        SchedulePlaces previous = placesById.put(snapshot.getId(), snapshot);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        if (snapshot.getLatitude() == null || snapshot.getLongitude() == null) {
+            return;
+        }
+        int cellLat = cellIndex(snapshot.getLatitude());
+        int cellLng = cellIndex(snapshot.getLongitude());
+        cells.computeIfAbsent(cellKey(cellLat, cellLng), key -> new ConcurrentHashMap<>())
+                .put(snapshot.getId(), snapshot);
+
+        minCellLat = Math.min(minCellLat, cellLat);
+        maxCellLat = Math.max(maxCellLat, cellLat);
+        minCellLng = Math.min(minCellLng, cellLng);
+        maxCellLng = Math.max(maxCellLng, cellLng);
+    }
+
+    public synchronized void remove(Integer id) {
+        if (id == null) {
+            return;
+        }
+        SchedulePlaces previous = placesById.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    /**
+     * 좌표 범위(bounding box) 내 장소 조회
+     */
+    public List<SchedulePlaces> findInRange(double minLat, double maxLat, double minLng, double maxLng) {
+        rangeQueries.increment();
+        List<SchedulePlaces> results = new ArrayList<>();
+        collectInRange(minLat, maxLat, minLng, maxLng, results);
+        results.sort(Comparator.comparing(SchedulePlaces::getId));
+        return results;
+    }
+
+    /**
+     * 중심 좌표에서 반경(km) 내 장소를 가까운 순으로 조회
+     */
+    public List<PlaceDistance> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        radiusQueries.increment();
+        double latDelta = GeoUtils.latDeltaDegrees(radiusKm);
+        double lngDelta = GeoUtils.lngDeltaDegrees(radiusKm, latitude);
+
+        List<SchedulePlaces> candidates = new ArrayList<>();
+        collectInRange(latitude - latDelta, latitude + latDelta, longitude - lngDelta, longitude + lngDelta, candidates);
+
+        List<PlaceDistance> results = new ArrayList<>();
+        for (SchedulePlaces place : candidates) {
+            double distance = GeoUtils.haversineKm(latitude, longitude, place.getLatitude(), place.getLongitude());
+            if (distance <= radiusKm) {
+                results.add(new PlaceDistance(place, distance));
+            }
+        }
+        results.sort(Comparator.comparingDouble(PlaceDistance::distanceKm));
+        return results;
+    }
+
+    /**
+     * 중심 좌표에서 가장 가까운 k개 장소 조회
+     * 중심 셀에서 바깥쪽 고리(ring) 순으로 넓혀 가며, 다음 고리의 최소 거리가 현재 k번째 거리보다 멀어지면 중단한다.
+     * 훑은 격자 면적이 비어 있지 않은 셀 수를 넘으면 (멀리 떨어진 좌표, 장소 수보다 큰 k 등) 남은 셀을 직접 훑는다.
+     */
+    public List<PlaceDistance> findNearest(double latitude, double longitude, int k) {
+        nearestQueries.increment();
+        if (k <= 0 || placesById.isEmpty()) {
+            return List.of();
+        }
+
+        PriorityQueue<PlaceDistance> best = new PriorityQueue<>(
+                Comparator.comparingDouble(PlaceDistance::distanceKm).reversed());
+        int centerLat = cellIndex(latitude);
+        int centerLng = cellIndex(longitude);
+        long maxRing = Math.max(
+                Math.max(Math.abs((long) centerLat - minCellLat), Math.abs((long) maxCellLat - centerLat)),
+                Math.max(Math.abs((long) centerLng - minCellLng), Math.abs((long) maxCellLng - centerLng)));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() >= k && minDistanceToRingKm(latitude, ring) > best.peek().distanceKm()) {
+                break;
+            }
+            long side = 2L * ring + 1;
+            if (side * side > cells.size()) {
+                // 고리를 더 넓히는 것보다 아직 보지 않은 셀(고리 ring 이상)을 직접 훑는 편이 싸다
+                for (Map.Entry<Long, Map<Integer, SchedulePlaces>> entry : cells.entrySet()) {
+                    long key = entry.getKey();
+                    long cellRing = Math.max(Math.abs((long) (int) (key >> 32) - centerLat), Math.abs((long) (int) key - centerLng));
+                    if (cellRing >= ring) {
+                        offerNearest(entry.getValue(), latitude, longitude, k, best);
+                    }
+                }
+                fallbackScans.increment();
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                for (int dLng = -ring; dLng <= ring; dLng++) {
+                    if (Math.abs(dLat) != ring && Math.abs(dLng) != ring) {
+                        continue; // 고리 안쪽은 이전 단계에서 처리됨
+                    }
+                    Map<Integer, SchedulePlaces> cell = cells.get(cellKey(centerLat + dLat, centerLng + dLng));
+                    if (cell != null) {
+                        offerNearest(cell, latitude, longitude, k, best);
+                    }
+                }
+            }
+        }
+
+        List<PlaceDistance> results = new ArrayList<>(best);
+        results.sort(Comparator.comparingDouble(PlaceDistance::distanceKm));
+        return results;
+    }
+
+    /**
+     * 셀의 장소를 크기 k로 제한된 최대 힙(가장 먼 후보가 맨 위)에 반영
+     */
+    private static void offerNearest(Map<Integer, SchedulePlaces> cell, double latitude, double longitude,
+                                     int k, PriorityQueue<PlaceDistance> best) {
+        for (SchedulePlaces place : cell.values()) {
+            double distance = GeoUtils.haversineKm(latitude, longitude, place.getLatitude(), place.getLongitude());
+            if (best.size() < k) {
+                best.add(new PlaceDistance(place, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new PlaceDistance(place, distance));
+            }
+        }
+    }
+
+    /**
+     * 중심 셀 기준 ring 번째 고리에 있는 점까지의 최소 거리 하한 (km)
+     * 사이에 온전한 셀이 ring - 1개 있으므로, 고리까지 가장 높은 위도에서의 셀 변 길이로 보수적으로 계산한다.
+     */
+    private double minDistanceToRingKm(double latitude, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double farthestLat = Math.min(Math.abs(latitude) + cellDegrees * ring, 89.0);
+        double cellKm = cellDegrees * GeoUtils.KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(farthestLat));
+        return (ring - 1) * cellKm;
+    }
+
+    private void collectInRange(double minLat, double maxLat, double minLng, double maxLng, List<SchedulePlaces> out) {
+        int fromLat = cellIndex(minLat);
+        int toLat = cellIndex(maxLat);
+        int fromLng = cellIndex(minLng);
+        int toLng = cellIndex(maxLng);
+        long cellCount = (long) (toLat - fromLat + 1) * (toLng - fromLng + 1);
+
+        if (cellCount > MAX_CELL_SCAN || cellCount > cells.size()) {
+            // 범위가 넓으면 셀 순회보다 비어 있지 않은 셀만 훑는 편이 빠르다
+            for (Map<Integer, SchedulePlaces> cell : cells.values()) {
+                addMatches(cell, minLat, maxLat, minLng, maxLng, out);
+            }
+            return;
+        }
+        for (int cellLat = fromLat; cellLat <= toLat; cellLat++) {
+            for (int cellLng = fromLng; cellLng <= toLng; cellLng++) {
+                Map<Integer, SchedulePlaces> cell = cells.get(cellKey(cellLat, cellLng));
+                if (cell != null) {
+                    addMatches(cell, minLat, maxLat, minLng, maxLng, out);
+                }
+            }
+        }
+    }
+
+    private void addMatches(Map<Integer, SchedulePlaces> cell, double minLat, double maxLat,
+                            double minLng, double maxLng, List<SchedulePlaces> out) {
+        for (SchedulePlaces place : cell.values()) {
+            double lat = place.getLatitude();
+            double lng = place.getLongitude();
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                out.add(place);
+            }
+        }
+    }
+
+    private void removeFromCell(SchedulePlaces place) {
+        if (place.getLatitude() == null || place.getLongitude() == null) {
+            return;
+        }
+        long key = cellKey(cellIndex(place.getLatitude()), cellIndex(place.getLongitude()));
+        Map<Integer, SchedulePlaces> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(place.getId());
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int cellLat, int cellLng) {
+        return ((long) cellLat << 32) | (cellLng & 0xffffffffL);
+    }
+
+    private static SchedulePlaces copyOf(SchedulePlaces place) {
+        return SchedulePlaces.builder()
+                .id(place.getId())
+                .name(place.getName())
+                .category(place.getCategory())
+                .address(place.getAddress())
+                .latitude(place.getLatitude())
+                .longitude(place.getLongitude())
+                .description(place.getDescription())
+                .imgUrl(place.getImgUrl())
+                .createdAt(place.getCreatedAt())
+                .updatedAt(place.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "place-spatial-index";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", loaded);
+        stats.put("places", placesById.size());
+        stats.put("cells", cells.size());
+        stats.put("cellDegrees", cellDegrees);
+        stats.put("rangeQueries", rangeQueries.sum());
+        stats.put("radiusQueries", radiusQueries.sum());
+        stats.put("nearestQueries", nearestQueries.sum());
+        stats.put("nearestFallbackScans", fallbackScans.sum());
+        return stats;
+    }
+
+    /**
+     * 장소와 기준 좌표로부터의 거리(km)
+     */
+    public record PlaceDistance(SchedulePlaces place, double distanceKm) {
+    }
+}
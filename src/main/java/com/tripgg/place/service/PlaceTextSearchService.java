@@ -0,0 +1,284 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.search.NgramIndex;
+import com.tripgg.common.util.TransactionUtils;
+import com.tripgg.place.entity.PlacesGodata;
+import com.tripgg.place.entity.SchedulePlaces;
+import com.tripgg.place.repository.PlaceRepository;
+import com.tripgg.place.repository.PlacesGodataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 장소 이름/주소 부분 문자열 검색 서비스
+ * SchedulePlaces(name, address)와 PlacesGodata(placeName, roadAddress + lotAddress)를
+ * n-gram 역색인으로 검색하여 LIKE '%x%' 전체 스캔을 대체한다.
+ * 재구성은 새 색인을 따로 만든 뒤 한 번에 교체하므로, 재구성 중에도 검색은 기존 색인으로 계속 응답한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlaceTextSearchService implements StatsProvider {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final PlaceRepository placeRepository;
+    private final PlacesGodataRepository placesGodataRepository;
+
+    private volatile TextIndexes places = new TextIndexes();
+    private volatile TextIndexes godata = new TextIndexes();
+
+    // 재구성 중인 새 색인 (재구성 도중 커밋된 변경도 함께 반영해 교체 후 유실되지 않게 한다)
+    private volatile TextIndexes placesBuilding;
+    private volatile TextIndexes godataBuilding;
+
+    private final Object placesReloadLock = new Object();
+    private final Object godataReloadLock = new Object();
+
+    private volatile boolean placesLoaded = false;
+    private volatile boolean godataLoaded = false;
+
+    /**
+     * 애플리케이션 시작 시 색인 구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reloadPlaces();
+            reloadGodata();
+        } catch (Exception e) {
+            // 색인이 없으면 DB LIKE 조회로 대체되므로 기동은 계속한다
+            log.error("장소 텍스트 색인 구성 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isPlacesLoaded() {
+        return placesLoaded;
+    }
+
+    public boolean isGodataLoaded() {
+        return godataLoaded;
+    }
+
+    /**
+     * SchedulePlaces 색인 재구성
+     */
+    public void reloadPlaces() {
+        synchronized (placesReloadLock) {
+            long startTime = System.currentTimeMillis();
+            TextIndexes building = new TextIndexes();
+            placesBuilding = building;
+            try {
+                Integer lastId = 0;
+                int count = 0;
+                while (true) {
+                    List<SchedulePlaces> batch = placeRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    batch.forEach(place -> putPlace(building, place));
+                    count += batch.size();
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+                places = building;
+                placesLoaded = true;
+                log.info("장소 텍스트 색인 구성 완료: {}개, {}ms", count, System.currentTimeMillis() - startTime);
+            } finally {
+                placesBuilding = null;
+            }
+        }
+    }
+
+    /**
+     * PlacesGodata 색인 재구성 (공공데이터 일괄 적재 이후 호출)
+     */
+    public void reloadGodata() {
+        synchronized (godataReloadLock) {
+            long startTime = System.currentTimeMillis();
+            TextIndexes building = new TextIndexes();
+            godataBuilding = building;
+            try {
+                Integer lastId = 0;
+                int count = 0;
+                while (true) {
+                    List<PlacesGodata> batch = placesGodataRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH_SIZE));
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    batch.forEach(row -> putGodata(building, row));
+                    count += batch.size();
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+                godata = building;
+                godataLoaded = true;
+                log.info("관광정보 텍스트 색인 구성 완료: {}개, {}ms", count, System.currentTimeMillis() - startTime);
+            } finally {
+                godataBuilding = null;
+            }
+        }
+    }
+
+    /**
+     * 커밋 이후 장소 색인 반영
+     */
+    public void indexPlaceAfterCommit(SchedulePlaces place) {
+        TransactionUtils.afterCommit(() -> indexPlace(place));
+    }
+
+    /**
+     * 커밋 이후 장소 색인 제거
+     */
+    public void removePlaceAfterCommit(Integer id) {
+        TransactionUtils.afterCommit(() -> {
+            TextIndexes building = placesBuilding;
+            places.remove(id);
+            if (building != null) {
+                building.remove(id);
+            }
+        });
+    }
+
+    public void indexPlace(SchedulePlaces place) {
+        // 재구성 중인 색인을 먼저 읽어야 교체 직전/직후 어느 쪽이든 새 색인에 반영된다
+        TextIndexes building = placesBuilding;
+        putPlace(places, place);
+        if (building != null) {
+            putPlace(building, place);
+        }
+    }
+
+    public void indexGodata(PlacesGodata row) {
+        TextIndexes building = godataBuilding;
+        putGodata(godata, row);
+        if (building != null) {
+            putGodata(building, row);
+        }
+    }
+
+    private static void putPlace(TextIndexes indexes, SchedulePlaces place) {
+        if (place == null || place.getId() == null) {
+            return;
+        }
+        indexes.name.put(place.getId(), place.getName());
+        indexes.address.put(place.getId(), place.getAddress());
+    }
+
+    private static void putGodata(TextIndexes indexes, PlacesGodata row) {
+        if (row == null || row.getId() == null) {
+            return;
+        }
+        indexes.name.put(row.getId(), row.getPlaceName());
+        indexes.address.put(row.getId(), row.getRoadAddress(), row.getLotAddress());
+    }
+
+    /**
+     * 이름으로 장소 검색 (page는 1부터)
+     */
+    public List<SchedulePlaces> searchPlacesByName(String name, int page, int size) {
+        return loadPlaces(places.name.search(name, offsetOf(page, size), size));
+    }
+
+    /**
+     * 주소로 장소 검색 (page는 1부터)
+     */
+    public List<SchedulePlaces> searchPlacesByAddress(String address, int page, int size) {
+        return loadPlaces(places.address.search(address, offsetOf(page, size), size));
+    }
+
+    /**
+     * 관광정보명으로 공공데이터 관광정보 검색 (page는 1부터)
+     */
+    public List<PlacesGodata> searchGodataByName(String name, int page, int size) {
+        return loadGodata(godata.name.search(name, offsetOf(page, size), size));
+    }
+
+    /**
+     * 도로명/지번 주소로 공공데이터 관광정보 검색 (page는 1부터)
+     */
+    public List<PlacesGodata> searchGodataByAddress(String address, int page, int size) {
+        return loadGodata(godata.address.search(address, offsetOf(page, size), size));
+    }
+
+    private List<SchedulePlaces> loadPlaces(NgramIndex.SearchResult result) {
+        if (result.ids().isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(result.ids(), placeRepository.findByIdIn(result.ids()), SchedulePlaces::getId);
+    }
+
+    private List<PlacesGodata> loadGodata(NgramIndex.SearchResult result) {
+        if (result.ids().isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(result.ids(), placesGodataRepository.findByIdIn(result.ids()), PlacesGodata::getId);
+    }
+
+    /**
+     * IN 조회 결과를 색인 순위 순서로 재정렬 (색인과 DB 사이에 삭제된 행은 제외)
+     */
+    private static <T> List<T> inRankOrder(List<Integer> rankedIds, List<T> rows, Function<T, Integer> idOf) {
+        Map<Integer, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<T> ordered = new ArrayList<>(rankedIds.size());
+        for (Integer id : rankedIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    private static int offsetOf(int page, int size) {
+        return (Math.max(page, 1) - 1) * size;
+    }
+
+    @Override
+    public String getStatsName() {
+        return "place-text-index";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("placesLoaded", placesLoaded);
+        stats.put("godataLoaded", godataLoaded);
+        stats.put("placesRebuilding", placesBuilding != null);
+        stats.put("godataRebuilding", godataBuilding != null);
+        TextIndexes currentPlaces = places;
+        TextIndexes currentGodata = godata;
+        stats.put("placeDocuments", currentPlaces.name.size());
+        stats.put("placeNameGrams", currentPlaces.name.gramCount());
+        stats.put("placeAddressGrams", currentPlaces.address.gramCount());
+        stats.put("godataDocuments", currentGodata.name.size());
+        stats.put("godataNameGrams", currentGodata.name.gramCount());
+        stats.put("godataAddressGrams", currentGodata.address.gramCount());
+        return stats;
+    }
+
+    /**
+     * 한 데이터셋의 이름/주소 색인 묶음 (교체 단위)
+     */
+    private static final class TextIndexes {
+        private final NgramIndex name = new NgramIndex();
+        private final NgramIndex address = new NgramIndex();
+
+        void remove(Integer id) {
+            if (id != null) {
+                name.remove(id);
+                address.remove(id);
+            }
+        }
+    }
+}
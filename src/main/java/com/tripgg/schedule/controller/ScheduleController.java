@@ -2,15 +2,25 @@ package com.tripgg.schedule.controller;
 
 import com.tripgg.auth.util.SecurityUtil;
 import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.exception.RateLimitExceededException;
+import com.tripgg.common.io.NdjsonExporter;
+import com.tripgg.schedule.dto.AiScheduleJobResponse;
 import com.tripgg.schedule.dto.AiScheduleRequest;
-import com.tripgg.schedule.dto.AiScheduleResponse;
 import com.tripgg.schedule.entity.Schedule;
-import com.tripgg.schedule.service.ai.GptApiService;
+import com.tripgg.schedule.service.AiScheduleJobService;
 import com.tripgg.schedule.service.ScheduleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,37 +31,127 @@ import java.util.List;
 public class ScheduleController {
     
     private final ScheduleService scheduleService;
-    private final GptApiService gptApiService;
+    private final AiScheduleJobService aiScheduleJobService;
+    private final NdjsonExporter ndjsonExporter;
     
-    // AI 일정 생성
+    @Value("${ai.jobs.sync-timeout-seconds:90}")
+    private long syncTimeoutSeconds;
+    
+    // AI 일정 생성 (기존 응답 형식 유지, 작업으로 처리하고 완료될 때까지 요청 스레드를 점유하지 않고 대기)
     @PostMapping("/ai-generate")
-    public ResponseEntity<ApiResponse<AiScheduleResponse>> generateAiSchedule(@RequestBody AiScheduleRequest request) {
+    public DeferredResult<ResponseEntity<ApiResponse<?>>> generateAiSchedule(@RequestBody AiScheduleRequest request) {
         Long currentUserId = SecurityUtil.getCurrentUserId();
         String currentUserNickname = SecurityUtil.getCurrentUserNickname();
         log.info("AI 일정 생성 요청 - 사용자 ID: {}, 닉네임: {}", currentUserId, currentUserNickname);
         
+        DeferredResult<ResponseEntity<ApiResponse<?>>> deferred = new DeferredResult<>(syncTimeoutSeconds * 1000);
+        if (currentUserId == null) {
+            deferred.setResult(ResponseEntity.badRequest().body(ApiResponse.error("인증이 필요합니다.")));
+            return deferred;
+        }
+        
+        AiScheduleJobResponse job;
+        try {
+            job = aiScheduleJobService.submit(currentUserId, request);
+        } catch (RateLimitExceededException e) {
+            deferred.setResult(tooManyRequests(e));
+            return deferred;
+        }
+        
+        Runnable unwatch = aiScheduleJobService.onFinished(job.getJobId(), finished -> deferred.setResult(switch (finished.getStatus()) {
+            case "SUCCEEDED" -> ResponseEntity.ok(ApiResponse.success("AI 일정이 성공적으로 생성되었습니다.", finished.getResult()));
+            case "CANCELLED" -> ResponseEntity.badRequest().body(ApiResponse.error("AI 일정 생성이 취소되었습니다."));
+            default -> ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("AI 일정 생성 중 오류가 발생했습니다: " + finished.getErrorMessage()));
+        }));
+        // 시간 안에 끝나지 않으면 작업 id를 돌려주고 /schedules/ai-jobs/{jobId} 로 이어서 확인하게 한다
+        deferred.onTimeout(() -> {
+            unwatch.run();
+            deferred.setResult(ResponseEntity.accepted()
+                    .body(ApiResponse.success("AI 일정을 생성하고 있습니다. 작업 상태를 조회해주세요.", job)));
+        });
+        return deferred;
+    }
+    
+    // AI 일정 생성 작업 등록 (작업 id를 바로 반환)
+    @PostMapping("/ai-jobs")
+    public ResponseEntity<ApiResponse<AiScheduleJobResponse>> submitAiScheduleJob(@RequestBody AiScheduleRequest request) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        log.info("AI 일정 생성 작업 등록 요청 - 사용자 ID: {}", currentUserId);
+        
         if (currentUserId == null) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("인증이 필요합니다."));
         }
         
         try {
-            AiScheduleResponse response = gptApiService.generateSchedule(request);
-            // GPT 응답을 DB에 저장
-            AiScheduleResponse savedResponse = scheduleService.saveAiSchedule(response, currentUserId);
-            return ResponseEntity.ok(ApiResponse.success("AI 일정이 성공적으로 생성되었습니다.", savedResponse));
-        } catch (Exception e) {
-            log.error("AI 일정 생성 중 오류 발생", e);
-            return ResponseEntity.internalServerError()
-                    .body(ApiResponse.error("AI 일정 생성 중 오류가 발생했습니다: " + e.getMessage()));
+            AiScheduleJobResponse job = aiScheduleJobService.submit(currentUserId, request);
+            return ResponseEntity.accepted().body(ApiResponse.success("AI 일정 생성 작업이 등록되었습니다.", job));
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         }
     }
     
-    // 전체 일정 조회
+    // AI 일정 생성 작업 상태 조회 (폴링)
+    @GetMapping("/ai-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AiScheduleJobResponse>> getAiScheduleJob(@PathVariable Long jobId) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("인증이 필요합니다."));
+        }
+        
+        AiScheduleJobResponse job = aiScheduleJobService.getJob(jobId, currentUserId);
+        return ResponseEntity.ok(ApiResponse.success("AI 일정 생성 작업을 조회했습니다.", job));
+    }
+    
+    // AI 일정 생성 작업 상태 구독 (SSE: status, 스트리밍 중에는 schedule/item 이벤트. 완료되면 스트림 종료)
+    @GetMapping(value = "/ai-jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeAiScheduleJob(@PathVariable Long jobId) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        return ResponseEntity.ok(aiScheduleJobService.subscribe(jobId, currentUserId));
+    }
+    
+    // AI 일정 생성 작업 취소
+    @DeleteMapping("/ai-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AiScheduleJobResponse>> cancelAiScheduleJob(@PathVariable Long jobId) {
+        Long currentUserId = SecurityUtil.getCurrentUserId();
+        if (currentUserId == null) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("인증이 필요합니다."));
+        }
+        
+        AiScheduleJobResponse job = aiScheduleJobService.cancel(jobId, currentUserId);
+        return ResponseEntity.ok(ApiResponse.success("AI 일정 생성 작업을 취소했습니다.", job));
+    }
+    
+    private static ResponseEntity<ApiResponse<?>> tooManyRequests(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error(e.getMessage()));
+    }
+    
+    // 일정 목록 조회 (id 커서 기반, after=이전 페이지 nextCursor)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Schedule>>> getAllSchedules() {
-        List<Schedule> schedules = scheduleService.getAllSchedules();
-        return ResponseEntity.ok(ApiResponse.success("전체 일정을 성공적으로 조회했습니다.", schedules));
+    public ResponseEntity<ApiResponse<CursorPage<Schedule>>> getSchedules(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<Schedule> page = scheduleService.getSchedules(after, CursorPage.clampLimit(limit, 50, 500));
+        return ResponseEntity.ok(ApiResponse.success("일정 목록을 성공적으로 조회했습니다.", page));
+    }
+    
+    // 일정 전체 내보내기 (NDJSON 스트리밍, 관리자 전용)
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportSchedules(@RequestParam(defaultValue = "0") Integer after) {
+        return ResponseEntity.ok().body(ndjsonExporter.export(
+                "SELECT id, user_id, title, description, is_ai_generated, start_date, end_date, created_at, updated_at "
+                        + "FROM schedules WHERE id > ? ORDER BY id", after));
     }
     
     // 일정 생성
@@ -27,4 +27,6 @@ public class AiScheduleRequest {
     private String transportation;
     private String travelStyle;
     private String language;
+    
+    private Boolean fresh; // true면 캐시된 일정을 쓰지 않고 새로 생성
 }
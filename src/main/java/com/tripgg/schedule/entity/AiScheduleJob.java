@@ -0,0 +1,74 @@
+package com.tripgg.schedule.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 일정 생성 작업 (요청을 받은 즉시 저장하고 백그라운드에서 처리, 재시작 후에도 이어서 처리)
+ */
+@Entity
+@Table(name = "ai_schedule_jobs", indexes = {
+        // 사용자별 진행 중 작업 수 확인용
+        @Index(name = "idx_ai_schedule_jobs_user_id_status", columnList = "user_id, status"),
+        // 재시작/장애 복구 시 대기·실행 중 작업 조회용
+        @Index(name = "idx_ai_schedule_jobs_status_id", columnList = "status, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class AiScheduleJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "request_json", columnDefinition = "TEXT", nullable = false)
+    private String requestJson;
+
+    @Column(name = "result_json", columnDefinition = "MEDIUMTEXT")
+    private String resultJson;
+
+    @Column(name = "schedule_id")
+    private Integer scheduleId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,57 @@
+package com.tripgg.schedule.repository;
+
+import com.tripgg.schedule.entity.AiScheduleJob;
+import com.tripgg.schedule.entity.AiScheduleJob.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AiScheduleJobRepository extends JpaRepository<AiScheduleJob, Long> {
+
+    // 사용자의 진행 중(대기/실행) 작업 수
+    long countByUserIdAndStatusIn(Long userId, Collection<Status> statuses);
+
+    // 상태별 작업 id (복구 시 실행기에 다시 넣을 대기 작업)
+    @Query("SELECT j.id FROM AiScheduleJob j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findIdsByStatus(@Param("status") Status status, Limit limit);
+
+    // 상태 전환 (from 상태일 때만 바뀌므로 여러 스레드/노드 중 하나만 성공)
+    @Modifying
+    @Query("UPDATE AiScheduleJob j SET j.status = :to, j.startedAt = :now, j.attempts = j.attempts + 1 "
+            + "WHERE j.id = :id AND j.status = :from")
+    int start(@Param("id") Long id, @Param("from") Status from, @Param("to") Status to,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AiScheduleJob j SET j.status = :to, j.finishedAt = :now, j.errorMessage = :errorMessage "
+            + "WHERE j.id = :id AND j.status IN :from")
+    int finish(@Param("id") Long id, @Param("from") Collection<Status> from, @Param("to") Status to,
+               @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AiScheduleJob j SET j.resultJson = :resultJson, j.scheduleId = :scheduleId WHERE j.id = :id")
+    int saveResult(@Param("id") Long id, @Param("resultJson") String resultJson, @Param("scheduleId") Integer scheduleId);
+
+    // 오래 실행 중인 작업(노드 종료 등으로 중단된 작업)을 다시 대기로 (재시도 횟수 이내)
+    @Modifying
+    @Query("UPDATE AiScheduleJob j SET j.status = :to, j.startedAt = null "
+            + "WHERE j.status = :from AND j.startedAt < :staleBefore AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("from") Status from, @Param("to") Status to,
+                     @Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts);
+
+    // 재시도 횟수를 다 쓴 채 중단된 작업은 실패 처리
+    @Modifying
+    @Query("UPDATE AiScheduleJob j SET j.status = :to, j.finishedAt = :now, j.errorMessage = :errorMessage "
+            + "WHERE j.status = :from AND j.startedAt < :staleBefore AND j.attempts >= :maxAttempts")
+    int failExhausted(@Param("from") Status from, @Param("to") Status to, @Param("errorMessage") String errorMessage,
+                      @Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                      @Param("now") LocalDateTime now);
+}
@@ -1,6 +1,8 @@
 package com.tripgg.schedule.repository;
 
 import com.tripgg.schedule.entity.Schedule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,6 +23,10 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     // 제목으로 일정 검색
     List<Schedule> findByUserIdAndTitleContaining(Long userId, String title);
     
+    // id 이후 일정을 id 순으로 조회 (키셋 페이지네이션)
+    @EntityGraph(attributePaths = "user")
+    List<Schedule> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    
     // 사용자별 일정 개수 조회
     @Query("SELECT COUNT(s) FROM Schedule s WHERE s.user.id = :userId")
     long countByUserId(@Param("userId") Long userId);
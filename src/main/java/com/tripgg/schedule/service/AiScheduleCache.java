@@ -0,0 +1,214 @@
+package com.tripgg.schedule.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.cache.LruTtlCache;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * AI 생성 일정 템플릿 캐시
+ * 지역, 키워드 집합, 동행, 교통수단, 여행 스타일, 언어, 여행 일수, 제목, 설명이 같은 요청은 같은 키를 쓴다.
+ * 제목과 설명도 프롬프트에 들어가 생성 결과를 바꾸므로 키에 포함한다 (대소문자와 공백 차이는 무시).
+ * 생성 결과를 JSON으로 보관하고, 꺼낼 때 새 객체로 읽어 날짜를 호출자의 시작일로 옮기고 제목/설명/사용자를 바꾼다.
+ */
+@Slf4j
+@Component
+public class AiScheduleCache implements StatsProvider {
+
+    private static final int DATE_LENGTH = 10; // yyyy-MM-dd
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final LruTtlCache<String, Template> cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public AiScheduleCache(ObjectMapper objectMapper,
+                           @Value("${ai.cache.enabled:true}") boolean enabled,
+                           @Value("${ai.cache.max-entries:500}") int maxEntries,
+                           @Value("${ai.cache.ttl-hours:24}") long ttlHours) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = new LruTtlCache<>(maxEntries, Duration.ofHours(ttlHours));
+    }
+
+    /**
+     * 요청에 맞게 옮긴 캐시 결과 (없거나 fresh 요청이면 null)
+     */
+    public AiScheduleResponse get(AiScheduleRequest request) {
+        String key = keyOf(request);
+        if (key == null) {
+            return null;
+        }
+        if (Boolean.TRUE.equals(request.getFresh())) {
+            bypassed.increment();
+            return null;
+        }
+        Template template = cache.get(key);
+        if (template == null) {
+            misses.increment();
+            return null;
+        }
+        try {
+            AiScheduleResponse response = objectMapper.readValue(template.json, AiScheduleResponse.class);
+            rebase(response, request, template.startDate);
+            hits.increment();
+            return response;
+        } catch (IOException e) {
+            log.warn("AI 일정 캐시 항목 읽기 실패: key={}, {}", key, e.getMessage());
+            cache.invalidate(key);
+            misses.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 생성 결과 저장 (호출 측이 이후 객체를 바꿔도 영향이 없도록 JSON으로 보관)
+     */
+    public void put(AiScheduleRequest request, AiScheduleResponse response) {
+        String key = keyOf(request);
+        if (key == null || response == null || response.getSchedule() == null) {
+            return;
+        }
+        try {
+            cache.put(key, new Template(objectMapper.writeValueAsBytes(response), LocalDate.parse(request.getStartDate().substring(0, DATE_LENGTH))));
+            stores.increment();
+        } catch (JsonProcessingException e) {
+            log.warn("AI 일정 캐시 저장 실패: key={}, {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 정규화된 캐시 키 (비활성화되었거나 여행 기간을 알 수 없으면 null)
+     * 절대 날짜 대신 여행 일수를 쓰고, 키워드는 중복을 없애 정렬한다. 제목과 설명은 연속 공백을 하나로 줄인다.
+     */
+    String keyOf(AiScheduleRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        long tripDays;
+        try {
+            LocalDate start = LocalDate.parse(request.getStartDate().substring(0, DATE_LENGTH));
+            LocalDate end = LocalDate.parse(request.getEndDate().substring(0, DATE_LENGTH));
+            tripDays = ChronoUnit.DAYS.between(start, end) + 1;
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (tripDays <= 0) {
+            return null;
+        }
+        String keywords = request.getKeywords() == null ? "" : request.getKeywords().stream()
+                .filter(Objects::nonNull)
+                .map(AiScheduleCache::normalize)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return normalize(request.getLanguage()) + '|' + normalize(request.getRegion()) + '|' + keywords
+                + '|' + normalize(request.getCompanion()) + '|' + normalize(request.getTransportation())
+                + '|' + normalize(request.getTravelStyle()) + '|' + tripDays
+                + '|' + normalizeText(request.getTitle()) + '|' + normalizeText(request.getDescription());
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeText(String value) {
+        return WHITESPACE.matcher(normalize(value)).replaceAll(" ");
+    }
+
+    /**
+     * 템플릿 날짜를 요청 시작일 기준으로 옮기고 요청별 값(제목, 설명, 사용자)을 채운다
+     */
+    private void rebase(AiScheduleResponse response, AiScheduleRequest request, LocalDate templateStart) {
+        long shiftDays = ChronoUnit.DAYS.between(templateStart, LocalDate.parse(request.getStartDate().substring(0, DATE_LENGTH)));
+
+        ScheduleDto schedule = response.getSchedule();
+        schedule.setId(null);
+        schedule.setUserId(request.getUserId());
+        schedule.setTitle(request.getTitle());
+        schedule.setDescription(request.getDescription());
+        schedule.setStartDate(shift(schedule.getStartDate(), shiftDays));
+        schedule.setEndDate(shift(schedule.getEndDate(), shiftDays));
+        schedule.setCreatedAt(LocalDateTime.now().toString());
+
+        List<ScheduleItemDto> items = response.getScheduleItems() != null ? response.getScheduleItems() : List.of();
+        for (ScheduleItemDto item : items) {
+            item.setId(null);
+            item.setScheduleId(null);
+            item.setStartDate(shift(item.getStartDate(), shiftDays));
+        }
+    }
+
+    /**
+     * 날짜 문자열의 yyyy-MM-dd 부분만 옮기고 시간 등 나머지는 그대로 둔다
+     */
+    private static String shift(String date, long days) {
+        if (date == null || date.length() < DATE_LENGTH || days == 0) {
+            return date;
+        }
+        try {
+            return LocalDate.parse(date.substring(0, DATE_LENGTH)).plusDays(days) + date.substring(DATE_LENGTH);
+        } catch (DateTimeParseException e) {
+            return date;
+        }
+    }
+
+    private static final class Template {
+        private final byte[] json;
+        private final LocalDate startDate;
+
+        Template(byte[] json, LocalDate startDate) {
+            this.json = json;
+            this.startDate = startDate;
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "ai-schedule-cache";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("entries", cache.size());
+        stats.put("maxEntries", cache.getMaxEntries());
+        stats.put("hits", hit);
+        stats.put("misses", miss);
+        stats.put("hitRatio", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss));
+        stats.put("bypassed", bypassed.sum());
+        stats.put("stores", stores.sum());
+        stats.put("evictions", cache.getEvictions());
+        return stats;
+    }
+}
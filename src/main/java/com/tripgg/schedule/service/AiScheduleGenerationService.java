@@ -0,0 +1,59 @@
+package com.tripgg.schedule.service;
+
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import com.tripgg.schedule.service.ai.HedgedAiScheduleRouter;
+import com.tripgg.schedule.service.ai.ItineraryStreamParser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * AI 일정 생성 진입점
+ * 같은 조건의 일정이 캐시에 있으면 LLM을 호출하지 않고 날짜만 옮겨 돌려주고, 없으면 생성 후 캐시에 저장한다.
+ * 생성은 GPT/Gemini 헤지 라우터를 거친다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiScheduleGenerationService {
+
+    private final HedgedAiScheduleRouter hedgedAiScheduleRouter;
+    private final AiScheduleCache aiScheduleCache;
+
+    /**
+     * 일정 생성
+     *
+     * @param listener null이 아니면 스트리밍으로 생성하며 완성된 항목마다 호출 (캐시 히트 시에도 항목을 순서대로 넘긴다)
+     */
+    public AiScheduleResponse generate(AiScheduleRequest request, ItineraryStreamParser.Listener listener) {
+        AiScheduleResponse cached = aiScheduleCache.get(request);
+        if (cached != null) {
+            log.debug("AI 일정 캐시 사용: region={}, language={}", request.getRegion(), request.getLanguage());
+            if (listener != null) {
+                listener.onSchedule(cached.getSchedule());
+                if (cached.getScheduleItems() != null) {
+                    for (ScheduleItemDto item : cached.getScheduleItems()) {
+                        listener.onItem(item);
+                    }
+                }
+            }
+            return cached;
+        }
+
+        AiScheduleResponse generated = listener != null
+                ? hedgedAiScheduleRouter.streamSchedule(request, listener)
+                : hedgedAiScheduleRouter.generateSchedule(request);
+        aiScheduleCache.put(request, generated);
+        return generated;
+    }
+
+    /**
+     * 캐시된 일정 (요청 날짜에 맞게 옮긴 결과, 없거나 fresh 요청이면 null)
+     * LLM 호출 없이 바로 처리할 수 있는 요청을 가려낼 때 쓴다.
+     */
+    public AiScheduleResponse findCached(AiScheduleRequest request) {
+        return aiScheduleCache.get(request);
+    }
+}
@@ -0,0 +1,625 @@
+package com.tripgg.schedule.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.exception.RateLimitExceededException;
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.CancellationScope;
+import com.tripgg.schedule.dto.AiScheduleJobResponse;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import com.tripgg.schedule.entity.AiScheduleJob;
+import com.tripgg.schedule.entity.AiScheduleJob.Status;
+import com.tripgg.schedule.repository.AiScheduleJobRepository;
+import com.tripgg.schedule.service.ai.ItineraryStreamParser;
+import com.tripgg.user.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * AI 일정 생성 작업 처리
+ * 요청은 ai_schedule_jobs에 저장한 뒤 바로 작업 id를 돌려주고, 제한된 크기의 실행기에서 LLM 호출과 일정 저장을 수행한다.
+ * 상태 전환은 조건부 UPDATE로 하므로 같은 작업이 두 번 실행되지 않고, 취소된 작업의 결과는 저장되지 않는다.
+ * 이 노드에서 실행 중인 작업을 취소하면 진행 중인 LLM 요청도 바로 중단한다.
+ * 사용자별 동시 작업 수 확인과 등록은 사용자 행 잠금 아래에서 하므로 동시 요청이 한도를 넘지 못한다.
+ * 노드가 멈춰 실행 중 상태로 남은 작업은 주기적인 복구에서 다시 대기열에 넣는다.
+ * 스트리밍 모드에서는 LLM 응답을 받는 동안 완성된 일정 항목을 SSE 구독자에게 바로 보낸다.
+ * SSE 쓰기는 구독자별 대기열을 거쳐 별도 전송 스레드에서 하므로 느린 클라이언트가 생성 스레드를 붙잡지 않는다.
+ * 캐시된 일정으로 처리할 수 있는 요청은 대기열을 거치지 않고 요청 스레드에서 바로 완료한다.
+ */
+@Slf4j
+@Service
+public class AiScheduleJobService implements StatsProvider {
+
+    private static final Set<Status> ACTIVE = EnumSet.of(Status.QUEUED, Status.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AiScheduleJobRepository aiScheduleJobRepository;
+    private final UserRepository userRepository;
+    private final AiScheduleGenerationService aiScheduleGenerationService;
+    private final ScheduleService scheduleService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxActivePerUser;
+    private final int maxAttempts;
+    private final long staleAfterMinutes;
+    private final long sseTimeoutMillis;
+    private final boolean streaming;
+    private final ThreadPoolExecutor executor;
+    /** SSE 전송 (구독자마다 한 번에 하나의 전송 작업만 돌며 이벤트를 순서대로 보낸다) */
+    private final ThreadPoolExecutor sseExecutor;
+
+    /** 이 노드의 실행기에 들어가 있는(대기 또는 실행 중인) 작업 */
+    private final Set<Long> enqueued = ConcurrentHashMap.newKeySet();
+    /** 작업 상태가 바뀔 때 알림을 받을 구독자 (SSE, 동기 API 대기) */
+    private final Map<Long, Set<JobWatcher>> watchers = new ConcurrentHashMap<>();
+    /** 이 노드에서 실행 중인 작업의 스트리밍 중간 결과 (늦게 구독한 SSE 클라이언트에게 다시 보내기 위함) */
+    private final Map<Long, PartialResult> partials = new ConcurrentHashMap<>();
+    /** 이 노드에서 실행 중인 작업의 취소 범위 (취소 요청 시 진행 중인 LLM 요청을 중단하기 위함) */
+    private final Map<Long, CancellationScope> scopes = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder streamedItems = new LongAdder();
+    private final LongAdder completedInline = new LongAdder();
+    private final LongAdder sseSent = new LongAdder();
+
+    public AiScheduleJobService(AiScheduleJobRepository aiScheduleJobRepository,
+                                UserRepository userRepository,
+                                AiScheduleGenerationService aiScheduleGenerationService,
+                                ScheduleService scheduleService,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${ai.jobs.threads:4}") int threads,
+                                @Value("${ai.jobs.queue-capacity:200}") int queueCapacity,
+                                @Value("${ai.jobs.max-active-per-user:2}") int maxActivePerUser,
+                                @Value("${ai.jobs.max-attempts:3}") int maxAttempts,
+                                @Value("${ai.jobs.stale-after-minutes:5}") long staleAfterMinutes,
+                                @Value("${ai.jobs.sse-timeout-minutes:5}") long sseTimeoutMinutes,
+                                @Value("${ai.jobs.sse-threads:2}") int sseThreads,
+                                @Value("${ai.jobs.streaming:true}") boolean streaming) {
+        this.aiScheduleJobRepository = aiScheduleJobRepository;
+        this.userRepository = userRepository;
+        this.aiScheduleGenerationService = aiScheduleGenerationService;
+        this.scheduleService = scheduleService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.maxActivePerUser = maxActivePerUser;
+        this.maxAttempts = maxAttempts;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.sseTimeoutMillis = TimeUnit.MINUTES.toMillis(sseTimeoutMinutes);
+        this.streaming = streaming;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-schedule-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        AtomicInteger sseThreadCount = new AtomicInteger();
+        this.sseExecutor = new ThreadPoolExecutor(
+                sseThreads, sseThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-schedule-sse-" + sseThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 실행 중이던 작업은 RUNNING으로 남고 stale-after-minutes 이후 다른 노드(또는 재시작 후)에서 다시 실행된다
+        executor.shutdownNow();
+        sseExecutor.shutdownNow();
+    }
+
+    /**
+     * 작업 등록 (대기열이 가득 찼거나 사용자별 동시 작업 수를 넘으면 RateLimitExceededException)
+     */
+    public AiScheduleJobResponse submit(Long userId, AiScheduleRequest request) {
+        // 캐시는 한 번만 읽는다 (확인 후 다시 읽는 사이 만료되면 캐시 히트로 보고 LLM을 요청 스레드에서 부르게 된다)
+        AiScheduleResponse cached = aiScheduleGenerationService.findCached(request);
+        if (cached == null && executor.getQueue().remainingCapacity() == 0) {
+            rejected.increment();
+            throw new RateLimitExceededException("AI 일정 생성 요청이 많습니다. 잠시 후 다시 시도해주세요.", "queue", 10);
+        }
+        String requestJson;
+        try {
+            requestJson = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("AI 일정 생성 요청을 처리할 수 없습니다.");
+        }
+
+        // 같은 사용자의 동시 요청(다른 노드 포함)은 사용자 행 잠금으로 줄 세워 확인과 등록 사이에 끼어들지 못하게 한다
+        AiScheduleJob job = transactionTemplate.execute(status -> {
+            userRepository.lockById(userId);
+            if (aiScheduleJobRepository.countByUserIdAndStatusIn(userId, ACTIVE) >= maxActivePerUser) {
+                rejected.increment();
+                throw new RateLimitExceededException("진행 중인 AI 일정 생성 작업이 너무 많습니다. 완료 후 다시 시도해주세요.", "user", 10);
+            }
+            if (cached != null) {
+                // 캐시 히트는 LLM 호출 없이 일정 저장과 완료된 작업 기록을 한 트랜잭션으로 끝낸다
+                AiScheduleResponse savedResponse = scheduleService.saveAiSchedule(cached, userId);
+                LocalDateTime now = LocalDateTime.now();
+                return aiScheduleJobRepository.save(AiScheduleJob.builder()
+                        .userId(userId)
+                        .status(Status.SUCCEEDED)
+                        .requestJson(requestJson)
+                        .resultJson(writeJson(savedResponse))
+                        .scheduleId(savedResponse.getSchedule() != null ? savedResponse.getSchedule().getId() : null)
+                        .startedAt(now)
+                        .finishedAt(now)
+                        .build());
+            }
+            return aiScheduleJobRepository.save(AiScheduleJob.builder()
+                    .userId(userId)
+                    .status(Status.QUEUED)
+                    .requestJson(requestJson)
+                    .build());
+        });
+        submitted.increment();
+        log.info("AI 일정 생성 작업 등록: jobId={}, userId={}, cached={}", job.getId(), userId, cached != null);
+        if (cached != null) {
+            completedInline.increment();
+            succeeded.increment();
+            return toResponse(job);
+        }
+        enqueue(job.getId());
+        return toResponse(job);
+    }
+
+    /**
+     * 작업 상태 조회 (본인 작업만)
+     */
+    public AiScheduleJobResponse getJob(Long jobId, Long userId) {
+        return toResponse(findOwnedJob(jobId, userId));
+    }
+
+    /**
+     * 작업 취소 (대기 중이면 실행되지 않고, 실행 중이면 LLM 요청을 중단하며 응답이 와도 저장하지 않음)
+     * 다른 노드에서 실행 중인 작업은 요청을 중단하지 못하고 결과만 버려진다.
+     */
+    public AiScheduleJobResponse cancel(Long jobId, Long userId) {
+        findOwnedJob(jobId, userId);
+        int updated = transactionTemplate.execute(status ->
+                aiScheduleJobRepository.finish(jobId, ACTIVE, Status.CANCELLED, null, LocalDateTime.now()));
+        if (updated == 0) {
+            throw new RuntimeException("이미 완료된 작업입니다.");
+        }
+        cancelled.increment();
+        CancellationScope scope = scopes.get(jobId);
+        if (scope != null) {
+            scope.cancel();
+        }
+        log.info("AI 일정 생성 작업 취소: jobId={}, 실행 중단={}", jobId, scope != null);
+        AiScheduleJobResponse response = toResponse(aiScheduleJobRepository.findById(jobId).orElseThrow());
+        notifyWatchers(response);
+        return response;
+    }
+
+    /**
+     * 작업 상태 SSE 구독 (현재 상태를 먼저 보내고, 완료되면 스트림을 닫는다)
+     * 스트리밍 중인 작업은 schedule 이벤트와 일정 항목마다 item 이벤트(id: 항목 순번)를 보낸다.
+     */
+    public SseEmitter subscribe(Long jobId, Long userId) {
+        findOwnedJob(jobId, userId);
+        SseEmitter emitter = newEmitter(sseTimeoutMillis);
+        SseWatcher watcher = new SseWatcher(emitter);
+        Runnable unwatch = () -> unwatch(jobId, watcher);
+        emitter.onCompletion(unwatch);
+        emitter.onTimeout(unwatch);
+        emitter.onError(error -> unwatch.run());
+
+        // 등록 전에 바뀐 상태를 놓치지 않도록 등록 후 현재 상태를 한 번 보낸다
+        PartialResult partial = partials.get(jobId);
+        if (partial == null) {
+            watch(jobId, watcher);
+            watcher.onStatus(toResponse(aiScheduleJobRepository.findById(jobId).orElseThrow()));
+        } else {
+            // 이미 받은 중간 결과를 대기열에 넣는 동안 새 항목 알림이 끼어들지 않게 한다 (잠금 안에서는 쓰지 않음)
+            synchronized (partial) {
+                watch(jobId, watcher);
+                watcher.onStatus(toResponse(aiScheduleJobRepository.findById(jobId).orElseThrow()));
+                if (partial.schedule != null) {
+                    watcher.onSchedule(partial.schedule);
+                }
+                for (int i = 0; i < partial.items.size(); i++) {
+                    watcher.onItem(i, partial.items.get(i));
+                }
+            }
+        }
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * 작업이 끝나면(성공/실패/취소) 한 번 호출 (동기 API를 요청 스레드 없이 기다리기 위함)
+     *
+     * @return 대기 해제 함수 (시간 초과 시 호출)
+     */
+    public Runnable onFinished(Long jobId, Consumer<AiScheduleJobResponse> callback) {
+        AtomicBoolean done = new AtomicBoolean();
+        List<JobWatcher> self = new ArrayList<>(1);
+        JobWatcher watcher = response -> {
+            if (Status.valueOf(response.getStatus()).isFinished() && done.compareAndSet(false, true)) {
+                unwatch(jobId, self.get(0));
+                callback.accept(response);
+            }
+        };
+        self.add(watcher);
+        watch(jobId, watcher);
+        watcher.onStatus(toResponse(aiScheduleJobRepository.findById(jobId).orElseThrow()));
+        return () -> unwatch(jobId, watcher);
+    }
+
+    /**
+     * 중단된 작업 복구: 오래 실행 중인 작업을 대기로 돌리고, 대기 작업 중 이 노드 실행기에 없는 것을 넣는다
+     * 여러 노드가 같은 작업을 넣어도 실행 직전의 조건부 UPDATE에서 하나만 실행된다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ai.jobs.recovery-interval-millis:60000}", initialDelayString = "${ai.jobs.recovery-interval-millis:60000}")
+    public void recover() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minusMinutes(staleAfterMinutes);
+            int exhausted = transactionTemplate.execute(status -> aiScheduleJobRepository.failExhausted(
+                    Status.RUNNING, Status.FAILED, "재시도 횟수를 초과했습니다.", staleBefore, maxAttempts, now));
+            int requeued = transactionTemplate.execute(status -> aiScheduleJobRepository.requeueStale(
+                    Status.RUNNING, Status.QUEUED, staleBefore, maxAttempts));
+            if (exhausted > 0 || requeued > 0) {
+                log.warn("중단된 AI 일정 생성 작업 복구: 재시도 {}건, 실패 처리 {}건", requeued, exhausted);
+            }
+
+            int capacity = executor.getQueue().remainingCapacity();
+            if (capacity <= 0) {
+                return;
+            }
+            List<Long> queuedIds = aiScheduleJobRepository.findIdsByStatus(Status.QUEUED, Limit.of(capacity));
+            for (Long jobId : queuedIds) {
+                if (enqueue(jobId)) {
+                    recovered.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("AI 일정 생성 작업 복구 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean enqueue(Long jobId) {
+        if (!enqueued.add(jobId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(jobId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // DB에는 QUEUED로 남으므로 다음 복구 때 다시 시도된다
+            enqueued.remove(jobId);
+            log.warn("AI 일정 생성 작업 대기열 가득 참: jobId={}", jobId);
+            return false;
+        }
+    }
+
+    private void run(Long jobId) {
+        // 실행 전환 전에 등록해 두어 전환 직후 들어온 취소도 놓치지 않는다
+        CancellationScope scope = new CancellationScope();
+        scopes.put(jobId, scope);
+        try {
+            int claimed = transactionTemplate.execute(status ->
+                    aiScheduleJobRepository.start(jobId, Status.QUEUED, Status.RUNNING, LocalDateTime.now()));
+            if (claimed == 0) {
+                return; // 취소되었거나 다른 노드가 실행 중
+            }
+            AiScheduleJob job = aiScheduleJobRepository.findById(jobId).orElseThrow();
+            notifyWatchers(toResponse(job));
+
+            long startTime = System.currentTimeMillis();
+            AiScheduleRequest request = objectMapper.readValue(job.getRequestJson(), AiScheduleRequest.class);
+            ItineraryStreamParser.Listener listener = streaming ? streamListener(jobId) : null;
+            AiScheduleResponse generated = scope.run(() -> aiScheduleGenerationService.generate(request, listener));
+
+            // 완료 표시와 일정 저장을 한 트랜잭션으로 묶어 취소된 작업의 결과가 저장되지 않게 한다
+            boolean saved = transactionTemplate.execute(status -> {
+                if (aiScheduleJobRepository.finish(jobId, Set.of(Status.RUNNING), Status.SUCCEEDED, null, LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                AiScheduleResponse savedResponse = scheduleService.saveAiSchedule(generated, job.getUserId());
+                aiScheduleJobRepository.saveResult(jobId, writeJson(savedResponse),
+                        savedResponse.getSchedule() != null ? savedResponse.getSchedule().getId() : null);
+                return true;
+            });
+            if (saved) {
+                succeeded.increment();
+                log.info("AI 일정 생성 작업 완료: jobId={}, {}ms", jobId, System.currentTimeMillis() - startTime);
+            } else {
+                log.info("취소된 AI 일정 생성 작업 결과 폐기: jobId={}", jobId);
+            }
+        } catch (Exception e) {
+            if (scope.isCancelled()) {
+                log.info("취소된 AI 일정 생성 작업 중단: jobId={}", jobId);
+                return;
+            }
+            log.error("AI 일정 생성 작업 실패: jobId={}, {}", jobId, e.getMessage());
+            failed.increment();
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            transactionTemplate.execute(status -> aiScheduleJobRepository.finish(jobId, Set.of(Status.RUNNING), Status.FAILED,
+                    message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                    LocalDateTime.now()));
+        } finally {
+            scopes.remove(jobId);
+            partials.remove(jobId);
+            enqueued.remove(jobId);
+            if (watchers.containsKey(jobId)) {
+                aiScheduleJobRepository.findById(jobId).ifPresent(job -> notifyWatchers(toResponse(job)));
+            }
+        }
+    }
+
+    /**
+     * 스트리밍 생성 리스너: 완성된 항목을 중간 결과에 쌓으면서 구독자에게 바로 보낸다
+     */
+    private ItineraryStreamParser.Listener streamListener(Long jobId) {
+        PartialResult partial = new PartialResult();
+        partials.put(jobId, partial);
+        return new ItineraryStreamParser.Listener() {
+            @Override
+            public void onSchedule(ScheduleDto schedule) {
+                synchronized (partial) {
+                    partial.schedule = schedule;
+                    forEachWatcher(jobId, watcher -> watcher.onSchedule(schedule));
+                }
+            }
+
+            @Override
+            public void onItem(ScheduleItemDto item) {
+                streamedItems.increment();
+                synchronized (partial) {
+                    int index = partial.items.size();
+                    partial.items.add(item);
+                    forEachWatcher(jobId, watcher -> watcher.onItem(index, item));
+                }
+            }
+        };
+    }
+
+    private AiScheduleJob findOwnedJob(Long jobId, Long userId) {
+        AiScheduleJob job = aiScheduleJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("작업을 찾을 수 없습니다."));
+        if (!job.getUserId().equals(userId)) {
+            throw new RuntimeException("작업을 찾을 수 없습니다.");
+        }
+        return job;
+    }
+
+    private void watch(Long jobId, JobWatcher watcher) {
+        watchers.computeIfAbsent(jobId, key -> ConcurrentHashMap.newKeySet()).add(watcher);
+    }
+
+    private void unwatch(Long jobId, JobWatcher watcher) {
+        watchers.computeIfPresent(jobId, (key, set) -> {
+            set.remove(watcher);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void notifyWatchers(AiScheduleJobResponse response) {
+        forEachWatcher(response.getJobId(), watcher -> watcher.onStatus(response));
+    }
+
+    private void forEachWatcher(Long jobId, Consumer<JobWatcher> action) {
+        Set<JobWatcher> jobWatchers = watchers.get(jobId);
+        if (jobWatchers == null) {
+            return;
+        }
+        for (JobWatcher watcher : jobWatchers) {
+            try {
+                action.accept(watcher);
+            } catch (RuntimeException e) {
+                log.warn("AI 일정 생성 작업 알림 실패: jobId={}, {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    private AiScheduleJobResponse toResponse(AiScheduleJob job) {
+        AiScheduleResponse result = null;
+        if (job.getResultJson() != null) {
+            try {
+                result = objectMapper.readValue(job.getResultJson(), AiScheduleResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("AI 일정 생성 결과 파싱 실패: jobId={}", job.getId());
+            }
+        }
+        return AiScheduleJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus().name())
+                .scheduleId(job.getScheduleId())
+                .result(result)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private String writeJson(AiScheduleResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("AI 일정 생성 결과를 저장할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 작업 알림 구독자 (상태 변경은 필수, 스트리밍 중간 결과는 필요한 구독자만 받는다)
+     */
+    @FunctionalInterface
+    private interface JobWatcher {
+        void onStatus(AiScheduleJobResponse response);
+
+        default void onSchedule(ScheduleDto schedule) {
+        }
+
+        default void onItem(int index, ScheduleItemDto item) {
+        }
+    }
+
+    /**
+     * SSE 구독자: 알림은 대기열에 넣기만 하고, 전송은 SSE 전송 스레드에서 순서대로 한다
+     * 생성 스레드(중간 결과 잠금을 쥔 채 알림)와 요청 스레드는 소켓 쓰기를 기다리지 않는다.
+     * 작업 하나의 이벤트는 상태 몇 개와 일정 항목 수만큼이므로 대기열 길이는 따로 제한하지 않는다.
+     */
+    private final class SseWatcher implements JobWatcher {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> events = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // 완료 상태를 넣은 뒤 true, 대기열을 다 보내면 스트림을 닫는다
+        private volatile boolean finished;
+        private volatile boolean closed;
+
+        SseWatcher(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onStatus(AiScheduleJobResponse response) {
+            enqueue(SseEmitter.event().name("status").data(response));
+            if (Status.valueOf(response.getStatus()).isFinished()) {
+                finished = true;
+                schedule();
+            }
+        }
+
+        @Override
+        public void onSchedule(ScheduleDto schedule) {
+            enqueue(SseEmitter.event().name("schedule").data(schedule));
+        }
+
+        @Override
+        public void onItem(int index, ScheduleItemDto item) {
+            enqueue(SseEmitter.event().id(String.valueOf(index)).name("item").data(item));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            events.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sseExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                draining.set(false);
+                close(e);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = events.poll()) != null) {
+                    emitter.send(event);
+                    sseSent.increment();
+                }
+                if (finished && !closed && events.isEmpty()) {
+                    closed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            } finally {
+                draining.set(false);
+            }
+            // 보내는 동안 들어온 알림이 있으면 이어서 보낸다
+            if (!closed && (!events.isEmpty() || finished)) {
+                schedule();
+            }
+        }
+
+        private void close(Exception cause) {
+            closed = true;
+            events.clear();
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private static final class PartialResult {
+        private ScheduleDto schedule;
+        private final List<ScheduleItemDto> items = new ArrayList<>();
+    }
+
+    @Override
+    public String getStatsName() {
+        return "ai-schedule-jobs";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("runningThreads", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemaining", executor.getQueue().remainingCapacity());
+        stats.put("submitted", submitted.sum());
+        stats.put("succeeded", succeeded.sum());
+        stats.put("failed", failed.sum());
+        stats.put("cancelled", cancelled.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("recovered", recovered.sum());
+        stats.put("watchedJobs", watchers.size());
+        stats.put("streaming", streaming);
+        stats.put("streamingJobs", partials.size());
+        stats.put("streamedItems", streamedItems.sum());
+        stats.put("completedInline", completedInline.sum());
+        stats.put("sseSent", sseSent.sum());
+        stats.put("sseSenderThreads", sseExecutor.getActiveCount());
+        return stats;
+    }
+}
@@ -1,6 +1,9 @@
 package com.tripgg.schedule.service;
 
+import com.tripgg.common.dto.CursorPage;
 import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.PlaceDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
 import com.tripgg.schedule.entity.Schedule;
 import com.tripgg.schedule.entity.ScheduleItem;
 import com.tripgg.schedule.repository.ScheduleItemRepository;
@@ -14,13 +17,17 @@ import com.tripgg.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -54,9 +61,10 @@ public class ScheduleService {
         return scheduleRepository.findById(id);
     }
     
-    // 전체 일정 조회
-    public List<Schedule> getAllSchedules() {
-        return scheduleRepository.findAll();
+    // 일정 목록 조회 (id 커서 기반)
+    public CursorPage<Schedule> getSchedules(Integer after, int limit) {
+        List<Schedule> fetched = scheduleRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Schedule::getId);
     }
     
     // 사용자별 일정 목록 조회
@@ -122,12 +130,29 @@ public class ScheduleService {
         
         Schedule savedSchedule = scheduleRepository.save(schedule);
         log.info("AI 일정 저장 완료: scheduleId={}, title={}", savedSchedule.getId(), savedSchedule.getTitle());
+        aiResponse.getSchedule().setId(savedSchedule.getId()); // LLM이 채운 임시 id 대신 저장된 id
+        
+        // 일정 전체 장소를 한 번에 저장/조회
+        List<ScheduleItemDto> itemDtos = aiResponse.getScheduleItems() != null ? aiResponse.getScheduleItems() : List.of();
+        List<ScheduleItemDto> itemsWithPlace = itemDtos.stream()
+                .filter(itemDto -> itemDto.getPlace() != null && itemDto.getPlace().getName() != null)
+                .collect(Collectors.toList());
+        List<SchedulePlaces> resolvedPlaces = placeService.upsertPlaces(itemsWithPlace.stream()
+                .map(itemDto -> toSchedulePlace(itemDto.getPlace()))
+                .collect(Collectors.toList()));
+        Map<ScheduleItemDto, SchedulePlaces> placeByItem = new IdentityHashMap<>();
+        for (int i = 0; i < itemsWithPlace.size(); i++) {
+            SchedulePlaces place = resolvedPlaces.get(i);
+            placeByItem.put(itemsWithPlace.get(i), place);
+            itemsWithPlace.get(i).setPlaceId(place.getId());
+            itemsWithPlace.get(i).getPlace().setId(place.getId());
+        }
         
         // ScheduleItems 저장
-        for (var itemDto : aiResponse.getScheduleItems()) {
+        for (var itemDto : itemDtos) {
             ScheduleItem scheduleItem = ScheduleItem.builder()
                     .schedule(savedSchedule)
-                    .schedulePlaces(null) // 일단 null로 설정
+                    .schedulePlaces(placeByItem.get(itemDto))
                     .day(itemDto.getDay())
                     .orderInDay(itemDto.getOrderInDay())
                     .memo(itemDto.getMemo())
@@ -148,17 +173,9 @@ public class ScheduleService {
         return aiResponse;
     }
     
-    // SchedulePlaces 저장 또는 조회
-    private SchedulePlaces saveOrGetPlace(com.tripgg.schedule.dto.PlaceDto placeDto) {
-        // 같은 이름과 주소의 장소가 있는지 확인
-        Optional<SchedulePlaces> existingPlace = placeService.findByNameAndAddress(placeDto.getName(), placeDto.getAddress());
-        
-        if (existingPlace.isPresent()) {
-            return existingPlace.get();
-        }
-        
-        // 새로운 장소 저장
-        SchedulePlaces newPlace = SchedulePlaces.builder()
+    // PlaceDto를 저장 전 SchedulePlaces로 변환
+    private SchedulePlaces toSchedulePlace(PlaceDto placeDto) {
+        return SchedulePlaces.builder()
                 .name(placeDto.getName())
                 .category(placeDto.getCategory())
                 .description(placeDto.getDescription())
@@ -166,8 +183,6 @@ public class ScheduleService {
                 .latitude(placeDto.getLatitude())
                 .longitude(placeDto.getLongitude())
                 .build();
-        
-        return placeService.savePlace(newPlace);
     }
     
     // 날짜 문자열을 LocalDateTime으로 변환
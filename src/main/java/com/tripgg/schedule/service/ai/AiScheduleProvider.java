@@ -0,0 +1,23 @@
+package com.tripgg.schedule.service.ai;
+
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+
+/**
+ * AI 일정 생성 LLM 제공자 (GPT, Gemini)
+ * 실패 시 RuntimeException을 던진다.
+ */
+public interface AiScheduleProvider {
+
+    /**
+     * 제공자 이름 (설정 ai.providers.primary/secondary에서 사용)
+     */
+    String getName();
+
+    AiScheduleResponse generateSchedule(AiScheduleRequest request);
+
+    /**
+     * 스트리밍 생성 (완성된 schedule과 일정 항목마다 listener 호출)
+     */
+    AiScheduleResponse streamSchedule(AiScheduleRequest request, ItineraryStreamParser.Listener listener);
+}
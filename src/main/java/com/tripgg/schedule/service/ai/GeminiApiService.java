@@ -1,10 +1,13 @@
 package com.tripgg.schedule.service.ai;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.util.CancellationScope;
 import com.tripgg.schedule.dto.AiScheduleRequest;
 import com.tripgg.schedule.dto.AiScheduleResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
@@ -17,10 +20,12 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class GeminiApiService {
+public class GeminiApiService implements AiScheduleProvider {
 
+    @Qualifier("geminiRestTemplate")
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ItineraryPromptTemplates promptTemplates;
 
     @Value("${gemini.api.key}")
     private String apiKey;
@@ -28,9 +33,18 @@ public class GeminiApiService {
     @Value("${gemini.api.url}")
     private String apiUrl;
 
+    @Value("${gemini.api.stream-url:}")
+    private String streamUrl;
+
+    @Override
+    public String getName() {
+        return "gemini";
+    }
+
+    @Override
     public AiScheduleResponse generateSchedule(AiScheduleRequest request) {
         try {
-            String prompt = buildPrompt(request);
+            String prompt = promptTemplates.renderUserPrompt(request);
 
             Map<String, Object> geminiRequest = new HashMap<>();
             geminiRequest.put("contents", List.of(
@@ -70,16 +84,73 @@ public class GeminiApiService {
             throw new RuntimeException("Gemini API 응답을 처리할 수 없습니다.");
 
         } catch (Exception e) {
+            if (isCancelled()) {
+                throw new RuntimeException("Gemini API 요청이 취소되었습니다.");
+            }
             log.error("Gemini API 호출 중 오류 발생", e);
             throw new RuntimeException("AI 일정 생성 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
-    private String buildPrompt(AiScheduleRequest request) {
-        // GptApiService의 buildPrompt와 동일하게 구현
-        // 필요시 Gemini에 맞게 프롬프트 조정
-        // 예시로 GptApiService의 메서드를 복사해서 사용하거나, 공통 유틸로 분리 가능
-        // 아래는 간단히 GptApiService의 프롬프트 생성 로직을 호출한다고 가정
-        return new GptApiService(restTemplate, objectMapper).buildPrompt(request);
+    /**
+     * 스트리밍 모드로 일정 생성 (streamGenerateContent?alt=sse)
+     * 토큰이 도착하는 대로 파싱하여 schedule과 각 일정 항목이 완성될 때마다 listener에 넘기고, 끝나면 전체 결과를 반환한다.
+     */
+    @Override
+    public AiScheduleResponse streamSchedule(AiScheduleRequest request, ItineraryStreamParser.Listener listener) {
+        try {
+            Map<String, Object> geminiRequest = Map.of("contents", List.of(
+                    Map.of("role", "user", "parts", List.of(Map.of("text", promptTemplates.renderUserPrompt(request))))
+            ));
+            byte[] body = objectMapper.writeValueAsBytes(geminiRequest);
+            ItineraryStreamParser parser = new ItineraryStreamParser(objectMapper, listener);
+
+            restTemplate.execute(resolveStreamUrl(), HttpMethod.POST, httpRequest -> {
+                HttpHeaders headers = httpRequest.getHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                headers.set("x-goog-api-key", apiKey);
+                httpRequest.getBody().write(body);
+            }, response -> {
+                // 각 이벤트: {"candidates":[{"content":{"parts":[{"text":"..."}]}}]}
+                SseDataReader.read(response.getBody(), data -> {
+                    for (JsonNode part : objectMapper.readTree(data).path("candidates").path(0).path("content").path("parts")) {
+                        JsonNode text = part.path("text");
+                        if (text.isTextual()) {
+                            parser.feed(text.asText());
+                        }
+                    }
+                });
+                return null;
+            });
+
+            return parser.finish();
+
+        } catch (Exception e) {
+            if (isCancelled()) {
+                throw new RuntimeException("Gemini API 요청이 취소되었습니다.");
+            }
+            log.error("Gemini API 스트리밍 호출 중 오류 발생", e);
+            throw new RuntimeException("AI 일정 생성 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    private static boolean isCancelled() {
+        CancellationScope scope = CancellationScope.current();
+        return scope != null && scope.isCancelled();
+    }
+
+    /**
+     * 스트리밍 URL (설정이 없으면 generateContent URL에서 만든다)
+     */
+    private String resolveStreamUrl() {
+        if (streamUrl != null && !streamUrl.isBlank()) {
+            return streamUrl;
+        }
+        if (!apiUrl.contains(":generateContent")) {
+            throw new IllegalStateException("gemini.api.stream-url 설정이 필요합니다.");
+        }
+        return apiUrl.replace(":generateContent", ":streamGenerateContent")
+                + (apiUrl.contains("?") ? "&" : "?") + "alt=sse";
     }
-}
\ No newline at end of file
+}
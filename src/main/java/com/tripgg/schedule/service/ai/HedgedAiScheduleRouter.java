@@ -0,0 +1,427 @@
+package com.tripgg.schedule.service.ai;
+
+import com.tripgg.common.metrics.StatsProvider;
+import com.tripgg.common.util.CancellationScope;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * GPT/Gemini 헤지 요청 라우터
+ * 주 제공자에 먼저 요청하고, 주 제공자의 최근 p90 지연 시간이 지나도 응답이 없으면 보조 제공자에도 요청한다.
+ * 먼저 도착한 올바른 결과를 쓰고 나머지 요청은 HTTP 연결째 중단한다.
+ * 스트리밍은 먼저 schedule/항목을 내보낸 쪽이 스트림을 차지하며, 그 시점에 나머지 요청을 중단한다.
+ * 연속 실패가 failure-threshold 이상인 제공자는 cooldown 동안 건너뛰어 보조 제공자로 자동 전환된다.
+ * 호출 스레드의 취소 범위(작업 취소 등)가 취소되면 진행 중인 요청을 모두 중단하고 다른 제공자로 넘기지 않는다.
+ */
+@Slf4j
+@Service
+public class HedgedAiScheduleRouter implements StatsProvider {
+
+    private final Map<String, ProviderState> providers;
+    private final String primaryName;
+    private final String secondaryName;
+    private final boolean hedgingEnabled;
+    private final long minHedgeDelayMillis;
+    private final long initialHedgeDelayMillis;
+    private final int minSamples;
+    private final int failureThreshold;
+    private final long cooldownMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    public HedgedAiScheduleRouter(List<AiScheduleProvider> providerList,
+                                  @Value("${ai.providers.primary:gpt}") String primaryName,
+                                  @Value("${ai.providers.secondary:gemini}") String secondaryName,
+                                  @Value("${ai.providers.hedging.enabled:true}") boolean hedgingEnabled,
+                                  @Value("${ai.providers.hedging.min-delay-millis:2000}") long minHedgeDelayMillis,
+                                  @Value("${ai.providers.hedging.initial-delay-millis:10000}") long initialHedgeDelayMillis,
+                                  @Value("${ai.providers.hedging.min-samples:10}") int minSamples,
+                                  @Value("${ai.providers.latency-window:100}") int latencyWindow,
+                                  @Value("${ai.providers.failure-threshold:3}") int failureThreshold,
+                                  @Value("${ai.providers.cooldown-seconds:30}") long cooldownSeconds,
+                                  @Value("${ai.providers.threads:8}") int threads) {
+        this.providers = providerList.stream().collect(Collectors.toMap(
+                AiScheduleProvider::getName, provider -> new ProviderState(provider, latencyWindow),
+                (first, second) -> first, LinkedHashMap::new));
+        if (!providers.containsKey(primaryName)) {
+            throw new IllegalStateException("알 수 없는 AI 제공자: " + primaryName);
+        }
+        this.primaryName = primaryName;
+        this.secondaryName = providers.containsKey(secondaryName) && !secondaryName.equals(primaryName) ? secondaryName : null;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+        this.initialHedgeDelayMillis = initialHedgeDelayMillis;
+        this.minSamples = minSamples;
+        this.failureThreshold = failureThreshold;
+        this.cooldownMillis = TimeUnit.SECONDS.toMillis(cooldownSeconds);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-provider-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("AI 제공자 라우터: primary={}, secondary={}, hedging={}", primaryName, this.secondaryName, hedgingEnabled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public AiScheduleResponse generateSchedule(AiScheduleRequest request) {
+        return route(request, null);
+    }
+
+    public AiScheduleResponse streamSchedule(AiScheduleRequest request, ItineraryStreamParser.Listener listener) {
+        return route(request, listener);
+    }
+
+    private AiScheduleResponse route(AiScheduleRequest request, ItineraryStreamParser.Listener listener) {
+        requests.increment();
+        List<ProviderState> order = order();
+        Race race = new Race(listener);
+        // 요청은 실행기 스레드에서 나가므로 호출 측 취소 범위를 경쟁 전체에 연결한다
+        CancellationScope caller = CancellationScope.current();
+        if (caller != null) {
+            caller.onCancel(race::cancelAll);
+            if (caller.isCancelled()) {
+                throw new RuntimeException("AI 일정 생성이 취소되었습니다.");
+            }
+        }
+
+        launch(race, order.get(0), request);
+        int launched = 1;
+        int failures = 0;
+        RuntimeException firstError = null;
+        long hedgeDelay = hedgeDelayMillis(order.get(0), listener != null);
+
+        while (true) {
+            boolean canHedge = launched < order.size() && race.streamOwner.get() == null;
+            Outcome outcome;
+            try {
+                outcome = canHedge && hedgingEnabled
+                        ? race.outcomes.poll(hedgeDelay, TimeUnit.MILLISECONDS)
+                        : race.outcomes.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                race.cancelAll();
+                throw new RuntimeException("AI 일정 생성이 중단되었습니다.");
+            }
+
+            if (caller != null && caller.isCancelled()) {
+                race.cancelAll();
+                throw new RuntimeException("AI 일정 생성이 취소되었습니다.");
+            }
+            if (outcome == null) {
+                // 주 제공자가 p90 안에 끝나지 않음 → 보조 제공자에도 요청
+                hedged.increment();
+                order.get(0).hedgedAgainst.increment();
+                launch(race, order.get(launched++), request);
+                continue;
+            }
+            if (outcome.response != null && race.accepts(outcome.attempt)) {
+                race.cancelOthers(outcome.attempt);
+                outcome.attempt.state.wins.increment();
+                return outcome.response;
+            }
+
+            failures++;
+            if (firstError == null && outcome.error != null && !outcome.attempt.scope.isCancelled()) {
+                firstError = outcome.error;
+            }
+            if (race.streamOwner.get() == outcome.attempt) {
+                // 스트림을 차지한 쪽이 실패하면 이미 내보낸 항목과 섞일 수 있으므로 다른 제공자로 넘기지 않는다
+                race.cancelAll();
+                throw firstError != null ? firstError : new RuntimeException("AI 일정 생성에 실패했습니다.");
+            }
+            if (launched < order.size() && race.streamOwner.get() == null) {
+                failovers.increment();
+                log.warn("AI 제공자 실패로 전환: {} -> {}", outcome.attempt.state.provider.getName(), order.get(launched).provider.getName());
+                launch(race, order.get(launched++), request);
+                continue;
+            }
+            if (failures >= launched) {
+                throw firstError != null ? firstError : new RuntimeException("AI 일정 생성에 실패했습니다.");
+            }
+        }
+    }
+
+    /**
+     * 요청 순서: 설정된 주 제공자가 차단 중이면 보조 제공자를 먼저 쓴다 (둘 다 차단이면 설정 순서 그대로)
+     */
+    private List<ProviderState> order() {
+        ProviderState primary = providers.get(primaryName);
+        ProviderState secondary = secondaryName != null ? providers.get(secondaryName) : null;
+        List<ProviderState> order = new ArrayList<>(2);
+        long now = System.currentTimeMillis();
+        if (secondary != null && primary.isOpen(now) && !secondary.isOpen(now)) {
+            order.add(secondary);
+            order.add(primary);
+        } else {
+            order.add(primary);
+            if (secondary != null) {
+                order.add(secondary);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 헤지 대기 시간: 주 제공자의 최근 p90 (스트리밍이면 첫 출력까지의 p90), 표본이 적으면 초기값
+     */
+    private long hedgeDelayMillis(ProviderState state, boolean streaming) {
+        LatencyWindow window = streaming ? state.firstOutputLatency : state.latency;
+        long p90 = window.percentile(0.9, minSamples);
+        return Math.max(minHedgeDelayMillis, p90 >= 0 ? p90 : initialHedgeDelayMillis);
+    }
+
+    private void launch(Race race, ProviderState state, AiScheduleRequest request) {
+        Attempt attempt = new Attempt(state);
+        race.attempts.add(attempt);
+        state.calls.increment();
+        try {
+            executor.execute(() -> attempt.scope.run(() -> {
+                race.outcomes.add(call(race, attempt, request));
+                return null;
+            }));
+        } catch (RejectedExecutionException e) {
+            race.outcomes.add(new Outcome(attempt, null, new RuntimeException("AI 제공자 호출 대기열이 가득 찼습니다.")));
+        }
+    }
+
+    private Outcome call(Race race, Attempt attempt, AiScheduleRequest request) {
+        ProviderState state = attempt.state;
+        long startTime = System.currentTimeMillis();
+        try {
+            AiScheduleResponse response = race.listener == null
+                    ? state.provider.generateSchedule(request)
+                    : state.provider.streamSchedule(request, race.listenerFor(attempt, startTime));
+            if (response == null || response.getSchedule() == null
+                    || response.getScheduleItems() == null || response.getScheduleItems().isEmpty()) {
+                throw new RuntimeException(state.provider.getName() + " 응답에 일정이 없습니다.");
+            }
+            state.latency.record(System.currentTimeMillis() - startTime);
+            state.recordSuccess();
+            return new Outcome(attempt, response, null);
+        } catch (RuntimeException e) {
+            if (attempt.scope.isCancelled()) {
+                state.cancelled.increment();
+            } else {
+                state.recordFailure(System.currentTimeMillis(), failureThreshold, cooldownMillis);
+                log.warn("AI 제공자 호출 실패: provider={}, {}ms, {}", state.provider.getName(),
+                        System.currentTimeMillis() - startTime, e.getMessage());
+            }
+            return new Outcome(attempt, null, e);
+        }
+    }
+
+    /**
+     * 한 번의 생성 요청에 대한 제공자 간 경쟁
+     */
+    private static final class Race {
+        private final ItineraryStreamParser.Listener listener;
+        private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Attempt> streamOwner = new AtomicReference<>();
+
+        Race(ItineraryStreamParser.Listener listener) {
+            this.listener = listener;
+        }
+
+        boolean accepts(Attempt attempt) {
+            Attempt owner = streamOwner.get();
+            return owner == null || owner == attempt;
+        }
+
+        /**
+         * 처음 출력을 낸 시도가 스트림을 차지하고, 나머지 시도는 중단한다
+         */
+        boolean claim(Attempt attempt, long startTime) {
+            if (streamOwner.compareAndSet(null, attempt)) {
+                attempt.state.firstOutputLatency.record(System.currentTimeMillis() - startTime);
+                cancelOthers(attempt);
+            }
+            return streamOwner.get() == attempt;
+        }
+
+        ItineraryStreamParser.Listener listenerFor(Attempt attempt, long startTime) {
+            return new ItineraryStreamParser.Listener() {
+                @Override
+                public void onSchedule(ScheduleDto schedule) {
+                    if (claim(attempt, startTime)) {
+                        listener.onSchedule(schedule);
+                    }
+                }
+
+                @Override
+                public void onItem(ScheduleItemDto item) {
+                    if (claim(attempt, startTime)) {
+                        listener.onItem(item);
+                    }
+                }
+            };
+        }
+
+        void cancelOthers(Attempt winner) {
+            for (Attempt attempt : attempts) {
+                if (attempt != winner) {
+                    attempt.scope.cancel();
+                }
+            }
+        }
+
+        void cancelAll() {
+            attempts.forEach(attempt -> attempt.scope.cancel());
+        }
+    }
+
+    private static final class Attempt {
+        private final ProviderState state;
+        private final CancellationScope scope = new CancellationScope();
+
+        Attempt(ProviderState state) {
+            this.state = state;
+        }
+    }
+
+    private record Outcome(Attempt attempt, AiScheduleResponse response, RuntimeException error) {
+    }
+
+    /**
+     * 제공자별 지연 시간/오류 상태
+     */
+    private static final class ProviderState {
+        private final AiScheduleProvider provider;
+        private final LatencyWindow latency;
+        private final LatencyWindow firstOutputLatency;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder hedgedAgainst = new LongAdder();
+
+        private int consecutiveFailures;
+        private long openUntil;
+
+        ProviderState(AiScheduleProvider provider, int latencyWindow) {
+            this.provider = provider;
+            this.latency = new LatencyWindow(latencyWindow);
+            this.firstOutputLatency = new LatencyWindow(latencyWindow);
+        }
+
+        synchronized void recordSuccess() {
+            successes.increment();
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+
+        synchronized void recordFailure(long now, int threshold, long cooldownMillis) {
+            failures.increment();
+            if (++consecutiveFailures >= threshold) {
+                openUntil = now + cooldownMillis;
+            }
+        }
+
+        synchronized boolean isOpen(long now) {
+            return now < openUntil;
+        }
+
+        Map<String, Object> stats() {
+            long now = System.currentTimeMillis();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("calls", calls.sum());
+            stats.put("successes", successes.sum());
+            stats.put("failures", failures.sum());
+            stats.put("cancelled", cancelled.sum());
+            stats.put("wins", wins.sum());
+            stats.put("hedgedAgainst", hedgedAgainst.sum());
+            stats.put("open", isOpen(now));
+            stats.put("latencyP50Millis", latency.percentile(0.5, 1));
+            stats.put("latencyP90Millis", latency.percentile(0.9, 1));
+            stats.put("firstOutputP90Millis", firstOutputLatency.percentile(0.9, 1));
+            return stats;
+        }
+    }
+
+    /**
+     * 최근 N개 성공 호출의 지연 시간 (원형 버퍼)
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[Math.max(capacity, 1)];
+        }
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /**
+         * 백분위 지연 시간 (표본이 minSamples보다 적으면 -1)
+         */
+        synchronized long percentile(double quantile, int minSamples) {
+            if (size == 0 || size < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+        }
+    }
+
+    @Override
+    public String getStatsName() {
+        return "ai-providers";
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primary", primaryName);
+        stats.put("secondary", secondaryName);
+        stats.put("hedging", hedgingEnabled);
+        stats.put("requests", requests.sum());
+        stats.put("hedged", hedged.sum());
+        stats.put("failovers", failovers.sum());
+        stats.put("activeCalls", executor.getActiveCount());
+        stats.put("providers", providers.values().stream().collect(Collectors.toMap(
+                state -> state.provider.getName(), ProviderState::stats, (first, second) -> first, LinkedHashMap::new)));
+        return stats;
+    }
+}
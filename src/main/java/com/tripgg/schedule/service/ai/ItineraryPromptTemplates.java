@@ -0,0 +1,234 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AI 일정 생성 프롬프트 템플릿
+ * 기동 시 prompts/itinerary.json(언어별 라벨/시스템 프롬프트/값 변환표)과 prompts/itinerary-user.txt를 한 번 읽어
+ * 언어별로 고정 문구를 미리 채운 템플릿으로 컴파일한다. 요청마다 요청 값 자리만 채워 결과 문자열을 한 번에 만든다.
+ * 등록되지 않은 언어는 기본 언어 템플릿을 쓰고, 변환표에 없는 값은 그대로 넣는다.
+ */
+@Slf4j
+@Component
+public class ItineraryPromptTemplates {
+
+    private static final String DEFINITIONS = "prompts/itinerary.json";
+    private static final String USER_TEMPLATE = "prompts/itinerary-user.txt";
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String LABEL_PREFIX = "label.";
+
+    /**
+     * 요청마다 채우는 자리
+     */
+    private enum Slot {
+        TITLE("title"), DESCRIPTION("description"), START_DATE("startDate"), END_DATE("endDate"),
+        REGION("region"), KEYWORDS("keywords"), COMPANION("companion"), TRANSPORTATION("transportation"),
+        TRAVEL_STYLE("travelStyle"), LANGUAGE("language"), USER_ID("userId"), CREATED_AT("createdAt");
+
+        private final String key;
+
+        Slot(String key) {
+            this.key = key;
+        }
+
+        static Slot of(String key) {
+            for (Slot slot : values()) {
+                if (slot.key.equals(key)) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final Slot[] SLOTS = Slot.values();
+
+    private final Map<String, LanguagePack> packs;
+    private final LanguagePack defaultPack;
+
+    public ItineraryPromptTemplates(ObjectMapper objectMapper) {
+        JsonNode definitions;
+        String userTemplate;
+        try (InputStream definitionStream = new ClassPathResource(DEFINITIONS).getInputStream();
+             InputStream templateStream = new ClassPathResource(USER_TEMPLATE).getInputStream()) {
+            definitions = objectMapper.readTree(definitionStream);
+            userTemplate = new String(templateStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("프롬프트 템플릿을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+
+        JsonNode valueTables = definitions.path("values");
+        Map<String, LanguagePack> loaded = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> languages = definitions.path("languages").fields();
+        while (languages.hasNext()) {
+            Map.Entry<String, JsonNode> entry = languages.next();
+            loaded.put(entry.getKey(), new LanguagePack(entry.getKey(), entry.getValue(), valueTables, userTemplate));
+        }
+        this.packs = Map.copyOf(loaded);
+        this.defaultPack = packs.get(definitions.path("defaultLanguage").asText());
+        if (defaultPack == null) {
+            throw new IllegalStateException("프롬프트 기본 언어 정의가 없습니다.");
+        }
+        log.info("프롬프트 템플릿 로드: 언어 {}개, 기본 언어={}", packs.size(), defaultPack.language);
+    }
+
+    /**
+     * 사용자 프롬프트 생성
+     */
+    public String renderUserPrompt(AiScheduleRequest request) {
+        String language = request.getLanguage();
+        LanguagePack pack = language != null ? packs.getOrDefault(language, defaultPack) : defaultPack;
+
+        String[] values = new String[SLOTS.length];
+        values[Slot.TITLE.ordinal()] = String.valueOf(request.getTitle());
+        values[Slot.DESCRIPTION.ordinal()] = String.valueOf(request.getDescription());
+        values[Slot.START_DATE.ordinal()] = String.valueOf(request.getStartDate());
+        values[Slot.END_DATE.ordinal()] = String.valueOf(request.getEndDate());
+        values[Slot.REGION.ordinal()] = lookup(pack.regions, request.getRegion());
+        values[Slot.KEYWORDS.ordinal()] = joinKeywords(pack, request.getKeywords());
+        values[Slot.COMPANION.ordinal()] = lookup(pack.companions, request.getCompanion());
+        values[Slot.TRANSPORTATION.ordinal()] = lookup(pack.transportations, request.getTransportation());
+        values[Slot.TRAVEL_STYLE.ordinal()] = lookup(pack.travelStyles, request.getTravelStyle());
+        // 등록되지 않은 언어는 템플릿은 기본 언어를 쓰되 언어 이름은 요청 값 그대로 둔다
+        values[Slot.LANGUAGE.ordinal()] = pack.language.equals(language) ? pack.name : String.valueOf(language);
+        values[Slot.USER_ID.ordinal()] = String.valueOf(request.getUserId());
+        values[Slot.CREATED_AT.ordinal()] = LocalDateTime.now().toString();
+
+        // String.join은 전체 길이와 인코딩을 먼저 계산해 결과 배열을 한 번만 할당한다
+        // (StringBuilder는 한글이 들어오는 순간 UTF-16으로 다시 할당하고 toString에서 한 번 더 복사한다)
+        String[] parts = new String[pack.literals.length + pack.slots.length];
+        for (int i = 0; i < pack.slots.length; i++) {
+            parts[2 * i] = pack.literals[i];
+            parts[2 * i + 1] = values[pack.slots[i].ordinal()];
+        }
+        parts[parts.length - 1] = pack.literals[pack.slots.length];
+        return String.join("", parts);
+    }
+
+    /**
+     * 언어별 시스템 프롬프트
+     */
+    public String systemPrompt(String language) {
+        return (language != null ? packs.getOrDefault(language, defaultPack) : defaultPack).systemPrompt;
+    }
+
+    private static String lookup(Map<String, String> table, String value) {
+        return value != null ? table.getOrDefault(value, value) : "null";
+    }
+
+    private static String joinKeywords(LanguagePack pack, List<String> keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return "";
+        }
+        if (keywords.size() == 1) {
+            return lookup(pack.keywords, keywords.get(0));
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String keyword : keywords) {
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(lookup(pack.keywords, keyword));
+        }
+        return joined.toString();
+    }
+
+    /**
+     * 한 언어의 컴파일된 템플릿과 변환표
+     * literals[i] 다음에 slots[i] 값이 오고, 마지막은 literals[slots.length]로 끝난다.
+     */
+    private static final class LanguagePack {
+        private final String language;
+        private final String name;
+        private final String systemPrompt;
+        private final String[] literals;
+        private final Slot[] slots;
+        private final Map<String, String> regions;
+        private final Map<String, String> keywords;
+        private final Map<String, String> companions;
+        private final Map<String, String> transportations;
+        private final Map<String, String> travelStyles;
+
+        LanguagePack(String language, JsonNode definition, JsonNode valueTables, String userTemplate) {
+            this.language = language;
+            this.name = definition.path("name").asText(language);
+            this.systemPrompt = definition.path("system").asText();
+            this.regions = table(valueTables.path("region"), language);
+            this.keywords = table(valueTables.path("keyword"), language);
+            this.companions = table(valueTables.path("companion"), language);
+            this.transportations = table(valueTables.path("transportation"), language);
+            this.travelStyles = table(valueTables.path("travelStyle"), language);
+
+            // 언어별 고정 문구(intro, label.*)는 여기서 채워 인접한 리터럴과 합친다
+            List<String> literalList = new ArrayList<>();
+            List<Slot> slotList = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int position = 0;
+            while (true) {
+                int open = userTemplate.indexOf(OPEN, position);
+                if (open < 0) {
+                    literal.append(userTemplate, position, userTemplate.length());
+                    break;
+                }
+                int close = userTemplate.indexOf(CLOSE, open);
+                if (close < 0) {
+                    throw new IllegalStateException("프롬프트 템플릿 자리 표시가 닫히지 않았습니다: " + open);
+                }
+                literal.append(userTemplate, position, open);
+                String key = userTemplate.substring(open + OPEN.length(), close).trim();
+                Slot slot = Slot.of(key);
+                if (slot != null) {
+                    literalList.add(literal.toString());
+                    literal.setLength(0);
+                    slotList.add(slot);
+                } else {
+                    literal.append(staticText(definition, key));
+                }
+                position = close + CLOSE.length();
+            }
+            literalList.add(literal.toString());
+
+            this.literals = literalList.toArray(new String[0]);
+            this.slots = slotList.toArray(new Slot[0]);
+        }
+
+        private String staticText(JsonNode definition, String key) {
+            JsonNode text = key.startsWith(LABEL_PREFIX)
+                    ? definition.path("labels").path(key.substring(LABEL_PREFIX.length()))
+                    : definition.path(key);
+            if (!text.isTextual()) {
+                throw new IllegalStateException("프롬프트 템플릿에 정의되지 않은 자리 표시: " + key + " (" + language + ")");
+            }
+            return text.asText();
+        }
+
+        private static Map<String, String> table(JsonNode values, String language) {
+            Map<String, String> table = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> entries = values.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                JsonNode text = entry.getValue().path(language);
+                if (text.isTextual()) {
+                    table.put(entry.getKey(), text.asText());
+                }
+            }
+            return Map.copyOf(table);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LLM 스트리밍 응답의 점진적 JSON 파서
+ * 텍스트 조각을 받는 대로 Jackson 논블로킹 파서에 넣고, schedule 객체와 scheduleItems 배열의 각 항목이
+ * 완성되는 즉시 리스너에 넘긴다. 최상위 JSON 앞뒤의 텍스트(```json 코드 블록 표시 등)는 무시한다.
+ * 한 응답에 하나씩 만들어 쓰며 스레드 안전하지 않다.
+ */
+public class ItineraryStreamParser {
+
+    private static final String SCHEDULE_FIELD = "schedule";
+    private static final String ITEMS_FIELD = "scheduleItems";
+
+    /**
+     * 완성된 부분 결과를 받는 리스너 (파싱 스레드에서 호출)
+     */
+    public interface Listener {
+        void onSchedule(ScheduleDto schedule);
+
+        void onItem(ScheduleItemDto item);
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Listener listener;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private ScheduleDto schedule;
+    private final List<ScheduleItemDto> items = new ArrayList<>();
+
+    private boolean started;
+    private String pendingHighSurrogate = ""; // 조각 끝에서 잘린 서로게이트 쌍의 앞쪽 (다음 조각과 합쳐 인코딩)
+    private boolean finished;
+    private int depth; // 최상위 객체 안이 1
+    private String rootField;
+    private boolean inItems;
+
+    private TokenBuffer capture;
+    private int captureDepth; // 캡처 중인 값 안의 중첩 깊이
+    private Class<?> captureType;
+
+    public ItineraryStreamParser(ObjectMapper objectMapper, Listener listener) {
+        this.objectMapper = objectMapper;
+        this.listener = listener;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON 파서를 만들 수 없습니다.", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * LLM이 보낸 텍스트 조각 추가
+     */
+    public void feed(String text) throws IOException {
+        if (finished || text == null || text.isEmpty()) {
+            return;
+        }
+        text = pendingHighSurrogate + text;
+        if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+            pendingHighSurrogate = text.substring(text.length() - 1);
+            text = text.substring(0, text.length() - 1);
+        } else {
+            pendingHighSurrogate = "";
+        }
+        if (text.isEmpty()) {
+            return;
+        }
+        if (!started) {
+            int start = text.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            started = true;
+            text = text.substring(start);
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        drain();
+    }
+
+    /**
+     * 입력 종료 후 전체 결과 반환 (최상위 JSON이 닫히지 않았으면 예외)
+     */
+    public AiScheduleResponse finish() throws IOException {
+        if (!finished) {
+            feeder.endOfInput();
+            drain();
+        }
+        if (!finished) {
+            throw new IOException("AI 응답 JSON이 완전하지 않습니다.");
+        }
+        return AiScheduleResponse.builder()
+                .schedule(schedule)
+                .scheduleItems(new ArrayList<>(items))
+                .build();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!finished && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(token);
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        if (capture != null) {
+            capture.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                captureDepth++;
+            } else if (token.isStructEnd() && --captureDepth == 0) {
+                completeCapture();
+            }
+            return;
+        }
+
+        if (token.isStructStart()) {
+            if (depth == 1 && token == JsonToken.START_OBJECT && SCHEDULE_FIELD.equals(rootField)) {
+                beginCapture(ScheduleDto.class);
+                return;
+            }
+            if (depth == 1 && token == JsonToken.START_ARRAY && ITEMS_FIELD.equals(rootField)) {
+                inItems = true;
+            } else if (depth == 2 && inItems && token == JsonToken.START_OBJECT) {
+                beginCapture(ScheduleItemDto.class);
+                return;
+            }
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+            if (depth == 1) {
+                inItems = false;
+            } else if (depth == 0) {
+                finished = true;
+            }
+        } else if (token == JsonToken.FIELD_NAME && depth == 1) {
+            rootField = parser.currentName();
+        }
+    }
+
+    private void beginCapture(Class<?> type) throws IOException {
+        capture = new TokenBuffer(objectMapper, false);
+        capture.copyCurrentEvent(parser);
+        captureDepth = 1;
+        captureType = type;
+    }
+
+    private void completeCapture() throws IOException {
+        TokenBuffer buffer = capture;
+        capture = null;
+        try (JsonParser captured = buffer.asParser(objectMapper)) {
+            Object value = objectMapper.readValue(captured, captureType);
+            if (value instanceof ScheduleDto dto) {
+                schedule = dto;
+                listener.onSchedule(dto);
+            } else if (value instanceof ScheduleItemDto item) {
+                items.add(item);
+                listener.onItem(item);
+            }
+        }
+    }
+}
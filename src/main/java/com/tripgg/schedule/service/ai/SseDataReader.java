@@ -0,0 +1,60 @@
+package com.tripgg.schedule.service.ai;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * LLM 스트리밍 응답(text/event-stream)의 data 줄 읽기
+ * 이벤트마다 data 값을 넘기고, OpenAI 형식의 종료 표시([DONE])나 스트림 끝에서 멈춘다.
+ */
+final class SseDataReader {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    @FunctionalInterface
+    interface DataHandler {
+        void onData(String data) throws IOException;
+    }
+
+    private SseDataReader() {
+    }
+
+    static void read(InputStream body, DataHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                // 빈 줄이 이벤트 경계 (여러 줄 data는 줄바꿈으로 이어 붙인다)
+                if (!dispatch(data, handler)) {
+                    return;
+                }
+                continue;
+            }
+            if (line.startsWith(DATA_PREFIX)) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line, line.startsWith(DATA_PREFIX + " ") ? DATA_PREFIX.length() + 1 : DATA_PREFIX.length(), line.length());
+            }
+        }
+        dispatch(data, handler);
+    }
+
+    private static boolean dispatch(StringBuilder data, DataHandler handler) throws IOException {
+        if (data.length() == 0) {
+            return true;
+        }
+        String value = data.toString();
+        data.setLength(0);
+        if (DONE.equals(value)) {
+            return false;
+        }
+        handler.onData(value);
+        return true;
+    }
+}
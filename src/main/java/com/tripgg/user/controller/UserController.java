@@ -2,14 +2,15 @@ package com.tripgg.user.controller;
 
 import com.tripgg.auth.util.SecurityUtil;
 import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.io.NdjsonExporter;
 import com.tripgg.user.entity.User;
 import com.tripgg.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -18,13 +19,25 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final NdjsonExporter ndjsonExporter;
     
+    // 사용자 목록 조회 (id 커서 기반, after=이전 페이지 nextCursor)
     @GetMapping
-    public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<ApiResponse<CursorPage<User>>> getUsers(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(required = false) Integer limit) {
+        CursorPage<User> users = userService.getUsers(after, CursorPage.clampLimit(limit, 50, 500));
         return ResponseEntity.ok(ApiResponse.success("사용자 목록을 성공적으로 조회했습니다.", users));
     }
     
+    // 사용자 전체 내보내기 (NDJSON 스트리밍, 관리자 전용)
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "0") Integer after) {
+        return ResponseEntity.ok().body(ndjsonExporter.export(
+                "SELECT id, kakao_id, nickname, profile_image_url, created_at, updated_at "
+                        + "FROM users WHERE id > ? ORDER BY id", after));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<User>> getUserById(@PathVariable Long id) {
         Long currentUserId = SecurityUtil.getCurrentUserId();
@@ -1,9 +1,13 @@
 package com.tripgg.user.repository;
 
 import com.tripgg.user.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByKakaoId(String kakaoId);
     
     boolean existsByKakaoId(String kakaoId);
+    
+    // id 이후 사용자를 id 순으로 조회 (키셋 페이지네이션)
+    List<User> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    // 사용자 행 잠금 (트랜잭션 안에서 같은 사용자의 확인-등록 작업을 노드 간에도 직렬화)
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockById(@Param("id") Long id);
 }
@@ -1,9 +1,11 @@
 package com.tripgg.user.service;
 
+import com.tripgg.common.dto.CursorPage;
 import com.tripgg.user.entity.User;
 import com.tripgg.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,8 +37,10 @@ public class UserService {
         return userRepository.findByKakaoId(kakaoId);
     }
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // 사용자 목록 조회 (id 커서 기반)
+    public CursorPage<User> getUsers(Integer after, int limit) {
+        List<User> fetched = userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, User::getId);
     }
     
     @Transactional
@@ -2,6 +2,8 @@ package com.tripgg.video.controller;
 
 import com.tripgg.auth.util.SecurityUtil;
 import com.tripgg.common.dto.ApiResponse;
+import com.tripgg.common.dto.CursorPage;
+import com.tripgg.common.io.NdjsonExporter;
 import com.tripgg.video.entity.Video;
 import com.tripgg.video.service.VideoService;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,15 +22,18 @@ import java.util.List;
 public class VideoController {
     
     private final VideoService videoService;
+    private final NdjsonExporter ndjsonExporter;
     
     /**
-     * 전체 비디오 목록 조회
+     * 비디오 목록 조회 (id 커서 기반, after=이전 페이지 nextCursor)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Video>>> getAllVideos() {
+    public ResponseEntity<ApiResponse<CursorPage<Video>>> getVideos(
+            @RequestParam(defaultValue = "0") Integer after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Video> videos = videoService.getAllVideos();
-            return ResponseEntity.ok(ApiResponse.success("전체 비디오 목록을 조회했습니다.", videos));
+            CursorPage<Video> videos = videoService.getVideos(after, CursorPage.clampLimit(limit, 50, 500));
+            return ResponseEntity.ok(ApiResponse.success("비디오 목록을 조회했습니다.", videos));
         } catch (Exception e) {
             log.error("전체 비디오 목록 조회 중 오류 발생: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -35,6 +41,16 @@ public class VideoController {
         }
     }
     
+    /**
+     * 비디오 전체 내보내기 (NDJSON 스트리밍)
+     */
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportVideos(@RequestParam(defaultValue = "0") Integer after) {
+        return ResponseEntity.ok().body(ndjsonExporter.export(
+                "SELECT id, user_id, title, video_url, description, tags, likes, views, created_at "
+                        + "FROM videos WHERE id > ? ORDER BY id", after));
+    }
+    
     /**
      * 비디오 상세 조회
      */
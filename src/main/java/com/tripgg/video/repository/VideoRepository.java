@@ -1,6 +1,8 @@
 package com.tripgg.video.repository;
 
 import com.tripgg.video.entity.Video;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -27,6 +29,12 @@ public interface VideoRepository extends JpaRepository<Video, Integer> {
     @Query("SELECT v FROM Video v WHERE v.tags LIKE %:tag%")
     List<Video> findByTagContaining(@Param("tag") String tag);
     
+    /**
+     * id 이후 비디오를 id 순으로 조회 (키셋 페이지네이션)
+     */
+    @EntityGraph(attributePaths = "user")
+    List<Video> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+    
     /**
      * 사용자별 비디오 개수 조회
      */
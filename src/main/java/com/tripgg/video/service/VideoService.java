@@ -1,11 +1,13 @@
 package com.tripgg.video.service;
 
+import com.tripgg.common.dto.CursorPage;
 import com.tripgg.video.entity.Video;
 import com.tripgg.video.repository.VideoRepository;
 import com.tripgg.user.entity.User;
 import com.tripgg.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,10 +43,11 @@ public class VideoService {
     }
     
     /**
-     * 전체 비디오 목록 조회
+     * 비디오 목록 조회 (id 커서 기반)
      */
-    public List<Video> getAllVideos() {
-        return videoRepository.findAll();
+    public CursorPage<Video> getVideos(Integer after, int limit) {
+        List<Video> fetched = videoRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        return CursorPage.of(fetched, limit, Video::getId);
     }
     
     /**
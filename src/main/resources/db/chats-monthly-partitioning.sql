@@ -0,0 +1,25 @@
+-- chats 테이블 월별 파티셔닝 (MySQL 8, 점검 시간에 한 번만 수동 실행)
+-- 적용 후에는 ChatPartitionManager가 p_future를 나눠 다음 달 파티션(pYYYYMM)을 미리 만들고,
+-- ChatArchiveJob이 보관이 끝난 달의 파티션을 DROP PARTITION으로 제거한다.
+-- 적용 전부터 있던 행은 p_initial에 남고, 보관 시 배치 DELETE로 지워진다.
+
+-- 1) 파티션 테이블은 외래 키를 지원하지 않으므로 chats의 외래 키 제거
+SET @drop_fks = (SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`'))
+                 FROM information_schema.REFERENTIAL_CONSTRAINTS
+                 WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'chats');
+SET @sql = IF(@drop_fks IS NULL, 'DO 0', CONCAT('ALTER TABLE chats ', @drop_fks));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2) 파티션 키(created_at)를 모든 유니크 키에 포함해야 하므로 기본 키를 (id, created_at)으로 변경
+ALTER TABLE chats DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at);
+
+-- 3) 이번 달까지는 p_initial, 이후는 p_future (다음 달부터는 애플리케이션이 월 파티션으로 나눔)
+SET @bound = DATE_FORMAT(CURRENT_DATE + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @sql = CONCAT('ALTER TABLE chats PARTITION BY RANGE COLUMNS (created_at) (',
+                  'PARTITION p_initial VALUES LESS THAN (''', @bound, '''), ',
+                  'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,108 @@
+package com.tripgg.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.bus.LocalChatMessageBus;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.repository.ChatJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 보관 작업의 노드 간 잠금, 여러 노드 구성의 공유 디렉터리 강제, 다른 노드가 기록한 세그먼트 반영 확인
+ */
+class ChatArchiveJobTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ChatPartitionManager partitionManager = mock(ChatPartitionManager.class);
+    private final ChatJdbcRepository jdbcRepository = mock(ChatJdbcRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LocalChatMessageBus bus = new LocalChatMessageBus();
+
+    @TempDir
+    Path sharedDir;
+
+    @Test
+    void runIsSkippedWhileAnotherNodeHoldsTheLock() throws IOException {
+        when(jdbcRepository.acquireWriterLock(anyString())).thenReturn(false);
+        ChatArchiveJob job = newJob(store(), true, "redis");
+
+        job.run();
+        job.run();
+
+        verifyNoInteractions(partitionManager, jdbcTemplate);
+        assertThat(job.getStats()).containsEntry("skippedLocked", 2L).containsEntry("running", false);
+    }
+
+    @Test
+    void lockIsReleasedAfterTheRun() throws IOException {
+        when(jdbcRepository.acquireWriterLock(anyString())).thenReturn(true);
+        ChatArchiveJob job = newJob(store(), true, "redis");
+
+        job.run();
+
+        verify(jdbcRepository).releaseWriterLock("tripgg.chat.archive");
+    }
+
+    @Test
+    void multiNodeArchivingRequiresASharedDirectory() throws IOException {
+        ChatArchiveJob job = newJob(store(), false, "redis");
+
+        assertThatThrownBy(job::checkSharedDir)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("chat.archive.shared-dir");
+    }
+
+    @Test
+    void segmentWrittenByAnotherNodeIsLoadedFromTheSharedDirectory() throws IOException {
+        ChatArchiveStore writerStore = store();
+        ChatArchiveStore readerStore = store();
+        newJob(readerStore, true, "redis").checkSharedDir();
+
+        YearMonth month = YearMonth.of(2026, 1);
+        writerStore.writeSegment(month, consumer -> consumer.accept(ChatMessageResponse.builder()
+                .id(1).roomId(3).userId(7).message("보관").createdAt(LocalDateTime.of(2026, 1, 5, 12, 0)).build()));
+        assertThat(readerStore.hasRoom(3)).isFalse();
+
+        bus.broadcast(ChatArchiveJob.SEGMENT_ARCHIVED_EVENT, month.toString());
+
+        assertThat(readerStore.hasRoom(3)).isTrue();
+        assertThat(readerStore.findBefore(3, null, 10)).extracting(ChatMessageResponse::getMessage).containsExactly("보관");
+    }
+
+    @Test
+    void segmentMissingFromTheLocalDirectoryIsReported() throws IOException {
+        ChatArchiveJob job = newJob(store(), true, "redis");
+        job.checkSharedDir();
+
+        bus.broadcast(ChatArchiveJob.SEGMENT_ARCHIVED_EVENT, "2026-02");
+
+        assertThat(job.getStats()).containsEntry("missingSharedSegments", 1L);
+    }
+
+    private ChatArchiveStore store() throws IOException {
+        ChatArchiveStore store = new ChatArchiveStore(objectMapper, sharedDir.toString(), 16);
+        store.load();
+        return store;
+    }
+
+    private ChatArchiveJob newJob(ChatArchiveStore store, boolean shared, String busType) {
+        return new ChatArchiveJob(store, partitionManager, jdbcRepository, bus, jdbcTemplate, mock(DataSource.class),
+                true, 3, 2, 5000, shared, busType);
+    }
+}
@@ -0,0 +1,95 @@
+package com.tripgg.chat.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사용자별 보관 메시지 조회: 사용자가 쓴 채팅방 블록만 읽고, 세그먼트를 넘어 id 커서로 이어지는지 확인
+ */
+class ChatArchiveStoreTest {
+
+    private static final int USER = 7;
+    private static final int OTHER_USER = 8;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void userHistoryReadsOnlyTheUsersRoomsAcrossSegments() throws IOException {
+        ChatArchiveStore store = newStore();
+        // 1월: 방 1(사용자), 방 2(다른 사용자만), 2월: 방 1, 방 3(사용자)
+        store.writeSegment(YearMonth.of(2026, 1), rows(
+                message(1, 1, USER), message(2, 1, OTHER_USER), message(3, 1, USER),
+                message(4, 2, OTHER_USER), message(5, 2, OTHER_USER)));
+        store.writeSegment(YearMonth.of(2026, 2), rows(
+                message(6, 1, USER), message(8, 1, OTHER_USER),
+                message(7, 3, USER), message(9, 3, USER)));
+
+        assertThat(store.hasUser(USER)).isTrue();
+        assertThat(store.hasUser(99)).isFalse();
+        assertThat(ids(store.findByUserBefore(USER, null, 3))).containsExactly(9, 7, 6);
+        // 커서가 세그먼트 경계를 넘어 이어진다
+        assertThat(ids(store.findByUserBefore(USER, 6, 10))).containsExactly(3, 1);
+        // 다른 사용자만 있던 방 2 블록은 읽지 않는다 (1월 방 1, 2월 방 1·3)
+        assertThat(store.getStats().get("blockReads")).isEqualTo(3L);
+    }
+
+    @Test
+    void indexWithoutUserRoomsFallsBackToScanningEveryBlock() throws IOException {
+        ChatArchiveStore store = newStore();
+        store.writeSegment(YearMonth.of(2026, 1), rows(message(1, 1, USER), message(2, 2, USER), message(3, 2, OTHER_USER)));
+        // 사용자 목록이 없는 이전 형식 인덱스로 바꾼 뒤 다시 로드
+        Path index = directory.resolve("chats-2026-01.index.json");
+        ChatArchiveStore.SegmentIndex legacy = objectMapper.readValue(index.toFile(), ChatArchiveStore.SegmentIndex.class);
+        legacy.setUserRooms(null);
+        Files.write(index, objectMapper.writeValueAsBytes(legacy));
+
+        ChatArchiveStore reloaded = newStore();
+        assertThat(reloaded.hasUser(USER)).isTrue();
+        assertThat(ids(reloaded.findByUserBefore(USER, null, 10))).containsExactly(2, 1);
+    }
+
+    private ChatArchiveStore newStore() throws IOException {
+        ChatArchiveStore store = new ChatArchiveStore(objectMapper, directory.toString(), 16);
+        store.load();
+        return store;
+    }
+
+    private static ChatArchiveStore.RowSource rows(ChatMessageResponse... messages) {
+        // 세그먼트는 chat_room_id, id 순으로 기록해야 한다
+        List<ChatMessageResponse> sorted = new ArrayList<>(List.of(messages));
+        sorted.sort(Comparator.comparing(ChatMessageResponse::getRoomId).thenComparing(ChatMessageResponse::getId));
+        return sorted::forEach;
+    }
+
+    private static ChatMessageResponse message(int id, int roomId, int userId) {
+        return ChatMessageResponse.builder()
+                .id(id)
+                .roomId(roomId)
+                .userId(userId)
+                .userNickname("user" + userId)
+                .message("메시지 " + id)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusHours(id))
+                .build();
+    }
+
+    private static List<Integer> ids(List<ChatMessageResponse> messages) {
+        return messages.stream().map(ChatMessageResponse::getId).toList();
+    }
+}
@@ -0,0 +1,202 @@
+package com.tripgg.chat.bus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.entity.ChatRoom;
+import com.tripgg.chat.repository.ChatRoomRepository;
+import com.tripgg.chat.service.ChatRoomRegistry;
+import com.tripgg.common.util.ConsistentHashRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 내장 Redis 두 대와 애플리케이션 노드(버스) 두 개로 노드 간 전달, 방별 순서, 발행 실패 시 로컬 전달,
+ * 채팅방 변경 이벤트로 모든 노드의 레지스트리가 다시 읽히는지 확인
+ */
+class RedisChatMessageBusTest {
+
+    private static final int VIRTUAL_NODES = 160;
+
+    private final List<RedisServer> servers = new ArrayList<>();
+    private final List<RedisChatMessageBus> buses = new ArrayList<>();
+    private List<String> nodeNames;
+    private RedisChatMessageBus nodeA;
+    private RedisChatMessageBus nodeB;
+    private final List<ChatMessageResponse> receivedByA = new CopyOnWriteArrayList<>();
+    private final List<ChatMessageResponse> receivedByB = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int port1 = freePort();
+        int port2 = freePort();
+        for (int port : new int[]{port1, port2}) {
+            RedisServer server = new RedisServer(port);
+            server.start();
+            servers.add(server);
+        }
+        nodeNames = List.of("localhost:" + port1, "localhost:" + port2);
+        String nodes = "redis://localhost:" + port1 + ",redis://localhost:" + port2;
+        nodeA = newBus(nodes);
+        nodeB = newBus(nodes);
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        buses.forEach(RedisChatMessageBus::shutdown);
+        for (RedisServer server : servers) {
+            if (server.isActive()) {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    void deliversToEveryNodeInPublishOrderPerRoom() throws InterruptedException {
+        int rooms = 8;
+        int perRoom = 50;
+        int id = 0;
+        for (int i = 0; i < perRoom; i++) {
+            for (int roomId = 1; roomId <= rooms; roomId++) {
+                nodeA.publish(message(++id, roomId));
+            }
+        }
+        int total = rooms * perRoom;
+
+        awaitTrue(() -> receivedByA.size() == total && receivedByB.size() == total);
+        // 발행한 노드도 Redis를 거쳐 한 번만 받는다
+        assertThat(receivedByA).hasSize(total);
+        assertThat(inRoomOrder(receivedByB)).isTrue();
+        assertThat(inRoomOrder(receivedByA)).isTrue();
+        // 방이 두 Redis 노드에 나뉘어 실제로 두 노드를 모두 거쳤는지
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodeNames, VIRTUAL_NODES);
+        assertThat(receivedByB.stream().map(message -> ring.nodeFor(String.valueOf(message.getRoomId()))).distinct())
+                .containsExactlyInAnyOrderElementsOf(nodeNames);
+        assertThat(nodeA.getStats().get("publishFailures")).isEqualTo(0L);
+        assertThat(nodeB.getStats().get("received")).isEqualTo((long) total);
+    }
+
+    @Test
+    void fallsBackToLocalDeliveryWhenPublishFails() throws Exception {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodeNames, VIRTUAL_NODES);
+        int downRoom = roomOn(ring, nodeNames.get(1));
+        int upRoom = roomOn(ring, nodeNames.get(0));
+
+        servers.get(1).stop();
+        awaitTrue(() -> (long) nodeA.getStats().get("connectedNodes") == 1);
+
+        nodeA.publish(message(1, downRoom));
+        nodeA.publish(message(2, upRoom));
+
+        // 끊긴 Redis 노드로 가는 방은 발행 노드의 구독자에게만, 살아 있는 노드로 가는 방은 모든 노드에 전달된다
+        awaitTrue(() -> receivedByA.size() == 2 && receivedByB.size() == 1);
+        assertThat(receivedByA).extracting(ChatMessageResponse::getId).containsExactlyInAnyOrder(1, 2);
+        assertThat(receivedByB).extracting(ChatMessageResponse::getId).containsExactly(2);
+        assertThat(nodeA.getStats().get("publishFailures")).isEqualTo(1L);
+        Thread.sleep(300);
+        assertThat(receivedByB).hasSize(1);
+    }
+
+    @Test
+    void roomChangeOnOneNodeReloadsTheRegistryOnEveryNode() throws InterruptedException {
+        // 두 노드가 같은 DB를 보는 상황: 변경 전에는 한 개, 변경 후에는 두 개
+        ChatRoomRepository repository = mock(ChatRoomRepository.class);
+        List<ChatRoom> rooms = new CopyOnWriteArrayList<>(List.of(room(1, "수원")));
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(rooms));
+        ChatRoomRegistry registryA = new ChatRoomRegistry(repository, nodeA);
+        ChatRoomRegistry registryB = new ChatRoomRegistry(repository, nodeB);
+        for (ChatRoomRegistry registry : List.of(registryA, registryB)) {
+            registry.subscribeRoomChanges();
+            registry.load();
+        }
+
+        rooms.add(room(2, "용인"));
+        registryA.reloadAfterCommit();
+
+        awaitTrue(() -> registryA.getActiveRooms().size() == 2 && registryB.getActiveRooms().size() == 2);
+        assertThat(registryB.findActiveByLocationName("용인")).isNotNull();
+        assertThat(nodeB.getStats().get("eventsReceived")).isEqualTo(1L);
+        // 채팅 메시지 핸들러에는 이벤트가 섞이지 않는다
+        assertThat(receivedByA).isEmpty();
+        assertThat(receivedByB).isEmpty();
+    }
+
+    private static ChatRoom room(int id, String locationName) {
+        return ChatRoom.builder()
+                .id(id)
+                .roomName(locationName + " 채팅방")
+                .latitude(37.0 + id * 0.1)
+                .longitude(127.0)
+                .locationName(locationName)
+                .radiusKm(10.0)
+                .isActive(true)
+                .build();
+    }
+
+    private RedisChatMessageBus newBus(String nodes) {
+        RedisChatMessageBus bus = new RedisChatMessageBus(new ObjectMapper().registerModule(new JavaTimeModule()),
+                nodes, "tripgg:chat:test", VIRTUAL_NODES, 5);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static ChatMessageResponse message(int id, int roomId) {
+        return ChatMessageResponse.builder()
+                .id(id)
+                .roomId(roomId)
+                .userId(1)
+                .userNickname("여행자")
+                .message("메시지 " + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static boolean inRoomOrder(List<ChatMessageResponse> messages) {
+        Map<Integer, List<Integer>> idsByRoom = messages.stream().collect(Collectors.groupingBy(
+                ChatMessageResponse::getRoomId, Collectors.mapping(ChatMessageResponse::getId, Collectors.toList())));
+        return idsByRoom.values().stream().allMatch(ids -> ids.equals(ids.stream().sorted().toList()));
+    }
+
+    private static int roomOn(ConsistentHashRing<String> ring, String node) {
+        for (int roomId = 1; ; roomId++) {
+            if (ring.nodeFor(String.valueOf(roomId)).equals(node)) {
+                return roomId;
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tripgg.chat.controller;
+
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.service.ChatMessagePublisher;
+import com.tripgg.chat.service.ChatPresenceService;
+import com.tripgg.chat.service.ChatService;
+import com.tripgg.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ChatControllerTest {
+
+    private ChatService chatService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        chatService = mock(ChatService.class);
+        ChatController controller = new ChatController(chatService, mock(ChatMessagePublisher.class), mock(ChatPresenceService.class));
+        ReflectionTestUtils.setField(controller, "maxMessageLength", 10);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        User user = User.builder().id(7).kakaoId("kakao-7").nickname("여행자").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        when(chatService.sendMessageWithLocationCheck(anyInt(), anyString(), anyDouble(), anyDouble(), any()))
+                .thenReturn(ChatMessageResponse.builder().id(1).roomId(1).message("ok").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsMessagesLongerThanTheLimitBeforeSaving() throws Exception {
+        mockMvc.perform(post("/api/chat/1/messages/send")
+                        .param("message", "가".repeat(11)).param("latitude", "37.27").param("longitude", "127.0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("메시지는 10자 이하로 입력해주세요."));
+        mockMvc.perform(post("/api/chat/1/messages/send")
+                        .param("message", "   ").param("latitude", "37.27").param("longitude", "127.0"))
+                .andExpect(status().isBadRequest());
+        verify(chatService, never()).sendMessageWithLocationCheck(anyInt(), anyString(), anyDouble(), anyDouble(), any());
+
+        mockMvc.perform(post("/api/chat/1/messages/send")
+                        .param("message", "가".repeat(10)).param("latitude", "37.27").param("longitude", "127.0"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,176 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * SSE 구독자 10,000명(방 100개) 중 일부가 쓰기에서 멈춰 있어도 나머지 구독자에게는
+ * 모든 메시지가 순서대로 전달되고, 멈춘 구독자는 대기열 상한/전송 제한 시간으로 끊기는지 확인
+ * 실제 소켓 대신 send를 가로채는 SseEmitter를 쓰며, 멈춘 구독자의 send는 연결이 닫힐 때까지 돌아오지 않는다.
+ */
+class ChatMessagePublisherLoadTest {
+
+    private static final int ROOMS = 100;
+    private static final int SUBSCRIBERS_PER_ROOM = 100;
+    private static final int STALLED_PER_ROOM = 2;
+    private static final int MESSAGES_PER_ROOM = 100;
+    private static final int MAX_PENDING = 64;
+    private static final int THREADS = 8;
+    private static final int MAX_THREADS = 256;
+
+    private final List<FakeEmitter> emitters = new ArrayList<>();
+    private ChatMessagePublisher publisher;
+    private int stallNext;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    private ChatMessagePublisher newPublisher(long sendTimeoutMillis) {
+        return new ChatMessagePublisher(mock(SimpMessagingTemplate.class),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 30, 3600,
+                THREADS, MAX_THREADS, MAX_PENDING, sendTimeoutMillis) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                FakeEmitter emitter = new FakeEmitter(stallNext > 0);
+                stallNext = Math.max(stallNext - 1, 0);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void stalledSubscribersAreDroppedWithoutDelayingTheOthers() throws Exception {
+        // 멈춘 구독자가 전송 제한 시간이 아니라 대기열 상한으로 끊기도록 제한 시간은 길게 둔다
+        publisher = newPublisher(60_000);
+        for (int room = 1; room <= ROOMS; room++) {
+            stallNext = STALLED_PER_ROOM;
+            for (int i = 0; i < SUBSCRIBERS_PER_ROOM; i++) {
+                publisher.subscribeSse(room);
+            }
+        }
+        assertThat(emitters).hasSize(ROOMS * SUBSCRIBERS_PER_ROOM);
+
+        int maxPending = 0;
+        int id = 0;
+        for (int round = 0; round < MESSAGES_PER_ROOM; round++) {
+            for (int room = 1; room <= ROOMS; room++) {
+                publisher.publish(ChatMessageResponse.builder().id(++id).roomId(room).userId(1).message("m" + id).build());
+            }
+            maxPending = Math.max(maxPending, ((Number) publisher.getStats().get("ssePendingEvents")).intValue());
+            // 정상 구독자가 이번 메시지를 받을 때까지 기다렸다가 다음 메시지를 발행한다 (처리 속도가 CPU에 좌우되지 않도록)
+            // 멈춘 구독자(200명)가 기본 전송 스레드(8개)를 붙잡아 정상 구독자를 막으면 여기서 시간 초과로 실패한다
+            int delivered = round + 1;
+            awaitTrue(() -> emitters.stream().filter(emitter -> !emitter.stalled)
+                    .allMatch(emitter -> emitter.received.size() >= delivered));
+        }
+        // 멈춘 구독자만 대기열 상한을 넘겨 끊기고, 정상 구독자는 끊기지 않고 전부 받는다
+        assertThat(publisher.getStats().get("sseDropped")).isEqualTo((long) ROOMS * STALLED_PER_ROOM);
+
+        for (FakeEmitter emitter : emitters) {
+            if (!emitter.stalled) {
+                // 방마다 메시지 id가 ROOMS씩 증가하므로 순서대로 받았다면 차이가 항상 ROOMS
+                for (int i = 1; i < emitter.received.size(); i++) {
+                    assertThat(emitter.received.get(i) - emitter.received.get(i - 1)).isEqualTo(ROOMS);
+                }
+                assertThat(emitter.completed).isFalse();
+            }
+        }
+        int stalled = ROOMS * STALLED_PER_ROOM;
+        awaitTrue(() -> emitters.stream().filter(emitter -> emitter.stalled).allMatch(emitter -> emitter.completed));
+        assertThat(publisher.getStats().get("sseDropped")).isEqualTo((long) stalled);
+        assertThat(publisher.getStats().get("sseSubscribers")).isEqualTo(ROOMS * (SUBSCRIBERS_PER_ROOM - STALLED_PER_ROOM));
+        // 전송 대기 이벤트는 구독자 수 × 상한을 넘지 않는다
+        assertThat(maxPending).isLessThanOrEqualTo(ROOMS * SUBSCRIBERS_PER_ROOM * MAX_PENDING);
+        // 멈춘 전송이 모두 풀리면 진행 중인 전송도 남지 않는다
+        awaitTrue(() -> ((Number) publisher.getStats().get("sseSendingSubscribers")).intValue() == 0);
+    }
+
+    @Test
+    void stalledSubscriberInAQuietRoomIsClosedAfterTheSendTimeout() throws Exception {
+        publisher = newPublisher(500);
+        stallNext = 1;
+        publisher.subscribeSse(1);
+        FakeEmitter stalled = emitters.get(0);
+
+        // 대기열 상한에 닿지 않아도 "subscribed" 전송이 멈춘 채 제한 시간이 지나면 연결을 닫는다
+        awaitTrue(() -> stalled.completed);
+        assertThat(publisher.getSseSubscriberCount(1)).isZero();
+        assertThat(publisher.getStats().get("sseDropped")).isEqualTo(1L);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 받은 메시지 id를 기록하는 SseEmitter, stalled면 연결이 닫힐 때까지 쓰기에서 멈춘다
+     */
+    private static final class FakeEmitter extends SseEmitter {
+        private final boolean stalled;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        // 테스트 스레드가 읽으므로 동기화된 목록에 기록한다
+        private final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean completed;
+
+        FakeEmitter(boolean stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stalled) {
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("연결이 닫혔습니다.");
+            }
+            String event = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            int idStart = event.indexOf("id:");
+            if (idStart >= 0) {
+                received.add(Integer.parseInt(event.substring(idStart + 3, event.indexOf('\n', idStart))));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            closed.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            complete();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.chat.bus.LocalChatMessageBus;
+import com.tripgg.chat.websocket.ChatPresenceStompListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 접속자 수가 실시간 구독(STOMP/SSE)의 열림·닫힘을 따르고, 여러 노드의 접속자를 합쳐 한 사용자를 한 번만 세는지 확인
+ * 두 노드는 같은 LocalChatMessageBus를 공유하는 두 서비스로 흉내 낸다.
+ */
+class ChatPresenceServiceTest {
+
+    private static final int ROOM = 1;
+    private static final int USER = 7;
+    private static final int OTHER_USER = 8;
+
+    private final LocalChatMessageBus bus = new LocalChatMessageBus();
+    private final List<ChatPresenceService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ChatPresenceService::shutdown);
+    }
+
+    private ChatPresenceService newNode() {
+        // ttl 1초, 틱 50ms
+        ChatPresenceService service = new ChatPresenceService(bus, new ObjectMapper(), 1, 50, 64, 3600);
+        service.subscribeNodeEvents();
+        services.add(service);
+        return service;
+    }
+
+    @Test
+    void openSubscriptionOutlivesTheTtlAndClosingItLeavesImmediately() throws Exception {
+        ChatPresenceService presence = newNode();
+        presence.acquire(ROOM, USER);
+        presence.acquire(ROOM, USER);
+        assertThat(presence.getOccupancy(ROOM)).isEqualTo(1);
+
+        // ttl(1초)의 두 배가 지나도 구독이 열려 있으면 남아 있다
+        Thread.sleep(2_000);
+        assertThat(presence.getOccupancy(ROOM)).isEqualTo(1);
+
+        presence.release(ROOM, USER);
+        assertThat(presence.getOccupancy(ROOM)).isEqualTo(1);
+        // 마지막 구독이 닫히면 ttl을 기다리지 않고 퇴장
+        presence.release(ROOM, USER);
+        assertThat(presence.getOccupancy(ROOM)).isZero();
+        assertThat(presence.getStats()).containsEntry("leaves", 1L).containsEntry("expirations", 0L);
+    }
+
+    @Test
+    void heartbeatOnlyClientExpiresAfterTheTtl() throws Exception {
+        ChatPresenceService presence = newNode();
+        presence.heartbeat(ROOM, USER);
+        presence.acquire(ROOM, OTHER_USER);
+        presence.release(ROOM, OTHER_USER);
+        // heartbeat 마감이 남아 있으면 구독이 닫혀도 ttl까지 유지
+        assertThat(presence.getOccupancy(ROOM)).isEqualTo(1);
+
+        awaitTrue(() -> presence.getOccupancy(ROOM) == 0);
+        assertThat(presence.getStats()).containsEntry("expirations", 1L);
+    }
+
+    @Test
+    void userConnectedToTwoNodesIsCountedOnce() {
+        ChatPresenceService nodeA = newNode();
+        ChatPresenceService nodeB = newNode();
+
+        nodeA.acquire(ROOM, USER);
+        nodeB.acquire(ROOM, USER);
+        nodeB.acquire(ROOM, OTHER_USER);
+
+        assertThat(nodeA.getOccupancy(ROOM)).isEqualTo(2);
+        assertThat(nodeB.getOccupancy(ROOM)).isEqualTo(2);
+
+        // 한 노드의 연결만 닫히면 다른 노드의 연결로 계속 접속 중
+        nodeA.release(ROOM, USER);
+        assertThat(nodeA.getOccupancy(ROOM)).isEqualTo(2);
+        nodeB.release(ROOM, USER);
+        assertThat(nodeA.getOccupancy(ROOM)).isEqualTo(1);
+        assertThat(nodeB.getOccupancy(ROOM)).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotCorrectsAMissedLeaveEvent() {
+        ChatPresenceService nodeA = newNode();
+        bus.broadcast(ChatPresenceService.PRESENCE_EVENT, "join|node-b|1|7");
+        assertThat(nodeA.getOccupancy(ROOM)).isEqualTo(1);
+
+        // 퇴장 이벤트를 놓쳤어도 노드 B의 전체 목록이 오면 그 목록으로 바뀐다
+        bus.broadcast(ChatPresenceService.PRESENCE_SNAPSHOT_EVENT, "{\"node\":\"node-b\",\"rooms\":{\"2\":[8]}}");
+        assertThat(nodeA.getOccupancy(ROOM)).isZero();
+        assertThat(nodeA.getOccupancy(2)).isEqualTo(1);
+
+        // 자기 노드의 전체 목록은 다른 노드로 세지 않는다
+        nodeA.acquire(ROOM, USER);
+        nodeA.sync();
+        assertThat(nodeA.getStats()).containsEntry("remoteNodes", 1);
+        assertThat(nodeA.getOccupancy(ROOM)).isEqualTo(1);
+    }
+
+    @Test
+    void stompSubscriptionsJoinAndDisconnectLeavesEveryRoom() {
+        ChatPresenceService presence = newNode();
+        ChatPresenceStompListener listener = new ChatPresenceStompListener(presence);
+        Principal user = new UsernamePasswordAuthenticationToken(String.valueOf(USER), null);
+
+        listener.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-1", "/topic/chat/1"), user));
+        listener.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-2", "/topic/chat/2"), user));
+        listener.onSubscribe(new SessionSubscribeEvent(this, stomp(StompCommand.SUBSCRIBE, "s1", "sub-3", "/user/queue/errors"), user));
+        assertThat(presence.getOccupancy(1)).isEqualTo(1);
+        assertThat(presence.getOccupancy(2)).isEqualTo(1);
+
+        listener.onUnsubscribe(new SessionUnsubscribeEvent(this, stomp(StompCommand.UNSUBSCRIBE, "s1", "sub-1", null), user));
+        assertThat(presence.getOccupancy(1)).isZero();
+
+        // 연결이 끊기면 남은 구독도 모두 퇴장
+        Message<byte[]> disconnect = stomp(StompCommand.DISCONNECT, "s1", null, null);
+        listener.onDisconnect(new SessionDisconnectEvent(this, disconnect, "s1", CloseStatus.GOING_AWAY, user));
+        assertThat(presence.getOccupancy(2)).isZero();
+        assertThat(listener.getSessionCount()).isZero();
+    }
+
+    private static Message<byte[]> stomp(StompCommand command, String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            accessor.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.repository.ChatJdbcRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 저장 처리량 (초당 메시지 수)
+ * - directInsert: 메시지마다 커넥션 풀에서 커넥션을 얻어 한 행씩 INSERT (write-behind 이전 방식)
+ * - writeBehind: 저널 fsync 후 응답하고 반영 스레드가 다중 행 INSERT로 모아서 반영
+ * DB는 문장마다 왕복 지연(dbLatencyMicros)과 행마다 처리 비용(rowMicros)이 드는 가짜 저장소로 대신하고,
+ * 저널 fsync는 실제 디스크(java.io.tmpdir)에 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class ChatWriteBehindBenchmark {
+
+    // HikariCP 기본 최대 커넥션 수
+    private static final int POOL_SIZE = 10;
+
+    @Param("1000")
+    public long dbLatencyMicros;
+
+    @Param("5")
+    public long rowMicros;
+
+    private SimulatedChatJdbcRepository repository;
+    private ChatWriteBehindWriter writer;
+    private Path journalDir;
+    private final AtomicInteger directIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = new SimulatedChatJdbcRepository(dbLatencyMicros, rowMicros);
+        journalDir = Files.createTempDirectory("chat-journal-benchmark");
+        writer = new ChatWriteBehindWriter(repository, new ObjectMapper().registerModule(new JavaTimeModule()),
+                true, journalDir.toString(), 500, 50, 64 * 1024 * 1024, 2000, 100_000, 30);
+        writer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        writer.shutdown();
+        try (Stream<Path> files = Files.walk(journalDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public ChatMessageResponse directInsert() {
+        ChatMessageResponse message = ChatMessageResponse.builder()
+                .id(directIds.incrementAndGet())
+                .roomId(1)
+                .userId(1)
+                .userNickname("nick")
+                .message("안녕하세요, 채팅 메시지 저장 처리량 측정용 메시지입니다.")
+                .createdAt(LocalDateTime.now())
+                .build();
+        repository.insertAll(List.of(message));
+        return message;
+    }
+
+    @Benchmark
+    public ChatMessageResponse writeBehind() {
+        return writer.append(1, 1, "nick", "안녕하세요, 채팅 메시지 저장 처리량 측정용 메시지입니다.");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ChatWriteBehindBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 커넥션 풀 크기만큼만 동시에 실행되고, 문장마다 왕복 지연과 행 수에 비례한 비용이 드는 가짜 저장소
+     */
+    static final class SimulatedChatJdbcRepository extends ChatJdbcRepository {
+        private final Semaphore connections = new Semaphore(POOL_SIZE);
+        private final long latencyNanos;
+        private final long rowNanos;
+
+        SimulatedChatJdbcRepository(long latencyMicros, long rowMicros) {
+            super(null);
+            this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+            this.rowNanos = TimeUnit.MICROSECONDS.toNanos(rowMicros);
+        }
+
+        @Override
+        public void insertAll(List<ChatMessageResponse> messages) {
+            connections.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(latencyNanos + rowNanos * messages.size());
+            } finally {
+                connections.release();
+            }
+        }
+
+        @Override
+        public void insertAllIgnoringExisting(List<ChatMessageResponse> messages) {
+            insertAll(messages);
+        }
+
+        @Override
+        public int findMaxId() {
+            return 0;
+        }
+
+        @Override
+        public boolean acquireWriterLock(String name) {
+            return true;
+        }
+
+        @Override
+        public boolean holdsWriterLock(String name) {
+            return true;
+        }
+
+        @Override
+        public void releaseWriterLock(String name) {
+        }
+    }
+}
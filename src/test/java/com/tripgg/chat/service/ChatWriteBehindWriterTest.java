@@ -0,0 +1,252 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tripgg.chat.dto.ChatMessageResponse;
+import com.tripgg.chat.repository.ChatJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatWriteBehindWriterTest {
+
+    private static final String POISON = "poison";
+
+    @TempDir
+    Path journalDir;
+
+    private ChatJdbcRepository repository;
+    private ChatWriteBehindWriter writer;
+    // DB에 들어간 메시지 id (INSERT 호출 순서)
+    private final List<Integer> stored = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ChatJdbcRepository.class);
+        when(repository.acquireWriterLock(anyString())).thenReturn(true);
+        when(repository.holdsWriterLock(anyString())).thenReturn(true);
+        when(repository.findMaxId()).thenReturn(0);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void startFailsWhenAnotherNodeHoldsTheWriterLock() {
+        when(repository.acquireWriterLock(anyString())).thenReturn(false);
+        ChatWriteBehindWriter other = newWriter(500);
+
+        assertThatThrownBy(other::start).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> other.append(1, 1, "nick", "hello")).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void rejectedRowIsQuarantinedAndTheRestOfTheBatchIsFlushed() throws Exception {
+        // DB는 poison 메시지가 섞인 INSERT 문 전체를 거부한다 (다중 행 INSERT는 원자적)
+        doAnswer(invocation -> {
+            List<ChatMessageResponse> messages = invocation.getArgument(0);
+            if (messages.stream().anyMatch(message -> POISON.equals(message.getMessage()))) {
+                throw new DataIntegrityViolationException("Data too long for column 'message'");
+            }
+            messages.forEach(message -> stored.add(message.getId()));
+            return null;
+        }).when(repository).insertAll(anyList());
+
+        writer = newWriter(500);
+        writer.start();
+        List<Integer> ids = appendConcurrently(40, 17);
+
+        awaitTrue(() -> ((Number) writer.getStats().get("unflushed")).intValue() == 0);
+        int poisonId = ids.get(17);
+        assertThat(stored).hasSize(39).doesNotContain(poisonId);
+        assertThat(writer.getStats().get("quarantined")).isEqualTo(1L);
+        assertThat(Files.readString(journalDir.resolve("chat-quarantine.ndjson")))
+                .contains("\"id\":" + poisonId).contains(POISON);
+
+        // 격리 후에도 반영이 멈추지 않는다
+        ChatMessageResponse next = writer.append(1, 1, "nick", "after");
+        awaitTrue(() -> stored.contains(next.getId()));
+    }
+
+    @Test
+    void transientFailureRetriesWithoutQuarantine() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new CannotGetJdbcConnectionException("connection refused");
+            }
+            List<ChatMessageResponse> messages = invocation.getArgument(0);
+            messages.forEach(message -> stored.add(message.getId()));
+            return null;
+        }).when(repository).insertAll(anyList());
+
+        writer = newWriter(500);
+        writer.start();
+        List<Integer> ids = appendConcurrently(10, -1);
+
+        awaitTrue(() -> stored.size() == ids.size());
+        assertThat(stored).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(writer.getStats().get("quarantined")).isEqualTo(0L);
+        assertThat((long) writer.getStats().get("flushFailures")).isGreaterThanOrEqualTo(1L);
+    }
+
+    @Test
+    void duplicateOfAlreadyCommittedRowCountsAsFlushedButCollisionIsQuarantined() throws Exception {
+        // id 1은 앞선 시도에서 커밋된 같은 행, id 2는 다른 노드가 먼저 쓴 다른 행
+        doAnswer(invocation -> {
+            List<ChatMessageResponse> messages = invocation.getArgument(0);
+            if (messages.stream().anyMatch(message -> message.getId() <= 2)) {
+                throw new DuplicateKeyException("Duplicate entry for key 'PRIMARY'");
+            }
+            messages.forEach(message -> stored.add(message.getId()));
+            return null;
+        }).when(repository).insertAll(anyList());
+        when(repository.existsSame(any())).thenAnswer(invocation ->
+                ((ChatMessageResponse) invocation.getArgument(0)).getId() == 1);
+
+        writer = newWriter(500);
+        writer.start();
+        for (int i = 0; i < 4; i++) {
+            writer.append(1, 1, "nick", "message " + i);
+        }
+
+        awaitTrue(() -> ((Number) writer.getStats().get("unflushed")).intValue() == 0);
+        assertThat(stored).containsExactly(3, 4);
+        assertThat(writer.getStats().get("flushed")).isEqualTo(3L);
+        assertThat(writer.getStats().get("quarantined")).isEqualTo(1L);
+    }
+
+    @Test
+    void lostWriterLockRejectsNewMessages() throws Exception {
+        when(repository.holdsWriterLock(anyString())).thenReturn(false);
+        when(repository.acquireWriterLock(anyString())).thenReturn(true, false);
+
+        writer = newWriter(500);
+        writer.start();
+
+        awaitTrue(() -> (boolean) writer.getStats().get("fenced"));
+        assertThatThrownBy(() -> writer.append(1, 1, "nick", "hello"))
+                .hasMessageContaining("잠금");
+    }
+
+    @Test
+    void messageStillQueuedAtAckTimeoutIsNeverStoredButOneBeingWrittenIsReturned() throws Exception {
+        doAnswer(invocation -> {
+            List<ChatMessageResponse> messages = invocation.getArgument(0);
+            messages.forEach(message -> stored.add(message.getId()));
+            return null;
+        }).when(repository).insertAll(anyList());
+        // "stall" 메시지를 저널에 쓰는 동안 저널 스레드를 붙잡아 fsync가 응답 대기 시간을 넘기게 한다
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ObjectMapper stallingMapper = new ObjectMapper() {
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if (value instanceof ChatMessageResponse message && "stall".equals(message.getMessage())) {
+                    stalled.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.writeValueAsBytes(value);
+            }
+        };
+        stallingMapper.registerModule(new JavaTimeModule());
+        writer = new ChatWriteBehindWriter(repository, stallingMapper,
+                true, journalDir.toString(), 500, 20, 64 * 1024 * 1024, 200, 100_000, 5);
+        writer.start();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ChatMessageResponse> writing = executor.submit(() -> writer.append(1, 1, "nick", "stall"));
+            assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 저널 스레드가 집어 가기 전에 시간이 초과된 메시지는 실패로 끝나고 기록되지 않는다
+            assertThatThrownBy(() -> writer.append(1, 1, "nick", "queued")).hasMessageContaining("시간이 초과");
+            release.countDown();
+
+            // 이미 기록 중이던 메시지는 대기 시간이 지났어도 저장된 결과를 돌려받는다
+            ChatMessageResponse written = writing.get(5, TimeUnit.SECONDS);
+            ChatMessageResponse next = writer.append(1, 1, "nick", "after");
+            awaitTrue(() -> stored.contains(next.getId()));
+
+            assertThat(stored).containsExactly(written.getId(), next.getId());
+            assertThat(next.getId()).isEqualTo(written.getId() + 1);
+            assertThat(writer.getStats().get("appended")).isEqualTo(2L);
+            assertThat(writer.getStats().get("abandoned")).isEqualTo(1L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private ChatWriteBehindWriter newWriter(int batchSize) {
+        return new ChatWriteBehindWriter(repository, new ObjectMapper().registerModule(new JavaTimeModule()),
+                true, journalDir.toString(), batchSize, 20, 64 * 1024 * 1024, 2000, 100_000, 5);
+    }
+
+    /**
+     * 여러 스레드에서 동시에 보내 한 배치에 여러 메시지가 모이게 한다
+     * @return 보낸 순서대로 부여된 id
+     */
+    private List<Integer> appendConcurrently(int count, int poisonIndex) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ChatMessageResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String message = i == poisonIndex ? POISON : "message " + i;
+                futures.add(executor.submit(() -> writer.append(1, 1, "nick", message)));
+            }
+            List<Integer> ids = new ArrayList<>();
+            for (Future<ChatMessageResponse> future : futures) {
+                ids.add(future.get().getId());
+            }
+            return ids;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
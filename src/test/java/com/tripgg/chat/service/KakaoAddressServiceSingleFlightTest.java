@@ -0,0 +1,100 @@
+package com.tripgg.chat.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 격자 셀의 동시 좌표 변환이 카카오 호출 한 번으로 합쳐지는지 로컬 HTTP 서버로 확인
+ */
+class KakaoAddressServiceSingleFlightTest {
+
+    private static final int CALLERS = 32;
+    private static final String BODY = "{\"meta\":{\"total_count\":1},"
+            + "\"documents\":[{\"address\":{\"region_1depth_name\":\"경기\",\"region_2depth_name\":\"수원시 팔달구\"}}]}";
+
+    private HttpServer server;
+    private KakaoAddressService kakaoAddressService;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2/local/geo/coord2address.json", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        kakaoAddressService = new KakaoAddressService(new RestTemplate(), 100, 24, 60, 30, 0.001);
+        ReflectionTestUtils.setField(kakaoAddressService, "kakaoRestApiKey", "test-key");
+        ReflectionTestUtils.setField(kakaoAddressService, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentLookupsInSameCellMakeOneUpstreamCall() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                // 같은 0.001도 셀 안의 서로 다른 좌표
+                double longitude = 127.0151 + i * 0.00001;
+                double latitude = 37.2851 + i * 0.00001;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return kakaoAddressService.getRegionFromCoordinates(longitude, latitude);
+                }));
+            }
+            start.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((long) kakaoAddressService.getStats().get("coalesced") < CALLERS - 1) {
+                assertThat(System.nanoTime()).as("합쳐진 호출 대기 시간 초과").isLessThan(deadline);
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("수원시 팔달구");
+            }
+            assertThat(upstreamCalls.get()).isEqualTo(1);
+            assertThat(kakaoAddressService.getStats()).containsEntry("upstreamCalls", 1L);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tripgg.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.util.KoreaCrs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegionBoundaryIndexTest {
+
+    private static final Charset MS949 = Charset.forName("MS949");
+
+    // 수원시 장안구 일대를 덮는 사각형 (외곽선은 시계 방향, 구멍은 반시계 방향)
+    private static final double[][] SUWON_OUTER = {{126.95, 37.25}, {126.95, 37.35}, {127.05, 37.35}, {127.05, 37.25}, {126.95, 37.25}};
+    private static final double[][] SUWON_HOLE = {{126.99, 37.29}, {127.01, 37.29}, {127.01, 37.31}, {126.99, 37.31}, {126.99, 37.29}};
+    private static final double[][] JONGNO = {{126.95, 37.55}, {126.95, 37.60}, {127.00, 37.60}, {127.00, 37.55}, {126.95, 37.55}};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loadsUtmKShapefileWithCp949Names() throws IOException {
+        writeShapefile(tempDir.resolve("TL_SCCO_SIG"), KoreaCrs.UTM_K, List.of(
+                new TestFeature("41111", "수원시 장안구", List.of(SUWON_OUTER, SUWON_HOLE)),
+                new TestFeature("11110", "종로구", List.<double[][]>of(JONGNO))));
+
+        RegionBoundaryIndex index = newIndex("file:" + tempDir.resolve("TL_SCCO_SIG.shp"), "EPSG:5179");
+
+        assertThat(index.isLoaded()).isTrue();
+        assertThat(index.findRoomId(37.27, 126.97)).isEqualTo(GyeonggiRegions.roomIdOf("수원시"));
+        // 구멍 안과 경기도가 아닌 시군구는 카카오로 넘긴다
+        assertThat(index.findRoomId(37.30, 127.00)).isNull();
+        assertThat(index.findRoomId(37.57, 126.97)).isNull();
+        Map<String, Object> stats = index.getStats();
+        assertThat(stats.get("polygons")).isEqualTo(1);
+    }
+
+    @Test
+    void loadsGeoJsonFeatureCollection() throws IOException {
+        Path geoJson = tempDir.resolve("gyeonggi.geojson");
+        Files.writeString(geoJson, """
+                {"type":"FeatureCollection","features":[
+                  {"type":"Feature","properties":{"SIG_KOR_NM":"경기도 수원시장안구"},
+                   "geometry":{"type":"MultiPolygon","coordinates":[[%s,%s]]}}
+                ]}""".formatted(json(SUWON_OUTER), json(SUWON_HOLE)), StandardCharsets.UTF_8);
+
+        RegionBoundaryIndex index = newIndex("file:" + geoJson, "EPSG:5179");
+
+        assertThat(index.isLoaded()).isTrue();
+        assertThat(index.findRoomId(37.34, 127.04)).isEqualTo(GyeonggiRegions.roomIdOf("수원시"));
+        assertThat(index.findRoomId(37.30, 127.00)).isNull();
+    }
+
+    @Test
+    void missingFileLeavesIndexEmpty() {
+        RegionBoundaryIndex index = newIndex("file:" + tempDir.resolve("none.shp"), "EPSG:5179");
+
+        assertThat(index.isLoaded()).isFalse();
+        assertThat(index.findRoomId(37.27, 126.97)).isNull();
+    }
+
+    private static RegionBoundaryIndex newIndex(String boundaryFile, String crs) {
+        RegionBoundaryIndex index = new RegionBoundaryIndex(new DefaultResourceLoader(), new ObjectMapper(),
+                boundaryFile, "SIG_KOR_NM", 0.0, crs, "MS949");
+        index.load();
+        return index;
+    }
+
+    private static String json(double[][] ring) {
+        List<String> points = new ArrayList<>();
+        for (double[] point : ring) {
+            points.add("[" + point[0] + "," + point[1] + "]");
+        }
+        return "[" + String.join(",", points) + "]";
+    }
+
+    private record TestFeature(String code, String name, List<double[][]> rings) {
+    }
+
+    /**
+     * 최소 Polygon Shapefile(.shp/.dbf) 작성, 좌표는 경위도를 지정한 좌표계로 투영해 기록한다
+     */
+    private static void writeShapefile(Path base, KoreaCrs crs, List<TestFeature> features) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        for (int r = 0; r < features.size(); r++) {
+            List<double[][]> rings = features.get(r).rings();
+            int points = rings.stream().mapToInt(ring -> ring.length).sum();
+            int contentLength = 44 + rings.size() * 4 + points * 16;
+            ByteBuffer record = ByteBuffer.allocate(8 + contentLength);
+            record.order(ByteOrder.BIG_ENDIAN).putInt(r + 1).putInt(contentLength / 2);
+            record.order(ByteOrder.LITTLE_ENDIAN).putInt(5);
+            record.put(new byte[32]);
+            record.putInt(rings.size()).putInt(points);
+            int start = 0;
+            for (double[][] ring : rings) {
+                record.putInt(start);
+                start += ring.length;
+            }
+            for (double[][] ring : rings) {
+                for (double[] point : ring) {
+                    double[] projected = crs.fromWgs84(point[0], point[1]);
+                    record.putDouble(projected[0]).putDouble(projected[1]);
+                }
+            }
+            records.add(record.array());
+        }
+        int fileLength = 100 + records.stream().mapToInt(record -> record.length).sum();
+        ByteBuffer shp = ByteBuffer.allocate(fileLength);
+        shp.order(ByteOrder.BIG_ENDIAN).putInt(0, 9994).putInt(24, fileLength / 2);
+        shp.order(ByteOrder.LITTLE_ENDIAN).putInt(28, 1000).putInt(32, 5);
+        shp.position(100);
+        records.forEach(shp::put);
+        Files.write(Path.of(base + ".shp"), shp.array());
+
+        int codeLength = 5;
+        int nameLength = 40;
+        int headerLength = 32 + 2 * 32 + 1;
+        int recordLength = 1 + codeLength + nameLength;
+        ByteBuffer dbf = ByteBuffer.allocate(headerLength + features.size() * recordLength + 1).order(ByteOrder.LITTLE_ENDIAN);
+        dbf.put(0, (byte) 0x03).putInt(4, features.size()).putShort(8, (short) headerLength).putShort(10, (short) recordLength);
+        writeField(dbf, 32, "SIG_CD", codeLength);
+        writeField(dbf, 64, "SIG_KOR_NM", nameLength);
+        dbf.put(96, (byte) 0x0D);
+        dbf.position(headerLength);
+        for (TestFeature feature : features) {
+            dbf.put((byte) ' ');
+            dbf.put(padded(feature.code(), codeLength));
+            dbf.put(padded(feature.name(), nameLength));
+        }
+        dbf.put((byte) 0x1A);
+        Files.write(Path.of(base + ".dbf"), dbf.array());
+    }
+
+    private static void writeField(ByteBuffer dbf, int position, String name, int length) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; i++) {
+            dbf.put(position + i, bytes[i]);
+        }
+        dbf.put(position + 11, (byte) 'C');
+        dbf.put(position + 16, (byte) length);
+    }
+
+    private static byte[] padded(String value, int length) {
+        byte[] result = new byte[length];
+        Arrays.fill(result, (byte) ' ');
+        byte[] bytes = value.getBytes(MS949);
+        System.arraycopy(bytes, 0, result, 0, bytes.length);
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.tripgg.common.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTest {
+
+    @Test
+    void ranksExactThenPrefixThenPositionAndCountsAllMatches() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "수원 화성 행궁");
+        index.put(2, "화성");
+        index.put(3, "화성시청");
+        index.put(4, "동탄 화성 호수공원");
+        index.put(5, "화 성"); // 공백은 정규화로 제거되어 "화성"과 완전 일치
+        index.put(6, "화서역");
+
+        NgramIndex.SearchResult all = index.search("화성", 0, 10);
+        assertThat(all.ids()).containsExactly(2, 5, 3, 1, 4);
+        assertThat(all.total()).isEqualTo(5);
+
+        NgramIndex.SearchResult page = index.search("화성", 2, 2);
+        assertThat(page.ids()).containsExactly(3, 1);
+        assertThat(page.total()).isEqualTo(5);
+
+        assertThat(index.search("화성", 10, 5).ids()).isEmpty();
+        assertThat(index.search("화성", 0, 0).total()).isEqualTo(5);
+    }
+
+    @Test
+    void pagesMatchFullSortOnManyDocuments() {
+        NgramIndex index = new NgramIndex();
+        for (int id = 1; id <= 5000; id++) {
+            index.put(id, "경기 " + (id % 7 == 0 ? "경기도청 " : "") + "장소" + id, "경기도 수원시 " + id + "번길");
+        }
+        NgramIndex.SearchResult full = index.search("경기", 0, 5000);
+        assertThat(full.total()).isEqualTo(5000);
+        for (int offset = 0; offset < 5000; offset += 997) {
+            NgramIndex.SearchResult page = index.search("경기", offset, 20);
+            assertThat(page.total()).isEqualTo(5000);
+            assertThat(page.ids()).isEqualTo(full.ids().subList(offset, Math.min(offset + 20, 5000)));
+        }
+    }
+
+    @Test
+    void normalizesIndependentlyOfDefaultLocale() {
+        assertThat(NgramIndex.normalize("TITLE Lake")).isEqualTo("titlelake");
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Incheon INTERNATIONAL");
+        assertThat(index.search("international", 0, 5).ids()).isEqualTo(List.of(1));
+    }
+}
@@ -0,0 +1,52 @@
+package com.tripgg.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class KoreaCrsTest {
+
+    @Test
+    void projectionOriginMapsToFalseOrigin() {
+        double[] lonLat = KoreaCrs.UTM_K.toWgs84(1_000_000.0, 2_000_000.0);
+        assertThat(lonLat[0]).isCloseTo(127.5, within(1e-9));
+        assertThat(lonLat[1]).isCloseTo(38.0, within(1e-9));
+
+        double[] central = KoreaCrs.CENTRAL_BELT_2010.toWgs84(200_000.0, 600_000.0);
+        assertThat(central[0]).isCloseTo(127.0, within(1e-9));
+        assertThat(central[1]).isCloseTo(38.0, within(1e-9));
+    }
+
+    @Test
+    void roundTripsAcrossGyeonggi() {
+        for (KoreaCrs crs : KoreaCrs.values()) {
+            for (double lon = 126.3; lon <= 127.9; lon += 0.2) {
+                for (double lat = 36.8; lat <= 38.3; lat += 0.2) {
+                    double[] projected = crs.fromWgs84(lon, lat);
+                    double[] back = crs.toWgs84(projected[0], projected[1]);
+                    // 1e-8도 ≈ 1mm
+                    assertThat(back[0]).isCloseTo(lon, within(1e-8));
+                    assertThat(back[1]).isCloseTo(lat, within(1e-8));
+                }
+            }
+        }
+    }
+
+    @Test
+    void distancesMatchHaversine() {
+        // 서울시청 → 수원시청 약 31km, 투영 평면 거리와 대권 거리의 차이는 축척 계수(0.9996) 수준이어야 한다
+        double[] seoul = KoreaCrs.UTM_K.fromWgs84(126.9780, 37.5665);
+        double[] suwon = KoreaCrs.UTM_K.fromWgs84(127.0286, 37.2636);
+        double planeKm = Math.hypot(seoul[0] - suwon[0], seoul[1] - suwon[1]) / 1000.0;
+        double greatCircleKm = GeoUtils.haversineKm(37.5665, 126.9780, 37.2636, 127.0286);
+        assertThat(planeKm).isCloseTo(greatCircleKm, within(greatCircleKm * 0.005));
+    }
+
+    @Test
+    void resolvesCodes() {
+        assertThat(KoreaCrs.of("epsg:5179")).isEqualTo(KoreaCrs.UTM_K);
+        assertThatThrownBy(() -> KoreaCrs.of("EPSG:2097")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
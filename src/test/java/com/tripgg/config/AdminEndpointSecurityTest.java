@@ -0,0 +1,132 @@
+package com.tripgg.config;
+
+import com.tripgg.auth.filter.JwtAuthenticationFilter;
+import com.tripgg.auth.service.JwtService;
+import com.tripgg.chat.controller.ChatController;
+import com.tripgg.chat.entity.ChatRoom;
+import com.tripgg.chat.service.ChatMessagePublisher;
+import com.tripgg.chat.service.ChatPresenceService;
+import com.tripgg.chat.service.ChatService;
+import com.tripgg.common.io.NdjsonExporter;
+import com.tripgg.place.controller.GodataImportController;
+import com.tripgg.place.dto.GodataImportStatus;
+import com.tripgg.place.service.GodataImportService;
+import com.tripgg.schedule.controller.ScheduleController;
+import com.tripgg.schedule.service.AiScheduleJobService;
+import com.tripgg.schedule.service.ScheduleService;
+import com.tripgg.user.controller.UserController;
+import com.tripgg.user.entity.User;
+import com.tripgg.user.repository.UserRepository;
+import com.tripgg.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 관리자 전용 API가 admin.kakao-ids 에 등록된 사용자만 허용하는지 확인
+ */
+@WebMvcTest(controllers = {GodataImportController.class, UserController.class, ScheduleController.class, ChatController.class})
+@Import({SecurityConfig.class, JwtAuthenticationFilter.class})
+@TestPropertySource(properties = "admin.kakao-ids=kakao-admin, kakao-ops")
+class AdminEndpointSecurityTest {
+
+    private static final String ADMIN = "Bearer admin-token";
+    private static final String MEMBER = "Bearer member-token";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private GodataImportService godataImportService;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ScheduleService scheduleService;
+
+    @MockBean
+    private AiScheduleJobService aiScheduleJobService;
+
+    @MockBean
+    private NdjsonExporter ndjsonExporter;
+
+    @MockBean
+    private ChatService chatService;
+
+    @MockBean
+    private ChatMessagePublisher chatMessagePublisher;
+
+    @MockBean
+    private ChatPresenceService chatPresenceService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtService.extractUserId("admin-token")).thenReturn(1L);
+        when(jwtService.extractUserId("member-token")).thenReturn(2L);
+        when(jwtService.validateToken(anyString(), anyLong())).thenReturn(true);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().id(1).kakaoId("kakao-admin").build()));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2).kakaoId("kakao-member").build()));
+        when(godataImportService.startImport(any())).thenReturn(new GodataImportStatus());
+        when(godataImportService.getStatus()).thenReturn(new GodataImportStatus());
+        when(ndjsonExporter.export(anyString(), any())).thenReturn(out -> out.write("{}\n".getBytes()));
+        when(chatService.updateChatRoom(any(), any(), any(), any(), any(), any(), any())).thenReturn(new ChatRoom());
+    }
+
+    @Test
+    void godataImportRequiresAdmin() throws Exception {
+        mockMvc.perform(post("/api/places/godata/import").header("Authorization", MEMBER)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"fileName\":\"godata.csv\"}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/places/godata/import/status").header("Authorization", MEMBER))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/places/godata/import").header("Authorization", ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"fileName\":\"godata.csv\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/places/godata/import/status").header("Authorization", ADMIN))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportsRequireAdmin() throws Exception {
+        for (String path : new String[]{"/users/export", "/schedules/export"}) {
+            mockMvc.perform(get(path).header("Authorization", MEMBER)).andExpect(status().isForbidden());
+            mockMvc.perform(get(path).header("Authorization", ADMIN)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void chatRoomUpdateRequiresAdmin() throws Exception {
+        mockMvc.perform(put("/api/chat/rooms/1").param("isActive", "false").header("Authorization", MEMBER))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/chat/rooms/1").param("isActive", "false").header("Authorization", ADMIN))
+                .andExpect(status().isOk());
+        // 조회는 일반 사용자도 가능
+        mockMvc.perform(get("/api/chat/rooms").header("Authorization", MEMBER))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,84 @@
+package com.tripgg.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 전체 제한 시간 타이머가 요청이 끝나면 스케줄러에서 빠지는지 확인
+ */
+class OutboundHttpClientsTest {
+
+    private HttpServer server;
+    private OutboundHttpClients outboundHttpClients;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/ok", exchange -> {
+            byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        OutboundHttpProperties.Client slow = new OutboundHttpProperties.Client();
+        slow.setTotalTimeout(Duration.ofMillis(200));
+        properties.getClients().put("short", slow);
+        outboundHttpClients = new OutboundHttpClients(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboundHttpClients.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void completedRequestsReleaseTheirDeadline() {
+        RestTemplate restTemplate = outboundHttpClients.createRestTemplate("default");
+        for (int i = 0; i < 200; i++) {
+            ResponseEntity<Map> response = restTemplate.postForEntity(baseUrl + "/ok", Map.of("i", i), Map.class);
+            assertThat(response.getBody()).containsEntry("ok", true);
+        }
+        assertThat(outboundHttpClients.getStats()).containsEntry("pendingDeadlines", 0);
+    }
+
+    @Test
+    void totalTimeoutStillAbortsSlowRequests() {
+        RestTemplate restTemplate = outboundHttpClients.createRestTemplate("short");
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> restTemplate.getForEntity(baseUrl + "/slow", String.class))
+                .isInstanceOf(ResourceAccessException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+        assertThat(outboundHttpClients.getStats()).containsEntry("pendingDeadlines", 0);
+    }
+}
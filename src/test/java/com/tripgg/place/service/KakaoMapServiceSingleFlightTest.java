@@ -0,0 +1,119 @@
+package com.tripgg.place.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tripgg.place.dto.KakaoPlaceResponse;
+import com.tripgg.place.dto.PlaceSearchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 조건의 동시 검색이 카카오 호출 한 번으로 합쳐지는지 로컬 HTTP 서버로 확인
+ */
+class KakaoMapServiceSingleFlightTest {
+
+    private static final int CALLERS = 32;
+    private static final String BODY = "{\"meta\":{\"total_count\":1,\"pageable_count\":1,\"is_end\":true},"
+            + "\"documents\":[{\"id\":\"1\",\"place_name\":\"수원화성\",\"x\":\"127.01\",\"y\":\"37.28\"}]}";
+
+    private HttpServer server;
+    private PlaceSearchCache placeSearchCache;
+    private KakaoMapService kakaoMapService;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2/local/search/keyword.json", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                // 나머지 호출이 모두 합류할 때까지 응답을 붙잡아 둔다
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        placeSearchCache = new PlaceSearchCache(100, 300, 1800, 0.001, 250, 1);
+        kakaoMapService = new KakaoMapService(new RestTemplate(), placeSearchCache);
+        ReflectionTestUtils.setField(kakaoMapService, "kakaoApiKey", "test-key");
+        ReflectionTestUtils.setField(kakaoMapService, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(kakaoMapService, "fanoutThreads", 2);
+        ReflectionTestUtils.setField(kakaoMapService, "fanoutQueueCapacity", 16);
+        kakaoMapService.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        kakaoMapService.shutdownExecutor();
+        placeSearchCache.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void concurrentIdenticalSearchesMakeOneUpstreamCall() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<KakaoPlaceResponse>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    PlaceSearchRequest request = new PlaceSearchRequest();
+                    request.setKeyword("수원 화성");
+                    request.setX("127.0101");
+                    request.setY("37.2801");
+                    return kakaoMapService.searchByKeyword(request);
+                }));
+            }
+            start.countDown();
+
+            awaitCoalesced(CALLERS - 1);
+            release.countDown();
+
+            for (Future<KakaoPlaceResponse> result : results) {
+                KakaoPlaceResponse response = result.get(10, TimeUnit.SECONDS);
+                assertThat(response.getDocuments()).extracting(KakaoPlaceResponse.Document::getPlaceName)
+                        .containsExactly("수원화성");
+            }
+            assertThat(upstreamCalls.get()).isEqualTo(1);
+            assertThat(kakaoMapService.getStats()).containsEntry("issued", 1L).containsEntry("coalesced", (long) CALLERS - 1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((long) kakaoMapService.getStats().get("coalesced") < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("합쳐진 호출 수가 " + expected + "에 도달하지 않음: " + kakaoMapService.getStats());
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.util.GeoUtils;
+import com.tripgg.place.entity.SchedulePlaces;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 장소 좌표 조회 시간 (장소 100만 개)
+ * - indexNearest / indexRange: PlaceSpatialIndex 격자 인덱스의 최근접 k개 / 범위 조회
+ * - jpqlNearest / jpqlRange: 인덱스 이전 방식, findByCoordinatesRange(위경도 BETWEEN)로 후보를 받아 거리순 정렬
+ *   (최근접은 후보가 k개가 될 때까지 범위를 두 배씩 넓힌다)
+ * schedule_places에는 위경도 인덱스가 없어 DB는 범위 조회마다 전체 행을 훑는다.
+ * DB는 문장마다 왕복 지연(dbLatencyMicros)이 들고 모든 행의 좌표를 비교하는 메모리 테이블로 대신하므로
+ * 디스크 읽기와 엔티티 매핑 비용이 빠진 만큼 실제보다 유리한 기준선이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+public class PlaceSpatialIndexBenchmark {
+
+    // 국내 좌표 범위
+    private static final double MIN_LAT = 33.1;
+    private static final double MAX_LAT = 38.6;
+    private static final double MIN_LNG = 124.6;
+    private static final double MAX_LNG = 131.0;
+    private static final int QUERY_POINTS = 1024;
+
+    @Param("1000000")
+    public int places;
+
+    @Param("10")
+    public int k;
+
+    // 범위 조회 / 최근접 첫 범위의 반경
+    @Param("2")
+    public double radiusKm;
+
+    @Param("500")
+    public long dbLatencyMicros;
+
+    private PlaceSpatialIndex index;
+    private SimulatedPlaceTable table;
+    private double[][] queryPoints;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new PlaceSpatialIndex(null, 0.01);
+        table = new SimulatedPlaceTable(places, dbLatencyMicros);
+        Random random = new Random(42);
+        for (int id = 1; id <= places; id++) {
+            SchedulePlaces place = SchedulePlaces.builder()
+                    .id(id)
+                    .name("장소" + id)
+                    .latitude(MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT))
+                    .longitude(MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG))
+                    .build();
+            index.upsert(place);
+            table.insert(place);
+        }
+        queryPoints = new double[QUERY_POINTS][];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryPoints[i] = new double[]{
+                    MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT),
+                    MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG)};
+        }
+    }
+
+    @Benchmark
+    public List<PlaceSpatialIndex.PlaceDistance> indexNearest() {
+        double[] point = nextPoint();
+        return index.findNearest(point[0], point[1], k);
+    }
+
+    @Benchmark
+    public List<PlaceSpatialIndex.PlaceDistance> jpqlNearest() {
+        double[] point = nextPoint();
+        double searchKm = radiusKm;
+        while (true) {
+            List<SchedulePlaces> candidates = jpqlRange(point[0], point[1], searchKm);
+            // 범위 모서리 밖의 후보가 섞일 수 있으므로 k번째 거리가 반경 안일 때만 확정한다
+            List<PlaceSpatialIndex.PlaceDistance> sorted = sortByDistance(candidates, point[0], point[1]);
+            if (sorted.size() >= k && sorted.get(k - 1).distanceKm() <= searchKm) {
+                return sorted.subList(0, k);
+            }
+            if (searchKm > GeoUtils.KM_PER_DEGREE_LAT * (MAX_LAT - MIN_LAT)) {
+                return sorted.subList(0, Math.min(k, sorted.size()));
+            }
+            searchKm *= 2;
+        }
+    }
+
+    @Benchmark
+    public List<SchedulePlaces> indexRange() {
+        double[] point = nextPoint();
+        double latDelta = GeoUtils.latDeltaDegrees(radiusKm);
+        double lngDelta = GeoUtils.lngDeltaDegrees(radiusKm, point[0]);
+        return index.findInRange(point[0] - latDelta, point[0] + latDelta, point[1] - lngDelta, point[1] + lngDelta);
+    }
+
+    @Benchmark
+    public List<SchedulePlaces> jpqlRange() {
+        double[] point = nextPoint();
+        return jpqlRange(point[0], point[1], radiusKm);
+    }
+
+    private List<SchedulePlaces> jpqlRange(double latitude, double longitude, double searchKm) {
+        double latDelta = GeoUtils.latDeltaDegrees(searchKm);
+        double lngDelta = GeoUtils.lngDeltaDegrees(searchKm, latitude);
+        return table.findByCoordinatesRange(latitude - latDelta, latitude + latDelta, longitude - lngDelta, longitude + lngDelta);
+    }
+
+    private static List<PlaceSpatialIndex.PlaceDistance> sortByDistance(List<SchedulePlaces> candidates,
+                                                                        double latitude, double longitude) {
+        List<PlaceSpatialIndex.PlaceDistance> results = new ArrayList<>(candidates.size());
+        for (SchedulePlaces place : candidates) {
+            results.add(new PlaceSpatialIndex.PlaceDistance(place,
+                    GeoUtils.haversineKm(latitude, longitude, place.getLatitude(), place.getLongitude())));
+        }
+        results.sort(Comparator.comparingDouble(PlaceSpatialIndex.PlaceDistance::distanceKm));
+        return results;
+    }
+
+    private double[] nextPoint() {
+        // 벤치마크 스레드 하나에서만 호출된다
+        return queryPoints[nextQuery++ & (QUERY_POINTS - 1)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PlaceSpatialIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 위경도 인덱스가 없는 schedule_places 테이블 대역
+     * findByCoordinatesRange와 같은 조건(위경도 BETWEEN)으로 모든 행을 비교하고, 문장마다 왕복 지연이 든다.
+     */
+    static final class SimulatedPlaceTable {
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final SchedulePlaces[] rows;
+        private final long latencyNanos;
+        private int size;
+
+        SimulatedPlaceTable(int capacity, long latencyMicros) {
+            this.latitudes = new double[capacity];
+            this.longitudes = new double[capacity];
+            this.rows = new SchedulePlaces[capacity];
+            this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        }
+
+        void insert(SchedulePlaces place) {
+            latitudes[size] = place.getLatitude();
+            longitudes[size] = place.getLongitude();
+            rows[size++] = place;
+        }
+
+        List<SchedulePlaces> findByCoordinatesRange(double minLat, double maxLat, double minLng, double maxLng) {
+            LockSupport.parkNanos(latencyNanos);
+            List<SchedulePlaces> results = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                double lat = latitudes[i];
+                double lng = longitudes[i];
+                if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                    results.add(rows[i]);
+                }
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tripgg.place.service;
+
+import com.tripgg.common.util.GeoUtils;
+import com.tripgg.place.entity.SchedulePlaces;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 최근접 조회가 전수 비교와 같은 결과를 내고, 먼 좌표/큰 k에서도 격자 전체를 돌지 않는지 확인
+ */
+class PlaceSpatialIndexTest {
+
+    private final List<SchedulePlaces> places = new ArrayList<>();
+    private PlaceSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlaceSpatialIndex(null, 0.01);
+        Random random = new Random(42);
+        for (int id = 1; id <= 2000; id++) {
+            // 경기도 근처 (위도 36.9~38.3, 경도 126.4~127.9)
+            SchedulePlaces place = SchedulePlaces.builder()
+                    .id(id)
+                    .name("장소" + id)
+                    .latitude(36.9 + random.nextDouble() * 1.4)
+                    .longitude(126.4 + random.nextDouble() * 1.5)
+                    .build();
+            places.add(place);
+            index.upsert(place);
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            double latitude = 36.5 + random.nextDouble() * 2.2;
+            double longitude = 126.0 + random.nextDouble() * 2.3;
+            assertThat(ids(index.findNearest(latitude, longitude, 10))).isEqualTo(bruteForce(latitude, longitude, 10));
+        }
+    }
+
+    @Test
+    void farPointsAndLargeKFallBackToCellScan() {
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            // 반대 반구 좌표는 고리 수가 수만 개지만 비어 있지 않은 셀만 훑어야 한다
+            assertThat(ids(index.findNearest(-37.5, -53.0, 5))).isEqualTo(bruteForce(-37.5, -53.0, 5));
+            assertThat(index.findNearest(37.5, 127.0, 5000)).hasSize(places.size());
+        });
+        assertThat((long) index.getStats().get("nearestFallbackScans")).isEqualTo(2L);
+    }
+
+    private List<Integer> bruteForce(double latitude, double longitude, int k) {
+        return places.stream()
+                .sorted(Comparator.comparingDouble(place ->
+                        GeoUtils.haversineKm(latitude, longitude, place.getLatitude(), place.getLongitude())))
+                .limit(k)
+                .map(SchedulePlaces::getId)
+                .toList();
+    }
+
+    private static List<Integer> ids(List<PlaceSpatialIndex.PlaceDistance> results) {
+        return results.stream().map(result -> result.place().getId()).toList();
+    }
+}
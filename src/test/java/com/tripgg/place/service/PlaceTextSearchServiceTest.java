@@ -0,0 +1,78 @@
+package com.tripgg.place.service;
+
+import com.tripgg.place.entity.PlacesGodata;
+import com.tripgg.place.repository.PlaceRepository;
+import com.tripgg.place.repository.PlacesGodataRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 색인 재구성 중에도 검색이 기존 색인으로 응답하고, 재구성 도중 반영된 변경이 교체 후에도 남는지 확인
+ */
+class PlaceTextSearchServiceTest {
+
+    @Test
+    void searchesKeepServingWhileGodataIsRebuilt() throws Exception {
+        PlaceRepository placeRepository = mock(PlaceRepository.class);
+        PlacesGodataRepository godataRepository = mock(PlacesGodataRepository.class);
+        List<PlacesGodata> rows = List.of(godata(1, "수원화성"), godata(2, "화성행궁"));
+        List<PlacesGodata> stored = List.of(godata(1, "수원화성"), godata(2, "화성행궁"), godata(3, "융릉"));
+        when(godataRepository.findByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            List<PlacesGodata> found = new ArrayList<>();
+            for (PlacesGodata row : stored) {
+                if (ids.contains(row.getId())) {
+                    found.add(row);
+                }
+            }
+            return found;
+        });
+
+        PlaceTextSearchService service = new PlaceTextSearchService(placeRepository, godataRepository);
+        when(godataRepository.findByIdGreaterThanOrderByIdAsc(eq(0), any(Limit.class))).thenReturn(rows);
+        when(godataRepository.findByIdGreaterThanOrderByIdAsc(eq(2), any(Limit.class))).thenReturn(List.of());
+        service.reloadGodata();
+        assertThat(service.searchGodataByName("화성", 1, 10)).extracting(PlacesGodata::getId).containsExactly(2, 1);
+
+        // 두 번째 재구성은 첫 배치를 읽은 뒤 멈춰 있다
+        CountDownLatch firstBatchRead = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(godataRepository.findByIdGreaterThanOrderByIdAsc(eq(0), any(Limit.class))).thenReturn(List.of(godata(1, "수원화성")));
+        when(godataRepository.findByIdGreaterThanOrderByIdAsc(eq(1), any(Limit.class))).thenAnswer(invocation -> {
+            firstBatchRead.countDown();
+            resume.await(5, TimeUnit.SECONDS);
+            return List.of(godata(2, "화성행궁"));
+        });
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(service::reloadGodata);
+        assertThat(firstBatchRead.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(service.getStats()).containsEntry("godataRebuilding", true);
+        assertThat(service.searchGodataByName("화성", 1, 10)).extracting(PlacesGodata::getId).containsExactly(2, 1);
+        service.indexGodata(godata(3, "융릉")); // 재구성 도중 들어온 변경
+
+        resume.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(service.getStats()).containsEntry("godataRebuilding", false).containsEntry("godataDocuments", 3);
+        assertThat(service.searchGodataByName("화성", 1, 10)).extracting(PlacesGodata::getId).containsExactly(2, 1);
+        assertThat(service.searchGodataByName("융릉", 1, 10)).extracting(PlacesGodata::getId).containsExactly(3);
+    }
+
+    private static PlacesGodata godata(int id, String name) {
+        return PlacesGodata.builder().id(id).placeName(name).roadAddress("경기도 수원시").build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.tripgg.schedule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiScheduleCacheTest {
+
+    private final AiScheduleCache cache = new AiScheduleCache(new ObjectMapper(), true, 100, 24);
+
+    @Test
+    void requestsWithDifferentDescriptionsDoNotShareAnEntry() {
+        cache.put(request("가족 여행", "아이와 함께 가는 박물관 위주 일정"), response());
+
+        assertThat(cache.get(request("가족 여행", "부모님과 함께 가는 온천 위주 일정"))).isNull();
+        assertThat(cache.get(request("친구 여행", "아이와 함께 가는 박물관 위주 일정"))).isNull();
+        assertThat(cache.get(request("가족 여행", "아이와 함께 가는 박물관 위주 일정"))).isNotNull();
+    }
+
+    @Test
+    void titleAndDescriptionIgnoreCaseAndWhitespace() {
+        assertThat(cache.keyOf(request(" Family  Trip", "museum\n tour ")))
+                .isEqualTo(cache.keyOf(request("family trip", "Museum tour")));
+    }
+
+    private static AiScheduleRequest request(String title, String description) {
+        return AiScheduleRequest.builder()
+                .title(title)
+                .description(description)
+                .startDate("2026-05-01")
+                .endDate("2026-05-02")
+                .region("경주")
+                .keywords(List.of("역사"))
+                .build();
+    }
+
+    private static AiScheduleResponse response() {
+        return AiScheduleResponse.builder()
+                .schedule(ScheduleDto.builder().startDate("2026-05-01").endDate("2026-05-02").build())
+                .scheduleItems(List.of())
+                .build();
+    }
+}
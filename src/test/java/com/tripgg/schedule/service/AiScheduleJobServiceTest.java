@@ -0,0 +1,258 @@
+package com.tripgg.schedule.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.common.exception.RateLimitExceededException;
+import com.tripgg.common.util.CancellationScope;
+import com.tripgg.schedule.dto.AiScheduleJobResponse;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import com.tripgg.schedule.entity.AiScheduleJob;
+import com.tripgg.schedule.entity.AiScheduleJob.Status;
+import com.tripgg.schedule.repository.AiScheduleJobRepository;
+import com.tripgg.schedule.service.ai.ItineraryStreamParser;
+import com.tripgg.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AiScheduleJobServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long JOB_ID = 7L;
+
+    private AiScheduleJobRepository jobRepository;
+    private UserRepository userRepository;
+    private AiScheduleGenerationService generationService;
+    private ScheduleService scheduleService;
+    private TransactionTemplate transactionTemplate;
+    private AiScheduleJobService service;
+    private AiScheduleJob job;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jobRepository = mock(AiScheduleJobRepository.class);
+        userRepository = mock(UserRepository.class);
+        generationService = mock(AiScheduleGenerationService.class);
+        scheduleService = mock(ScheduleService.class);
+        when(scheduleService.saveAiSchedule(any(), any())).thenReturn(AiScheduleResponse.builder().build());
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        job = AiScheduleJob.builder().id(JOB_ID).userId(USER_ID).status(Status.QUEUED).requestJson("{}").build();
+        when(jobRepository.save(any())).thenReturn(job);
+        when(jobRepository.findById(JOB_ID)).thenAnswer(invocation -> Optional.of(job));
+        when(jobRepository.start(eq(JOB_ID), eq(Status.QUEUED), eq(Status.RUNNING), any())).thenAnswer(invocation -> {
+            job.setStatus(Status.RUNNING);
+            return 1;
+        });
+        when(jobRepository.finish(eq(JOB_ID), anyCollection(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Status> from = invocation.getArgument(1);
+            if (!from.contains(job.getStatus())) {
+                return 0;
+            }
+            job.setStatus(invocation.getArgument(2));
+            return 1;
+        });
+
+        service = new AiScheduleJobService(jobRepository, userRepository, generationService, scheduleService,
+                new ObjectMapper(), transactionTemplate, 1, 10, 2, 3, 5, 5, 1, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void submitChecksTheUserLimitUnderTheUserRowLock() {
+        when(jobRepository.countByUserIdAndStatusIn(eq(USER_ID), anyCollection())).thenReturn(0L);
+        when(generationService.generate(any(), any())).thenReturn(AiScheduleResponse.builder().build());
+
+        service.submit(USER_ID, new AiScheduleRequest());
+
+        InOrder order = inOrder(userRepository, jobRepository);
+        order.verify(userRepository).lockById(USER_ID);
+        order.verify(jobRepository).countByUserIdAndStatusIn(eq(USER_ID), anyCollection());
+        order.verify(jobRepository).save(any());
+    }
+
+    @Test
+    void submitOverTheUserLimitIsRejectedWithoutSaving() {
+        when(jobRepository.countByUserIdAndStatusIn(eq(USER_ID), anyCollection())).thenReturn(2L);
+
+        assertThatThrownBy(() -> service.submit(USER_ID, new AiScheduleRequest()))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(userRepository).lockById(USER_ID);
+        verify(jobRepository, never()).save(any());
+        assertThat(service.getStats().get("rejected")).isEqualTo(1L);
+    }
+
+    @Test
+    void cancelAbortsTheRunningGeneration() throws Exception {
+        when(jobRepository.countByUserIdAndStatusIn(anyLong(), anyCollection())).thenReturn(0L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        // 실제 LLM 호출처럼 현재 취소 범위에 중단 동작을 등록하고, 중단되면 예외로 끝난다
+        when(generationService.generate(any(), any())).thenAnswer(invocation -> {
+            CancellationScope.current().onCancel(aborted::countDown);
+            started.countDown();
+            if (!aborted.await(10, TimeUnit.SECONDS)) {
+                return AiScheduleResponse.builder().build();
+            }
+            throw new RuntimeException("요청이 중단되었습니다.");
+        });
+
+        service.submit(USER_ID, new AiScheduleRequest());
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        service.cancel(JOB_ID, USER_ID);
+
+        assertThat(aborted.getCount()).isZero();
+        awaitIdle();
+        assertThat(job.getStatus()).isEqualTo(Status.CANCELLED);
+        assertThat(service.getStats().get("failed")).isEqualTo(0L);
+        assertThat(service.getStats().get("cancelled")).isEqualTo(1L);
+        verify(jobRepository, never()).finish(eq(JOB_ID), anyCollection(), eq(Status.FAILED), any(), any());
+    }
+
+    @Test
+    void cacheHitIsSavedOnTheRequestThreadWithoutRunningTheJob() {
+        when(jobRepository.countByUserIdAndStatusIn(eq(USER_ID), anyCollection())).thenReturn(0L);
+        AiScheduleResponse cached = AiScheduleResponse.builder().schedule(ScheduleDto.builder().title("캐시").build()).build();
+        when(generationService.findCached(any())).thenReturn(cached);
+        when(scheduleService.saveAiSchedule(cached, USER_ID))
+                .thenReturn(AiScheduleResponse.builder().schedule(ScheduleDto.builder().id(3).title("캐시").build()).build());
+        when(jobRepository.save(any())).thenAnswer(invocation -> {
+            job = invocation.getArgument(0);
+            job.setId(JOB_ID);
+            return job;
+        });
+
+        AiScheduleJobResponse response = service.submit(USER_ID, new AiScheduleRequest());
+
+        // 완료된 작업으로 바로 기록되고 대기열/실행 전환/LLM 호출을 거치지 않는다
+        assertThat(response.getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(response.getScheduleId()).isEqualTo(3);
+        assertThat(response.getResult().getSchedule().getTitle()).isEqualTo("캐시");
+        verify(generationService, never()).generate(any(), any());
+        verify(jobRepository, never()).start(any(), any(), any(), any());
+        assertThat(service.getStats()).containsEntry("completedInline", 1L).containsEntry("succeeded", 1L)
+                .containsEntry("runningThreads", 0);
+    }
+
+    @Test
+    void slowSseClientDoesNotHoldUpTheGeneration() throws Exception {
+        service.shutdown();
+        BlockingEmitter emitter = new BlockingEmitter();
+        service = new AiScheduleJobService(jobRepository, userRepository, generationService, scheduleService,
+                new ObjectMapper(), transactionTemplate, 1, 10, 2, 3, 5, 5, 1, true) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return emitter;
+            }
+        };
+        when(jobRepository.countByUserIdAndStatusIn(eq(USER_ID), anyCollection())).thenReturn(0L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        when(generationService.generate(any(), any())).thenAnswer(invocation -> {
+            ItineraryStreamParser.Listener listener = invocation.getArgument(1);
+            started.countDown();
+            assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+            listener.onSchedule(ScheduleDto.builder().title("일정").build());
+            for (int i = 1; i <= 3; i++) {
+                listener.onItem(ScheduleItemDto.builder().memo("항목" + i).build());
+            }
+            return AiScheduleResponse.builder().build();
+        });
+
+        service.submit(USER_ID, new AiScheduleRequest());
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        service.subscribe(JOB_ID, USER_ID);
+        subscribed.countDown();
+
+        // 구독자의 첫 쓰기가 막혀 있어도 생성과 저장은 끝난다
+        awaitTrue(() -> job.getStatus() == Status.SUCCEEDED && (int) service.getStats().get("runningThreads") == 0);
+        assertThat(emitter.events).isEmpty();
+
+        emitter.release.countDown();
+        awaitTrue(() -> emitter.completed);
+        assertThat(emitter.events).containsExactly("status", "schedule", "item", "item", "item", "status");
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * release가 열릴 때까지 쓰기에서 멈추고, 보낸 이벤트 이름을 기록하는 SseEmitter (느린 클라이언트)
+     */
+    private static final class BlockingEmitter extends SseEmitter {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("전송이 중단되었습니다.");
+            }
+            String event = builder.build().stream().map(part -> String.valueOf(part.getData())).collect(Collectors.joining());
+            int start = event.indexOf("event:");
+            events.add(event.substring(start + 6, event.indexOf('\n', start)));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while ((int) service.getStats().get("runningThreads") > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tripgg.config.OutboundHttpClients;
+import com.tripgg.config.OutboundHttpProperties;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 GptApiService/GeminiApiService를 지연을 준 두 가짜 LLM 서버에 연결해 라우터가 진 쪽 HTTP 연결을 끊는지 확인
+ * 느린 서버는 응답 헤더를 보낸 뒤 본문 대신 공백(SSE면 주석 줄)을 조금씩 보내며 버티다가,
+ * 쓰기가 실패하면(클라이언트가 연결을 닫음) 그 사실을 기록한다.
+ * 중단 경로: 시도별 CancellationScope → OutboundHttpClients 요청 팩토리가 등록한 HttpUriRequestBase.cancel
+ */
+class HedgedAiScheduleRouterHttpTest {
+
+    private static final long HEDGE_DELAY_MILLIS = 300;
+    private static final long FAST_MILLIS = 100;
+    private static final long SLOW_MILLIS = 10_000;
+    private static final long KEEP_ALIVE_MILLIS = 50;
+
+    // 모델이 생성한 일정 (제공자 이름을 제목으로)
+    private static final String MODEL_OUTPUT = "{\"schedule\":{\"title\":\"%s\"},\"scheduleItems\":["
+            + "{\"day\":1,\"orderInDay\":1,\"memo\":\"%s-1\"},{\"day\":1,\"orderInDay\":2,\"memo\":\"%s-2\"}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private OutboundHttpClients outboundHttpClients;
+    private GptApiService gpt;
+    private HedgedAiScheduleRouter router;
+    private String baseUrl;
+
+    // 느린 서버가 본 요청 수, 응답을 쓰는 도중 클라이언트가 연결을 끊었는지와 그 시점
+    private final AtomicInteger slowRequests = new AtomicInteger();
+    private final CountDownLatch slowDisconnected = new CountDownLatch(1);
+    private volatile long slowDisconnectedAfterMillis = -1;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        // 주 제공자(GPT)는 느리고 보조 제공자(Gemini)는 빠르다
+        server.createContext("/gpt", exchange -> stall(exchange, false));
+        server.createContext("/gpt-stream", exchange -> stall(exchange, true));
+        server.createContext("/gemini", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            sleep(FAST_MILLIS);
+            Map<String, Object> body = Map.of("candidates", List.of(Map.of("content",
+                    Map.of("role", "model", "parts", List.of(Map.of("text", modelOutput("gemini")))))));
+            respond(exchange, "application/json", objectMapper.writeValueAsBytes(body));
+        });
+        server.createContext("/gemini-stream", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            sleep(FAST_MILLIS);
+            Map<String, Object> chunk = Map.of("candidates", List.of(Map.of("content",
+                    Map.of("role", "model", "parts", List.of(Map.of("text", modelOutput("gemini")))))));
+            respond(exchange, "text/event-stream; charset=utf-8",
+                    ("data: " + objectMapper.writeValueAsString(chunk) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        outboundHttpClients = new OutboundHttpClients(new OutboundHttpProperties());
+        RestTemplate restTemplate = outboundHttpClients.createRestTemplate("default");
+        ItineraryPromptTemplates templates = new ItineraryPromptTemplates(objectMapper);
+
+        gpt = new GptApiService(restTemplate, objectMapper, templates);
+        ReflectionTestUtils.setField(gpt, "apiKey", "test-key");
+        GeminiApiService gemini = new GeminiApiService(restTemplate, objectMapper, templates);
+        ReflectionTestUtils.setField(gemini, "apiKey", "test-key");
+        ReflectionTestUtils.setField(gemini, "apiUrl", baseUrl + "/gemini");
+        ReflectionTestUtils.setField(gemini, "streamUrl", baseUrl + "/gemini-stream");
+
+        router = new HedgedAiScheduleRouter(List.of(gpt, gemini), "gpt", "gemini", true,
+                HEDGE_DELAY_MILLIS, HEDGE_DELAY_MILLIS, 10, 100, 3, 30, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+        outboundHttpClients.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void losingRequestConnectionIsDroppedWhenTheHedgeWins() throws Exception {
+        ReflectionTestUtils.setField(gpt, "apiUrl", baseUrl + "/gpt");
+
+        AiScheduleResponse response = router.generateSchedule(new AiScheduleRequest());
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        // 느린 서버는 응답을 끝까지 쓰기 전에 클라이언트가 연결을 닫은 것을 본다
+        assertThat(slowDisconnected.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowRequests).hasValue(1);
+        assertThat(slowDisconnectedAfterMillis).isLessThan(SLOW_MILLIS);
+        awaitTrue(() -> providerStats("gpt").get("cancelled").equals(1L));
+        assertThat(providerStats("gpt")).containsEntry("failures", 0L);
+        assertThat(providerStats("gemini")).containsEntry("wins", 1L);
+    }
+
+    @Test
+    void losingStreamConnectionIsDroppedWhenTheHedgeEmitsFirst() throws Exception {
+        ReflectionTestUtils.setField(gpt, "apiUrl", baseUrl + "/gpt-stream");
+        List<String> emitted = Collections.synchronizedList(new ArrayList<>());
+
+        AiScheduleResponse response = router.streamSchedule(new AiScheduleRequest(), new ItineraryStreamParser.Listener() {
+            @Override
+            public void onSchedule(ScheduleDto schedule) {
+                emitted.add(schedule.getTitle());
+            }
+
+            @Override
+            public void onItem(ScheduleItemDto item) {
+                emitted.add(item.getMemo());
+            }
+        });
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        assertThat(emitted).containsExactly("gemini", "gemini-1", "gemini-2");
+        assertThat(slowDisconnected.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slowDisconnectedAfterMillis).isLessThan(SLOW_MILLIS);
+        awaitTrue(() -> providerStats("gpt").get("cancelled").equals(1L));
+    }
+
+    /**
+     * 느린 제공자: 헤더를 보낸 뒤 SLOW_MILLIS 동안 공백(스트리밍이면 SSE 주석)만 보내고, 쓰기가 실패하면 끊긴 것으로 기록
+     */
+    private void stall(HttpExchange exchange, boolean streaming) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        slowRequests.incrementAndGet();
+        long start = System.currentTimeMillis();
+        exchange.getResponseHeaders().set("Content-Type", streaming ? "text/event-stream; charset=utf-8" : "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        byte[] keepAlive = (streaming ? ":\n\n" : " ").getBytes(StandardCharsets.UTF_8);
+        OutputStream out = exchange.getResponseBody();
+        try {
+            while (System.currentTimeMillis() - start < SLOW_MILLIS) {
+                out.write(keepAlive);
+                out.flush();
+                sleep(KEEP_ALIVE_MILLIS);
+            }
+            out.write(modelOutput("gpt").getBytes(StandardCharsets.UTF_8));
+            out.close();
+        } catch (IOException e) {
+            slowDisconnectedAfterMillis = System.currentTimeMillis() - start;
+            slowDisconnected.countDown();
+            exchange.close();
+        }
+    }
+
+    private String modelOutput(String provider) throws IOException {
+        String json = String.format(MODEL_OUTPUT, provider, provider, provider);
+        if (!provider.equals("gpt")) {
+            return json;
+        }
+        // GPT 응답 형식 (느린 서버가 끝까지 버텼을 때만 쓰인다)
+        return objectMapper.writeValueAsString(Map.of("choices", List.of(Map.of("message", Map.of("content", json)))));
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> providerStats(String name) {
+        return ((Map<String, Map<String, Object>>) router.getStats().get("providers")).get(name);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.tripgg.schedule.service.ai;
+
+import com.tripgg.common.util.CancellationScope;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지연을 주입한 두 가짜 제공자로 헤지 시점, 진 쪽 요청 중단, 실패 전환을 확인
+ * 가짜 제공자는 실제 HTTP 호출처럼 현재 취소 범위에 중단 동작을 등록하고, 중단되면 바로 예외로 끝난다.
+ * 실제 제공자 구현과 HTTP 연결 중단은 HedgedAiScheduleRouterHttpTest에서 확인한다.
+ */
+class HedgedAiScheduleRouterTest {
+
+    private static final long HEDGE_DELAY_MILLIS = 300;
+    private static final long SLOW_MILLIS = 5_000;
+
+    private final FakeProvider gpt = new FakeProvider("gpt");
+    private final FakeProvider gemini = new FakeProvider("gemini");
+    private HedgedAiScheduleRouter router;
+
+    @AfterEach
+    void tearDown() {
+        if (router != null) {
+            router.shutdown();
+        }
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        router = newRouter(3);
+        gpt.delayMillis = 50;
+
+        AiScheduleResponse response = router.generateSchedule(new AiScheduleRequest());
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gpt");
+        assertThat(gemini.calls).hasValue(0);
+        assertThat(router.getStats()).containsEntry("hedged", 0L);
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAfterTheDelayAndTheLoserIsCancelled() throws Exception {
+        router = newRouter(3);
+        gpt.delayMillis = SLOW_MILLIS;
+        gemini.delayMillis = 100;
+
+        long start = System.nanoTime();
+        AiScheduleResponse response = router.generateSchedule(new AiScheduleRequest());
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        // 헤지 대기 시간 전에는 보조 제공자를 부르지 않고, 부른 뒤에는 보조 제공자 응답만큼만 더 걸린다
+        assertThat(gemini.firstCallAfterMillis(gpt)).isGreaterThanOrEqualTo(HEDGE_DELAY_MILLIS - 20);
+        assertThat(elapsed).isGreaterThanOrEqualTo(HEDGE_DELAY_MILLIS + 100).isLessThan(2_000);
+        // 진 쪽(주 제공자) 요청은 끝까지 기다리지 않고 중단된다
+        assertThat(gpt.aborted.await(2, TimeUnit.SECONDS)).isTrue();
+        awaitTrue(() -> providerStats("gpt").get("cancelled").equals(1L));
+        assertThat(providerStats("gpt")).containsEntry("failures", 0L);
+        assertThat(providerStats("gemini")).containsEntry("wins", 1L);
+        assertThat(router.getStats()).containsEntry("hedged", 1L);
+    }
+
+    @Test
+    void failedPrimaryFailsOverWithoutWaitingForTheHedgeDelay() {
+        router = newRouter(3);
+        gpt.fail = true;
+        gemini.delayMillis = 50;
+
+        long start = System.nanoTime();
+        AiScheduleResponse response = router.generateSchedule(new AiScheduleRequest());
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        assertThat(elapsed).isLessThan(HEDGE_DELAY_MILLIS);
+        assertThat(router.getStats()).containsEntry("failovers", 1L).containsEntry("hedged", 0L);
+    }
+
+    @Test
+    void primaryOverTheFailureThresholdIsSkippedDuringCooldown() {
+        router = newRouter(2);
+        gpt.fail = true;
+        router.generateSchedule(new AiScheduleRequest());
+        router.generateSchedule(new AiScheduleRequest());
+
+        AiScheduleResponse response = router.generateSchedule(new AiScheduleRequest());
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        assertThat(gpt.calls).hasValue(2);
+        assertThat(providerStats("gpt")).containsEntry("open", true);
+    }
+
+    @Test
+    void bothProvidersFailingSurfacesTheFirstError() {
+        router = newRouter(3);
+        gpt.fail = true;
+        gemini.fail = true;
+
+        assertThatThrownBy(() -> router.generateSchedule(new AiScheduleRequest()))
+                .hasMessageContaining("gpt 오류");
+    }
+
+    @Test
+    void streamIsOwnedByTheFirstProviderToEmitOutput() throws Exception {
+        router = newRouter(3);
+        gpt.delayMillis = SLOW_MILLIS;
+        gemini.delayMillis = 100;
+        List<String> emitted = Collections.synchronizedList(new ArrayList<>());
+
+        AiScheduleResponse response = router.streamSchedule(new AiScheduleRequest(), new ItineraryStreamParser.Listener() {
+            @Override
+            public void onSchedule(ScheduleDto schedule) {
+                emitted.add(schedule.getTitle());
+            }
+
+            @Override
+            public void onItem(ScheduleItemDto item) {
+                emitted.add(item.getMemo());
+            }
+        });
+
+        assertThat(response.getSchedule().getTitle()).isEqualTo("gemini");
+        assertThat(emitted).containsExactly("gemini", "gemini-1", "gemini-2");
+        assertThat(gpt.aborted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancellingTheCallerScopeAbortsEveryAttemptWithoutFailover() throws Exception {
+        router = newRouter(3);
+        gpt.delayMillis = SLOW_MILLIS;
+        gemini.delayMillis = SLOW_MILLIS;
+        CancellationScope job = new CancellationScope();
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<AiScheduleResponse> result = caller.submit(() -> job.run(() -> router.generateSchedule(new AiScheduleRequest())));
+            // 헤지까지 일어나 두 제공자 모두 진행 중일 때 취소
+            awaitTrue(() -> gemini.calls.get() == 1);
+            job.cancel();
+
+            assertThatThrownBy(() -> result.get(2, TimeUnit.SECONDS)).hasMessageContaining("취소");
+            assertThat(gpt.aborted.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(gemini.aborted.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(gpt.calls).hasValue(1);
+            assertThat(router.getStats()).containsEntry("failovers", 0L);
+        } finally {
+            caller.shutdownNow();
+        }
+    }
+
+    private HedgedAiScheduleRouter newRouter(int failureThreshold) {
+        return new HedgedAiScheduleRouter(List.of(gpt, gemini), "gpt", "gemini", true,
+                HEDGE_DELAY_MILLIS, HEDGE_DELAY_MILLIS, 10, 100, failureThreshold, 30, 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> providerStats(String name) {
+        return ((Map<String, Map<String, Object>>) router.getStats().get("providers")).get(name);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("조건을 기다리다 시간이 초과되었습니다.");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 지연/실패를 주입하는 가짜 제공자
+     */
+    private static final class FakeProvider implements AiScheduleProvider {
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        // 진행 중에 중단된 요청이 있으면 열린다
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        private volatile long delayMillis;
+        private volatile boolean fail;
+        private volatile long firstCallNanos;
+
+        FakeProvider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public AiScheduleResponse generateSchedule(AiScheduleRequest request) {
+            return respond(null);
+        }
+
+        @Override
+        public AiScheduleResponse streamSchedule(AiScheduleRequest request, ItineraryStreamParser.Listener listener) {
+            return respond(listener);
+        }
+
+        long firstCallAfterMillis(FakeProvider other) {
+            return TimeUnit.NANOSECONDS.toMillis(firstCallNanos - other.firstCallNanos);
+        }
+
+        private AiScheduleResponse respond(ItineraryStreamParser.Listener listener) {
+            if (calls.incrementAndGet() == 1) {
+                firstCallNanos = System.nanoTime();
+            }
+            CountDownLatch abort = new CountDownLatch(1);
+            AtomicBoolean done = new AtomicBoolean();
+            CancellationScope.current().onCancel(() -> {
+                if (!done.get()) {
+                    abort.countDown();
+                    aborted.countDown();
+                }
+            });
+            try {
+                if (abort.await(delayMillis, TimeUnit.MILLISECONDS)) {
+                    throw new RuntimeException(name + " 요청 중단");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(name + " 요청 중단");
+            }
+            if (fail) {
+                done.set(true);
+                throw new RuntimeException(name + " 오류");
+            }
+            ScheduleDto schedule = ScheduleDto.builder().title(name).build();
+            List<ScheduleItemDto> items = List.of(
+                    ScheduleItemDto.builder().memo(name + "-1").build(),
+                    ScheduleItemDto.builder().memo(name + "-2").build());
+            if (listener != null) {
+                listener.onSchedule(schedule);
+                items.forEach(listener::onItem);
+            }
+            done.set(true);
+            return AiScheduleResponse.builder().schedule(schedule).scheduleItems(items).build();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 프롬프트 생성 비용: 미리 컴파일한 템플릿(renderUserPrompt)과 이전 switch/StringBuilder 구현 비교
+ * 할당량은 -prof gc의 gc.alloc.rate.norm(호출당 바이트)으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItineraryPromptBenchmark {
+
+    @Param({"ko", "en"})
+    public String language;
+
+    private ItineraryPromptTemplates templates;
+    private LegacyItineraryPrompt legacy;
+    private AiScheduleRequest request;
+
+    @Setup
+    public void setUp() {
+        templates = new ItineraryPromptTemplates(new ObjectMapper());
+        legacy = new LegacyItineraryPrompt();
+        request = ItineraryPromptTemplatesTest.request(language, "seoul-all",
+                List.of("kpop", "history", "koreanfood"), "family", "public", "activity");
+    }
+
+    @Benchmark
+    public String templates() {
+        return templates.renderUserPrompt(request);
+    }
+
+    @Benchmark
+    public String legacyStringBuilder() {
+        return legacy.buildPrompt(request);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ItineraryPromptBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 템플릿으로 만든 프롬프트가 이전 switch/StringBuilder 구현과 글자 단위로 같은지 확인 (생성 시각 제외)
+ */
+class ItineraryPromptTemplatesTest {
+
+    private static final Pattern CREATED_AT = Pattern.compile("\"createdAt\": \"[^\"]*\"");
+
+    // 등록되지 않은 값은 그대로 들어가야 하므로 목록마다 하나씩 섞는다
+    private static final List<String> LANGUAGES = List.of("ko", "en", "ja", "zh-CN", "zh-TW", "vi", "fr");
+    private static final List<String> REGIONS = List.of("seoul-all", "seoul-gg", "gg-popular", "capital-area", "busan");
+    private static final List<String> COMPANIONS = List.of("family", "couple", "alone", "friends");
+    private static final List<String> TRANSPORTATIONS = List.of("car", "public", "walking", "bike");
+    private static final List<String> TRAVEL_STYLES = List.of("leaf", "activity", "pic", "art", "eat", "emotion", "night");
+    private static final List<List<String>> KEYWORDS = List.of(
+            List.of("kpop", "history", "squidgame", "kpopdemons", "koreanfood", "koreanwave", "koreanbeauty", "koreandrama"),
+            List.of("history"),
+            List.of("koreanfood", "temple"),
+            List.of());
+
+    private final ItineraryPromptTemplates templates = new ItineraryPromptTemplates(new ObjectMapper());
+    private final LegacyItineraryPrompt legacy = new LegacyItineraryPrompt();
+
+    @Test
+    void userPromptMatchesTheLegacyBuilderForEveryValueCombination() {
+        int compared = 0;
+        for (String language : LANGUAGES) {
+            for (String region : REGIONS) {
+                for (String companion : COMPANIONS) {
+                    for (String transportation : TRANSPORTATIONS) {
+                        for (String travelStyle : TRAVEL_STYLES) {
+                            AiScheduleRequest request = request(language, region, KEYWORDS.get(compared % KEYWORDS.size()),
+                                    companion, transportation, travelStyle);
+                            assertThat(withoutCreatedAt(templates.renderUserPrompt(request)))
+                                    .as("%s/%s/%s/%s/%s", language, region, companion, transportation, travelStyle)
+                                    .isEqualTo(withoutCreatedAt(legacy.buildPrompt(request)));
+                            compared++;
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(compared).isEqualTo(3920);
+    }
+
+    @Test
+    void systemPromptMatchesTheLegacyBuilder() {
+        for (String language : LANGUAGES) {
+            assertThat(templates.systemPrompt(language)).as(language).isEqualTo(legacy.buildSystemPrompt(language));
+        }
+    }
+
+    static AiScheduleRequest request(String language, String region, List<String> keywords,
+                                     String companion, String transportation, String travelStyle) {
+        return AiScheduleRequest.builder()
+                .userId(42)
+                .title("서울 3박 4일 \"첫\" 여행")
+                .description("부모님과 함께하는 여유로운 일정")
+                .startDate("2026-05-01")
+                .endDate("2026-05-04")
+                .region(region)
+                .keywords(keywords)
+                .companion(companion)
+                .transportation(transportation)
+                .travelStyle(travelStyle)
+                .language(language)
+                .build();
+    }
+
+    private static String withoutCreatedAt(String prompt) {
+        return CREATED_AT.matcher(prompt).replaceAll("\"createdAt\": \"\"");
+    }
+}
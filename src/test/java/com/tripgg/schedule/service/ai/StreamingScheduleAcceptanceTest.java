@@ -0,0 +1,227 @@
+package com.tripgg.schedule.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tripgg.config.OutboundHttpClients;
+import com.tripgg.config.OutboundHttpProperties;
+import com.tripgg.schedule.dto.AiScheduleRequest;
+import com.tripgg.schedule.dto.AiScheduleResponse;
+import com.tripgg.schedule.dto.ScheduleDto;
+import com.tripgg.schedule.dto.ScheduleItemDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가짜 LLM 서버가 청크 단위 SSE를 재생할 때 스트리밍 생성이 항목을 바로 넘기고 결과를 온전히 조립하는지 확인
+ * 일정 항목은 여러 이벤트에 걸쳐 나뉘고, 응답 바이트는 한글/이모지의 UTF-8 바이트 중간에서 끊겨 따로 도착한다.
+ */
+class StreamingScheduleAcceptanceTest {
+
+    // 모델이 생성한 응답 (코드 블록 표시 포함)
+    private static final String MODEL_OUTPUT = "```json\n{\"schedule\":{\"title\":\"경주 역사 여행\",\"description\":\"신라 유적 중심\","
+            + "\"startDate\":\"2026-05-01\",\"endDate\":\"2026-05-02\"},\"scheduleItems\":["
+            + "{\"day\":1,\"orderInDay\":1,\"memo\":\"불국사 🏯 관람\",\"startTime\":\"09:00\",\"place\":{\"name\":\"불국사\",\"latitude\":35.7900,\"longitude\":129.3320}},"
+            + "{\"day\":1,\"orderInDay\":2,\"memo\":\"석굴암까지 걷기 🚶\",\"startTime\":\"13:00\",\"place\":{\"name\":\"석굴암\",\"latitude\":35.7950,\"longitude\":129.3490}},"
+            + "{\"day\":2,\"orderInDay\":1,\"memo\":\"첨성대와 대릉원 산책\",\"startTime\":\"10:00\",\"place\":{\"name\":\"첨성대\",\"latitude\":35.8347,\"longitude\":129.2190}}"
+            + "]}\n```";
+    // 이벤트 하나에 담는 글자 수 (항목이 여러 이벤트에 걸치도록 작게)
+    private static final int DELTA_LENGTH = 11;
+    // 한 번에 쓰는 바이트 수 (한글 3바이트, 이모지 4바이트가 쓰기 경계에서 잘리도록 홀수)
+    private static final int WRITE_SIZE = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private OutboundHttpClients outboundHttpClients;
+    private RestTemplate restTemplate;
+    private String baseUrl;
+
+    private final List<ScheduleItemDto> streamedItems = Collections.synchronizedList(new ArrayList<>());
+    private final List<ScheduleDto> streamedSchedules = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstItem = new CountDownLatch(1);
+    // 첫 항목이 응답이 끝나기 전에 전달되었는지 (가짜 서버가 나머지를 보내기 전에 기록)
+    private final AtomicBoolean firstItemBeforeEnd = new AtomicBoolean();
+
+    private final ItineraryStreamParser.Listener listener = new ItineraryStreamParser.Listener() {
+        @Override
+        public void onSchedule(ScheduleDto schedule) {
+            streamedSchedules.add(schedule);
+        }
+
+        @Override
+        public void onItem(ScheduleItemDto item) {
+            streamedItems.add(item);
+            firstItem.countDown();
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/gpt", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            replay(exchange, gptEvents());
+        });
+        server.createContext("/gemini", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            replay(exchange, geminiEvents());
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        outboundHttpClients = new OutboundHttpClients(new OutboundHttpProperties());
+        restTemplate = outboundHttpClients.createRestTemplate("default");
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboundHttpClients.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void gptStreamDeliversItemsSplitAcrossChunksAndUtf8Boundaries() {
+        GptApiService gpt = new GptApiService(restTemplate, objectMapper, new ItineraryPromptTemplates(objectMapper));
+        ReflectionTestUtils.setField(gpt, "apiKey", "test-key");
+        ReflectionTestUtils.setField(gpt, "apiUrl", baseUrl + "/gpt");
+
+        AiScheduleResponse response = gpt.streamSchedule(request(), listener);
+
+        assertStreamed(response);
+    }
+
+    @Test
+    void geminiStreamDeliversItemsSplitAcrossChunksAndUtf8Boundaries() {
+        GeminiApiService gemini = new GeminiApiService(restTemplate, objectMapper, new ItineraryPromptTemplates(objectMapper));
+        ReflectionTestUtils.setField(gemini, "apiKey", "test-key");
+        ReflectionTestUtils.setField(gemini, "apiUrl", baseUrl + "/v1beta/models/gemini:generateContent");
+        ReflectionTestUtils.setField(gemini, "streamUrl", baseUrl + "/gemini");
+
+        AiScheduleResponse response = gemini.streamSchedule(request(), listener);
+
+        assertStreamed(response);
+    }
+
+    @Test
+    void parserAssemblesTheSameResultFromSingleCharacterPieces() throws IOException {
+        ItineraryStreamParser parser = new ItineraryStreamParser(objectMapper, listener);
+        // 서로게이트 쌍(이모지)도 반으로 나뉘어 들어온다
+        for (int i = 0; i < MODEL_OUTPUT.length(); i++) {
+            parser.feed(MODEL_OUTPUT.substring(i, i + 1));
+        }
+
+        AiScheduleResponse response = parser.finish();
+
+        assertThat(response.getScheduleItems()).extracting(ScheduleItemDto::getMemo)
+                .containsExactly("불국사 🏯 관람", "석굴암까지 걷기 🚶", "첨성대와 대릉원 산책");
+        assertThat(streamedItems).hasSize(3);
+        assertThat(streamedSchedules).extracting(ScheduleDto::getTitle).containsExactly("경주 역사 여행");
+    }
+
+    private void assertStreamed(AiScheduleResponse response) {
+        assertThat(firstItemBeforeEnd).isTrue();
+        assertThat(streamedSchedules).extracting(ScheduleDto::getTitle).containsExactly("경주 역사 여행");
+        assertThat(streamedItems).extracting(ScheduleItemDto::getMemo)
+                .containsExactly("불국사 🏯 관람", "석굴암까지 걷기 🚶", "첨성대와 대릉원 산책");
+        assertThat(streamedItems).extracting(item -> item.getPlace().getName())
+                .containsExactly("불국사", "석굴암", "첨성대");
+        assertThat(response.getSchedule().getDescription()).isEqualTo("신라 유적 중심");
+        assertThat(response.getScheduleItems()).extracting(ScheduleItemDto::getMemo)
+                .containsExactlyElementsOf(streamedItems.stream().map(ScheduleItemDto::getMemo).toList());
+    }
+
+    /**
+     * SSE 바이트를 작은 조각으로 나눠 보내고, 마지막 1/4을 보내기 전에는 클라이언트가 첫 항목을 넘길 때까지 기다린다
+     * (첫 항목은 응답 앞쪽 절반 안에서 끝난다)
+     */
+    private void replay(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        int pauseAt = body.length * 3 / 4;
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int offset = 0; offset < body.length; offset += WRITE_SIZE) {
+                if (offset <= pauseAt && pauseAt < offset + WRITE_SIZE) {
+                    firstItemBeforeEnd.set(firstItem.await(5, TimeUnit.SECONDS));
+                }
+                out.write(body, offset, Math.min(WRITE_SIZE, body.length - offset));
+                out.flush();
+                if (offset % (WRITE_SIZE * 40) == 0) {
+                    Thread.sleep(1);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] gptEvents() throws IOException {
+        ByteArrayOutputStream events = new ByteArrayOutputStream();
+        for (String delta : deltas()) {
+            Map<String, Object> chunk = Map.of("choices", List.of(Map.of("index", 0, "delta", Map.of("content", delta))));
+            writeEvent(events, objectMapper.writeValueAsString(chunk));
+        }
+        writeEvent(events, "[DONE]");
+        return events.toByteArray();
+    }
+
+    private byte[] geminiEvents() throws IOException {
+        ByteArrayOutputStream events = new ByteArrayOutputStream();
+        for (String delta : deltas()) {
+            Map<String, Object> chunk = Map.of("candidates", List.of(
+                    Map.of("content", Map.of("role", "model", "parts", List.of(Map.of("text", delta))))));
+            writeEvent(events, objectMapper.writeValueAsString(chunk));
+        }
+        return events.toByteArray();
+    }
+
+    private static void writeEvent(ByteArrayOutputStream events, String data) {
+        events.writeBytes(("data: " + data + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 모델 출력을 짧은 조각으로 나눈다 (이모지 서로게이트 쌍은 나누지 않음, 실제 API도 코드 포인트 단위로 보낸다)
+     */
+    private static List<String> deltas() {
+        List<String> deltas = new ArrayList<>();
+        int start = 0;
+        while (start < MODEL_OUTPUT.length()) {
+            int end = Math.min(start + DELTA_LENGTH, MODEL_OUTPUT.length());
+            if (end < MODEL_OUTPUT.length() && Character.isHighSurrogate(MODEL_OUTPUT.charAt(end - 1))) {
+                end++;
+            }
+            deltas.add(MODEL_OUTPUT.substring(start, end));
+            start = end;
+        }
+        return deltas;
+    }
+
+    private static AiScheduleRequest request() {
+        return AiScheduleRequest.builder()
+                .title("경주 역사 여행")
+                .startDate("2026-05-01")
+                .endDate("2026-05-02")
+                .region("경주")
+                .keywords(List.of("역사"))
+                .build();
+    }
+}